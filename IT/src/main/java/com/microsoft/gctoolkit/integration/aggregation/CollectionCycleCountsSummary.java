@@ -14,6 +14,10 @@ public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregati
         collectionCycleCounts.computeIfAbsent(gcType, key -> new LongAdder()).increment();
     }
 
+    public long getTotal() {
+        return collectionCycleCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
     private String format = "%s : %s\n";
     public void printOn(PrintStream printStream) {
         collectionCycleCounts.forEach((k, v) -> printStream.printf(format, k, v.intValue()));
@@ -1,52 +1,141 @@
 package com.microsoft.gctoolkit.integration.collections;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.OptionalDouble;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+/**
+ * A series of x, y values. The values are held in two primitive columns, which costs 16 bytes a point.
+ * Very large series can be kept off the Java heap by creating them with {@link #offHeap(int)}.
+ * <p>
+ * Reading the series does not copy it. {@link #getItems()} is a read-only view that creates a
+ * {@link Point} only when an item is read, and {@link #forEach(PointConsumer)}, {@link #xValues()} and
+ * {@link #yValues()} read the columns without creating any objects.
+ */
 public class XYDataSet {
-    private final List<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> dataSeries;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final boolean offHeap;
+    private DoubleBuffer xs;
+    private DoubleBuffer ys;
+    private int size = 0;
 
     public XYDataSet() {
-        dataSeries = new ArrayList<>();
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    public XYDataSet(XYDataSet series) {
+        this(Math.max(DEFAULT_CAPACITY, series.size), series.offHeap);
+        for (int i = 0; i < series.size; i++)
+            add(series.xs.get(i), series.ys.get(i));
+    }
+
+    private XYDataSet(int capacity, boolean offHeap) {
+        this.offHeap = offHeap;
+        this.xs = allocate(capacity);
+        this.ys = allocate(capacity);
+    }
+
+    /**
+     * Create a series that keeps its values outside the Java heap.
+     * @param initialCapacity the number of points to make room for
+     * @return an empty series
+     */
+    public static XYDataSet offHeap(int initialCapacity) {
+        return new XYDataSet(Math.max(1, initialCapacity), true);
     }
 
-    public XYDataSet(com.microsoft.gctoolkit.integration.collections.XYDataSet series) {
-        dataSeries = new ArrayList<>(series.getItems());
+    private DoubleBuffer allocate(int capacity) {
+        if (offHeap)
+            return ByteBuffer.allocateDirect(capacity * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        return DoubleBuffer.allocate(capacity);
+    }
+
+    private DoubleBuffer grow(DoubleBuffer column, int capacity) {
+        DoubleBuffer grown = allocate(capacity);
+        DoubleBuffer values = column.duplicate();
+        values.clear().limit(size);
+        grown.put(values);
+        return grown;
     }
 
     public void add(double x, double y) {
-        dataSeries.add(new com.microsoft.gctoolkit.integration.collections.XYDataSet.Point(x, y));
+        if (size == xs.capacity()) {
+            int capacity = size + (size >> 1) + 1;
+            xs = grow(xs, capacity);
+            ys = grow(ys, capacity);
+        }
+        xs.put(size, x);
+        ys.put(size, y);
+        size++;
     }
 
     public void add(Number x, Number y) {
         add(x.doubleValue(), y.doubleValue());
     }
 
-    public void add(com.microsoft.gctoolkit.integration.collections.XYDataSet.Point item) {
-        dataSeries.add(item);
+    public void add(Point item) {
+        add(item.getX(), item.getY());
     }
 
-    protected void addAll(List<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> items) {
-        dataSeries.addAll(items);
+    protected void addAll(List<Point> items) {
+        items.forEach(this::add);
     }
 
     public boolean isEmpty() {
-        return dataSeries.isEmpty();
+        return size == 0;
+    }
+
+    public double getX(int index) {
+        return xs.get(checkIndex(index));
+    }
+
+    public double getY(int index) {
+        return ys.get(checkIndex(index));
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        return index;
+    }
+
+    /**
+     * Returns a read-only view of the items in this DataSet. The view is not a copy; points added to
+     * the DataSet after the view is created are visible through it.
+     */
+    public List<Point> getItems() {
+        return new PointView();
     }
 
     /**
-     * Returns an immutable List of the items in this DataSet.
+     * Call {@code consumer} with each point, in order, without creating {@link Point} objects.
      */
-    public List<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> getItems() {
-        return List.copyOf(dataSeries);
+    public void forEach(PointConsumer consumer) {
+        for (int i = 0; i < size; i++)
+            consumer.accept(xs.get(i), ys.get(i));
+    }
+
+    public DoubleStream xValues() {
+        return IntStream.range(0, size).mapToDouble(xs::get);
     }
 
-    public com.microsoft.gctoolkit.integration.collections.XYDataSet scaleSeries(double scaleFactor) {
-        com.microsoft.gctoolkit.integration.collections.XYDataSet scaled = new com.microsoft.gctoolkit.integration.collections.XYDataSet();
-        for (com.microsoft.gctoolkit.integration.collections.XYDataSet.Point item : dataSeries) {
-            scaled.add(item.getX(), item.getY() * scaleFactor);
+    public DoubleStream yValues() {
+        return IntStream.range(0, size).mapToDouble(ys::get);
+    }
+
+    public XYDataSet scaleSeries(double scaleFactor) {
+        XYDataSet scaled = new XYDataSet(Math.max(1, size), offHeap);
+        for (int i = 0; i < size; i++) {
+            scaled.add(xs.get(i), ys.get(i) * scaleFactor);
         }
         return scaled;
     }
@@ -56,26 +145,51 @@ public class XYDataSet {
      * with an empty optional if the dataset is empty.
      */
     public OptionalDouble maxOfY() {
-        return dataSeries.stream()
-                .mapToDouble(com.microsoft.gctoolkit.integration.collections.XYDataSet.Point::getY)
-                .max();
+        if (size == 0)
+            return OptionalDouble.empty();
+        double max = ys.get(0);
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, ys.get(i));
+        }
+        return OptionalDouble.of(max);
     }
 
-    public com.microsoft.gctoolkit.integration.collections.XYDataSet scaleAndTranslateXAxis(double scale, double offset) {
-        com.microsoft.gctoolkit.integration.collections.XYDataSet translatedSeries = new com.microsoft.gctoolkit.integration.collections.XYDataSet();
-        for (com.microsoft.gctoolkit.integration.collections.XYDataSet.Point dataPoint : dataSeries) {
-            double scaledXCoordinate = (scale * dataPoint.getX()) + offset;
-            translatedSeries.add(scaledXCoordinate, dataPoint.getY());
+    public XYDataSet scaleAndTranslateXAxis(double scale, double offset) {
+        XYDataSet translatedSeries = new XYDataSet(Math.max(1, size), offHeap);
+        for (int i = 0; i < size; i++) {
+            double scaledXCoordinate = (scale * xs.get(i)) + offset;
+            translatedSeries.add(scaledXCoordinate, ys.get(i));
         }
         return translatedSeries;
     }
 
     public int size() {
-        return dataSeries.size();
+        return size;
+    }
+
+    public Stream<Point> stream() {
+        return getItems().stream();
     }
 
-    public Stream<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> stream() {
-        return dataSeries.stream();
+    /**
+     * Receives the x and y values of a point.
+     */
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(double x, double y);
+    }
+
+    private final class PointView extends AbstractList<Point> implements RandomAccess {
+
+        @Override
+        public Point get(int index) {
+            return new Point(getX(index), getY(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 
     public static class Point {
@@ -8,6 +8,8 @@ open module com.microsoft.gctoolkit.integration {
 
     requires com.microsoft.gctoolkit.api;
     requires java.logging;
+    requires jdk.jfr;
+    requires jdk.management;
 
     exports com.microsoft.gctoolkit.integration.aggregation to
             com.microsoft.gctoolkit.api;
@@ -0,0 +1,126 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.integration.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.integration.io.TestLogFile;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.message.thread.ThreadedJVMEventChannel;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("modulePath")
+public class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void theAnalysisIsRecorded() throws IOException {
+        Path path = new TestLogFile("samples/g1-sample.log").getFile().toPath();
+        Path recordingFile = directory.resolve("analysis.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.microsoft.gctoolkit.Analysis");
+            recording.enable("com.microsoft.gctoolkit.ParserBatch");
+            recording.enable("com.microsoft.gctoolkit.SlowLine").withThreshold(Duration.ZERO);
+            recording.enable("com.microsoft.gctoolkit.AggregatorCompleted");
+            recording.start();
+            GCToolKit gcToolKit = new GCToolKit();
+            gcToolKit.loadAggregation(new CollectionCycleCountsSummary());
+            gcToolKit.analyze(new SingleGCLogFile(path));
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+
+        List<RecordedEvent> analyses = named(events, "com.microsoft.gctoolkit.Analysis");
+        assertEquals(1, analyses.size());
+        assertEquals(Files.size(path), analyses.get(0).getLong("size"));
+        assertEquals(1, analyses.get(0).getInt("aggregators"));
+
+        long lines;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            lines = reader.lines().count();
+        }
+        long batchedLines = named(events, "com.microsoft.gctoolkit.ParserBatch").stream()
+                .filter(event -> "UnifiedG1GCParser".equals(event.getString("parser")))
+                .mapToLong(event -> event.getLong("lines"))
+                .sum();
+        assertEquals(lines, batchedLines);
+
+        List<RecordedEvent> slowLines = named(events, "com.microsoft.gctoolkit.SlowLine").stream()
+                .filter(event -> "UnifiedG1GCParser".equals(event.getString("parser")))
+                .collect(Collectors.toList());
+        assertTrue(slowLines.size() >= lines, slowLines.size() + " slow lines");
+        assertTrue(slowLines.stream().anyMatch(event -> event.getString("rule") != null));
+
+        assertTrue(named(events, "com.microsoft.gctoolkit.AggregatorCompleted").stream()
+                .anyMatch(event -> event.getString("aggregator").endsWith("CollectionCycleCountsAggregator")));
+    }
+
+    @Test
+    public void aFullQueueIsRecordedAsAStall() throws IOException {
+        Path recordingFile = directory.resolve("stall.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.microsoft.gctoolkit.ChannelStall").withThreshold(Duration.ZERO);
+            recording.start();
+            ThreadedJVMEventChannel channel = new ThreadedJVMEventChannel(1);
+            channel.registerListener(new SlowListener());
+            for (int i = 0; i < 4; i++)
+                channel.publish(ChannelName.G1GC_PARSER_OUTBOX, new G1Young(new DateTimeStamp(i), GCCause.G1_EVACUATION_PAUSE, 0.001d));
+            channel.publish(ChannelName.G1GC_PARSER_OUTBOX, new JVMTermination(new DateTimeStamp(4.0d), new DateTimeStamp(0.0d)));
+            channel.close();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<RecordedEvent> stalls = named(RecordingFile.readAllEvents(recordingFile), "com.microsoft.gctoolkit.ChannelStall");
+        assertFalse(stalls.isEmpty());
+        assertEquals(1, stalls.get(0).getInt("queueCapacity"));
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static class SlowListener implements JVMEventChannelListener {
+        @Override
+        public ChannelName channel() {
+            return ChannelName.G1GC_PARSER_OUTBOX;
+        }
+
+        @Override
+        public void receive(JVMEvent payload) {
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.integration.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.integration.aggregation.HeapOccupancyAfterCollectionSummary;
+import com.microsoft.gctoolkit.io.JFRRecordingFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.metrics.InMemoryMetricsRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records a short lived JVM with each collector and analyses the recording.
+ */
+@Tag("modulePath")
+public class JFRRecordingFileTest {
+
+    private static final Set<String> PAUSES = Set.of("G1New", "G1Full", "DefNew", "SerialOld", "ParallelScavenge", "ParallelOld");
+
+    private static final String[] EVENTS = {
+            "jdk.GarbageCollection", "jdk.GCHeapSummary", "jdk.G1HeapSummary", "jdk.PSHeapSummary",
+            "jdk.MetaspaceSummary", "jdk.G1GarbageCollection", "jdk.GCPhasePause",
+            "jdk.SafepointBegin", "jdk.SafepointEnd", "jdk.ExecuteVMOperation"
+    };
+
+    private static final String CHURN =
+            "public class Churn {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Object[] retained = new Object[512];\n" +
+            "        for (int i = 0; i < 200_000; i++)\n" +
+            "            retained[i % retained.length] = new byte[1024 + i % 4096];\n" +
+            "        System.gc();\n" +
+            "        for (int i = 0; i < 100_000; i++)\n" +
+            "            retained[i % retained.length] = new byte[2048];\n" +
+            "        System.gc();\n" +
+            "    }\n" +
+            "}\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void g1CollectionsAreTranslated() throws Exception {
+        JavaVirtualMachine jvm = analyze(record("-XX:+UseG1GC"));
+        assertTrue(jvm.isG1GC());
+    }
+
+    @Test
+    public void parallelCollectionsAreTranslated() throws Exception {
+        JavaVirtualMachine jvm = analyze(record("-XX:+UseParallelGC"));
+        assertTrue(jvm.isParallel());
+    }
+
+    @Test
+    public void serialCollectionsAreTranslated() throws Exception {
+        JavaVirtualMachine jvm = analyze(record("-XX:+UseSerialGC"));
+        assertTrue(jvm.isSerial());
+    }
+
+    private JavaVirtualMachine analyze(Path recording) throws IOException {
+        long collections = 0L;
+        long safepoints = 0L;
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String name = event.getEventType().getName();
+            if (name.equals("jdk.GarbageCollection") && PAUSES.contains(event.getString("name")))
+                collections++;
+            else if (name.equals("jdk.GCPhasePause") && (event.getString("name").contains("Remark") || event.getString("name").contains("Cleanup")))
+                collections++;
+            else if (name.equals("jdk.SafepointEnd"))
+                safepoints++;
+        }
+        assertTrue(collections > 1, "the recording holds " + collections + " collections");
+
+        GCToolKit gcToolKit = new GCToolKit();
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        gcToolKit.loadMetricsRegistry(registry);
+        CollectionCycleCountsSummary counts = new CollectionCycleCountsSummary();
+        HeapOccupancyAfterCollectionSummary occupancy = new HeapOccupancyAfterCollectionSummary();
+        gcToolKit.loadAggregation(counts);
+        gcToolKit.loadAggregation(occupancy);
+        JavaVirtualMachine jvm = gcToolKit.analyze(new JFRRecordingFile(recording));
+
+        assertEquals(collections, counts.getTotal());
+        assertFalse(occupancy.isEmpty());
+        assertTrue(occupancy.get().values().stream().allMatch(series -> series.size() > 0));
+        assertTrue(jvm.getTimeOfFirstEvent().getTimeStamp() > 0.0d, jvm.getTimeOfFirstEvent().toString());
+        assertTrue(jvm.getJVMTerminationTime().after(jvm.getTimeOfFirstEvent()));
+        // every safepoint, and the termination
+        assertEquals(safepoints + 1, registry.counter("channel.JVM_EVENT_PARSER_OUTBOX.published").count());
+        return jvm;
+    }
+
+    /**
+     * Run a JVM that churns through some memory, recording the GC events with every threshold at zero.
+     */
+    private Path record(String collector) throws IOException, InterruptedException {
+        Path source = Files.writeString(directory.resolve("Churn.java"), CHURN);
+        StringBuilder settings = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<configuration version=\"2.0\">\n");
+        settings.append("  <event name=\"jdk.JVMInformation\"><setting name=\"enabled\">true</setting><setting name=\"period\">beginChunk</setting></event>\n");
+        settings.append("  <event name=\"jdk.GCConfiguration\"><setting name=\"enabled\">true</setting><setting name=\"period\">beginChunk</setting></event>\n");
+        for (String event : EVENTS)
+            settings.append("  <event name=\"").append(event).append("\"><setting name=\"enabled\">true</setting><setting name=\"threshold\">0 ms</setting></event>\n");
+        settings.append("</configuration>\n");
+        Path jfc = Files.writeString(directory.resolve("gc.jfc"), settings);
+        Path recording = directory.resolve(collector.substring(5) + ".jfr");
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, collector, "-Xmx64m",
+                "-XX:StartFlightRecording=filename=" + recording + ",settings=" + jfc,
+                source.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("churn.log").toFile())
+                .start();
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES), "the recorded JVM did not exit");
+        assertEquals(0, process.exitValue(), Files.readString(directory.resolve("churn.log")));
+        return recording;
+    }
+}
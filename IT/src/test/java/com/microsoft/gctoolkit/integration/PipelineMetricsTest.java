@@ -0,0 +1,71 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.integration.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.integration.io.TestLogFile;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.metrics.InMemoryMetricsRegistry;
+import com.microsoft.gctoolkit.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("modulePath")
+public class PipelineMetricsTest {
+
+    @Test
+    public void everyStageOfTheAnalysisIsMeasured() throws IOException {
+        Path path = new TestLogFile("samples/g1-sample.log").getFile().toPath();
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadMetricsRegistry(registry);
+        CollectionCycleCountsSummary counts = new CollectionCycleCountsSummary();
+        gcToolKit.loadAggregation(counts);
+        gcToolKit.analyze(new SingleGCLogFile(path));
+
+        long lines;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            lines = reader.lines().count();
+        }
+        assertEquals(lines, count(registry, "datasource.lines"));
+        assertEquals(lines, count(registry, "parser.UnifiedG1GCParser.lines"));
+        assertEquals(lines, count(registry, "parser.UnifiedG1GCParser.lines.matched") + count(registry, "parser.UnifiedG1GCParser.lines.unmatched"));
+        assertEquals(lines, registry.histogram("parser.UnifiedG1GCParser.receive").count());
+
+        long published = count(registry, "channel.G1GC_PARSER_OUTBOX.published");
+        assertTrue(published > counts.getTotal(), published + " events for " + counts.getTotal() + " collections");
+        assertEquals(published, count(registry, "parser.UnifiedG1GCParser.events"));
+        assertEquals(published, count(registry, "channel.G1GC_PARSER_OUTBOX.delivered"));
+        assertEquals(0L, registry.gauge("channel.G1GC_PARSER_OUTBOX.depth").value());
+        assertEquals(published - 1, registry.histogram("aggregator.CollectionCycleCountsAggregator.receive").count(), "the JVMTermination is not timed");
+
+        String json = registry.toJson();
+        assertTrue(json.contains("\"datasource.lines\": " + lines), json);
+    }
+
+    @Test
+    public void nothingIsMeasuredByDefault() throws IOException {
+        Path path = new TestLogFile("samples/g1-sample.log").getFile().toPath();
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadMetricsRegistry(registry);
+        gcToolKit.loadMetricsRegistry(MetricsRegistry.NO_OP);
+        gcToolKit.loadAggregation(new CollectionCycleCountsSummary());
+        gcToolKit.analyze(new SingleGCLogFile(path));
+        assertTrue(registry.getCounters().isEmpty());
+        assertTrue(registry.getHistograms().isEmpty());
+    }
+
+    private static long count(InMemoryMetricsRegistry registry, String name) {
+        return registry.counter(name).count();
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.generator.Detail;
+import com.microsoft.gctoolkit.generator.GCLogFormat;
+import com.microsoft.gctoolkit.generator.GCLogGenerator;
+import com.microsoft.gctoolkit.integration.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.SampledGCLogFile;
+import com.microsoft.gctoolkit.io.Sampling;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the approximate analysis of part of a generated log with the analysis of the whole of it.
+ * The generator reads the parser rules, which the parser module does not export, so this runs on the class path.
+ */
+@Tag("classPath")
+public class SampledAnalysisTest {
+
+    private static final long SIZE = 4L << 20;
+    private static final int BLOCK_SIZE = 64 << 10;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void unifiedG1() throws IOException {
+        compare(GCLogFormat.UNIFIED_G1);
+    }
+
+    @Test
+    public void preUnifiedCMS() throws IOException {
+        compare(GCLogFormat.PRE_UNIFIED_CMS);
+    }
+
+    private void compare(GCLogFormat format) throws IOException {
+        Path log = directory.resolve(format + ".log");
+        new GCLogGenerator(format).seed(2024L).targetSize(SIZE).detail(Detail.DETAILS).write(log);
+
+        CollectionCycleCountsSummary all = new CollectionCycleCountsSummary();
+        JavaVirtualMachine whole = analyze(new SingleGCLogFile(log), all);
+        assertFalse(whole.isApproximate());
+        assertTrue(whole.getSampling().isEmpty());
+
+        CollectionCycleCountsSummary sampled = new CollectionCycleCountsSummary();
+        JavaVirtualMachine part = analyze(new SampledGCLogFile(log, 0.25d, BLOCK_SIZE, 11L), sampled);
+        assertTrue(part.isApproximate());
+        Sampling sampling = part.getSampling().orElseThrow();
+        assertTrue(sampling.getFraction() < 0.3d, sampling.toString());
+        assertTrue(sampled.getTotal() < all.getTotal());
+
+        Sampling.Estimate collections = sampling.scale(sampled.getTotal());
+        assertTrue(collections.contains(all.getTotal()), collections + " does not hold " + all.getTotal());
+        // the first and the last block are always read
+        assertEquals(whole.getTimeOfFirstEvent().getTimeStamp(), part.getTimeOfFirstEvent().getTimeStamp(), 0.001d);
+        assertEquals(whole.getRuntimeDuration(), part.getRuntimeDuration(), 0.001d);
+    }
+
+    private static JavaVirtualMachine analyze(GCLogFile log, CollectionCycleCountsSummary counts) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(counts);
+        return gcToolKit.analyze(log);
+    }
+}
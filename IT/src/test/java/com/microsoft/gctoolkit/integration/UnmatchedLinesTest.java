@@ -0,0 +1,61 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.integration.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.integration.io.TestLogFile;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("modulePath")
+public class UnmatchedLinesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void linesFromANewerJDKAreCollected() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(new TestLogFile("samples/g1-sample.log").getFile().toPath())) {
+            lines.add(line);
+            int level = line.indexOf("[info]");
+            if (level > 0 && line.contains("Pause Young"))
+                lines.add(line.substring(0, level) + "[info][gc,future] GC(" + lines.size() + ") Something new " + lines.size() + ".5ms");
+        }
+        Path log = directory.resolve("g1-future.log");
+        Files.write(log, lines);
+
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new CollectionCycleCountsSummary());
+        JavaVirtualMachine machine = gcToolKit.analyze(new SingleGCLogFile(log));
+
+        UnmatchedLines g1 = machine.getUnmatchedLines().stream()
+                .filter(unmatched -> unmatched.getParser().equals("UnifiedG1GCParser"))
+                .findFirst()
+                .orElseThrow();
+        UnmatchedLines.Shape future = g1.getShapes().stream()
+                .filter(shape -> shape.getTemplate().contains("Something new"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(g1.getShapes().toString()));
+        long injected = lines.stream().filter(line -> line.contains("Something new")).count();
+        assertTrue(injected > 10);
+        assertEquals(injected, future.getCount());
+        assertEquals("[info][gc,future] GC(#) Something new #.#ms", future.getTemplate());
+        assertEquals(5, future.getExamples().size());
+        assertTrue(future.getExamples().stream().allMatch(example -> example.contains("Something new")));
+    }
+}
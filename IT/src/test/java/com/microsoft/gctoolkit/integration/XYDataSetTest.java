@@ -45,4 +45,42 @@ public class XYDataSetTest {
         Assertions.assertTrue(new XYDataSet().maxOfY().isEmpty());
     }
 
+    @Test
+    public void growsBeyondInitialCapacity() {
+        var xyDataSet = new XYDataSet();
+        for (int i = 0; i < 1000; i++)
+            xyDataSet.add(i, i * 2);
+        Assertions.assertEquals(1000, xyDataSet.size());
+        Assertions.assertEquals(999.0, xyDataSet.getX(999));
+        Assertions.assertEquals(1998.0, xyDataSet.getY(999));
+        Assertions.assertEquals(1998.0, xyDataSet.maxOfY().getAsDouble());
+        Assertions.assertEquals(999.0 * 1000.0, xyDataSet.yValues().sum());
+    }
+
+    @Test
+    public void itemsAreAReadOnlyView() {
+        var xyDataSet = new XYDataSet();
+        xyDataSet.add(1, 2);
+        var items = xyDataSet.getItems();
+        xyDataSet.add(3, 4);
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals(3.0, items.get(1).getX());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> items.add(new Point(5, 6)));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> items.get(2));
+    }
+
+    @Test
+    public void offHeapDataSet() {
+        var xyDataSet = XYDataSet.offHeap(2);
+        for (int i = 0; i < 100; i++)
+            xyDataSet.add(i, 100 - i);
+        var copy = new XYDataSet(xyDataSet);
+        var scaled = copy.scaleAndTranslateXAxis(2, 1).scaleSeries(0.5);
+        Assertions.assertEquals(100, scaled.size());
+        Assertions.assertEquals(199.0, scaled.getX(99));
+        Assertions.assertEquals(0.5, scaled.getY(99));
+        double[] sum = new double[1];
+        scaled.forEach((x, y) -> sum[0] += y);
+        Assertions.assertEquals(2525.0, sum[0]);
+    }
 }
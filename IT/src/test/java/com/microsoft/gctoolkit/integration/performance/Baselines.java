@@ -0,0 +1,91 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration.performance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The expected cost of each scenario, read from a properties file of {@code <scenario>.<metric>=<value>}
+ * entries and {@code tolerance.<metric>=<fraction>} entries. A measurement regresses when a metric is worse
+ * than its baseline by more than the tolerance for that metric. A metric without a baseline is reported
+ * but never fails. Only the metrics that do not depend on the speed of the machine have baselines.
+ */
+class Baselines {
+
+    static final String RESOURCE = "/performance-baselines.properties";
+
+    private final Properties properties = new Properties();
+
+    /**
+     * Read the baselines from a file, or from the baselines on the test class path if the file is null.
+     */
+    Baselines(Path file) throws IOException {
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+                properties.load(reader);
+            }
+        } else {
+            try (InputStream in = Baselines.class.getResourceAsStream(RESOURCE)) {
+                if (in == null)
+                    throw new IOException(RESOURCE + " is not on the class path");
+                properties.load(in);
+            }
+        }
+    }
+
+    double tolerance(String metric) {
+        return Double.parseDouble(properties.getProperty("tolerance." + metric, "0.25"));
+    }
+
+    /**
+     * @return a description of each metric of the measurement that regressed, or an empty list
+     */
+    List<String> regressions(Measurement measurement) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> metric : measurement.metrics().entrySet()) {
+            String baseline = properties.getProperty(measurement.getScenario() + "." + metric.getKey());
+            if (baseline == null)
+                continue;
+            double expected = Double.parseDouble(baseline);
+            double tolerance = tolerance(metric.getKey());
+            if (Measurement.regressed(metric.getKey(), metric.getValue(), expected, tolerance))
+                regressions.add(String.format(Locale.ROOT, "%s %s is %s, the baseline is %s with a tolerance of %.0f%%",
+                        measurement.getScenario(), metric.getKey(), Measurement.format(metric.getValue()),
+                        Measurement.format(expected), tolerance * 100.0d));
+        }
+        return regressions;
+    }
+
+    /**
+     * Write the tolerances and the measured metrics as a new set of baselines, to be reviewed and copied
+     * over the baselines in the test resources.
+     */
+    void record(List<Measurement> measurements, Path file) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        for (String name : properties.stringPropertyNames())
+            if (name.startsWith("tolerance."))
+                entries.put(name, properties.getProperty(name));
+        for (Measurement measurement : measurements)
+            measurement.metrics().forEach((metric, value) ->
+                    entries.put(measurement.getScenario() + "." + metric, Measurement.format(value)));
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            writer.write("# Recorded with java " + System.getProperty("java.version") + " on " + System.getProperty("os.name")
+                    + " " + System.getProperty("os.arch") + " with " + Runtime.getRuntime().availableProcessors() + " processors\n");
+            for (Map.Entry<String, String> entry : entries.entrySet())
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration.performance;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What one analysis of a log cost. The metrics that are compared to the baselines are normalised by the
+ * size of the log, so that a baseline still holds if the size of a generated log is changed, and do not
+ * depend on the speed of the machine. The throughput does, so it is reported but not compared.
+ */
+class Measurement {
+
+    static final String LINES_PER_SECOND = "linesPerSecond";
+    static final String EVENTS_PER_SECOND = "eventsPerSecond";
+    static final String EVENTS_PER_LINE = "eventsPerLine";
+    static final String ALLOCATED_BYTES_PER_LINE = "allocatedBytesPerLine";
+    static final String PEAK_HEAP_BYTES_PER_LINE = "peakHeapBytesPerLine";
+
+    private final String scenario;
+    private final long lines;
+    private final long events;
+    private final double wallSeconds;
+    private final long allocatedBytes;
+    private final long peakHeapBytes;
+
+    Measurement(String scenario, long lines, long events, double wallSeconds, long allocatedBytes, long peakHeapBytes) {
+        this.scenario = scenario;
+        this.lines = lines;
+        this.events = events;
+        this.wallSeconds = wallSeconds;
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    String getScenario() {
+        return scenario;
+    }
+
+    long getEvents() {
+        return events;
+    }
+
+    double getWallSeconds() {
+        return wallSeconds;
+    }
+
+    /**
+     * @return the metrics that have baselines, by name
+     */
+    Map<String, Double> metrics() {
+        Map<String, Double> metrics = new TreeMap<>();
+        metrics.put(EVENTS_PER_LINE, (double) events / lines);
+        metrics.put(ALLOCATED_BYTES_PER_LINE, (double) allocatedBytes / lines);
+        metrics.put(PEAK_HEAP_BYTES_PER_LINE, (double) peakHeapBytes / lines);
+        return metrics;
+    }
+
+    /**
+     * @return the throughput of the analysis, which is reported but has no baselines
+     */
+    Map<String, Double> throughput() {
+        Map<String, Double> throughput = new TreeMap<>();
+        throughput.put(LINES_PER_SECOND, lines / wallSeconds);
+        throughput.put(EVENTS_PER_SECOND, events / wallSeconds);
+        return throughput;
+    }
+
+    /**
+     * The same log should always give the same number of events, so a change either way is a regression.
+     * Allocation and peak heap regress when they grow.
+     * @param metric the name of a metric
+     * @param value the measured value of the metric
+     * @param baseline the baseline of the metric
+     * @param tolerance the fraction of the baseline that the value may differ by
+     * @return true if the value is worse than the baseline by more than the tolerance
+     */
+    static boolean regressed(String metric, double value, double baseline, double tolerance) {
+        if (EVENTS_PER_LINE.equals(metric))
+            return Math.abs(value - baseline) > baseline * tolerance;
+        return value > baseline * (1.0d + tolerance);
+    }
+
+    /**
+     * @return the value to four significant digits
+     */
+    static String format(double value) {
+        return new BigDecimal(value).round(new MathContext(4)).stripTrailingZeros().toPlainString();
+    }
+
+    @Override
+    public String toString() {
+        Map<String, Double> metrics = metrics();
+        Map<String, Double> throughput = throughput();
+        return String.format(Locale.ROOT, "%-24s %,10d lines %,8d events %8.2f s %,12.0f lines/s %,10.0f events/s %8.4f events/line %,8.0f B/line %,8.0f B/line peak heap",
+                scenario, lines, events, wallSeconds, throughput.get(LINES_PER_SECOND), throughput.get(EVENTS_PER_SECOND),
+                metrics.get(EVENTS_PER_LINE), metrics.get(ALLOCATED_BYTES_PER_LINE), metrics.get(PEAK_HEAP_BYTES_PER_LINE));
+    }
+}
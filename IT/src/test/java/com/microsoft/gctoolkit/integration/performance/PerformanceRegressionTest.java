@@ -0,0 +1,150 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration.performance;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.generator.Detail;
+import com.microsoft.gctoolkit.generator.GCLogFormat;
+import com.microsoft.gctoolkit.generator.GCLogGenerator;
+import com.microsoft.gctoolkit.integration.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.integration.aggregation.HeapOccupancyAfterCollectionSummary;
+import com.microsoft.gctoolkit.integration.aggregation.PauseTimeSummary;
+import com.microsoft.gctoolkit.integration.io.TestLogFile;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs complete analyses of large generated logs and of the sample log, and fails if the events found, the
+ * allocation or the peak heap for each line of the log have regressed beyond the tolerances in
+ * {@code performance-baselines.properties}. These do not depend on the speed of the machine, so the
+ * baselines hold on any machine. The throughput does, so it is reported but not compared.
+ * <p>
+ * The suite is not part of the default build. Run it with {@code mvnw -Pperformance -pl IT -am verify}.
+ * System properties:
+ * <ul>
+ *     <li>{@code performance.dir}: where the generated logs and results go, {@code target/performance} by default</li>
+ *     <li>{@code performance.iterations}: measured analyses per scenario after one warm up, 3 by default.
+ *     The fastest is kept.</li>
+ *     <li>{@code performance.baselines}: a baselines file to use in place of the one in the test resources</li>
+ *     <li>{@code performance.record}: write the measurements as new baselines rather than compare them</li>
+ * </ul>
+ */
+@Tag("performance")
+public class PerformanceRegressionTest {
+
+    private static final long SEED = 2024L;
+    private static final long MEGABYTE = 1L << 20;
+    private static final Logger GCTOOLKIT_LOGGER = Logger.getLogger("com.microsoft.gctoolkit");
+
+    private static final class Scenario {
+        private final String name;
+        private final GCLogFormat format;
+        private final long size;
+
+        private Scenario(String name, GCLogFormat format, long size) {
+            this.name = name;
+            this.format = format;
+            this.size = size;
+        }
+    }
+
+    private static final Scenario[] GENERATED = {
+            new Scenario("unified-g1", GCLogFormat.UNIFIED_G1, 16 * MEGABYTE),
+            new Scenario("unified-parallel", GCLogFormat.UNIFIED_PARALLEL, 8 * MEGABYTE),
+            new Scenario("unified-zgc", GCLogFormat.UNIFIED_ZGC, 8 * MEGABYTE),
+            new Scenario("unified-generational-zgc", GCLogFormat.UNIFIED_GENERATIONAL_ZGC, 8 * MEGABYTE),
+            new Scenario("jdk8-cms", GCLogFormat.PRE_UNIFIED_CMS, 8 * MEGABYTE),
+            new Scenario("jdk8-parallel", GCLogFormat.PRE_UNIFIED_PARALLEL, 8 * MEGABYTE)
+    };
+
+    private final Path directory = Path.of(System.getProperty("performance.dir", "target/performance"));
+    private final int iterations = Integer.getInteger("performance.iterations", 3);
+
+    @Test
+    public void analysisHasNotRegressed() throws Exception {
+        // The warnings for lines the parsers don't recognize would otherwise be part of what is measured
+        GCTOOLKIT_LOGGER.setLevel(Level.SEVERE);
+
+        List<Measurement> measurements = new ArrayList<>();
+        for (Scenario scenario : GENERATED)
+            measurements.add(measure(scenario.name, generate(scenario)));
+        measurements.add(measure("g1-sample", new TestLogFile("samples/g1-sample.log").getFile().toPath()));
+
+        measurements.forEach(System.out::println);
+        String baselinesFile = System.getProperty("performance.baselines");
+        Baselines baselines = new Baselines(baselinesFile == null ? null : Path.of(baselinesFile));
+        baselines.record(measurements, directory.resolve("measured-baselines.properties"));
+        if (Boolean.getBoolean("performance.record")) {
+            System.out.println("Baselines recorded in " + directory.resolve("measured-baselines.properties").toAbsolutePath());
+            return;
+        }
+
+        List<String> regressions = new ArrayList<>();
+        measurements.forEach(measurement -> regressions.addAll(baselines.regressions(measurement)));
+        if (!regressions.isEmpty())
+            fail("Performance regressed:\n" + String.join("\n", regressions));
+    }
+
+    private Path generate(Scenario scenario) throws IOException {
+        Path path = directory.resolve(scenario.name + ".log");
+        if (!Files.isRegularFile(path) || Files.size(path) < scenario.size)
+            new GCLogGenerator(scenario.format).seed(SEED).targetSize(scenario.size).detail(Detail.DETAILS).write(path);
+        return path;
+    }
+
+    private Measurement measure(String scenario, Path log) throws Exception {
+        long lines = countLines(log);
+        analyze(log);
+        Measurement fastest = null;
+        for (int i = 0; i < iterations; i++) {
+            System.gc();
+            CollectionCycleCountsSummary counts = new CollectionCycleCountsSummary();
+            long start;
+            double seconds;
+            ResourceMonitor monitor = new ResourceMonitor();
+            try (monitor) {
+                start = System.nanoTime();
+                analyze(log, counts);
+                seconds = (System.nanoTime() - start) / 1_000_000_000.0d;
+            }
+            Measurement measurement = new Measurement(scenario, lines, counts.getTotal(), seconds,
+                    monitor.getAllocatedBytes(), monitor.getPeakHeapBytes());
+            assertTrue(measurement.getEvents() > 0, scenario + " produced no events");
+            if (fastest == null || measurement.getWallSeconds() < fastest.getWallSeconds())
+                fastest = measurement;
+        }
+        return fastest;
+    }
+
+    private static JavaVirtualMachine analyze(Path log) throws IOException {
+        return analyze(log, new CollectionCycleCountsSummary());
+    }
+
+    private static JavaVirtualMachine analyze(Path log, CollectionCycleCountsSummary counts) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(counts);
+        gcToolKit.loadAggregation(new HeapOccupancyAfterCollectionSummary());
+        gcToolKit.loadAggregation(new PauseTimeSummary());
+        return gcToolKit.analyze(new SingleGCLogFile(log));
+    }
+
+    private static long countLines(Path log) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(log)) {
+            return reader.lines().count();
+        }
+    }
+}
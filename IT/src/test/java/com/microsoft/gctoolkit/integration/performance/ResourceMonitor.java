@@ -0,0 +1,89 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.integration.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the bytes allocated by every thread of the JVM, and the peak heap, while an analysis runs.
+ * <p>
+ * An analysis runs on threads that the channels start and stop, and the allocation counter of a thread
+ * is lost once the thread ends. The counters are therefore sampled every few milliseconds, keeping the
+ * last value seen for each thread, so that at most the final few milliseconds of a short lived thread
+ * go uncounted. The peak heap is the sum of the peaks of the heap pools, which are reset at the start.
+ */
+class ResourceMonitor implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 5L;
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .collect(Collectors.toList());
+    private final Map<Long, Long> initial = new HashMap<>();
+    private final Map<Long, Long> latest = new HashMap<>();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    ResourceMonitor() {
+        if (!threads.isThreadAllocatedMemorySupported())
+            throw new UnsupportedOperationException("This JVM does not measure the memory allocated by a thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        sample(initial);
+        sampler = new Thread(this::run, "gctoolkit-resource-monitor");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    private void run() {
+        while (running) {
+            sample(latest);
+            try {
+                Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized void sample(Map<Long, Long> into) {
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++)
+            if (allocated[i] >= 0L)
+                into.put(ids[i], allocated[i]);
+    }
+
+    /**
+     * Stop sampling. The measurements are taken at this point.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.join();
+        sample(latest);
+    }
+
+    /**
+     * @return the bytes allocated by all threads other than the sampler since this monitor was created
+     */
+    synchronized long getAllocatedBytes() {
+        long total = 0L;
+        for (Map.Entry<Long, Long> entry : latest.entrySet())
+            if (entry.getKey() != sampler.getId())
+                total += entry.getValue() - initial.getOrDefault(entry.getKey(), 0L);
+        return total;
+    }
+
+    long getPeakHeapBytes() {
+        return heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+}
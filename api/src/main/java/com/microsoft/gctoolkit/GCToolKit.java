@@ -3,30 +3,54 @@
 package com.microsoft.gctoolkit;
 
 import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.AggregationSnapshot;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.EventDetail;
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.JFRRecordingFile;
+import com.microsoft.gctoolkit.io.JVMEventStore;
+import com.microsoft.gctoolkit.io.JVMEventStoreWriter;
 import com.microsoft.gctoolkit.io.RotatingGCLogFile;
+import com.microsoft.gctoolkit.io.SampledGCLogFile;
+import com.microsoft.gctoolkit.io.Sampling;
 import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jfr.AnalysisEvent;
+import com.microsoft.gctoolkit.jvm.AbstractJavaVirtualMachine;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.UnmatchedLineCollector;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.DataSourceParser;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.MeteredDataSourceChannel;
+import com.microsoft.gctoolkit.message.MeteredJVMEventChannel;
+import com.microsoft.gctoolkit.message.RecordedEventParser;
+import com.microsoft.gctoolkit.message.RecordingJVMEventChannel;
+import com.microsoft.gctoolkit.metrics.MetricsRegistry;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -77,6 +101,10 @@ public class GCToolKit {
     private List<Aggregation> registeredAggregations;
     private JVMEventChannel jvmEventChannel = null;
     private DataSourceChannel dataSourceChannel = null;
+    // The aggregators of the analysis in progress, or of the last analysis; read by snapshot()
+    private volatile List<Aggregator<? extends Aggregation>> aggregatorsUnderAnalysis = Collections.emptyList();
+    private Path eventStorePath = null;
+    private MetricsRegistry metricsRegistry = MetricsRegistry.NO_OP;
 
     /**
      * Instantiate a GCToolKit object. The same GCToolKit object can be used to analyze
@@ -222,7 +250,7 @@ public class GCToolKit {
         additiveParsers.add(dataSourceParser);
     }
 
-    private Set<EventSource> loadDataSourceParsers(Diary diary) {
+    private List<DataSourceParser> loadDataSourceParsers(Diary diary) {
 
         loadDataSourceChannel();
         loadJVMEventChannel();
@@ -282,13 +310,41 @@ public class GCToolKit {
         for (DataSourceParser dataSourceParser : dataSourceParsers) {
             LOG_DEBUG_MESSAGE(() -> "Registering " + dataSourceParser.getClass().getName() + " with " + dataSourceChannel.getClass().getName());
             dataSourceParser.diary(diary);
+            dataSourceParser.metrics(metricsRegistry);
             dataSourceChannel.registerListener(dataSourceParser);
-            dataSourceParser.publishTo(jvmEventChannel);
         }
 
-        return dataSourceParsers.stream()
-                .map(DataSourceParser::eventsProduced)
-                .collect(HashSet::new, Set::addAll, Set::addAll);
+        return dataSourceParsers;
+    }
+
+    /**
+     * Record the events parsed by the following analyses to an event file, so that they can be analysed again
+     * without parsing the log. Every detail of every event is parsed while recording, whether or not the
+     * registered Aggregations consume it. Events are only parsed, and so only recorded, when at least one
+     * registered Aggregation aggregates the events of the log.
+     *
+     * @param eventStorePath the event file to write, which is replaced if it exists; null to stop recording
+     * @see JVMEventStore
+     */
+    public void recordEventsTo(Path eventStorePath) {
+        this.eventStorePath = eventStorePath;
+    }
+
+    /**
+     * Report what each stage of the following analyses does to a MetricsRegistry: the lines read and parsed,
+     * the events published on each channel and the time each parser and Aggregator spends on its work.
+     * Nothing is measured by default, and an analysis is not instrumented at all unless a registry is loaded.
+     *
+     * @param metricsRegistry where the metrics are recorded, typically an
+     *                        {@link com.microsoft.gctoolkit.metrics.InMemoryMetricsRegistry}; null to stop recording
+     * @see MetricsRegistry
+     */
+    public void loadMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = (metricsRegistry == null) ? MetricsRegistry.NO_OP : metricsRegistry;
+    }
+
+    private boolean metered() {
+        return metricsRegistry != MetricsRegistry.NO_OP;
     }
 
     /**
@@ -298,26 +354,228 @@ public class GCToolKit {
      *
      * @param dataSource The log to analyze, typically a
      *                   {@link SingleGCLogFile} or
-     *                   {@link RotatingGCLogFile}.
+     *                   {@link RotatingGCLogFile}, part of a large log
+     *                   in a {@link SampledGCLogFile}, the events of a log
+     *                   recorded in a {@link JVMEventStore}, or a flight
+     *                   recording in a {@link JFRRecordingFile}.
      * @return a representation of the state of the Java Virtual Machine resulting
      * from the analysis of the GC log file.
      * @throws IOException when something goes wrong reading the data source
      */
     public JavaVirtualMachine analyze(DataSource<?> dataSource) throws IOException  {
-        GCLogFile logFile = (GCLogFile)dataSource;
-        Set<EventSource> events = loadDataSourceParsers(logFile.diary());
+        AnalysisEvent analysisEvent = new AnalysisEvent();
+        analysisEvent.begin();
+        try {
+            if (dataSource instanceof JVMEventStore)
+                return replay((JVMEventStore) dataSource);
+            if (dataSource instanceof JFRRecordingFile)
+                return read((JFRRecordingFile) dataSource);
+            return parse((GCLogFile) dataSource);
+        } finally {
+            analysisEvent.end();
+            if (analysisEvent.shouldCommit()) {
+                analysisEvent.dataSource = dataSource.toString();
+                analysisEvent.size = sizeOf(dataSource);
+                analysisEvent.aggregators = aggregatorsUnderAnalysis.size();
+                analysisEvent.commit();
+            }
+        }
+    }
+
+    private static long sizeOf(DataSource<?> dataSource) {
+        if (dataSource instanceof GCLogFile)
+            return ((GCLogFile) dataSource).estimateTotalBytes();
+        Path path = (dataSource instanceof JFRRecordingFile)
+                ? ((JFRRecordingFile) dataSource).getPath()
+                : ((JVMEventStore) dataSource).getPath();
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Parse a GC log and deliver the events to the Aggregators.
+     */
+    private JavaVirtualMachine parse(GCLogFile logFile) throws IOException {
+        List<DataSourceParser> dataSourceParsers = loadDataSourceParsers(logFile.diary());
+        List<UnmatchedLineCollector> unmatchedLines = new ArrayList<>();
+        List<UnknownGCCauseCollector> unknownGCCauses = new ArrayList<>();
+        for (DataSourceParser dataSourceParser : dataSourceParsers) {
+            UnmatchedLineCollector collector = new UnmatchedLineCollector(dataSourceParser.getClass().getSimpleName());
+            dataSourceParser.collectUnmatchedLines(collector);
+            unmatchedLines.add(collector);
+            UnknownGCCauseCollector causes = new UnknownGCCauseCollector();
+            dataSourceParser.collectUnknownGCCauses(causes);
+            unknownGCCauses.add(causes);
+        }
+        Set<EventSource> events = dataSourceParsers.stream()
+                .map(DataSourceParser::eventsProduced)
+                .collect(HashSet::new, Set::addAll, Set::addAll);
+        JVMEventStoreWriter recorder = (eventStorePath == null) ? null : new JVMEventStoreWriter(eventStorePath, logFile.diary(), events);
+        JVMEventChannel recordingChannel = (recorder == null) ? jvmEventChannel : new RecordingJVMEventChannel(jvmEventChannel, recorder);
+        JVMEventChannel eventChannel = metered() ? new MeteredJVMEventChannel(recordingChannel, metricsRegistry) : recordingChannel;
+        DataSourceChannel sourceChannel = metered() ? new MeteredDataSourceChannel(dataSourceChannel, metricsRegistry) : dataSourceChannel;
+        dataSourceParsers.forEach(dataSourceParser -> dataSourceParser.publishTo(eventChannel));
         JavaVirtualMachine javaVirtualMachine = loadJavaVirtualMachine(logFile);
         try {
             List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(events);
+            aggregatorsUnderAnalysis = List.copyOf(filteredAggregators);
+            Set<EventDetail> details = (recorder == null) ? detailsConsumed(filteredAggregators) : EnumSet.allOf(EventDetail.class);
+            dataSourceParsers.forEach(dataSourceParser -> dataSourceParser.detailsConsumed(details));
             long start = System.currentTimeMillis();
-            javaVirtualMachine.analyze(filteredAggregators, jvmEventChannel, dataSourceChannel);
+            javaVirtualMachine.analyze(filteredAggregators, eventChannel, sourceChannel);
             LOGGER.log(Level.FINE,() -> "Analysis completed in " + (System.currentTimeMillis() - start) + "ms");
+            reportUnmatchedLines(javaVirtualMachine, unmatchedLines);
+            reportUnknownGCCauses(javaVirtualMachine, unknownGCCauses);
+            if (logFile instanceof SampledGCLogFile)
+                reportSampling(javaVirtualMachine, ((SampledGCLogFile) logFile).getSampling());
         } catch(Throwable t) {
             LOGGER.log(Level.SEVERE, "Internal Error: Cannot invoke analyze method", t);
+        } finally {
+            if (recorder != null) {
+                recorder.close();
+                LOGGER.log(Level.FINE, () -> "Recorded " + recorder.getRecordsWritten() + " events to " + eventStorePath);
+            }
         }
         return javaVirtualMachine;
     }
 
+    /**
+     * Log a summary of the lines each parser did not recognize, and keep them with the results.
+     */
+    private void reportUnmatchedLines(JavaVirtualMachine javaVirtualMachine, List<UnmatchedLineCollector> collectors) {
+        List<UnmatchedLines> unmatchedLines = collectors.stream()
+                .filter(collector -> collector.getTotal() > 0)
+                .map(UnmatchedLineCollector::snapshot)
+                .collect(Collectors.toList());
+        unmatchedLines.forEach(lines -> LOGGER.log(Level.INFO, lines::toString));
+        if (javaVirtualMachine instanceof AbstractJavaVirtualMachine)
+            ((AbstractJavaVirtualMachine) javaVirtualMachine).setUnmatchedLines(unmatchedLines);
+    }
+
+    /**
+     * Log the GC causes the parsers did not recognize, and keep them with the results.
+     */
+    private void reportUnknownGCCauses(JavaVirtualMachine javaVirtualMachine, List<UnknownGCCauseCollector> collectors) {
+        Map<String, Long> unknownGCCauses = new LinkedHashMap<>();
+        collectors.forEach(collector -> collector.getUnknownCauses().forEach((cause, count) -> unknownGCCauses.merge(cause, count, Long::sum)));
+        if (!unknownGCCauses.isEmpty())
+            LOGGER.log(Level.INFO, () -> "Unknown GC causes: " + unknownGCCauses);
+        if (javaVirtualMachine instanceof AbstractJavaVirtualMachine)
+            ((AbstractJavaVirtualMachine) javaVirtualMachine).setUnknownGCCauses(unknownGCCauses);
+    }
+
+    /**
+     * Make it plain that the analysis of a sampled log is an approximate one.
+     */
+    private void reportSampling(JavaVirtualMachine javaVirtualMachine, Sampling sampling) {
+        if (sampling == null)
+            return;
+        LOGGER.log(Level.INFO, () -> "Approximate analysis of " + sampling);
+        if (javaVirtualMachine instanceof AbstractJavaVirtualMachine)
+            ((AbstractJavaVirtualMachine) javaVirtualMachine).setSampling(sampling);
+    }
+
+    /**
+     * Analyse recorded events. The events go straight to the Aggregators; no parsers are involved.
+     */
+    private JavaVirtualMachine replay(JVMEventStore eventStore) throws IOException {
+        loadJVMEventChannel();
+        Set<EventSource> events = eventStore.getEventSources();
+        JavaVirtualMachine javaVirtualMachine = eventStore.getJavaVirtualMachine();
+        try {
+            List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(events);
+            aggregatorsUnderAnalysis = List.copyOf(filteredAggregators);
+            long start = System.currentTimeMillis();
+            JVMEventChannel eventChannel = metered() ? new MeteredJVMEventChannel(jvmEventChannel, metricsRegistry) : jvmEventChannel;
+            javaVirtualMachine.analyze(filteredAggregators, eventChannel, null);
+            LOGGER.log(Level.FINE,() -> "Replay completed in " + (System.currentTimeMillis() - start) + "ms");
+        } catch(Throwable t) {
+            LOGGER.log(Level.SEVERE, "Internal Error: Cannot invoke analyze method", t);
+        }
+        return javaVirtualMachine;
+    }
+
+    /**
+     * Translate the GC events of a flight recording and deliver them to the Aggregators.
+     */
+    private JavaVirtualMachine read(JFRRecordingFile recording) throws IOException {
+        loadJVMEventChannel();
+        Diary diary = recording.diary();
+        RecordedEventParser recordedEventParser = loadRecordedEventParser(diary);
+        recordedEventParser.diary(diary);
+        UnknownGCCauseCollector unknownGCCauses = new UnknownGCCauseCollector();
+        recordedEventParser.collectUnknownGCCauses(unknownGCCauses);
+        Set<EventSource> events = recordedEventParser.eventsProduced();
+        JVMEventStoreWriter recorder = (eventStorePath == null) ? null : new JVMEventStoreWriter(eventStorePath, diary, events);
+        JVMEventChannel recordingChannel = (recorder == null) ? jvmEventChannel : new RecordingJVMEventChannel(jvmEventChannel, recorder);
+        JVMEventChannel eventChannel = metered() ? new MeteredJVMEventChannel(recordingChannel, metricsRegistry) : recordingChannel;
+        recordedEventParser.publishTo(eventChannel);
+        JavaVirtualMachine javaVirtualMachine = recording.getJavaVirtualMachine();
+        try {
+            List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(events);
+            aggregatorsUnderAnalysis = List.copyOf(filteredAggregators);
+            ((AbstractJavaVirtualMachine) javaVirtualMachine).setRecordedEventParser(recordedEventParser);
+            long start = System.currentTimeMillis();
+            javaVirtualMachine.analyze(filteredAggregators, eventChannel, null);
+            LOGGER.log(Level.FINE,() -> "Recording analysed in " + (System.currentTimeMillis() - start) + "ms");
+            reportUnknownGCCauses(javaVirtualMachine, List.of(unknownGCCauses));
+        } catch(Throwable t) {
+            LOGGER.log(Level.SEVERE, "Internal Error: Cannot invoke analyze method", t);
+        } finally {
+            if (recorder != null) {
+                recorder.close();
+                LOGGER.log(Level.FINE, () -> "Recorded " + recorder.getRecordsWritten() + " events to " + eventStorePath);
+            }
+        }
+        return javaVirtualMachine;
+    }
+
+    private RecordedEventParser loadRecordedEventParser(Diary diary) {
+        Optional<RecordedEventParser> recordedEventParser = ServiceLoader.load(RecordedEventParser.class)
+                .stream()
+                .map(ServiceLoader.Provider::get)
+                .filter(parser -> parser.accepts(diary))
+                .findFirst();
+        if (recordedEventParser.isPresent())
+            return recordedEventParser.get();
+        try {
+            Class<?> clazz = forName("com.microsoft.gctoolkit.parser.jfr.JFREventParser", true, Thread.currentThread().getContextClassLoader());
+            RecordedEventParser parser = (RecordedEventParser) clazz.getConstructors()[0].newInstance();
+            if (parser.accepts(diary))
+                return parser;
+        } catch (ClassNotFoundException
+                | InstantiationException
+                | IllegalAccessException
+                | InvocationTargetException e) {
+            LOGGER.log(Level.FINE, e.getMessage(), e);
+        }
+        throw new ServiceConfigurationError("Unable to find a suitable provider to create a RecordedEventParser");
+    }
+
+    /**
+     * Take copies of the Aggregations of the analysis in progress, without stopping it. This is the one
+     * method of GCToolKit that may be called from another thread while {@link #analyze(DataSource)} runs.
+     * Each Aggregation is copied between two of the events delivered to it, so each copy is consistent.
+     * Only Aggregations that are a {@link com.microsoft.gctoolkit.aggregator.MergeableAggregation} can be
+     * copied; the others are left out of the snapshot. After the analysis, the snapshot is of the final results.
+     * @return a future completed once every Aggregation has been copied. A copy is only made when the next
+     * event reaches the Aggregation, so callers following a live log should use a timeout.
+     * @see Aggregator#snapshot()
+     */
+    public CompletableFuture<AggregationSnapshot> snapshot() {
+        List<CompletableFuture<? extends Aggregation>> copies = aggregatorsUnderAnalysis.stream()
+                .filter(Aggregator::supportsSnapshots)
+                .map(Aggregator::snapshot)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(copies.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> new AggregationSnapshot(copies.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList())));
+    }
+
     private List<Aggregator<? extends Aggregation>> filterAggregations(Set<EventSource> events) {
         List<Aggregator<? extends Aggregation>> aggregators = new ArrayList<>();
         for (Aggregation aggregation : registeredAggregations) {
@@ -355,6 +613,13 @@ public class GCToolKit {
         return aggregators;
     }
 
+    private Set<EventDetail> detailsConsumed(List<Aggregator<? extends Aggregation>> aggregators) {
+        Set<EventDetail> details = EnumSet.noneOf(EventDetail.class);
+        aggregators.forEach(aggregator -> details.addAll(aggregator.detailsConsumed()));
+        LOG_DEBUG_MESSAGE(() -> "Event details consumed: " + details);
+        return details;
+    }
+
     @SuppressWarnings("unchecked")
     private Constructor<? extends Aggregator<?>> constructor(Aggregation aggregation) {
         Class<? extends Aggregator<?>> targetClazz = aggregation.collates();
@@ -7,6 +7,8 @@ import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
 import com.microsoft.gctoolkit.online.statistics.WelfordVarianceCalculator;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.util.Optional;
+
 /**
  * An {@code Aggregation} collates data from an {@link Aggregator} and may be thought of as a view
  * of the data. An {@code Aggregation} might collate data into a time series for plotting, or it might
@@ -179,9 +181,17 @@ public abstract class Aggregation {
       * @return aggregator
      */
     public Class<? extends Aggregator<?>> collates() {
-        return collates(getClass());
+        return COLLATES.get(getClass()).orElse(null);
     }
 
+    // The @Collates annotation is resolved once per Aggregation class.
+    private static final ClassValue<Optional<Class<? extends Aggregator<?>>>> COLLATES = new ClassValue<>() {
+        @Override
+        protected Optional<Class<? extends Aggregator<?>>> computeValue(Class<?> clazz) {
+            return Optional.ofNullable(collates(clazz));
+        }
+    };
+
     public void updateEventFrequency(JVMEvent event) {
         final DateTimeStamp dateTimeStamp = event.getDateTimeStamp();
         if (timeOfLastSeenEvent == null) {
@@ -192,12 +202,57 @@ public abstract class Aggregation {
         varianceCalculator.update(timeSpan);
     }
 
+    /**
+     * Merge the times recorded by the Aggregation of a later segment of the same log into this one. This
+     * is used by {@link MergeableAggregation#merge(Aggregation)} implementations. The first event time is
+     * the earlier of the two, the termination time is the later of the two, and the event frequency
+     * statistics cover the events of both segments.
+     * @param later the Aggregation of a later segment
+     */
+    protected void mergeTimes(Aggregation later) {
+        if (timeOfFirstEvent == null || (later.timeOfFirstEvent != null && later.timeOfFirstEvent.before(timeOfFirstEvent)))
+            timeOfFirstEvent = later.timeOfFirstEvent;
+        if (later.timeOfTermination != null && (timeOfTermination == null || later.timeOfTermination.after(timeOfTermination)))
+            timeOfTermination = later.timeOfTermination;
+        // The event frequency samples are offsets from the first event seen. Those of the later segment
+        // are shifted by the offset of its first event, which is itself a sample.
+        if (timeOfLastSeenEvent == null) {
+            timeOfLastSeenEvent = later.timeOfLastSeenEvent;
+            varianceCalculator.merge(later.varianceCalculator);
+        } else if (later.timeOfLastSeenEvent != null) {
+            double offset = later.timeOfLastSeenEvent.minus(timeOfLastSeenEvent);
+            varianceCalculator.update(offset);
+            varianceCalculator.merge(later.varianceCalculator, offset);
+        }
+    }
+
+    /**
+     * Copy this Aggregation by merging it into an empty one. This Aggregation must be a {@link MergeableAggregation}.
+     * @param timeOfLastEvent the time of the last event seen if the log has not been completely read, otherwise null.
+     *                        The copy is given times that cover the events seen so far.
+     * @return the copy
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Aggregation copy(DateTimeStamp timeOfLastEvent) {
+        MergeableAggregation copy = (MergeableAggregation) ((MergeableAggregation) this).identity();
+        copy.merge(this);
+        Aggregation snapshot = (Aggregation) copy;
+        if (timeOfLastEvent != null) {
+            // The first event and termination times are only known at the end of the log
+            if (snapshot.timeOfFirstEvent == null)
+                snapshot.timeOfFirstEvent = (timeOfLastSeenEvent != null) ? timeOfLastSeenEvent : timeOfLastEvent;
+            if (snapshot.timeOfTermination == null || timeOfLastEvent.after(snapshot.timeOfTermination))
+                snapshot.timeOfTermination = timeOfLastEvent;
+        }
+        return snapshot;
+    }
+
     /**
      * Calculates the aggregator for this aggregation.
      * @param clazz this Aggregation
      * @return the Aggregator
      */
-    private Class<? extends Aggregator<?>> collates(Class<?> clazz) {
+    private static Class<? extends Aggregator<?>> collates(Class<?> clazz) {
         Class<? extends Aggregator<?>> target;
         if (clazz != null && clazz != Aggregation.class) {
 
@@ -0,0 +1,44 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Copies of the Aggregations of an analysis, taken while the analysis is running.
+ * The copies are not changed by the analysis.
+ * @see com.microsoft.gctoolkit.GCToolKit#snapshot()
+ * @see Aggregator#snapshot()
+ */
+public class AggregationSnapshot {
+
+    private final Map<Class<? extends Aggregation>, Aggregation> aggregations;
+
+    public AggregationSnapshot(Collection<? extends Aggregation> aggregations) {
+        Map<Class<? extends Aggregation>, Aggregation> byClass = new LinkedHashMap<>();
+        aggregations.forEach(aggregation -> byClass.put(aggregation.getClass(), aggregation));
+        this.aggregations = Collections.unmodifiableMap(byClass);
+    }
+
+    /**
+     * @param aggregationClass the class of the Aggregation
+     * @param <T> the type of the Aggregation
+     * @return the copy of the Aggregation, or empty if the Aggregation is not part of the analysis or cannot be copied
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Aggregation> Optional<T> getAggregation(Class<T> aggregationClass) {
+        return Optional.ofNullable((T) aggregations.get(aggregationClass));
+    }
+
+    public Collection<Aggregation> getAggregations() {
+        return aggregations.values();
+    }
+
+    public boolean isEmpty() {
+        return aggregations.isEmpty();
+    }
+}
@@ -4,10 +4,14 @@ package com.microsoft.gctoolkit.aggregator;
 
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.util.Arrays;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 /**
@@ -64,6 +68,11 @@ public abstract class Aggregator<A extends Aggregation> {
     private final A aggregation;
     private Runnable completionTask;
 
+    // Set by snapshot(), taken by the thread delivering events to this Aggregator
+    private final AtomicReference<CompletableFuture<A>> snapshotRequest = new AtomicReference<>();
+    private volatile boolean terminated = false;
+    private DateTimeStamp timeOfLastEvent;
+
     /// JVMEventDispatcher manages all the registered events and event consumers
     private final JVMEventDispatcher jvmEventDispatcher = new JVMEventDispatcher();
 
@@ -90,7 +99,8 @@ public abstract class Aggregator<A extends Aggregation> {
      * Register a JVMEvent class and the method in the Aggregator sub-class that handles it.
      * If the JVMEvent class is a super-class of other event types, then the Consumer is called
      * for all sub-classes of that JVMEvent class, unless a Consumer for a more specific event class
-     * is registered.
+     * is registered. More than one Consumer may be registered for the same JVMEvent class; they are
+     * called in the order in which they were registered.
      * <p>
      * The typical pattern is to call this method from the constructor of the Aggregator sub-class.
      * <pre>{@code
@@ -111,28 +121,21 @@ public abstract class Aggregator<A extends Aggregation> {
     }
 
     /**
-     * Call back to be run when the JVMTermination event has been
+     * Call back to be run when the JVMTermination event has been processed. The task is run on the
+     * thread that delivered the event, so it must not block.
      * @param task to be executed
      */
     public void onCompletion(Runnable task) {
         this.completionTask = task;
     }
 
-    private static final ExecutorService executorService =
-        Executors.newSingleThreadExecutor(runnable -> {
-            // Use a daemon thread for executing the completion task; otherwise, the JVM will not exit.
-            Thread thread = new Thread(runnable, "aggregator-completion");
-            thread.setDaemon(true);
-            return thread;
-        }
-    );
-
     /**
-     * Call a callback when aggregation is completed.
+     * Call a callback when aggregation is completed. The callback is run on the thread that delivered
+     * the JVMTermination, which the channel owns, after this Aggregator has finished with the event.
      */
     private void complete() {
         if (completionTask != null) {
-            executorService.execute(completionTask);
+            completionTask.run();
         }
     }
 
@@ -149,46 +152,137 @@ public abstract class Aggregator<A extends Aggregation> {
             aggregation().timeOfFirstEvent(((JVMTermination)event).getTimeOfFirstEvent());
         }
         jvmEventDispatcher.dispatch(event);
-        if (event instanceof JVMTermination) {
+        timeOfLastEvent = event.getDateTimeStamp();
+        if (event instanceof JVMTermination)
+            terminated = true;
+        if (snapshotRequest.get() != null) {
+            publishSnapshot();
+        }
+        if (event instanceof JVMTermination)
             complete();
+    }
+
+    /**
+     * Return {@code true} if {@link #snapshot()} can copy the Aggregation, which is the case when
+     * it is a {@link MergeableAggregation}.
+     * @return {@code true} if snapshots of the Aggregation can be taken
+     */
+    public boolean supportsSnapshots() {
+        return aggregation instanceof MergeableAggregation;
+    }
+
+    /**
+     * Take a copy of the Aggregation without stopping the analysis. The copy is made by the thread
+     * delivering events to this Aggregator, between two events, so it is consistent, and it is never
+     * changed afterwards. Until the end of the log has been reached, the copy covers the time from
+     * the first event to the last event seen so far.
+     * <p>
+     * The copy is made when the next event arrives, or straight away once the end of the log has
+     * been reached. Requests made before the copy is made share the same copy.
+     * @return a future completed with the copy of the Aggregation
+     * @throws UnsupportedOperationException if the Aggregation is not a {@link MergeableAggregation}
+     */
+    public CompletableFuture<A> snapshot() {
+        if (!supportsSnapshots())
+            throw new UnsupportedOperationException(aggregation.getClass().getName() + " is not a MergeableAggregation");
+        CompletableFuture<A> request = snapshotRequest.updateAndGet(pending -> (pending != null) ? pending : new CompletableFuture<>());
+        // No more events will arrive to take the snapshot, and none will change the Aggregation
+        if (terminated)
+            publishSnapshot();
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publishSnapshot() {
+        CompletableFuture<A> request = snapshotRequest.getAndSet(null);
+        if (request == null)
+            return;
+        try {
+            request.complete((A) aggregation.copy(terminated ? null : timeOfLastEvent));
+        } catch (Throwable t) {
+            request.completeExceptionally(t);
         }
     }
 
+    /**
+     * The event detail sections this Aggregator reads, as declared by the
+     * <code>{@literal @}Consumes</code> annotation on the class or one of its super-types.
+     * @return the detail sections consumed, or all of them if the Aggregator does not say.
+     */
+    public Set<EventDetail> detailsConsumed() {
+        Set<EventDetail> details = EnumSet.noneOf(EventDetail.class);
+        details.addAll(DETAILS_CONSUMED.get(getClass()));
+        return details;
+    }
+
     /**
      * Calculates if this Aggregator aggregates the given event source
      * @param eventSource to be checked.
      * @return true is the aggregator aggregates the event source
      */
     public boolean aggregates(EventSource eventSource) {
-        return (eventSource != null) && aggregates(getClass(), eventSource);
+        return (eventSource != null) && EVENT_SOURCES.get(getClass()).contains(eventSource);
+    }
+
+    // The annotations are resolved once per Aggregator class.
+    private static final ClassValue<Set<EventDetail>> DETAILS_CONSUMED = new ClassValue<>() {
+        @Override
+        protected Set<EventDetail> computeValue(Class<?> clazz) {
+            Consumes consumes = consumes(clazz);
+            if (consumes == null)
+                return Collections.unmodifiableSet(EnumSet.allOf(EventDetail.class));
+            EnumSet<EventDetail> details = EnumSet.noneOf(EventDetail.class);
+            details.addAll(Arrays.asList(consumes.value()));
+            return Collections.unmodifiableSet(details);
+        }
+    };
+
+    private static final ClassValue<Set<EventSource>> EVENT_SOURCES = new ClassValue<>() {
+        @Override
+        protected Set<EventSource> computeValue(Class<?> clazz) {
+            EnumSet<EventSource> eventSources = EnumSet.noneOf(EventSource.class);
+            aggregates(clazz, eventSources);
+            return Collections.unmodifiableSet(eventSources);
+        }
+    };
+
+    private static Consumes consumes(Class<?> clazz) {
+        if (clazz == null || clazz == Aggregator.class)
+            return null;
+        if (clazz.isAnnotationPresent(Consumes.class))
+            return clazz.getAnnotation(Consumes.class);
+        Consumes consumes = consumes(clazz.getSuperclass());
+        if (consumes != null)
+            return consumes;
+        for (Class<?> iface : clazz.getInterfaces()) {
+            consumes = consumes(iface);
+            if (consumes != null)
+                return consumes;
+        }
+        return null;
     }
 
     /**
-     * Calculates if this Aggregator aggregates the given event source.
+     * Collects the event sources declared by the <code>{@literal @}Aggregates</code> annotations on the
+     * aggregator and its super-types.
      * @param clazz the aggregator
-     * @param targetEventSource the event source to check
-     * @return true is the aggregator aggregates the event source
+     * @param eventSources the event sources found so far
      */
-    private boolean aggregates(Class<?> clazz, EventSource targetEventSource) {
+    private static void aggregates(Class<?> clazz, Set<EventSource> eventSources) {
         if (clazz != null && clazz != Aggregator.class) {
 
             if (clazz.isAnnotationPresent(Aggregates.class)) {
                 Aggregates aggregates = clazz.getAnnotation(Aggregates.class);
-                if (aggregates != null) {
-                    if (Arrays.asList(aggregates.value()).contains(targetEventSource))
-                        return true;
-                }
+                if (aggregates != null)
+                    eventSources.addAll(Arrays.asList(aggregates.value()));
             }
 
-            if (aggregates(clazz.getSuperclass(), targetEventSource))
-                return true;
+            aggregates(clazz.getSuperclass(), eventSources);
 
             Class<?>[] interfaces = clazz.getInterfaces();
             for (Class<?> iface : interfaces) {
-                if (aggregates(iface, targetEventSource))
-                    return true;
+                aggregates(iface, eventSources);
             }
         }
-        return false;
     }
 }
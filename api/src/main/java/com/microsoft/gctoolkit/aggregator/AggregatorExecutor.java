@@ -0,0 +1,227 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jfr.ChannelStallEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs each {@link Aggregator} on a thread of its own, so that a slow Aggregator does not hold up
+ * the others. Every Aggregator is given a bounded queue that is drained, in order, by a single worker.
+ * An Aggregator therefore sees its events in the order they were published, and is never called
+ * from more than one thread at a time. When a queue is full, the publisher waits for the Aggregator
+ * to catch up, so the consumers must not be called on a thread that may not block, such as an event loop;
+ * see {@link com.microsoft.gctoolkit.message.ChannelListener#mayBlock()}. A publisher stops waiting, and the
+ * event is dropped, if the Aggregator's worker is no longer running.
+ */
+public class AggregatorExecutor implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(AggregatorExecutor.class.getName());
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 60L;
+    // How long a publisher waits on a full queue before checking that the worker is still running
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
+
+    private final int queueCapacity;
+    private final Map<Aggregator<?>, Worker> workers = new LinkedHashMap<>();
+
+    public AggregatorExecutor() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity the number of events that may wait for each Aggregator
+     */
+    public AggregatorExecutor(int queueCapacity) {
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Get the consumer that queues events for an Aggregator. The same consumer is returned each time
+     * this is called for the same Aggregator, so events for an Aggregator that listens to more than
+     * one channel are still processed one at a time.
+     * @param aggregator the Aggregator to run
+     * @return a consumer that queues events for the Aggregator
+     */
+    public synchronized Consumer<JVMEvent> executorFor(Aggregator<?> aggregator) {
+        return workers.computeIfAbsent(aggregator, key -> {
+            Worker worker = new Worker(key, queueCapacity);
+            worker.start();
+            return worker;
+        });
+    }
+
+    /**
+     * @return the statistics for each Aggregator, in the order the Aggregators were added
+     */
+    public synchronized List<AggregatorStatistics> statistics() {
+        List<AggregatorStatistics> statistics = new ArrayList<>();
+        workers.values().forEach(worker -> statistics.add(worker.statistics()));
+        return statistics;
+    }
+
+    /**
+     * Stop the workers once they have processed the events already queued, and wait for them to finish.
+     * Workers that have not finished within the timeout are interrupted.
+     */
+    @Override
+    public synchronized void close() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CLOSE_TIMEOUT_SECONDS);
+        for (Worker worker : workers.values())
+            worker.shutdown(deadline);
+        for (Worker worker : workers.values()) {
+            try {
+                worker.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (worker.isAlive()) {
+                LOGGER.log(Level.WARNING, worker.getName() + " did not finish, interrupting");
+                worker.interrupt();
+            }
+        }
+    }
+
+    private static final class Worker extends Thread implements Consumer<JVMEvent> {
+
+        // Queued after the last event to stop the worker
+        private static final Envelope SHUTDOWN = new Envelope(null, 0L);
+        private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+        private final Aggregator<?> aggregator;
+        private final BlockingQueue<Envelope> queue;
+        private final int queueCapacity;
+
+        // Written by the worker thread only.
+        private final AtomicLong eventCount = new AtomicLong();
+        private final AtomicLong totalLagNanos = new AtomicLong();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+        private final AtomicLong totalServiceNanos = new AtomicLong();
+        private final AtomicLong maxServiceNanos = new AtomicLong();
+        private volatile int maxQueueDepth = 0;
+
+        Worker(Aggregator<?> aggregator, int queueCapacity) {
+            super("gctoolkit-aggregator-" + WORKER_COUNT.incrementAndGet() + "-" + aggregator.getClass().getSimpleName());
+            setDaemon(true);
+            this.aggregator = aggregator;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.queueCapacity = queueCapacity;
+        }
+
+        @Override
+        public void accept(JVMEvent event) {
+            try {
+                Envelope envelope = new Envelope(event, System.nanoTime());
+                if (!queue.offer(envelope)) {
+                    ChannelStallEvent stall = new ChannelStallEvent();
+                    stall.begin();
+                    boolean queued = offer(envelope);
+                    stall.end();
+                    if (stall.shouldCommit()) {
+                        stall.listener = getName();
+                        stall.queueCapacity = queueCapacity;
+                        stall.commit();
+                    }
+                    if (!queued)
+                        LOGGER.log(Level.WARNING, getName() + " is not running, dropped " + event.getClass().getSimpleName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.log(Level.WARNING, "Interrupted while queuing " + event.getClass().getSimpleName() + " for " + aggregator.getClass().getName());
+            }
+        }
+
+        /**
+         * Wait for room in the queue for as long as the worker is running.
+         * @return false if the worker stopped before the envelope could be queued
+         */
+        private boolean offer(Envelope envelope) throws InterruptedException {
+            while (!queue.offer(envelope, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!isAlive())
+                    return false;
+            }
+            return true;
+        }
+
+        /**
+         * Queue the shutdown marker behind the events already queued. A full queue is waited on until
+         * the deadline, as the events in it have still to be processed.
+         */
+        void shutdown(long deadline) {
+            try {
+                if (!queue.offer(SHUTDOWN, Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))
+                    interrupt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    // the events waiting, including the one about to be taken
+                    int depth = Math.max(1, queue.size());
+                    Envelope envelope = queue.take();
+                    if (envelope == SHUTDOWN)
+                        return;
+                    if (depth > maxQueueDepth)
+                        maxQueueDepth = depth;
+                    long start = System.nanoTime();
+                    try {
+                        aggregator.receive(envelope.event);
+                    } catch (Throwable t) {
+                        LOGGER.log(Level.WARNING, aggregator.getClass().getName() + " failed to process " + envelope.event.getClass().getSimpleName(), t);
+                    }
+                    long end = System.nanoTime();
+                    record(start - envelope.queuedAt, end - start);
+                }
+            } catch (InterruptedException e) {
+                LOGGER.log(Level.FINE, getName() + " interrupted");
+            }
+        }
+
+        private void record(long lagNanos, long serviceNanos) {
+            totalLagNanos.addAndGet(lagNanos);
+            if (lagNanos > maxLagNanos.get())
+                maxLagNanos.set(lagNanos);
+            totalServiceNanos.addAndGet(serviceNanos);
+            if (serviceNanos > maxServiceNanos.get())
+                maxServiceNanos.set(serviceNanos);
+            eventCount.incrementAndGet();
+        }
+
+        AggregatorStatistics statistics() {
+            return new AggregatorStatistics(aggregator.getClass().getName(), eventCount.get(),
+                    totalLagNanos.get(), maxLagNanos.get(), totalServiceNanos.get(), maxServiceNanos.get(), maxQueueDepth);
+        }
+    }
+
+    private static final class Envelope {
+        private final JVMEvent event;
+        private final long queuedAt;
+
+        Envelope(JVMEvent event, long queuedAt) {
+            this.event = event;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
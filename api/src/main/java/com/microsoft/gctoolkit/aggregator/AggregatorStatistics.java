@@ -0,0 +1,89 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+/**
+ * A snapshot of how an {@link Aggregator} kept up with the events delivered to it when it was run
+ * by an {@link AggregatorExecutor}. Lag is the time an event waited in the Aggregator's queue before
+ * the Aggregator started on it. Service time is the time the Aggregator spent on the event.
+ */
+public class AggregatorStatistics {
+
+    private final String aggregator;
+    private final long eventCount;
+    private final long totalLagNanos;
+    private final long maxLagNanos;
+    private final long totalServiceNanos;
+    private final long maxServiceNanos;
+    private final int maxQueueDepth;
+
+    AggregatorStatistics(String aggregator, long eventCount, long totalLagNanos, long maxLagNanos,
+                         long totalServiceNanos, long maxServiceNanos, int maxQueueDepth) {
+        this.aggregator = aggregator;
+        this.eventCount = eventCount;
+        this.totalLagNanos = totalLagNanos;
+        this.maxLagNanos = maxLagNanos;
+        this.totalServiceNanos = totalServiceNanos;
+        this.maxServiceNanos = maxServiceNanos;
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    /**
+     * @return the class name of the Aggregator
+     */
+    public String getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * @return the number of events the Aggregator has processed
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return the mean time, in milliseconds, that an event waited before being processed
+     */
+    public double getMeanLag() {
+        return mean(totalLagNanos);
+    }
+
+    /**
+     * @return the longest time, in milliseconds, that an event waited before being processed
+     */
+    public double getMaxLag() {
+        return maxLagNanos / 1_000_000.0d;
+    }
+
+    /**
+     * @return the mean time, in milliseconds, the Aggregator spent processing an event
+     */
+    public double getMeanServiceTime() {
+        return mean(totalServiceNanos);
+    }
+
+    /**
+     * @return the longest time, in milliseconds, the Aggregator spent processing an event
+     */
+    public double getMaxServiceTime() {
+        return maxServiceNanos / 1_000_000.0d;
+    }
+
+    /**
+     * @return the largest number of events that were waiting for the Aggregator at one time
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    private double mean(long totalNanos) {
+        return (eventCount == 0L) ? 0.0d : totalNanos / 1_000_000.0d / eventCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d events, lag mean %.3fms max %.3fms, service mean %.3fms max %.3fms, max queue depth %d",
+                aggregator, eventCount, getMeanLag(), getMaxLag(), getMeanServiceTime(), getMaxServiceTime(), maxQueueDepth);
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import java.util.Arrays;
+
+/**
+ * Count, sum, minimum, maximum, mean and percentiles of the values of a {@link GCEventTable} column
+ * selected by a {@link GCEventQuery}. Values that were not known are not counted.
+ */
+public class ColumnStatistics {
+
+    private final double[] values;
+    private final int count;
+    private final double sum;
+    private final double min;
+    private final double max;
+    private boolean sorted = false;
+
+    /**
+     * @param values holds the values in its first {@code count} elements. The array is owned by this object.
+     * @param count the number of values
+     */
+    ColumnStatistics(double[] values, int count) {
+        this.values = values;
+        this.count = count;
+        double total = 0.0d;
+        double minimum = Double.POSITIVE_INFINITY;
+        double maximum = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double value = values[i];
+            total += value;
+            if (value < minimum)
+                minimum = value;
+            if (value > maximum)
+                maximum = value;
+        }
+        this.sum = total;
+        this.min = (count == 0) ? Double.NaN : minimum;
+        this.max = (count == 0) ? Double.NaN : maximum;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the smallest value, or NaN if there are none
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * @return the largest value, or NaN if there are none
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * @return the mean of the values, or NaN if there are none
+     */
+    public double getMean() {
+        return (count == 0) ? Double.NaN : sum / count;
+    }
+
+    /**
+     * The nearest rank percentile. The values are sorted the first time a percentile is asked for.
+     * @param percentile between 0 and 100
+     * @return the smallest value that is at least {@code percentile} percent of the values, or NaN if there are none
+     */
+    public synchronized double getPercentile(double percentile) {
+        if (percentile < 0.0d || percentile > 100.0d)
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        if (count == 0)
+            return Double.NaN;
+        if (!sorted) {
+            Arrays.sort(values, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0d * count);
+        return values[Math.max(0, rank - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + ", mean=" + getMean();
+    }
+}
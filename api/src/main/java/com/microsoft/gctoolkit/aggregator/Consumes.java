@@ -0,0 +1,34 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation is used by implementations of {@link Aggregator} to declare the
+ * {@link EventDetail} sections they read from the events they are registered for.
+ * An {@code Aggregator} without this annotation is assumed to read every detail section.
+ * The annotation is only an optimization. When none of the Aggregators in an analysis
+ * consume a detail section, the unified G1 parser skips the work needed to fill it in.
+ * The other parsers ignore it and fill in every section, so an Aggregator must not rely
+ * on a section it did not declare being absent.
+ * <pre><code>
+ * {@literal @}Aggregates(EventSource.G1GC)
+ * {@literal @}Consumes({})
+ * public class PauseTimeAggregator extends Aggregator{@literal <}PauseTimeAggregation{@literal >} {
+ *     ...
+ * }
+ * </code></pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Consumes {
+    /**
+     * Indicate the event detail sections read by an Aggregator.
+     * @return An array of EventDetail, possibly empty.
+     */
+    EventDetail[] value();
+}
@@ -0,0 +1,38 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+/**
+ * EventDetail names the optional sections of a GC event that a parser may fill in.
+ * The time stamp, type, cause, duration and heap occupancy of an event are always
+ * available. An Aggregator uses the {@link Consumes} annotation to declare which of
+ * these optional sections it reads so that parsers can skip the rest. Only the unified
+ * G1 parser skips them at present.
+ * @see Consumes
+ */
+public enum EventDetail {
+    /**
+     * Phase and sub-phase timings, including worker counts.
+     */
+    PHASES,
+    /**
+     * Region counts, and the eden, survivor, old and humongous pool occupancies derived from them.
+     */
+    REGIONS,
+    /**
+     * Reference processing counts and timings.
+     */
+    REFERENCES,
+    /**
+     * User, kernel and wall clock times.
+     */
+    CPU,
+    /**
+     * Metaspace and class space occupancy.
+     */
+    METASPACE,
+    /**
+     * Survivor age table and tenuring threshold.
+     */
+    TENURING
+}
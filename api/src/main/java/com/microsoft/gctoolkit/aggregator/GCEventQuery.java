@@ -0,0 +1,280 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A filter, group by and aggregate over the rows of a {@link GCEventTable}.
+ * <p>
+ * A query holds the selected rows as an array of row numbers. It starts with every row selected and
+ * each filter narrows the selection in place with a single pass over one column, so filters are applied
+ * in the order they are called. Type and cause filters are decided by a lookup in a table indexed by the
+ * dictionary code. The aggregates then run over the selection, again one column at a time.
+ * <pre>{@code
+ * Map<GarbageCollectionTypes, ColumnStatistics> pauses = table.query()
+ *         .whereCause(GCCause.G1_EVACUATION_PAUSE)
+ *         .where(Column.DURATION, 0.1d, Double.MAX_VALUE)
+ *         .groupByType(Column.DURATION);
+ * }</pre>
+ * Rows appended to the table after the query was created are not seen by it. A query is not thread safe.
+ */
+public class GCEventQuery {
+
+    private final GCEventTable table;
+    private int[] selection;
+    private int selected;
+
+    GCEventQuery(GCEventTable table) {
+        this.table = table;
+        this.selected = table.size();
+    }
+
+    /**
+     * Keep the rows of any of the given collection types.
+     * @param types the collection types to keep
+     * @return this query
+     */
+    public GCEventQuery where(GarbageCollectionTypes... types) {
+        boolean[] keep = new boolean[GCEventTable.TYPES.length];
+        for (GarbageCollectionTypes type : types)
+            keep[type.ordinal()] = true;
+        return filter(table.types(), keep);
+    }
+
+    /**
+     * Keep the rows of any of the given causes.
+     * @param causes the causes to keep
+     * @return this query
+     */
+    public GCEventQuery whereCause(GCCause... causes) {
+        boolean[] keep = new boolean[GCEventTable.CAUSES.length];
+        for (GCCause cause : causes)
+            keep[cause.ordinal()] = true;
+        return filter(table.causes(), keep);
+    }
+
+    /**
+     * Keep the rows with a value in the column between {@code min} and {@code max} inclusive.
+     * Rows in which the value is not known are dropped.
+     * @param column the column to test
+     * @param min the smallest value to keep
+     * @param max the largest value to keep
+     * @return this query
+     */
+    public GCEventQuery where(GCEventTable.Column column, double min, double max) {
+        int[] rows = rows();
+        int kept = 0;
+        switch (column.kind()) {
+            case DOUBLE: {
+                double[] values = table.doubles(column);
+                for (int i = 0; i < selected; i++) {
+                    double value = values[rows[i]];
+                    if (value >= min && value <= max && value >= 0.0d)
+                        rows[kept++] = rows[i];
+                }
+                break;
+            }
+            case LONG: {
+                long[] values = table.longs(column);
+                for (int i = 0; i < selected; i++) {
+                    long value = values[rows[i]];
+                    if (value >= min && value <= max && value >= 0L)
+                        rows[kept++] = rows[i];
+                }
+                break;
+            }
+            default: {
+                int[] values = table.ints(column);
+                for (int i = 0; i < selected; i++) {
+                    int value = values[rows[i]];
+                    if (value >= min && value <= max && value >= 0)
+                        rows[kept++] = rows[i];
+                }
+            }
+        }
+        selected = kept;
+        return this;
+    }
+
+    /**
+     * Keep the rows of collections that started at or after {@code from} and before {@code to}. The JVM
+     * uptime is compared when both bounds have one, otherwise the date stamp is.
+     * @param from the start of the interval
+     * @param to the end of the interval, which is not included
+     * @return this query
+     */
+    public GCEventQuery between(DateTimeStamp from, DateTimeStamp to) {
+        if (from.hasTimeStamp() && to.hasTimeStamp())
+            return where(GCEventTable.Column.TIME_STAMP, from.getTimeStamp(), Math.nextDown(to.getTimeStamp()));
+        if (from.hasDateStamp() && to.hasDateStamp())
+            return where(GCEventTable.Column.DATE_STAMP, from.toEpochInMillis(), Math.nextDown(to.toEpochInMillis()));
+        throw new IllegalArgumentException("from and to must both have a time stamp or both have a date stamp");
+    }
+
+    /**
+     * @return the number of rows selected
+     */
+    public int count() {
+        return selected;
+    }
+
+    /**
+     * @return the selected row numbers, in table order
+     */
+    public int[] getRows() {
+        return Arrays.copyOf(rows(), selected);
+    }
+
+    /**
+     * Aggregate a column over the selected rows.
+     * @param column the column to aggregate
+     * @return the statistics of the known values of the column
+     */
+    public ColumnStatistics statistics(GCEventTable.Column column) {
+        int[] rows = rows();
+        double[] values = new double[selected];
+        int count = 0;
+        switch (column.kind()) {
+            case DOUBLE: {
+                double[] source = table.doubles(column);
+                for (int i = 0; i < selected; i++) {
+                    double value = source[rows[i]];
+                    if (value >= 0.0d)
+                        values[count++] = value;
+                }
+                break;
+            }
+            case LONG: {
+                long[] source = table.longs(column);
+                for (int i = 0; i < selected; i++) {
+                    long value = source[rows[i]];
+                    if (value >= 0L)
+                        values[count++] = value;
+                }
+                break;
+            }
+            default: {
+                int[] source = table.ints(column);
+                for (int i = 0; i < selected; i++) {
+                    int value = source[rows[i]];
+                    if (value >= 0)
+                        values[count++] = value;
+                }
+            }
+        }
+        return new ColumnStatistics(values, count);
+    }
+
+    /**
+     * Aggregate a column over the selected rows of each collection type.
+     * @param column the column to aggregate
+     * @return the statistics of the known values of the column for each type that has a selected row
+     */
+    public Map<GarbageCollectionTypes, ColumnStatistics> groupByType(GCEventTable.Column column) {
+        ColumnStatistics[] groups = groupBy(table.types(), GCEventTable.TYPES.length, column);
+        Map<GarbageCollectionTypes, ColumnStatistics> result = new EnumMap<>(GarbageCollectionTypes.class);
+        for (int code = 0; code < groups.length; code++)
+            if (groups[code] != null)
+                result.put(GCEventTable.TYPES[code], groups[code]);
+        return result;
+    }
+
+    /**
+     * Aggregate a column over the selected rows of each cause.
+     * @param column the column to aggregate
+     * @return the statistics of the known values of the column for each cause that has a selected row
+     */
+    public Map<GCCause, ColumnStatistics> groupByCause(GCEventTable.Column column) {
+        ColumnStatistics[] groups = groupBy(table.causes(), GCEventTable.CAUSES.length, column);
+        Map<GCCause, ColumnStatistics> result = new EnumMap<>(GCCause.class);
+        for (int code = 0; code < groups.length; code++)
+            if (groups[code] != null)
+                result.put(GCEventTable.CAUSES[code], groups[code]);
+        return result;
+    }
+
+    /**
+     * The values of the column are gathered into one array per group, sized by a first pass that counts the
+     * rows in each group. Rows with no code, or no value, are skipped.
+     */
+    private ColumnStatistics[] groupBy(short[] codes, int cardinality, GCEventTable.Column column) {
+        int[] rows = rows();
+        double[] values = columnAsDoubles(column, rows);
+        int[] counts = new int[cardinality];
+        for (int i = 0; i < selected; i++) {
+            int code = codes[rows[i]];
+            if (code >= 0 && values[i] >= 0.0d)
+                counts[code]++;
+        }
+        double[][] groupValues = new double[cardinality][];
+        for (int code = 0; code < cardinality; code++)
+            if (counts[code] > 0)
+                groupValues[code] = new double[counts[code]];
+        int[] filled = new int[cardinality];
+        for (int i = 0; i < selected; i++) {
+            int code = codes[rows[i]];
+            if (code >= 0 && values[i] >= 0.0d)
+                groupValues[code][filled[code]++] = values[i];
+        }
+        ColumnStatistics[] groups = new ColumnStatistics[cardinality];
+        for (int code = 0; code < cardinality; code++)
+            if (groupValues[code] != null)
+                groups[code] = new ColumnStatistics(groupValues[code], counts[code]);
+        return groups;
+    }
+
+    private double[] columnAsDoubles(GCEventTable.Column column, int[] rows) {
+        double[] values = new double[selected];
+        switch (column.kind()) {
+            case DOUBLE: {
+                double[] source = table.doubles(column);
+                for (int i = 0; i < selected; i++)
+                    values[i] = source[rows[i]];
+                break;
+            }
+            case LONG: {
+                long[] source = table.longs(column);
+                for (int i = 0; i < selected; i++)
+                    values[i] = source[rows[i]];
+                break;
+            }
+            default: {
+                int[] source = table.ints(column);
+                for (int i = 0; i < selected; i++)
+                    values[i] = source[rows[i]];
+            }
+        }
+        return values;
+    }
+
+    private GCEventQuery filter(short[] codes, boolean[] keep) {
+        int[] rows = rows();
+        int kept = 0;
+        for (int i = 0; i < selected; i++) {
+            int code = codes[rows[i]];
+            if (code >= 0 && keep[code])
+                rows[kept++] = rows[i];
+        }
+        selected = kept;
+        return this;
+    }
+
+    /**
+     * The selection is only materialized when it is first needed, as the identity.
+     */
+    private int[] rows() {
+        if (selection == null) {
+            selection = new int[selected];
+            for (int i = 0; i < selected; i++)
+                selection[i] = i;
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,249 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GCEvent;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+
+import java.util.Arrays;
+
+/**
+ * The collections of a GC log held column by column in primitive arrays, so they can be scanned by
+ * {@link GCEventQuery} without touching the event objects. A row takes 64 bytes, so a million
+ * collections fit in 64 MBytes plus the slack left by growing the columns.
+ * <p>
+ * The collection type and cause are dictionary encoded: a row holds the ordinal of the enum constant, or
+ * -1 if the event had none. Values that are not known are stored as -1, or as NaN for the time columns,
+ * and are left out of aggregates. Memory is in KBytes, as it is in {@link MemoryPoolSummary}.
+ * <p>
+ * Rows are appended in the order the events arrive. This class is not thread safe; a table is filled by
+ * a single {@link Aggregator} and is meant to be queried once the analysis is complete.
+ */
+public class GCEventTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    static final GarbageCollectionTypes[] TYPES = GarbageCollectionTypes.values();
+    static final GCCause[] CAUSES = GCCause.values();
+
+    /**
+     * The numeric columns of a GCEventTable.
+     */
+    public enum Column {
+        /** JVM uptime at the start of the collection, in seconds. */
+        TIME_STAMP(Kind.DOUBLE),
+        /** Wall clock time at the start of the collection, in milliseconds since the epoch. */
+        DATE_STAMP(Kind.DOUBLE),
+        /** Duration of the collection, in seconds. */
+        DURATION(Kind.DOUBLE),
+        HEAP_OCCUPANCY_BEFORE(Kind.LONG),
+        HEAP_OCCUPANCY_AFTER(Kind.LONG),
+        HEAP_SIZE_AFTER(Kind.LONG),
+        EDEN_REGIONS_BEFORE(Kind.INT),
+        OLD_REGIONS_AFTER(Kind.INT),
+        HUMONGOUS_REGIONS_AFTER(Kind.INT);
+
+        enum Kind { DOUBLE, LONG, INT }
+
+        private final Kind kind;
+
+        Column(Kind kind) {
+            this.kind = kind;
+        }
+
+        Kind kind() {
+            return kind;
+        }
+    }
+
+    private int size = 0;
+    private int capacity;
+
+    private short[] type;
+    private short[] cause;
+    private double[] timeStamp;
+    private double[] dateStamp;
+    private double[] duration;
+    private long[] heapOccupancyBefore;
+    private long[] heapOccupancyAfter;
+    private long[] heapSizeAfter;
+    private int[] edenRegionsBefore;
+    private int[] oldRegionsAfter;
+    private int[] humongousRegionsAfter;
+
+    public GCEventTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the number of rows to allocate space for up front
+     */
+    public GCEventTable(int initialCapacity) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Append a collection to the table.
+     * @param event the collection
+     * @param heap the heap before and after the collection, or {@code null} if not known
+     * @param eden eden regions around a G1 collection, or {@code null}
+     * @param old old regions around a G1 collection, or {@code null}
+     * @param humongous humongous regions around a G1 collection, or {@code null}
+     */
+    public void append(GCEvent event, MemoryPoolSummary heap, RegionSummary eden, RegionSummary old, RegionSummary humongous) {
+        if (size == capacity)
+            allocate(capacity * 2);
+        int row = size++;
+        type[row] = (short) ((event.getGarbageCollectionType() == null) ? -1 : event.getGarbageCollectionType().ordinal());
+        cause[row] = (short) ((event.getGCCause() == null) ? -1 : event.getGCCause().ordinal());
+        if (event.getDateTimeStamp() == null) {
+            timeStamp[row] = Double.NaN;
+            dateStamp[row] = Double.NaN;
+        } else {
+            timeStamp[row] = event.getDateTimeStamp().hasTimeStamp() ? event.getDateTimeStamp().getTimeStamp() : Double.NaN;
+            dateStamp[row] = event.getDateTimeStamp().hasDateStamp() ? event.getDateTimeStamp().toEpochInMillis() : Double.NaN;
+        }
+        duration[row] = event.getDuration();
+        heapOccupancyBefore[row] = (heap == null) ? -1L : heap.getOccupancyBeforeCollection();
+        heapOccupancyAfter[row] = (heap == null) ? -1L : heap.getOccupancyAfterCollection();
+        heapSizeAfter[row] = (heap == null) ? -1L : heap.getSizeAfterCollection();
+        edenRegionsBefore[row] = (eden == null) ? -1 : eden.getBefore();
+        oldRegionsAfter[row] = (old == null) ? -1 : old.getAfter();
+        humongousRegionsAfter[row] = (humongous == null) ? -1 : humongous.getAfter();
+    }
+
+    /**
+     * @return the number of rows in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a query that selects every row in the table
+     */
+    public GCEventQuery query() {
+        return new GCEventQuery(this);
+    }
+
+    /**
+     * @param row a row of the table
+     * @return the type of the collection, or {@code null} if it is not known
+     */
+    public GarbageCollectionTypes getGarbageCollectionType(int row) {
+        checkRow(row);
+        return (type[row] < 0) ? null : TYPES[type[row]];
+    }
+
+    /**
+     * @param row a row of the table
+     * @return the cause of the collection, or {@code null} if it is not known
+     */
+    public GCCause getGCCause(int row) {
+        checkRow(row);
+        return (cause[row] < 0) ? null : CAUSES[cause[row]];
+    }
+
+    /**
+     * @param column the column to read
+     * @param row a row of the table
+     * @return the value in the column, which is negative or NaN if not known
+     */
+    public double getValue(Column column, int row) {
+        checkRow(row);
+        switch (column.kind()) {
+            case DOUBLE:
+                return doubles(column)[row];
+            case LONG:
+                return longs(column)[row];
+            default:
+                return ints(column)[row];
+        }
+    }
+
+    short[] types() {
+        return type;
+    }
+
+    short[] causes() {
+        return cause;
+    }
+
+    double[] doubles(Column column) {
+        switch (column) {
+            case TIME_STAMP:
+                return timeStamp;
+            case DATE_STAMP:
+                return dateStamp;
+            case DURATION:
+                return duration;
+            default:
+                throw new IllegalArgumentException(column + " is not a double column");
+        }
+    }
+
+    long[] longs(Column column) {
+        switch (column) {
+            case HEAP_OCCUPANCY_BEFORE:
+                return heapOccupancyBefore;
+            case HEAP_OCCUPANCY_AFTER:
+                return heapOccupancyAfter;
+            case HEAP_SIZE_AFTER:
+                return heapSizeAfter;
+            default:
+                throw new IllegalArgumentException(column + " is not a long column");
+        }
+    }
+
+    int[] ints(Column column) {
+        switch (column) {
+            case EDEN_REGIONS_BEFORE:
+                return edenRegionsBefore;
+            case OLD_REGIONS_AFTER:
+                return oldRegionsAfter;
+            case HUMONGOUS_REGIONS_AFTER:
+                return humongousRegionsAfter;
+            default:
+                throw new IllegalArgumentException(column + " is not an int column");
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("row " + row + " is not in a table of " + size + " rows");
+    }
+
+    private void allocate(int newCapacity) {
+        if (type == null) {
+            type = new short[newCapacity];
+            cause = new short[newCapacity];
+            timeStamp = new double[newCapacity];
+            dateStamp = new double[newCapacity];
+            duration = new double[newCapacity];
+            heapOccupancyBefore = new long[newCapacity];
+            heapOccupancyAfter = new long[newCapacity];
+            heapSizeAfter = new long[newCapacity];
+            edenRegionsBefore = new int[newCapacity];
+            oldRegionsAfter = new int[newCapacity];
+            humongousRegionsAfter = new int[newCapacity];
+        } else {
+            type = Arrays.copyOf(type, newCapacity);
+            cause = Arrays.copyOf(cause, newCapacity);
+            timeStamp = Arrays.copyOf(timeStamp, newCapacity);
+            dateStamp = Arrays.copyOf(dateStamp, newCapacity);
+            duration = Arrays.copyOf(duration, newCapacity);
+            heapOccupancyBefore = Arrays.copyOf(heapOccupancyBefore, newCapacity);
+            heapOccupancyAfter = Arrays.copyOf(heapOccupancyAfter, newCapacity);
+            heapSizeAfter = Arrays.copyOf(heapSizeAfter, newCapacity);
+            edenRegionsBefore = Arrays.copyOf(edenRegionsBefore, newCapacity);
+            oldRegionsAfter = Arrays.copyOf(oldRegionsAfter, newCapacity);
+            humongousRegionsAfter = Arrays.copyOf(humongousRegionsAfter, newCapacity);
+        }
+        capacity = newCapacity;
+    }
+}
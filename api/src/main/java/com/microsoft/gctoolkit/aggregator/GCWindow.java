@@ -0,0 +1,120 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+/**
+ * The GC activity in one window of time, as reported by {@link WindowedGCStatistics}.
+ * Memory is in KBytes, as it is in {@link com.microsoft.gctoolkit.event.MemoryPoolSummary}.
+ */
+public class GCWindow {
+
+    private final DateTimeStamp start;
+    private final DateTimeStamp end;
+    private final double duration;
+    private final int collections;
+    private final double totalPauseTime;
+    private final double maxPauseTime;
+    private final long allocatedKBytes;
+    private final long promotedKBytes;
+    private final long oldGrowthKBytes;
+
+    public GCWindow(DateTimeStamp start, DateTimeStamp end, double duration, int collections,
+                    double totalPauseTime, double maxPauseTime, long allocatedKBytes,
+                    long promotedKBytes, long oldGrowthKBytes) {
+        this.start = start;
+        this.end = end;
+        this.duration = duration;
+        this.collections = collections;
+        this.totalPauseTime = totalPauseTime;
+        this.maxPauseTime = maxPauseTime;
+        this.allocatedKBytes = allocatedKBytes;
+        this.promotedKBytes = promotedKBytes;
+        this.oldGrowthKBytes = oldGrowthKBytes;
+    }
+
+    public DateTimeStamp getStart() {
+        return start;
+    }
+
+    public DateTimeStamp getEnd() {
+        return end;
+    }
+
+    /**
+     * @return the length of the window in seconds. Only the last window of a log can be shorter than the window size.
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    public int getCollectionCount() {
+        return collections;
+    }
+
+    public double getTotalPauseTime() {
+        return totalPauseTime;
+    }
+
+    public double getMaxPauseTime() {
+        return maxPauseTime;
+    }
+
+    /**
+     * @return the percentage of the window the application was paused for
+     */
+    public double getPercentPaused() {
+        return (duration > 0.0d) ? (totalPauseTime / duration) * 100.0d : 0.0d;
+    }
+
+    /**
+     * @return collections per second
+     */
+    public double getFrequency() {
+        return (duration > 0.0d) ? collections / duration : 0.0d;
+    }
+
+    public long getAllocatedKBytes() {
+        return allocatedKBytes;
+    }
+
+    /**
+     * @return KBytes allocated per second
+     */
+    public double getAllocationRate() {
+        return (duration > 0.0d) ? allocatedKBytes / duration : 0.0d;
+    }
+
+    public long getPromotedKBytes() {
+        return promotedKBytes;
+    }
+
+    /**
+     * @return KBytes promoted to the old generation per second
+     */
+    public double getPromotionRate() {
+        return (duration > 0.0d) ? promotedKBytes / duration : 0.0d;
+    }
+
+    /**
+     * @return the change in old generation occupancy after collection, negative if the old generation shrank
+     */
+    public long getOldGenerationGrowthKBytes() {
+        return oldGrowthKBytes;
+    }
+
+    /**
+     * @return KBytes per second the old generation grew by
+     */
+    public double getOldGenerationGrowthRate() {
+        return (duration > 0.0d) ? oldGrowthKBytes / duration : 0.0d;
+    }
+
+    @Override
+    public String toString() {
+        return "GCWindow{" + start + " +" + duration + "s, collections=" + collections
+                + ", paused=" + getPercentPaused() + "%, maxPause=" + maxPauseTime
+                + ", allocationRate=" + getAllocationRate() + "KB/s}";
+    }
+}
@@ -4,78 +4,90 @@ package com.microsoft.gctoolkit.aggregator;
 
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
  * This is a utility class that supports the {@link Aggregator#register(Class, Consumer)} method.
+ * <p>
+ * Each registration replaces an immutable dispatch table. The table resolves the consumers for an event
+ * class the first time an event of that class is dispatched, by walking the class hierarchy to the first
+ * class with consumers, and caches the result in a {@link ClassValue}. After that, dispatching an event is
+ * a single lookup, and never modifies shared state.
  */
 public class JVMEventDispatcher {
 
-    private final Map<Class<? extends JVMEvent>, Consumer<? super JVMEvent>> eventConsumers = new ConcurrentHashMap<>();
+    private static final Consumer<? super JVMEvent> NO_CONSUMER = event -> {};
 
-    private final Consumer<? super JVMEvent> nopConsumer = (evt) -> {};
+    // Consumers in the order they were registered, guarded by this.
+    private final Map<Class<? extends JVMEvent>, List<Consumer<? super JVMEvent>>> registrations = new LinkedHashMap<>();
 
-    @SuppressWarnings("unchecked")
-    private <R extends JVMEvent> Consumer<? super JVMEvent> getConsumerForClass(Class<R> eventClass) {
-        Class<? extends JVMEvent> clazz = eventClass;
-
-        //Fast path that should hit after the event has been seen for the first time
-        Consumer<? super JVMEvent> eventConsumer = eventConsumers.get(clazz);
-        if (eventConsumer != null) {
-            return eventConsumer;
-        }
-
-        do {
-            eventConsumer = eventConsumers.get(clazz);
-
-            if (eventConsumer != null) {
-
-                if (eventClass != clazz) {
-                    //optimisation to avoid walking up the class tree every time, if we get a hit on
-                    //R maps to eventConsumer, just put it in the map and it will fetch first time in the future
-                    eventConsumers.put(eventClass, eventConsumer);
-                }
-
-                //visit the most specific ONLY
-                return eventConsumer;
-            }
-
-            if (clazz == JVMEvent.class) {
-                // Hit the top of the hierarchy
-                break;
-            } else {
-                // Unfortunate cast but assuming register has done its job it is impossible for this cast to fail
-                clazz = (Class<? extends JVMEvent>) clazz.getSuperclass(); // unchecked cast
-            }
-        } while (clazz != null);
-
-        //no handler for eventClass so lets put in a stub so we dont have to figure this out on every event
-        eventConsumers.put(eventClass, nopConsumer);
-        return nopConsumer;
-    }
+    private volatile DispatchTable table = new DispatchTable(Map.of());
 
     /**
-     * Called from {@link Aggregator#register(Class, Consumer)}
+     * Called from {@link Aggregator#register(Class, Consumer)}.
+     * More than one consumer may be registered for the same event class. They are called in the order
+     * in which they were registered.
      * @param eventClass A JVMEvent class that the Aggregator captures
      * @param process A method to call back when an event of type {@code eventClass} is captured.
      * @param <R> A type of JVMEvent
      */
     @SuppressWarnings("unchecked")
-    public <R extends JVMEvent> void register(Class<R> eventClass, Consumer<? super R> process) {
-        eventConsumers.put(eventClass, (Consumer<JVMEvent>)process);
+    public synchronized <R extends JVMEvent> void register(Class<R> eventClass, Consumer<? super R> process) {
+        registrations.computeIfAbsent(eventClass, key -> new ArrayList<>()).add((Consumer<? super JVMEvent>) process);
+        Map<Class<?>, Consumer<? super JVMEvent>> consumers = new HashMap<>();
+        registrations.forEach((key, value) -> consumers.put(key, combine(value)));
+        table = new DispatchTable(Map.copyOf(consumers));
+    }
+
+    private static Consumer<? super JVMEvent> combine(List<Consumer<? super JVMEvent>> consumers) {
+        if (consumers.size() == 1)
+            return consumers.get(0);
+        @SuppressWarnings("unchecked")
+        Consumer<? super JVMEvent>[] chain = consumers.toArray(new Consumer[0]);
+        return event -> {
+            for (Consumer<? super JVMEvent> consumer : chain)
+                consumer.accept(event);
+        };
     }
 
     /**
-     * todo: fix comment for the link below.
-     * Called from {@link Aggregator#receive(JVMEvent)}, this invokes the process method that was
-     * {@link #register(Class, Consumer) registered}.
+     * Called from {@link Aggregator#receive(JVMEvent)}, this invokes the process methods that were
+     * {@link #register(Class, Consumer) registered} for the event. The consumers registered for the most
+     * specific class in the event's class hierarchy that has any are called, so a consumer registered for
+     * a subclass takes the place of one registered for its superclass.
      * @param event An event from the parser.
      * @param <R> the type of JVMEvent.
      */
     public <R extends JVMEvent> void dispatch(R event) {
-        getConsumerForClass(event.getClass()).accept(event);
+        table.consumers.get(event.getClass()).accept(event);
     }
 
+    /**
+     * The consumers registered when the table was built, with the consumers resolved for each event class
+     * cached as it is first dispatched.
+     */
+    private static final class DispatchTable {
+        private final ClassValue<Consumer<? super JVMEvent>> consumers;
+
+        private DispatchTable(Map<Class<?>, Consumer<? super JVMEvent>> registered) {
+            consumers = new ClassValue<>() {
+                @Override
+                protected Consumer<? super JVMEvent> computeValue(Class<?> eventClass) {
+                    for (Class<?> clazz = eventClass; clazz != null; clazz = clazz.getSuperclass()) {
+                        Consumer<? super JVMEvent> consumer = registered.get(clazz);
+                        if (consumer != null)
+                            return consumer;
+                        if (clazz == JVMEvent.class)
+                            break;
+                    }
+                    return NO_CONSUMER;
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,72 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link Aggregation} whose partial results can be combined. This allows a GC log to be analysed in
+ * segments, for example in parallel, with the results of each segment merged into a result for the whole.
+ * <p>
+ * Segments are merged in time order. {@link #merge(Aggregation)} is always called on the Aggregation for
+ * the earlier segment with the Aggregation for the later segment, so an implementation that builds a time
+ * series can simply append. {@link #mergeInOrder(Collection)} sorts partial results by the time of their
+ * first event before merging them.
+ * <p>
+ * An implementation should call {@link Aggregation#mergeTimes(Aggregation)} from {@code merge} so that the
+ * start and end time estimates of the merged Aggregation cover all of the segments.
+ * <pre><code>
+ * public class PauseTimeSummary extends PauseTimeAggregation implements MergeableAggregation{@literal <}PauseTimeSummary{@literal >} {
+ *     private double totalPauseTime;
+ *
+ *     {@literal @}Override
+ *     public PauseTimeSummary identity() {
+ *         return new PauseTimeSummary();
+ *     }
+ *
+ *     {@literal @}Override
+ *     public void merge(PauseTimeSummary later) {
+ *         mergeTimes(later);
+ *         totalPauseTime += later.totalPauseTime;
+ *     }
+ *     ...
+ * }
+ * </code></pre>
+ *
+ * @param <A> the type of Aggregation
+ */
+public interface MergeableAggregation<A extends Aggregation & MergeableAggregation<A>> {
+
+    /**
+     * @return a new, empty Aggregation which, when merged with another, leaves the other unchanged.
+     */
+    A identity();
+
+    /**
+     * Merge the result of a later segment into this Aggregation. The later Aggregation is not changed.
+     * @param later the Aggregation for the segment that follows the segment of this Aggregation
+     */
+    void merge(A later);
+
+    /**
+     * Merge partial results in the order of the time of their first event.
+     * @param partials the partial results to merge; at least one is required
+     * @param <A> the type of Aggregation
+     * @return a new Aggregation holding the merged results
+     */
+    static <A extends Aggregation & MergeableAggregation<A>> A mergeInOrder(Collection<A> partials) {
+        if (partials.isEmpty())
+            throw new IllegalArgumentException("Nothing to merge");
+        List<A> ordered = new ArrayList<>(partials);
+        ordered.sort(Comparator.comparing(Aggregation::timeOfFirstEvent, Comparator.nullsLast(DateTimeStamp::compareTo)));
+        A merged = Objects.requireNonNull(ordered.get(0).identity());
+        ordered.forEach(merged::merge);
+        return merged;
+    }
+}
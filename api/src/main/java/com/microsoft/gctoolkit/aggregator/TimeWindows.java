@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+/**
+ * Describes how a GC log is cut into windows of time by {@link WindowedGCStatistics}. Tumbling
+ * windows follow one another without overlapping. Sliding windows overlap; a new window starts every
+ * slide, and the size of the window must be a whole number of slides.
+ * <p>
+ * Windows are aligned on the first event that is recorded.
+ */
+public final class TimeWindows {
+
+    /**
+     * Upper bound on the number of slides in a window, which is the number of accumulators kept.
+     */
+    public static final int MAX_SLIDES_PER_WINDOW = 10_000;
+
+    private final double size;
+    private final double slide;
+    private final int slidesPerWindow;
+
+    private TimeWindows(double size, double slide) {
+        if (!(size > 0.0d) || Double.isInfinite(size))
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        if (!(slide > 0.0d) || slide > size)
+            throw new IllegalArgumentException("Window slide must be positive and no larger than the window: " + slide);
+        long slides = Math.round(size / slide);
+        if (Math.abs(slides * slide - size) > size * 1e-9d)
+            throw new IllegalArgumentException("Window size " + size + " is not a multiple of the slide " + slide);
+        if (slides > MAX_SLIDES_PER_WINDOW)
+            throw new IllegalArgumentException("Too many slides per window: " + slides);
+        this.size = size;
+        this.slide = slide;
+        this.slidesPerWindow = (int) slides;
+    }
+
+    /**
+     * @param sizeInSeconds the length of each window
+     * @return windows of the given length that do not overlap
+     */
+    public static TimeWindows tumbling(double sizeInSeconds) {
+        return new TimeWindows(sizeInSeconds, sizeInSeconds);
+    }
+
+    /**
+     * @param sizeInSeconds the length of each window
+     * @param slideInSeconds the time between the start of one window and the start of the next
+     * @return overlapping windows of the given length
+     */
+    public static TimeWindows sliding(double sizeInSeconds, double slideInSeconds) {
+        return new TimeWindows(sizeInSeconds, slideInSeconds);
+    }
+
+    public double getSize() {
+        return size;
+    }
+
+    public double getSlide() {
+        return slide;
+    }
+
+    public int getSlidesPerWindow() {
+        return slidesPerWindow;
+    }
+
+    public boolean isTumbling() {
+        return slidesPerWindow == 1;
+    }
+
+    @Override
+    public String toString() {
+        return isTumbling() ? "tumbling(" + size + "s)" : "sliding(" + size + "s, " + slide + "s)";
+    }
+}
@@ -0,0 +1,228 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.function.Consumer;
+
+/**
+ * Computes pause percentage, maximum pause, GC frequency, allocation rate, promotion rate and old generation
+ * growth for windows of time in
+ * a single pass over the collections of a GC log. It is meant to be used from an {@link Aggregation},
+ * which feeds it from the methods its {@link Aggregator} calls.
+ * <p>
+ * Time is cut into slides of {@link TimeWindows#getSlide()} seconds and each slide has an accumulator.
+ * The accumulators of the slides in the current window are kept in a ring, so memory does not grow with
+ * the length of the log. Recording a collection only touches the accumulator of its slide. When a slide is
+ * over, the window that ends with it is summed from the slides in the ring and handed to the listener.
+ * Windows in which no collection was recorded are not reported.
+ * <p>
+ * Collections are expected in time order, which is the order the parser produces them in. A collection
+ * that is earlier than the current slide is counted in the current slide. This class is not thread safe.
+ */
+public class WindowedGCStatistics {
+
+    private final TimeWindows windows;
+    private final Consumer<GCWindow> listener;
+    private final Slide[] ring;
+
+    private DateTimeStamp origin;
+    private long currentSlide = -1L;
+    private long occupancyAfterPreviousCollection = -1L;
+    private long tenuredAfterPreviousCollection = -1L;
+    private DateTimeStamp endOfLastCollection;
+    private boolean completed = false;
+
+    /**
+     * @param windows how to cut time into windows
+     * @param listener receives each window as it is completed
+     */
+    public WindowedGCStatistics(TimeWindows windows, Consumer<GCWindow> listener) {
+        this.windows = windows;
+        this.listener = listener;
+        this.ring = new Slide[windows.getSlidesPerWindow()];
+        for (int i = 0; i < ring.length; i++)
+            ring[i] = new Slide();
+    }
+
+    public TimeWindows getWindows() {
+        return windows;
+    }
+
+    /**
+     * Record a collection for which the heap occupancy is not known.
+     * @param timeStamp when the collection started
+     * @param pauseTime how long the application was paused, in seconds
+     */
+    public void recordPause(DateTimeStamp timeStamp, double pauseTime) {
+        recordCollection(timeStamp, pauseTime, -1L, -1L);
+    }
+
+    /**
+     * Record a collection. The memory allocated since the previous collection is the occupancy before this
+     * collection less the occupancy after the previous one.
+     * @param timeStamp when the collection started
+     * @param pauseTime how long the application was paused, in seconds
+     * @param occupancyBeforeCollection heap occupancy in KBytes before the collection, or a negative value if not known
+     * @param occupancyAfterCollection heap occupancy in KBytes after the collection, or a negative value if not known
+     */
+    public void recordCollection(DateTimeStamp timeStamp, double pauseTime, long occupancyBeforeCollection, long occupancyAfterCollection) {
+        record(timeStamp, pauseTime, occupancyBeforeCollection, occupancyAfterCollection, -1L, -1L);
+    }
+
+    /**
+     * Record a collection of a generational heap. Memory promoted is the growth of the old generation during
+     * the collection. Old generation growth is the change in its occupancy after collection since the previous
+     * collection, and so is negative when the old generation has been collected.
+     * @param timeStamp when the collection started
+     * @param pauseTime how long the application was paused, in seconds
+     * @param heap the heap before and after the collection, may be null
+     * @param tenured the old generation before and after the collection, may be null
+     */
+    public void recordCollection(DateTimeStamp timeStamp, double pauseTime, MemoryPoolSummary heap, MemoryPoolSummary tenured) {
+        record(timeStamp, pauseTime,
+                (heap == null) ? -1L : heap.getOccupancyBeforeCollection(),
+                (heap == null) ? -1L : heap.getOccupancyAfterCollection(),
+                (tenured == null) ? -1L : tenured.getOccupancyBeforeCollection(),
+                (tenured == null) ? -1L : tenured.getOccupancyAfterCollection());
+    }
+
+    private void record(DateTimeStamp timeStamp, double pauseTime, long occupancyBeforeCollection, long occupancyAfterCollection,
+                        long tenuredBeforeCollection, long tenuredAfterCollection) {
+        if (timeStamp == null || completed)
+            return;
+        if (origin == null) {
+            origin = timeStamp;
+            currentSlide = 0L;
+            slide(0L).reset(0L);
+        }
+
+        double offset = timeStamp.minus(origin);
+        if (offset >= 0.0d) {
+            long index = (long) (offset / windows.getSlide());
+            if (index > currentSlide)
+                advanceTo(index);
+        }
+
+        long allocated = 0L;
+        if (occupancyBeforeCollection >= 0L && occupancyAfterPreviousCollection >= 0L)
+            allocated = Math.max(0L, occupancyBeforeCollection - occupancyAfterPreviousCollection);
+        if (occupancyAfterCollection >= 0L)
+            occupancyAfterPreviousCollection = occupancyAfterCollection;
+
+        long promoted = 0L;
+        long oldGrowth = 0L;
+        if (tenuredBeforeCollection >= 0L && tenuredAfterCollection >= 0L)
+            promoted = Math.max(0L, tenuredAfterCollection - tenuredBeforeCollection);
+        if (tenuredAfterCollection >= 0L) {
+            if (tenuredAfterPreviousCollection >= 0L)
+                oldGrowth = tenuredAfterCollection - tenuredAfterPreviousCollection;
+            tenuredAfterPreviousCollection = tenuredAfterCollection;
+        }
+
+        double pause = (Double.isNaN(pauseTime) || pauseTime < 0.0d) ? 0.0d : pauseTime;
+        slide(currentSlide).record(pause, allocated, promoted, oldGrowth);
+        DateTimeStamp end = timeStamp.add(pause);
+        if (endOfLastCollection == null || end.after(endOfLastCollection))
+            endOfLastCollection = end;
+    }
+
+    /**
+     * Report the window that is still open, cut short at the end of the log. Nothing is recorded after this.
+     * @param endOfLog the time of the end of the log, or null to end the window with the last collection
+     */
+    public void complete(DateTimeStamp endOfLog) {
+        if (completed)
+            return;
+        completed = true;
+        if (origin == null)
+            return;
+        long first = Math.max(0L, currentSlide - ring.length + 1);
+        DateTimeStamp start = origin.add(first * windows.getSlide());
+        DateTimeStamp end = endOfLastCollection;
+        if (endOfLog != null && endOfLog.after(end))
+            end = endOfLog;
+        double duration = Math.min(end.minus(start), (currentSlide - first + 1) * windows.getSlide());
+        report(first, currentSlide, start, Double.isNaN(duration) ? 0.0d : duration);
+    }
+
+    private Slide slide(long index) {
+        return ring[(int) (index % ring.length)];
+    }
+
+    private void advanceTo(long target) {
+        // Only the windows that end within one window of the current slide can hold a collection.
+        long stop = Math.min(target, currentSlide + ring.length);
+        while (currentSlide < stop) {
+            reportWindowEndingAt(currentSlide);
+            currentSlide++;
+            slide(currentSlide).reset(currentSlide);
+        }
+        if (currentSlide < target) {
+            for (long index = target - ring.length + 1; index <= target; index++)
+                slide(index).reset(index);
+            currentSlide = target;
+        }
+    }
+
+    private void reportWindowEndingAt(long last) {
+        long first = last - ring.length + 1;
+        if (first < 0L)
+            return;
+        report(first, last, origin.add(first * windows.getSlide()), windows.getSize());
+    }
+
+    private void report(long first, long last, DateTimeStamp start, double duration) {
+        int collections = 0;
+        double totalPauseTime = 0.0d;
+        double maxPauseTime = 0.0d;
+        long allocated = 0L;
+        long promoted = 0L;
+        long oldGrowth = 0L;
+        for (long index = first; index <= last; index++) {
+            Slide slide = slide(index);
+            if (slide.index != index)
+                continue;
+            collections += slide.collections;
+            totalPauseTime += slide.totalPauseTime;
+            maxPauseTime = Math.max(maxPauseTime, slide.maxPauseTime);
+            allocated += slide.allocatedKBytes;
+            promoted += slide.promotedKBytes;
+            oldGrowth += slide.oldGrowthKBytes;
+        }
+        if (collections > 0)
+            listener.accept(new GCWindow(start, start.add(duration), duration, collections, totalPauseTime, maxPauseTime,
+                    allocated, promoted, oldGrowth));
+    }
+
+    private static class Slide {
+        private long index = -1L;
+        private int collections;
+        private double totalPauseTime;
+        private double maxPauseTime;
+        private long allocatedKBytes;
+        private long promotedKBytes;
+        private long oldGrowthKBytes;
+
+        void reset(long index) {
+            this.index = index;
+            collections = 0;
+            totalPauseTime = 0.0d;
+            maxPauseTime = 0.0d;
+            allocatedKBytes = 0L;
+            promotedKBytes = 0L;
+            oldGrowthKBytes = 0L;
+        }
+
+        void record(double pauseTime, long allocated, long promoted, long oldGrowth) {
+            collections++;
+            totalPauseTime += pauseTime;
+            maxPauseTime = Math.max(maxPauseTime, pauseTime);
+            allocatedKBytes += allocated;
+            promotedKBytes += promoted;
+            oldGrowthKBytes += oldGrowth;
+        }
+    }
+}
@@ -2,13 +2,16 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event;
 
+import java.io.Serializable;
+
 /**
  * Breakout of the CPU summary to contain gc thread time in the
  * kernel
  * total time for all threads executing GC code
  * wall clock time or pause time of GC cycle.
  */
-public class CPUSummary {
+public class CPUSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final double user;
     private final double kernel;
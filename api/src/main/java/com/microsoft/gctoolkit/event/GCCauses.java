@@ -2,33 +2,180 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event;
 
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
-
-import static java.util.stream.Collectors.toMap;
+import java.util.Set;
+import java.util.TreeSet;
 
+/**
+ * Resolves the GC cause text found in a GC log, e.g. {@code (G1 Evacuation Pause)}, to a {@link GCCause}.
+ * <p>
+ * The labels are placed in a perfect hash table, built once, so resolving a cause is a single hash of
+ * the cause text followed by one comparison. The cause text can be resolved directly from the line it
+ * was matched in, which saves extracting it into a String for every collection. Cause texts that are
+ * not known are counted by the {@link UnknownGCCauseCollector} of the analysis, if one is given.
+ */
 public class GCCauses {
-    private static final Map<String, GCCause> GC_CAUSES = Arrays.stream(GCCause.values()).collect(toMap(GCCause::getLabel, Function.identity()));
 
-    // Add additional lookup for system.gc()
+    private static final int[] SEEDS = { 0x9E3779B1, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0x61C88647 };
+    // The table is allowed to grow to 256 times the smallest size that holds the labels. The labels
+    // in GCCause today need 32 times.
+    private static final int MAX_GROWTH_BITS = 8;
+
+    private static final String[] LABELS;
+    private static final GCCause[] CAUSES;
+    private static final int SEED;
+    private static final int SHIFT;
+
     static {
-        GC_CAUSES.put("System", GCCause.JAVA_LANG_SYSTEM);
+        GCCause[] values = GCCause.values();
+        String[] labels = new String[values.length + 1];
+        GCCause[] causes = new GCCause[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            labels[i] = values[i].getLabel();
+            causes[i] = values[i];
+        }
+        // Add additional lookup for system.gc()
+        labels[values.length] = "System";
+        causes[values.length] = GCCause.JAVA_LANG_SYSTEM;
+
+        int[] hash;
+        try {
+            hash = perfectHash(labels);
+        } catch (IllegalArgumentException e) {
+            throw new ExceptionInInitializerError(e.getMessage());
+        }
+        int bits = hash[1];
+        SEED = hash[0];
+        SHIFT = 32 - bits;
+        LABELS = new String[1 << bits];
+        CAUSES = new GCCause[1 << bits];
+        for (int i = 0; i < labels.length; i++) {
+            int slot = slot(labels[i], 0, labels[i].length(), SEED, SHIFT);
+            LABELS[slot] = labels[i];
+            CAUSES[slot] = causes[i];
+        }
     }
 
-    public static GCCause get(String gcCauseName) {
-        GCCause cause;
-        if (gcCauseName == null) {
-            cause = GCCause.GCCAUSE_NOT_SET;
-        } else {
-            String lookup = gcCauseName.trim();
-            cause = GC_CAUSES.get(lookup.substring(1, lookup.length() - 1));
-            if (cause == null) {
-                cause = GCCause.GCCAUSE_NOT_SET;
+    /**
+     * Grow the table until one of the seeds places every label in a slot of its own.
+     * @param labels the labels to place
+     * @return the seed and the number of bits in the slot index
+     * @throws IllegalArgumentException naming the labels that collide if no seed places them within
+     * the largest table allowed, as when two labels are the same
+     */
+    static int[] perfectHash(String[] labels) {
+        int minBits = 32 - Integer.numberOfLeadingZeros(labels.length);
+        int maxBits = minBits + MAX_GROWTH_BITS;
+        for (int bits = minBits; bits <= maxBits; bits++) {
+            for (int candidate : SEEDS) {
+                if (isPerfect(labels, candidate, 32 - bits))
+                    return new int[] { candidate, bits };
+            }
+        }
+        throw new IllegalArgumentException("Unable to place the GC cause labels in a table of " + (1 << maxBits)
+                + " slots, these labels collide: " + collisions(labels, SEEDS[0], 32 - maxBits));
+    }
+
+    private static Set<String> collisions(String[] labels, int seed, int shift) {
+        Map<Integer, String> slots = new HashMap<>();
+        Set<String> collisions = new TreeSet<>();
+        for (String label : labels) {
+            String previous = slots.putIfAbsent(slot(label, 0, label.length(), seed, shift), label);
+            if (previous != null) {
+                collisions.add(previous);
+                collisions.add(label);
             }
         }
+        return collisions;
+    }
 
-        return cause;
+    private static boolean isPerfect(String[] labels, int seed, int shift) {
+        boolean[] used = new boolean[1 << (32 - shift)];
+        for (String label : labels) {
+            int slot = slot(label, 0, label.length(), seed, shift);
+            if (used[slot])
+                return false;
+            used[slot] = true;
+        }
+        return true;
+    }
+
+    private static int slot(CharSequence text, int start, int end, int seed, int shift) {
+        int hash = 0;
+        for (int i = start; i < end; i++)
+            hash = 31 * hash + text.charAt(i);
+        return (hash * seed) >>> shift;
+    }
+
+    public static GCCause get(String gcCauseName) {
+        return get(gcCauseName, null);
+    }
+
+    /**
+     * Resolve a cause text, such as {@code (G1 Evacuation Pause)}.
+     * @param gcCauseName the cause text, wrapped in parentheses
+     * @param unknownCauses counts the cause text if it is not known, may be null
+     * @return the GC cause, or {@link GCCause#GCCAUSE_NOT_SET} if the text is not a known cause
+     */
+    public static GCCause get(String gcCauseName, UnknownGCCauseCollector unknownCauses) {
+        if (gcCauseName == null)
+            return GCCause.GCCAUSE_NOT_SET;
+        return get(gcCauseName, 0, gcCauseName.length(), unknownCauses);
+    }
+
+    /**
+     * Resolve the cause text found between {@code start} and {@code end} in {@code text}. The cause text is
+     * expected to be wrapped in parentheses. Surrounding white space is ignored.
+     * @param text the text holding the cause, typically the GC log line
+     * @param start the index of the first character of the cause text
+     * @param end the index following the last character of the cause text
+     * @return the GC cause, or {@link GCCause#GCCAUSE_NOT_SET} if the text is not a known cause
+     */
+    public static GCCause get(CharSequence text, int start, int end) {
+        return get(text, start, end, null);
+    }
+
+    /**
+     * Resolve the cause text found between {@code start} and {@code end} in {@code text}, as
+     * {@link #get(CharSequence, int, int)} does, counting the text if it is not a known cause.
+     * @param text the text holding the cause, typically the GC log line
+     * @param start the index of the first character of the cause text
+     * @param end the index following the last character of the cause text
+     * @param unknownCauses counts the cause text if it is not known, may be null
+     * @return the GC cause, or {@link GCCause#GCCAUSE_NOT_SET} if the text is not a known cause
+     */
+    public static GCCause get(CharSequence text, int start, int end, UnknownGCCauseCollector unknownCauses) {
+        if (text == null || start < 0 || end > text.length())
+            return GCCause.GCCAUSE_NOT_SET;
+        while (start < end && text.charAt(start) <= ' ')
+            start++;
+        while (end > start && text.charAt(end - 1) <= ' ')
+            end--;
+        // strip the enclosing parentheses
+        start++;
+        end--;
+        if (start > end)
+            return GCCause.GCCAUSE_NOT_SET;
+
+        int slot = slot(text, start, end, SEED, SHIFT);
+        String label = LABELS[slot];
+        if (label != null && regionMatches(label, text, start, end))
+            return CAUSES[slot];
+
+        if (unknownCauses != null && end > start)
+            unknownCauses.collect(text.subSequence(start, end).toString());
+        return GCCause.GCCAUSE_NOT_SET;
+    }
+
+    private static boolean regionMatches(String label, CharSequence text, int start, int end) {
+        if (label.length() != end - start)
+            return false;
+        for (int i = 0; i < label.length(); i++) {
+            if (label.charAt(i) != text.charAt(start + i))
+                return false;
+        }
+        return true;
     }
 }
 
@@ -15,6 +15,7 @@ import java.util.Objects;
  * not it was a young collection
  */
 public abstract class GCEvent extends JVMEvent {
+    private static final long serialVersionUID = 1L;
 
     static final double TIMESTAMP_THRESHOLD = 1.0E-6;
     private final GarbageCollectionTypes gcType;
@@ -1,6 +1,8 @@
 package com.microsoft.gctoolkit.event;
 
 public class MalformedEvent extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public MalformedEvent(String message) {
         super(message);
     }
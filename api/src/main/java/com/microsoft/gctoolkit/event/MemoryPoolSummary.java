@@ -2,7 +2,10 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event;
 
-public class MemoryPoolSummary {
+import java.io.Serializable;
+
+public class MemoryPoolSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final long occupancyBeforeCollection;
     private final long sizeBeforeCollection;
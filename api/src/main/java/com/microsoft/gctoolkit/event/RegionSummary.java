@@ -2,7 +2,10 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event;
 
-public class RegionSummary {
+import java.io.Serializable;
+
+public class RegionSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final int before;
     private final int after;
@@ -2,7 +2,10 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event;
 
-public class StatisticalSummary {
+import java.io.Serializable;
+
+public class StatisticalSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     public static final double UNDEFINED = -1.0d;
 
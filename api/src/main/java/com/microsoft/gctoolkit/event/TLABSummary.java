@@ -3,9 +3,11 @@
 package com.microsoft.gctoolkit.event;
 
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
-public class TLABSummary {
+public class TLABSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private ArrayList<String> tlabRecords;
 
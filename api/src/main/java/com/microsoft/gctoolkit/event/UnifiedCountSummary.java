@@ -2,7 +2,10 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event;
 
-public class UnifiedCountSummary {
+import java.io.Serializable;
+
+public class UnifiedCountSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     //example: Min: 1, Avg: 17.4, Max: 34, Diff: 33, Sum: 139, Workers: 8
 
@@ -3,6 +3,7 @@
 package com.microsoft.gctoolkit.event;
 
 public class UnifiedStatisticalSummary extends StatisticalSummary {
+    private static final long serialVersionUID = 1L;
 
     private final int threads;
 
@@ -0,0 +1,69 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Counts the GC cause texts that {@link GCCauses} could not resolve to a {@link GCCause}, for one parser
+ * in one analysis. A new collector is made for each analysis, so what one log contains never shows up in
+ * the results of another. At most a fixed number of distinct texts are remembered; texts seen after that
+ * are only counted in the total.
+ *
+ * @see com.microsoft.gctoolkit.jvm.JavaVirtualMachine#getUnknownGCCauses()
+ */
+public class UnknownGCCauseCollector {
+
+    private static final Logger LOGGER = Logger.getLogger(UnknownGCCauseCollector.class.getName());
+
+    public static final int DEFAULT_MAX_CAUSES = 256;
+
+    private final int maxCauses;
+    private final Map<String, Long> causes = new LinkedHashMap<>();
+    private long total = 0L;
+
+    public UnknownGCCauseCollector() {
+        this(DEFAULT_MAX_CAUSES);
+    }
+
+    /**
+     * @param maxCauses the most distinct cause texts to remember
+     */
+    public UnknownGCCauseCollector(int maxCauses) {
+        if (maxCauses < 1)
+            throw new IllegalArgumentException("maxCauses must be positive: " + maxCauses);
+        this.maxCauses = maxCauses;
+    }
+
+    /**
+     * @param cause a cause text, without its enclosing parentheses, that is not a known GC cause
+     */
+    synchronized void collect(String cause) {
+        total++;
+        Long count = causes.get(cause);
+        if (count != null) {
+            causes.put(cause, count + 1L);
+        } else if (causes.size() < maxCauses) {
+            causes.put(cause, 1L);
+            LOGGER.fine("Unknown GC cause: " + cause);
+        }
+    }
+
+    /**
+     * @return the number of times a cause could not be resolved
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the distinct cause texts that could not be resolved, in the order they were first seen, with
+     * the number of times each was seen
+     */
+    public synchronized Map<String, Long> getUnknownCauses() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(causes));
+    }
+}
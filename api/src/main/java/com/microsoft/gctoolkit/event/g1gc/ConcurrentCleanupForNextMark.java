@@ -11,6 +11,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  */
 
 public class ConcurrentCleanupForNextMark extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     /**
      * @param timeStamp start of event
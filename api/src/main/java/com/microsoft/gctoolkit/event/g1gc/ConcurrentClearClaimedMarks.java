@@ -11,6 +11,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  */
 
 public class ConcurrentClearClaimedMarks extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     /**
      *
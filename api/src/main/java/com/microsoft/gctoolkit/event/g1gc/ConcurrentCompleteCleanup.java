@@ -11,6 +11,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  */
 
 public class ConcurrentCompleteCleanup extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     /**
      * @param timeStamp time of event
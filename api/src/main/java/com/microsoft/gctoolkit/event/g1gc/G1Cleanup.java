@@ -10,6 +10,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  * Pause phase
  */
 public class G1Cleanup extends G1RealPause {
+    private static final long serialVersionUID = 1L;
 
     /**
      * @param timeStamp time of the event
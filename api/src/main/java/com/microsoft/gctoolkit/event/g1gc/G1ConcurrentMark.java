@@ -12,6 +12,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  */
 
 public class G1ConcurrentMark extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     private double markFromRootsDuration = -1.0d;
     private int activeWorkerThreads = -1;
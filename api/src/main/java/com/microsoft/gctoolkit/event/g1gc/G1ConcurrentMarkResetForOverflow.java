@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class G1ConcurrentMarkResetForOverflow extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     public G1ConcurrentMarkResetForOverflow(DateTimeStamp timeStamp) {
         super(timeStamp, GarbageCollectionTypes.G1ConcurrentMarkResetForOverflow, GCCause.CONCURRENT_MARK_STACK_OVERFLOW, 0.0d);
@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 
 public class G1ConcurrentRebuildRememberedSets extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     public G1ConcurrentRebuildRememberedSets(DateTimeStamp timeStamp, double duration) {
         super(timeStamp, GarbageCollectionTypes.G1GCConcurrentCleanup, GCCause.GCCAUSE_NOT_SET, duration);
@@ -11,6 +11,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  */
 
 public class G1ConcurrentStringDeduplication extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     private double startingStringVolume;
     private double endingStringVolume;
@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 
 public class G1ConcurrentUndoCycle extends G1GCConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     public G1ConcurrentUndoCycle(DateTimeStamp timeStamp, double duration) {
         super(timeStamp, GarbageCollectionTypes.G1GCConcurrentUndoCycle, GCCause.GCCAUSE_NOT_SET, duration);
@@ -6,13 +6,12 @@ import com.microsoft.gctoolkit.event.GCCause;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 public class G1FullGC extends G1RealPause {
+    private static final long serialVersionUID = 1L;
 
-    private final Map<String, Double> internalPhaseTimes = new ConcurrentHashMap<>();
+    private G1GCPhaseTable<Double> internalPhaseTimes = new G1GCPhaseTable<>();
 
     public G1FullGC(DateTimeStamp timeStamp, GCCause cause, double pauseTime) {
         this(timeStamp, GarbageCollectionTypes.Full, cause, pauseTime);
@@ -23,14 +22,35 @@ public class G1FullGC extends G1RealPause {
     }
 
     public void addInternalPhase(String internalPhase, Double duration) {
+        materializeDetails();
         internalPhaseTimes.put(internalPhase, duration);
     }
 
+    /**
+     * Replace the internal phase durations with a table built by the parser.
+     * @param phases durations by phase, in seconds
+     */
+    public void addInternalPhases(G1GCPhaseTable<Double> phases) {
+        materializeDetails();
+        this.internalPhaseTimes = phases;
+    }
+
     public Stream<String> internalPhases() {
-        return internalPhaseTimes.keySet().stream();
+        materializeDetails();
+        return internalPhaseTimes.names();
     }
 
     public double internalPhaseDuration(String phaseName) {
+        materializeDetails();
         return internalPhaseTimes.get(phaseName);
     }
+
+    /**
+     * @param phase the phase to look up
+     * @return the duration of the phase in seconds, or {@link Double#NaN} if it was not reported
+     */
+    public double internalPhaseDuration(G1GCPhase phase) {
+        materializeDetails();
+        return internalPhaseTimes.getOrDefault(phase, Double.NaN);
+    }
 }
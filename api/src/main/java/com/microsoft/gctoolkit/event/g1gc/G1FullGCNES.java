@@ -10,6 +10,8 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  * full GC not elsewhere specified on the G1 garbage collector
  */
 public class G1FullGCNES extends G1FullGC {
+    private static final long serialVersionUID = 1L;
+
     public G1FullGCNES(DateTimeStamp timeStamp, GCCause cause, double pauseTime) {
         this(timeStamp, GarbageCollectionTypes.Full, cause, pauseTime);
     }
@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public abstract class G1GCConcurrentEvent extends G1GCEvent {
+    private static final long serialVersionUID = 1L;
 
     public G1GCConcurrentEvent(DateTimeStamp timeStamp, GarbageCollectionTypes type, GCCause cause, double duration) {
         super(timeStamp, type, cause, duration);
@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public abstract class G1GCEvent extends GCEvent {
+    private static final long serialVersionUID = 1L;
 
     public G1GCEvent(DateTimeStamp timeStamp, GarbageCollectionTypes type, GCCause cause, double duration) {
         super(timeStamp, type, cause, duration);
@@ -0,0 +1,20 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+/**
+ * Detail sections of a {@link G1GCPauseEvent} that have been captured by a parser but not yet decoded.
+ * Memory pool, region, reference, CPU and phase summaries are only built when one of the event's detail
+ * getters is first called. Aggregations that only look at the time stamp, type, cause and duration of an
+ * event never pay for the decoding. Implementations hold the captured values themselves rather than the parser
+ * state they came from.
+ */
+@FunctionalInterface
+public interface G1GCPauseDetails {
+
+    /**
+     * Decode the captured detail sections into the event. Called at most once per event.
+     * @param event the event to fill in
+     */
+    void materialize(G1GCPauseEvent event);
+}
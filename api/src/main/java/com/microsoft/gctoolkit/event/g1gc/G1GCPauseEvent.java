@@ -11,7 +11,11 @@ import com.microsoft.gctoolkit.event.RegionSummary;
 import com.microsoft.gctoolkit.event.SurvivorMemoryPoolSummary;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
 public abstract class G1GCPauseEvent extends G1GCEvent {
+    private static final long serialVersionUID = 1L;
 
     private static final MemoryPoolSummary NULL_POOL = new MemoryPoolSummary(-1L, -1L, -1L, -1L);
     private static final RegionSummary NULL_REGION = new RegionSummary(-1, -1, -1);
@@ -30,30 +34,90 @@ public abstract class G1GCPauseEvent extends G1GCEvent {
 
     private CPUSummary cpuSummary;
     private int heapRegionSize;
+    private boolean late = false;
+
+    // Captured parser state; decoded before the event is serialized so only plain fields are written
+    private transient volatile G1GCPauseDetails deferredDetails = null;
 
     public G1GCPauseEvent(DateTimeStamp timeStamp, GarbageCollectionTypes type, GCCause cause, double duration) {
         super(timeStamp, type, cause, duration);
     }
 
+    /**
+     * Defer the decoding of the detail sections of this event until one of the detail getters is called.
+     * @param details the captured, not yet decoded, detail sections
+     */
+    public void deferDetails(G1GCPauseDetails details) {
+        this.deferredDetails = details;
+    }
+
+    /**
+     * @return true if the detail sections of this event have been captured but not yet decoded
+     */
+    public boolean hasDeferredDetails() {
+        return deferredDetails != null;
+    }
+
+    /**
+     * Decode any deferred detail sections. Subclasses call this before reading or writing detail fields so
+     * that a late decode never overwrites a value that was set directly on the event.
+     */
+    protected final void materializeDetails() {
+        if (deferredDetails != null) {
+            synchronized (this) {
+                G1GCPauseDetails details = deferredDetails;
+                if (details != null) {
+                    deferredDetails = null;
+                    details.materialize(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark this pause as published after events that started later than it did. A parser does this when it
+     * gives up waiting for the end of a collection and publishes what it has.
+     */
+    public void late() {
+        this.late = true;
+    }
+
+    /**
+     * @return true if this pause was published after events that started later than it did
+     */
+    public boolean isLate() {
+        return late;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        materializeDetails();
+        out.defaultWriteObject();
+    }
+
     public void addMemorySummary(MemoryPoolSummary eden, SurvivorMemoryPoolSummary survivor, MemoryPoolSummary heap) {
+        materializeDetails();
         this.eden = eden;
         this.survivor = survivor;
         this.heap = heap;
     }
 
     public void addMemorySummary(MemoryPoolSummary heap) {
+        materializeDetails();
         this.addMemorySummary(null, null, heap);
     }
 
     public void addPermOrMetaSpaceRecord(MemoryPoolSummary permOrMetaspaceRecord) {
+        materializeDetails();
         permOrMetaspace = permOrMetaspaceRecord;
     }
 
     public void addCPUSummary(CPUSummary summary) {
+        materializeDetails();
         this.cpuSummary = summary;
     }
 
     public void addRegionSummary(RegionSummary eden, RegionSummary survivor, RegionSummary old, RegionSummary humongous, RegionSummary archive) {
+        materializeDetails();
         this.edenRegion = eden;
         this.survivorRegion = survivor;
         this.oldRegion = old;
@@ -62,42 +126,52 @@ public abstract class G1GCPauseEvent extends G1GCEvent {
     }
 
     public RegionSummary getEdenRegionSummary() {
+        materializeDetails();
         return this.edenRegion == null ? NULL_REGION : this.edenRegion;
     }
 
     public RegionSummary getSurvivorRegionSummary() {
+        materializeDetails();
         return this.survivorRegion == null ? NULL_REGION : this.survivorRegion;
     }
 
     public RegionSummary getOldRegionSummary() {
+        materializeDetails();
         return this.oldRegion == null ? NULL_REGION : this.oldRegion;
     }
 
     public RegionSummary getHumongousRegionSummary() {
+        materializeDetails();
         return this.humongousRegion == null ? NULL_REGION : this.humongousRegion;
     }
 
     public RegionSummary getArchiveRegionSummary() {
+        materializeDetails();
         return this.archiveRegion == null ? NULL_REGION : this.archiveRegion;
     }
 
     public MemoryPoolSummary getEden() {
+        materializeDetails();
         return this.eden;
     }
 
     public SurvivorMemoryPoolSummary getSurvivor() {
+        materializeDetails();
         return this.survivor;
     }
 
     public MemoryPoolSummary getHeap() {
+        materializeDetails();
         return this.heap;
     }
 
     public MemoryPoolSummary getPermOrMetaspace() {
+        materializeDetails();
         return this.permOrMetaspace;
     }
 
     public MemoryPoolSummary getTenured() {
+        materializeDetails();
         if ((getEden() == null) || (getHeap() == null)) {
             return NULL_POOL;
         } else if (getSurvivor() == null) {
@@ -116,18 +190,30 @@ public abstract class G1GCPauseEvent extends G1GCEvent {
     }
 
     public void add(ReferenceGCSummary summary) {
+        materializeDetails();
         this.referenceGCSummary = summary;
     }
 
     public ReferenceGCSummary getReferenceGCSummary() {
+        materializeDetails();
         return this.referenceGCSummary;
     }
 
     public CPUSummary getCpuSummary() {
+        materializeDetails();
         return this.cpuSummary;
     }
 
     public void addHeapRegionSize(int heapRegionSize) {
+        materializeDetails();
         this.heapRegionSize = heapRegionSize;
     }
+
+    /**
+     * @return the size of a heap region in MBytes, or 0 if it is not known
+     */
+    public int getHeapRegionSize() {
+        materializeDetails();
+        return heapRegionSize;
+    }
 }
@@ -0,0 +1,90 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The phases of a G1 collection that are reported by name in unified logging. Knowing the
+ * phases up front lets them be stored by ordinal rather than in a map keyed by name.
+ * Phases not listed here are still recorded, see {@link G1GCPhaseTable}.
+ * The full collection phases are listed in the order in which they run.
+ */
+public enum G1GCPhase {
+
+    // Pre Evacuate Collection Set
+    PREPARE_TLABS("Prepare TLABs"),
+    CHOOSE_COLLECTION_SET("Choose Collection Set"),
+    HUMONGOUS_REGISTER("Humongous Register"),
+
+    // Evacuate Collection Set
+    EXT_ROOT_SCANNING("Ext Root Scanning"),
+    UPDATE_RS("Update RS"),
+    SCAN_RS("Scan RS"),
+    CODE_ROOT_SCANNING("Code Root Scanning"),
+    OBJECT_COPY("Object Copy"),
+    TERMINATION("Termination"),
+    GC_WORKER_OTHER("GC Worker Other"),
+    GC_WORKER_TOTAL("GC Worker Total"),
+
+    // Post Evacuate Collection Set
+    CODE_ROOTS_FIXUP("Code Roots Fixup"),
+    PRESERVE_CM_REFS("Preserve CM Refs"),
+    REFERENCE_PROCESSING("Reference Processing"),
+    CLEAR_CARD_TABLE("Clear Card Table"),
+    EVACUATION_FAILURE("Evacuation Failure"),
+    REFERENCE_ENQUEUING("Reference Enqueuing"),
+    MERGE_PER_THREAD_STATE("Merge Per-Thread State"),
+    CODE_ROOTS_PURGE("Code Roots Purge"),
+    REDIRTY_CARDS("Redirty Cards"),
+    CLEAR_CLAIMED_MARKS("Clear Claimed Marks"),
+    FREE_COLLECTION_SET("Free Collection Set"),
+    HUMONGOUS_RECLAIM("Humongous Reclaim"),
+    EXPAND_HEAP_AFTER_COLLECTION("Expand Heap After Collection"),
+
+    // Full collection
+    MARK_LIVE_OBJECTS("Mark live objects"),
+    PREPARE_FOR_COMPACTION("Prepare for compaction"),
+    COMPUTE_NEW_OBJECT_ADDRESSES("Compute new object addresses"),
+    ADJUST_POINTERS("Adjust pointers"),
+    MOVE_OBJECTS("Move objects"),
+    COMPACT_HEAP("Compact heap");
+
+    private static final G1GCPhase[] VALUES = values();
+    private static final Map<String, G1GCPhase> BY_LABEL = new HashMap<>();
+
+    static {
+        for (G1GCPhase phase : VALUES)
+            BY_LABEL.put(phase.label, phase);
+    }
+
+    private final String label;
+
+    G1GCPhase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return the name of the phase as it appears in the GC log
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @param label the name of the phase as it appears in the GC log
+     * @return the phase, or null if the phase is not known
+     */
+    public static G1GCPhase fromLabel(String label) {
+        return (label == null) ? null : BY_LABEL.get(label);
+    }
+
+    static G1GCPhase valueOf(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    static int count() {
+        return VALUES.length;
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Values recorded against G1 phase names. Known {@link G1GCPhase}s are held in an array indexed by
+ * ordinal, anything else goes into a small overflow map. Storage is only allocated on the first put.
+ * Names are reported with the known phases first, in {@link G1GCPhase} order, followed by any others
+ * in the order they were recorded.
+ * <p>
+ * A table is filled in by a single parser thread and is read only once the event holding it has been
+ * published, so it is not synchronized.
+ *
+ * @param <V> the type of value recorded for a phase
+ */
+public class G1GCPhaseTable<V> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Object[] known = null;
+    private Map<String, V> overflow = null;
+
+    public G1GCPhaseTable() {}
+
+    public void put(G1GCPhase phase, V value) {
+        if (known == null)
+            known = new Object[G1GCPhase.count()];
+        known[phase.ordinal()] = value;
+    }
+
+    public void put(String name, V value) {
+        G1GCPhase phase = G1GCPhase.fromLabel(name);
+        if (phase != null) {
+            put(phase, value);
+        } else {
+            if (overflow == null)
+                overflow = new LinkedHashMap<>(4);
+            overflow.put(name, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(G1GCPhase phase) {
+        return (known == null) ? null : (V) known[phase.ordinal()];
+    }
+
+    /**
+     * @param phase the phase to look up
+     * @param absent the value to return when the phase has no value
+     * @return the value recorded for the phase, or {@code absent} if there is none
+     */
+    public V getOrDefault(G1GCPhase phase, V absent) {
+        V value = get(phase);
+        return (value == null) ? absent : value;
+    }
+
+    public V get(String name) {
+        G1GCPhase phase = G1GCPhase.fromLabel(name);
+        if (phase != null)
+            return get(phase);
+        return (overflow == null) ? null : overflow.get(name);
+    }
+
+    public boolean isEmpty() {
+        return names().findAny().isEmpty();
+    }
+
+    /**
+     * @return the known phases that have a value, in {@link G1GCPhase} order
+     */
+    public Stream<G1GCPhase> phases() {
+        if (known == null)
+            return Stream.empty();
+        List<G1GCPhase> phases = new ArrayList<>();
+        for (int ordinal = 0; ordinal < known.length; ordinal++)
+            if (known[ordinal] != null)
+                phases.add(G1GCPhase.valueOf(ordinal));
+        return phases.stream();
+    }
+
+    /**
+     * @return the names of all phases that have a value
+     */
+    public Stream<String> names() {
+        Stream<String> names = phases().map(G1GCPhase::getLabel);
+        return (overflow == null) ? names : Stream.concat(names, overflow.keySet().stream());
+    }
+}
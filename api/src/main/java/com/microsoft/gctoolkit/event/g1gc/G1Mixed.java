@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 
 public class G1Mixed extends G1Young {
+    private static final long serialVersionUID = 1L;
 
     public G1Mixed(DateTimeStamp dateTimeStamp, GCCause gcCause, double pauseTime) {
         super(dateTimeStamp, GarbageCollectionTypes.Mixed, gcCause, pauseTime);
@@ -10,6 +10,8 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  * not a trap
  */
 public abstract class G1RealPause extends G1GCPauseEvent {
+    private static final long serialVersionUID = 1L;
+
     public G1RealPause(DateTimeStamp timeStamp, GarbageCollectionTypes type, GCCause cause, double duration) {
         super(timeStamp, type, cause, duration);
     }
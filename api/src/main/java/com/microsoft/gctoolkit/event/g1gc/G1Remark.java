@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 
 public class G1Remark extends G1RealPause {
+    private static final long serialVersionUID = 1L;
 
     private double referenceProcessingTime = 0.0d;
     private double finalizeMarkingTime = 0.0d;
@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class G1SystemGC extends G1FullGC {
+    private static final long serialVersionUID = 1L;
 
     public G1SystemGC(DateTimeStamp timeStamp, double pauseTime) {
         super(timeStamp, GarbageCollectionTypes.SystemGC, GCCause.JAVA_LANG_SYSTEM, pauseTime);
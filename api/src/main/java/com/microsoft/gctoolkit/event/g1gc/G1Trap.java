@@ -18,6 +18,7 @@ import java.util.logging.Logger;
  */
 
 public class G1Trap extends G1GCPauseEvent {
+    private static final long serialVersionUID = 1L;
 
     private static final Logger LOGGER = Logger.getLogger(G1Trap.class.getName());
 
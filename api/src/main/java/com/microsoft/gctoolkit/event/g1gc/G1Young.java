@@ -16,6 +16,7 @@ import java.util.stream.Stream;
 
 
 public class G1Young extends G1RealPause {
+    private static final long serialVersionUID = 1L;
 
     private double parallelPhaseDuration = -1.0d;
     private int gcWorkers;
@@ -51,6 +52,7 @@ public class G1Young extends G1RealPause {
     }
 
     public void toSpaceExhausted() {
+        materializeDetails();
         toSpaceExhausted = true;
     }
 
@@ -59,55 +61,68 @@ public class G1Young extends G1RealPause {
     }
 
     public void setParallelPhaseDuration(double duration) {
+        materializeDetails();
         this.parallelPhaseDuration = duration;
     }
 
     public void setGcWorkers(int count) {
+        materializeDetails();
         this.gcWorkers = count;
     }
 
     public void setEvacuationWorkersUsed(int evacuationWorkersUsed) {
+        materializeDetails();
         this.evacuationWorkersUsed = evacuationWorkersUsed;
     }
 
     public void setEvacuationWorkersAvailable(int evacuationWorkersAvailable) {
+        materializeDetails();
         this.evacuationWorkersAvailable = evacuationWorkersAvailable;
     }
 
     public void setCodeRootFixupDuration(double duration) {
+        materializeDetails();
         this.codeRootFixupDuration = duration;
     }
 
     public void setStringDedupingDuration(double duration, int workers) {
+        materializeDetails();
         this.stringDedupingDuration = duration;
         this.stringDeduppingWorkers = workers;
     }
 
     public void setQueueFixupStatistics(StatisticalSummary summary) {
+        materializeDetails();
         this.queueFixupStatistics = summary;
     }
 
     public void setTableFixupStatistics(StatisticalSummary summary) {
+        materializeDetails();
         this.tableFixupStatistics = summary;
     }
 
     public void setCodeRootMigrationDuration(double duration) {
+        materializeDetails();
         this.codeRootMigrationDuration = duration;
     }
 
     public void setCodeRootPurgeDuration(double duration) {
+        materializeDetails();
         this.codeRootPurgeDuration = duration;
     }
 
     public void setClearCTDuration(double duration) {
+        materializeDetails();
         this.clearCTDuration = duration;
     }
 
     public void setExpandHeapDuration(double duration) {
+        materializeDetails();
         this.expandHeapDuration = duration;
     }
 
     public void setOtherPhaseDurations(double duration) {
+        materializeDetails();
         this.otherPhaseDurations = duration;
     }
 
@@ -120,10 +135,12 @@ public class G1Young extends G1RealPause {
     }
 
     public int getEvacuationWorkersUsed() {
+        materializeDetails();
         return evacuationWorkersUsed;
     }
 
     public int getEvacuationWorkersAvailable() {
+        materializeDetails();
         return evacuationWorkersAvailable;
     }
 
@@ -168,6 +185,7 @@ public class G1Young extends G1RealPause {
     }
 
     public void setWorkersStart(StatisticalSummary summary) {
+        materializeDetails();
         this.workersStart = summary;
     }
 
@@ -176,6 +194,7 @@ public class G1Young extends G1RealPause {
     }
 
     public void setWorkersEnd(StatisticalSummary summary) {
+        materializeDetails();
         this.workersEnd = summary;
     }
 
@@ -184,6 +203,7 @@ public class G1Young extends G1RealPause {
     }
 
     public void addProcessedBuffersSummary(StatisticalSummary summary) {
+        materializeDetails();
         this.processedBuffersSummary = summary;
     }
 
@@ -192,6 +212,7 @@ public class G1Young extends G1RealPause {
     }
 
     public void addWorkerActivity(String group, StatisticalSummary statisticalSummary) {
+        materializeDetails();
         if (group.endsWith("Other"))
             workerOther = statisticalSummary;
         if (group.endsWith("Total"))
@@ -199,10 +220,12 @@ public class G1Young extends G1RealPause {
     }
 
     public void add(SurvivorRecord record) {
+        materializeDetails();
         this.survivorRecord = record;
     }
 
     public SurvivorRecord getSurvivorRecord() {
+        materializeDetails();
         return survivorRecord;
     }
 
@@ -215,18 +238,22 @@ public class G1Young extends G1RealPause {
     }
 
     public void addPhaseDuration(String key, double duration) {
+        materializeDetails();
         phaseDurations.put(key, duration);
     }
 
     public Iterator<String> phaseNames() {
+        materializeDetails();
         return phaseDurations.keySet().iterator();
     }
 
     public double phaseDurationFor(String phaseName) {
+        materializeDetails();
         return phaseDurations.get(phaseName);
     }
 
     public void addParallelPhaseSummary(String key, StatisticalSummary summary) {
+        materializeDetails();
         this.parallelPhaseSummaries.put(key, summary);
     }
 
@@ -239,51 +266,116 @@ public class G1Young extends G1RealPause {
     }
 
     public void queueFixupStatistics(StatisticalSummary summary) {
+        materializeDetails();
         this.queueFixupStatistics = summary;
     }
 
     public void tableFixupStatistics(StatisticalSummary summary) {
+        materializeDetails();
         this.tableFixupStatistics = summary;
     }
 
-    private final Map<String, Double> preEvacuateCSetPhase = new ConcurrentHashMap<>(3);
-    private final Map<String, UnifiedStatisticalSummary> evacuateCSetPhase = new ConcurrentHashMap<>();
-    private final Map<String, Double> postEvacuateCSetPhase = new ConcurrentHashMap<>();
+    private G1GCPhaseTable<Double> preEvacuateCSetPhase = new G1GCPhaseTable<>();
+    private G1GCPhaseTable<UnifiedStatisticalSummary> evacuateCSetPhase = new G1GCPhaseTable<>();
+    private G1GCPhaseTable<Double> postEvacuateCSetPhase = new G1GCPhaseTable<>();
 
     public void addPreEvacuationCollectionPhase(String name, double duration) {
+        materializeDetails();
         preEvacuateCSetPhase.put(name, duration);
     }
 
+    /**
+     * Replace the pre-evacuation phase durations with a table built by the parser.
+     * @param phases durations by phase, in seconds
+     */
+    public void addPreEvacuationCollectionPhases(G1GCPhaseTable<Double> phases) {
+        materializeDetails();
+        this.preEvacuateCSetPhase = phases;
+    }
+
     public Stream<String> preEvacuateCSetPhaseNames() {
-        return preEvacuateCSetPhase.keySet().stream();
+        materializeDetails();
+        return preEvacuateCSetPhase.names();
     }
 
     public double preEvacuateCSetPhaseDuration(String name) {
+        materializeDetails();
         return preEvacuateCSetPhase.get(name);
     }
 
+    /**
+     * @param phase the phase to look up
+     * @return the duration of the phase in seconds, or {@link Double#NaN} if it was not reported
+     */
+    public double preEvacuateCSetPhaseDuration(G1GCPhase phase) {
+        materializeDetails();
+        return preEvacuateCSetPhase.getOrDefault(phase, Double.NaN);
+    }
+
     public void addEvacuationCollectionPhase(String name, UnifiedStatisticalSummary summary) {
+        materializeDetails();
         evacuateCSetPhase.put(name, summary);
     }
 
+    /**
+     * Replace the evacuation phase summaries with a table built by the parser.
+     * @param phases worker statistics by phase
+     */
+    public void addEvacuationCollectionPhases(G1GCPhaseTable<UnifiedStatisticalSummary> phases) {
+        materializeDetails();
+        this.evacuateCSetPhase = phases;
+    }
+
     public Stream<String> evacuateCSetPhaseNames() {
-        return evacuateCSetPhase.keySet().stream();
+        materializeDetails();
+        return evacuateCSetPhase.names();
     }
 
     public StatisticalSummary evacuateCSetPhaseDuration(String name) {
+        materializeDetails();
         return evacuateCSetPhase.get(name);
     }
 
+    /**
+     * @param phase the phase to look up
+     * @return the worker statistics of the phase, or null if it was not reported
+     */
+    public StatisticalSummary evacuateCSetPhaseDuration(G1GCPhase phase) {
+        materializeDetails();
+        return evacuateCSetPhase.get(phase);
+    }
+
     public void addPostEvacuationCollectionPhase(String name, double summary) {
+        materializeDetails();
         postEvacuateCSetPhase.put(name, summary);
     }
 
+    /**
+     * Replace the post-evacuation phase durations with a table built by the parser.
+     * @param phases durations by phase, in seconds
+     */
+    public void addPostEvacuationCollectionPhases(G1GCPhaseTable<Double> phases) {
+        materializeDetails();
+        this.postEvacuateCSetPhase = phases;
+    }
+
     public Stream<String> postEvacuateCSetPhaseNames() {
-        return postEvacuateCSetPhase.keySet().stream();
+        materializeDetails();
+        return postEvacuateCSetPhase.names();
     }
 
     public double postEvacuateCSetPhaseDuration(String name) {
+        materializeDetails();
         return postEvacuateCSetPhase.get(name);
     }
 
+    /**
+     * @param phase the phase to look up
+     * @return the duration of the phase in seconds, or {@link Double#NaN} if it was not reported
+     */
+    public double postEvacuateCSetPhaseDuration(G1GCPhase phase) {
+        materializeDetails();
+        return postEvacuateCSetPhase.getOrDefault(phase, Double.NaN);
+    }
+
 }
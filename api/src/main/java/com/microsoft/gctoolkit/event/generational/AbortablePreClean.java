@@ -10,6 +10,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  * CMS phase to put time between the InitialMark and the Remark phase. Abortable when time or space thresholds are met.
  */
 public class AbortablePreClean extends CMSConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     private final boolean abortedDueToTime;
 
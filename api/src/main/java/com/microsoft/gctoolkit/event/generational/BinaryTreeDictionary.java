@@ -2,7 +2,10 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event.generational;
 
-public class BinaryTreeDictionary {
+import java.io.Serializable;
+
+public class BinaryTreeDictionary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private long totalFreeSpace;
     private long maxChunkSize;
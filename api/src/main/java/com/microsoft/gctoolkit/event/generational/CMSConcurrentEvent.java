@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public abstract class CMSConcurrentEvent extends GenerationalGCEvent implements CMSPhase {
+    private static final long serialVersionUID = 1L;
 
     private double cpuTime;
     private double wallClockTime;
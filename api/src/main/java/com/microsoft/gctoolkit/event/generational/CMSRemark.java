@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class CMSRemark extends CMSPauseEvent {
+    private static final long serialVersionUID = 1L;
 
     public CMSRemark(DateTimeStamp timeStamp, double duration) {
         this(timeStamp, GCCause.CMS_FINAL_REMARK, duration);
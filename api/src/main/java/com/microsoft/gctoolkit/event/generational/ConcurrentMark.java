@@ -10,6 +10,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  * CMS concurrent mark phase
  */
 public class ConcurrentMark extends CMSConcurrentEvent {
+    private static final long serialVersionUID = 1L;
 
     /**
      *
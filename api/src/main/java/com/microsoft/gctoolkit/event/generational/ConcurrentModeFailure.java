@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class ConcurrentModeFailure extends FullGC implements CMSPhase {
+    private static final long serialVersionUID = 1L;
 
     public ConcurrentModeFailure(DateTimeStamp timeStamp, GCCause cause, double duration) {
         super(timeStamp, GarbageCollectionTypes.ConcurrentModeFailure, cause, duration);
@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class DefNew extends GenerationalGCPauseEvent {
+    private static final long serialVersionUID = 1L;
 
     public DefNew(DateTimeStamp timeStamp, GCCause cause, double duration) {
         super(timeStamp, GarbageCollectionTypes.DefNew, cause, duration);
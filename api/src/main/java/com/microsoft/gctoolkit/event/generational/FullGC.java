@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class FullGC extends GenerationalGCPauseEvent {
+    private static final long serialVersionUID = 1L;
 
     private int dutyCycle = -1;
 
@@ -11,6 +11,7 @@ import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public abstract class GenerationalGCPauseEvent extends GenerationalGCEvent {
+    private static final long serialVersionUID = 1L;
 
     private MemoryPoolSummary young;
     private MemoryPoolSummary tenured;
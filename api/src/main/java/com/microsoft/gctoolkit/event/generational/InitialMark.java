@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class InitialMark extends CMSPauseEvent {
+    private static final long serialVersionUID = 1L;
 
     public InitialMark(DateTimeStamp timeStamp, GCCause cause, double duration) {
         super(timeStamp, GarbageCollectionTypes.InitialMark, cause, duration);
@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.event.TLABSummary;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class ParNew extends GenerationalGCPauseEvent {
+    private static final long serialVersionUID = 1L;
 
     private TLABSummary tlabSummary = null;
 
@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  * Event to report on time application is running with the collector
  */
 public class ApplicationConcurrentTime extends JVMEvent {
+    private static final long serialVersionUID = 1L;
 
     /**
      * @param timeStamp start of event
@@ -8,6 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  * Application run time between safepoint events.
  */
 public class ApplicationRunTime extends JVMEvent {
+    private static final long serialVersionUID = 1L;
 
     /**
      * @param timeStamp start of event
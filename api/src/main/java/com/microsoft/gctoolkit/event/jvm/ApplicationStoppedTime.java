@@ -5,6 +5,7 @@ package com.microsoft.gctoolkit.event.jvm;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class ApplicationStoppedTime extends JVMEvent {
+    private static final long serialVersionUID = 1L;
 
     private static final double NO_TTSP = -1.0d; // negative times.. don't make sense
     private final double timeToStopThreads;
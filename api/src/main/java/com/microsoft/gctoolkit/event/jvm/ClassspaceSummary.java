@@ -5,6 +5,7 @@ package com.microsoft.gctoolkit.event.jvm;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 
 public class ClassspaceSummary extends MemoryPoolSummary {
+    private static final long serialVersionUID = 1L;
 
     private final long reserved;
     private final long available;
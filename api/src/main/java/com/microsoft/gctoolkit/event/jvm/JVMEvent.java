@@ -4,10 +4,13 @@ package com.microsoft.gctoolkit.event.jvm;
 
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.io.Serializable;
+
 /**
  * This is the base class for all JVM events created by the parser.
  */
-public abstract class JVMEvent {
+public abstract class JVMEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final DateTimeStamp timeStamp;
     private final double duration;
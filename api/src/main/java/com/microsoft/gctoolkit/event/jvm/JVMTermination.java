@@ -5,6 +5,7 @@ package com.microsoft.gctoolkit.event.jvm;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class JVMTermination extends JVMEvent {
+    private static final long serialVersionUID = 1L;
 
     private DateTimeStamp timeOfFirstEvent;
 
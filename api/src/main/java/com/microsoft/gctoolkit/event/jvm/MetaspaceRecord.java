@@ -5,6 +5,7 @@ package com.microsoft.gctoolkit.event.jvm;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 
 public class MetaspaceRecord extends MemoryPoolSummary {
+    private static final long serialVersionUID = 1L;
 
     public MetaspaceRecord(long before, long after, long size) {
         super(before, after, size);
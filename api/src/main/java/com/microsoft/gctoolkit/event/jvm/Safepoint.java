@@ -6,6 +6,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 
 public class Safepoint extends JVMEvent {
+    private static final long serialVersionUID = 1L;
 
     private final String vmOperation;
     private int totalNumberOfApplicationThreads;
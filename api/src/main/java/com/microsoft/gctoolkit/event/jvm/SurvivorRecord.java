@@ -8,6 +8,7 @@ import java.util.ArrayList;
 
 
 public class SurvivorRecord extends JVMEvent {
+    private static final long serialVersionUID = 1L;
 
     private static final int THEORETICAL_MAX_TENURING_THRESHOLD = 15;
 
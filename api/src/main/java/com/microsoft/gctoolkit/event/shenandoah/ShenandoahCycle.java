@@ -7,7 +7,10 @@ import com.microsoft.gctoolkit.event.GCEvent;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.io.Serializable;
+
 public class ShenandoahCycle extends GCEvent {
+    private static final long serialVersionUID = 1L;
 
     private ERGO ergonomics;
 
@@ -96,7 +99,8 @@ public class ShenandoahCycle extends GCEvent {
     }
 
 
-    class Phase {
+    class Phase implements Serializable {
+        private static final long serialVersionUID = 1L;
 
         Phases phase;
         int activeWorkerThreadCount,totalWorkerThreadCount;
@@ -106,7 +110,8 @@ public class ShenandoahCycle extends GCEvent {
 
     }
 
-    class ERGO {
+    class ERGO implements Serializable {
+        private static final long serialVersionUID = 1L;
 
         private final int free;
         private final int maxFree;
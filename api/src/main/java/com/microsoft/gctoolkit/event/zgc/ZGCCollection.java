@@ -8,6 +8,8 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 import java.util.List;
 
 public class ZGCCollection extends GCEvent {
+    private static final long serialVersionUID = 1L;
+
     private DateTimeStamp markRootsStart;
     private double markRootsDuration;
     private DateTimeStamp markFollowStart;
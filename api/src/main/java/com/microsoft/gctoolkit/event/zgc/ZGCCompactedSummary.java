@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCCompactedSummary {
+import java.io.Serializable;
+
+public class ZGCCompactedSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long relocateEnd;
 
     public ZGCCompactedSummary(long relocateEnd) {
@@ -5,6 +5,8 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class ZGCFullCollection extends ZGCCollection {
+    private static final long serialVersionUID = 1L;
+
     public ZGCFullCollection(DateTimeStamp timeStamp, GarbageCollectionTypes gcType, GCCause cause, double duration) {
         super(timeStamp, gcType, cause, duration);
     }
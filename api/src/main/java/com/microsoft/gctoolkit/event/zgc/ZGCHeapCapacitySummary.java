@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCHeapCapacitySummary {
+import java.io.Serializable;
+
+public class ZGCHeapCapacitySummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long minCapacity;
     private final long maxCapacity;
     private final long softMaxCapacity;
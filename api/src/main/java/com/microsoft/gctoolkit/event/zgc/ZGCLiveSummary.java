@@ -2,7 +2,11 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCLiveSummary {
+import java.io.Serializable;
+
+public class ZGCLiveSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long markEnd;
     private final long relocateStart;
     private final long relocateEnd;
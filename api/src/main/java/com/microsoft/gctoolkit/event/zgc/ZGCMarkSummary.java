@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCMarkSummary {
+import java.io.Serializable;
+
+public class ZGCMarkSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final int stripes;
     private final int proactiveFlushes;
     private final int terminatedFlushes;
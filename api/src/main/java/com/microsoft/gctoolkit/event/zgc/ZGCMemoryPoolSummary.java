@@ -2,7 +2,10 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCMemoryPoolSummary {
+import java.io.Serializable;
+
+public class ZGCMemoryPoolSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     // these are effectively final but David likes to see an explicit final. In Java 14 this could be a Record.
     private final long capacity;
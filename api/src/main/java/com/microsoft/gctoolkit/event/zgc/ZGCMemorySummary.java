@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCMemorySummary {
+import java.io.Serializable;
+
+public class ZGCMemorySummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long occupancyBefore;
     private final long occupancyAfter;
 
@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCMetaspaceSummary {
+import java.io.Serializable;
+
+public class ZGCMetaspaceSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long used;
     private final long committed;
     private final long reserved;
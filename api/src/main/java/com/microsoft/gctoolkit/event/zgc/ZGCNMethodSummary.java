@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCNMethodSummary {
+import java.io.Serializable;
+
+public class ZGCNMethodSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long registered;
     private final long unregistered;
 
@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCPageAgeSummary {
+import java.io.Serializable;
+
+public class ZGCPageAgeSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String name;
     private final long live;
     private final int livePct;
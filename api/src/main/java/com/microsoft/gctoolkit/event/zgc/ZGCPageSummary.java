@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCPageSummary {
+import java.io.Serializable;
+
+public class ZGCPageSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long candidates;
     private final long selected;
     private final long inPlace;
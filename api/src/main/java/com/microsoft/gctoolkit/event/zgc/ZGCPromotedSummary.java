@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCPromotedSummary {
+import java.io.Serializable;
+
+public class ZGCPromotedSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long relocateStart;
     private final long relocateEnd;
 
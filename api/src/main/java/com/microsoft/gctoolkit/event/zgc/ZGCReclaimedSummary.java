@@ -2,7 +2,10 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCReclaimedSummary {
+import java.io.Serializable;
+
+public class ZGCReclaimedSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final long relocateStart;
     private final long relocateEnd;
@@ -1,6 +1,10 @@
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCReferenceSummary {
+import java.io.Serializable;
+
+public class ZGCReferenceSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long encountered;
     private final long discovered;
     private final long enqueued;
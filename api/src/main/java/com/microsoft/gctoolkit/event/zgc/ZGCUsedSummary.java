@@ -2,7 +2,11 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.event.zgc;
 
-public class ZGCUsedSummary {
+import java.io.Serializable;
+
+public class ZGCUsedSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long markStart;
     private final long markEnd;
     private final long relocateStart;
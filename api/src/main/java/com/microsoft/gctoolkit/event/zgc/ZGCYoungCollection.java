@@ -5,6 +5,8 @@ import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class ZGCYoungCollection extends ZGCCollection {
+    private static final long serialVersionUID = 1L;
+
     public ZGCYoungCollection(DateTimeStamp timeStamp, GarbageCollectionTypes gcType, GCCause cause, double duration) {
         super(timeStamp, gcType, cause, duration);
     }
@@ -0,0 +1,245 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.SupportedFlags;
+import com.microsoft.gctoolkit.jvm.UnifiedJavaVirtualMachine;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A JDK Flight Recorder recording, analysed from the garbage collection events recorded in it rather than
+ * from a GC log, so that no GC logging needs to be turned on. The {@code jdk.GarbageCollection},
+ * {@code jdk.GCHeapSummary}, {@code jdk.G1HeapSummary}, {@code jdk.PSHeapSummary}, {@code jdk.MetaspaceSummary},
+ * {@code jdk.G1GarbageCollection} and {@code jdk.GCPhasePause} events are translated into the same JVMEvents
+ * a GC log gives, and {@code jdk.SafepointBegin}, {@code jdk.ExecuteVMOperation} and {@code jdk.SafepointEnd}
+ * into Safepoints. The default recording settings record all but the safepoint events.
+ * <p>
+ * The recording is read one event at a time, never as a whole. Times are given as the seconds since the JVM
+ * started, as recorded by {@code jdk.JVMInformation}, and as UTC dates.
+ *
+ * @see com.microsoft.gctoolkit.message.RecordedEventParser
+ */
+public class JFRRecordingFile implements DataSource<RecordedEvent> {
+
+    private static final Logger LOGGER = Logger.getLogger(JFRRecordingFile.class.getName());
+
+    private final Path path;
+    private Diary diary;
+    private JavaVirtualMachine jvm;
+
+    public JFRRecordingFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * The diary is filled in from the collectors named by {@code jdk.GCConfiguration}, or by the first
+     * {@code jdk.GarbageCollection}, and the time of the first collection. Only as much of the recording
+     * is read as is needed to find them.
+     */
+    @Override
+    public synchronized Diary diary() throws IOException {
+        if (diary == null)
+            diary = diarize();
+        return diary;
+    }
+
+    /**
+     * @return the JavaVirtualMachine implementation for the recording
+     * @throws IOException if the recording can't be read
+     */
+    public JavaVirtualMachine getJavaVirtualMachine() throws IOException {
+        if (jvm == null) {
+            diary();
+            jvm = new UnifiedJavaVirtualMachine();
+            jvm.accepts(this);
+        }
+        return jvm;
+    }
+
+    /**
+     * Stream the events of the recording, in the order they are stored. The stream must be closed.
+     */
+    @Override
+    public Stream<RecordedEvent> stream() throws IOException {
+        Reader reader = new Reader(new RecordingFile(path));
+        return StreamSupport.stream(reader, false).onClose(reader::close);
+    }
+
+    /**
+     * A recording has no end of data value; the parser is told of the end of the recording by
+     * {@link com.microsoft.gctoolkit.message.RecordedEventParser#endOfData()} instead.
+     * @return null
+     */
+    @Override
+    public RecordedEvent endOfData() {
+        return null;
+    }
+
+    private Diary diarize() throws IOException {
+        String youngCollector = null;
+        String oldCollector = null;
+        String collection = null;
+        Instant jvmStartTime = null;
+        Instant firstEvent = null;
+        Instant firstCollection = null;
+        try (RecordingFile recording = new RecordingFile(path)) {
+            while (recording.hasMoreEvents() && (jvmStartTime == null || firstCollection == null || youngCollector == null)) {
+                RecordedEvent event = recording.readEvent();
+                if (firstEvent == null)
+                    firstEvent = event.getStartTime();
+                switch (event.getEventType().getName()) {
+                    case "jdk.JVMInformation":
+                        if (jvmStartTime == null)
+                            jvmStartTime = event.getInstant("jvmStartTime");
+                        break;
+                    case "jdk.GCConfiguration":
+                        if (youngCollector == null) {
+                            youngCollector = event.getString("youngCollector");
+                            oldCollector = event.getString("oldCollector");
+                        }
+                        break;
+                    case "jdk.GarbageCollection":
+                        if (firstCollection == null) {
+                            firstCollection = event.getStartTime();
+                            collection = event.getString("name");
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        Diary diary = new Diary();
+        diary.setTrue(SupportedFlags.UNIFIED_LOGGING, SupportedFlags.GC_CAUSE, SupportedFlags.APPLICATION_STOPPED_TIME);
+        if (youngCollector != null) {
+            collector(diary, youngCollector);
+            collector(diary, oldCollector);
+        } else if (collection != null) {
+            collector(diary, collection);
+        } else {
+            LOGGER.log(Level.WARNING, path + " holds neither jdk.GCConfiguration nor jdk.GarbageCollection events");
+        }
+        // the flags of the collectors that were not found; a flag that is already set keeps its value
+        diary.setFalse(SupportedFlags.APPLICATION_CONCURRENT_TIME, SupportedFlags.DEFNEW, SupportedFlags.PARNEW,
+                SupportedFlags.CMS, SupportedFlags.ICMS, SupportedFlags.PARALLELGC, SupportedFlags.PARALLELOLDGC,
+                SupportedFlags.SERIAL, SupportedFlags.G1GC, SupportedFlags.ZGC, SupportedFlags.GENERATIONAL_ZGC,
+                SupportedFlags.SHENANDOAH);
+
+        Instant first = (firstCollection != null) ? firstCollection : firstEvent;
+        if (first != null) {
+            double uptime = (jvmStartTime == null) ? 0.0d : Duration.between(jvmStartTime, first).toNanos() / 1_000_000_000.0d;
+            diary.setTimeOfFirstEvent(new DateTimeStamp(ZonedDateTime.ofInstant(first, ZoneOffset.UTC), Math.max(0.0d, uptime)));
+        } else {
+            diary.setTimeOfFirstEvent(new DateTimeStamp(0.0d));
+        }
+        return diary;
+    }
+
+    /**
+     * Set the flag for a collector as named in {@code jdk.GCConfiguration} and {@code jdk.GarbageCollection}.
+     */
+    private void collector(Diary diary, String name) {
+        if (name == null)
+            return;
+        switch (name) {
+            case "G1New":
+            case "G1Old":
+            case "G1Full":
+                diary.setTrue(SupportedFlags.G1GC);
+                break;
+            case "DefNew":
+                diary.setTrue(SupportedFlags.DEFNEW);
+                break;
+            case "ParNew":
+                diary.setTrue(SupportedFlags.PARNEW);
+                break;
+            case "ConcurrentMarkSweep":
+                diary.setTrue(SupportedFlags.CMS);
+                break;
+            case "ParallelScavenge":
+                diary.setTrue(SupportedFlags.PARALLELGC);
+                break;
+            case "ParallelOld":
+            case "PSMarkSweep":
+                diary.setTrue(SupportedFlags.PARALLELOLDGC);
+                break;
+            case "SerialOld":
+                if (!diary.isG1GC())
+                    diary.setTrue(SupportedFlags.SERIAL);
+                break;
+            case "Z":
+                diary.setTrue(SupportedFlags.ZGC);
+                break;
+            case "ZMinor":
+            case "ZMajor":
+                diary.setTrue(SupportedFlags.ZGC, SupportedFlags.GENERATIONAL_ZGC);
+                break;
+            case "Shenandoah":
+                diary.setTrue(SupportedFlags.SHENANDOAH);
+                break;
+            default:
+                LOGGER.log(Level.WARNING, "Unknown collector " + name + " in " + path);
+                break;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    private class Reader extends Spliterators.AbstractSpliterator<RecordedEvent> implements AutoCloseable {
+
+        private final RecordingFile recording;
+
+        Reader(RecordingFile recording) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.recording = recording;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RecordedEvent> action) {
+            try {
+                if (!recording.hasMoreEvents())
+                    return false;
+                action.accept(recording.readEvent());
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                recording.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Unable to close " + path, e);
+            }
+        }
+    }
+}
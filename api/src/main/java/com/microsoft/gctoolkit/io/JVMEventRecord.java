@@ -0,0 +1,33 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.ChannelName;
+
+/**
+ * A JVMEvent together with the channel it was published on, as kept in a {@link JVMEventStore}.
+ */
+public class JVMEventRecord {
+
+    private final ChannelName channel;
+    private final JVMEvent event;
+
+    public JVMEventRecord(ChannelName channel, JVMEvent event) {
+        this.channel = channel;
+        this.event = event;
+    }
+
+    public ChannelName getChannel() {
+        return channel;
+    }
+
+    public JVMEvent getEvent() {
+        return event;
+    }
+
+    @Override
+    public String toString() {
+        return channel + ": " + event;
+    }
+}
@@ -0,0 +1,272 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.PreUnifiedJavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.UnifiedJavaVirtualMachine;
+import com.microsoft.gctoolkit.message.ChannelName;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A file of JVMEvents that have already been parsed from a GC log, written by a {@link JVMEventStoreWriter}.
+ * Analysing an event file replays the events straight onto the JVMEventChannel, skipping the parsers, which
+ * is where nearly all the time goes when a log is analysed. Record an event file with
+ * {@link com.microsoft.gctoolkit.GCToolKit#recordEventsTo(Path)}, then pass a JVMEventStore to
+ * {@link com.microsoft.gctoolkit.GCToolKit#analyze(DataSource)} to run other aggregations over the same log.
+ * <p>
+ * The file starts with a magic number and a format version, followed by a deflated Java serialization stream
+ * holding the names of the channels, the event sources, the {@link Diary} of the log and then one record per
+ * event: the channel the event was published on and the event. Only classes of the event model, and the
+ * few JDK types they are made of, are accepted when reading.
+ * <p>
+ * The classes of the event model have fixed serial version UIDs. A change to the fields of any of them, or to
+ * the layout of the file, must come with a new {@link #FORMAT_VERSION}. A file written with another format
+ * version, or holding an event that no longer matches its class, is rejected with an IOException that names
+ * the format version; the log then has to be parsed again.
+ */
+public class JVMEventStore implements DataSource<JVMEventRecord> {
+
+    private static final Logger LOGGER = Logger.getLogger(JVMEventStore.class.getName());
+
+    static final byte[] MAGIC = {'G', 'C', 'T', 'K', 'E', 'V', 'T', 'S'};
+    // 2: serial version UIDs fixed, G1GCPauseEvent records whether it was published late
+    static final int FORMAT_VERSION = 2;
+    static final int END_OF_RECORDS = 0xFF;
+    static final int RESET_INTERVAL = 1024;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    // The event model, the Diary, and the JDK classes their fields hold. ConcurrentHashMap is written with
+    // its legacy segments and locks; ZonedDateTime is written through java.time.Ser.
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(String.join(";",
+            "maxdepth=16",
+            "com.microsoft.gctoolkit.event.**",
+            "com.microsoft.gctoolkit.jvm.Diary",
+            "com.microsoft.gctoolkit.parser.datatype.TripleState",
+            "com.microsoft.gctoolkit.time.DateTimeStamp",
+            "java.lang.Object",
+            "java.lang.String",
+            "java.lang.Enum",
+            "java.lang.Number",
+            "java.lang.Double",
+            "java.util.ArrayList",
+            "java.util.HashMap",
+            "java.util.LinkedHashMap",
+            "java.util.concurrent.ConcurrentHashMap",
+            "java.util.concurrent.ConcurrentHashMap$Segment",
+            "java.util.concurrent.locks.ReentrantLock",
+            "java.util.concurrent.locks.ReentrantLock$Sync",
+            "java.util.concurrent.locks.ReentrantLock$NonfairSync",
+            "java.util.concurrent.locks.AbstractQueuedSynchronizer",
+            "java.util.concurrent.locks.AbstractOwnableSynchronizer",
+            "java.time.Ser",
+            "java.time.ZonedDateTime",
+            "!*"));
+
+    /**
+     * The value used for the implementation of {@link #endOfData()}. It is never part of {@link #stream()}.
+     */
+    public static final JVMEventRecord END_OF_DATA_SENTINEL = new JVMEventRecord(null, null);
+
+    private final Path path;
+    private Header header;
+    private JavaVirtualMachine jvm;
+
+    public JVMEventStore(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public Diary diary() throws IOException {
+        return header().diary;
+    }
+
+    /**
+     * @return the sources of the events in this file
+     * @throws IOException if the file can't be read
+     */
+    public Set<EventSource> getEventSources() throws IOException {
+        return header().eventSources;
+    }
+
+    /**
+     * @return the JavaVirtualMachine implementation for the log the events were parsed from
+     * @throws IOException if the file can't be read
+     */
+    public JavaVirtualMachine getJavaVirtualMachine() throws IOException {
+        if (jvm == null) {
+            jvm = diary().isUnifiedLogging() ? new UnifiedJavaVirtualMachine() : new PreUnifiedJavaVirtualMachine();
+            jvm.accepts(this);
+        }
+        return jvm;
+    }
+
+    /**
+     * Stream the recorded events, in the order they were recorded. The stream must be closed.
+     * A file that ends early, for example because the recording analysis was killed, is streamed up to
+     * the last complete record.
+     */
+    @Override
+    public Stream<JVMEventRecord> stream() throws IOException {
+        Reader reader = new Reader(open());
+        try {
+            reader.readHeader();
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        return StreamSupport.stream(reader, false).onClose(reader::close);
+    }
+
+    @Override
+    public JVMEventRecord endOfData() {
+        return END_OF_DATA_SENTINEL;
+    }
+
+    private synchronized Header header() throws IOException {
+        if (header == null) {
+            try (Reader reader = new Reader(open())) {
+                header = reader.readHeader();
+            }
+        }
+        return header;
+    }
+
+    private ObjectInputStream open() throws IOException {
+        InputStream file = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        try {
+            DataInputStream in = new DataInputStream(file);
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(MAGIC, magic))
+                throw new IOException(path + " is not a JVMEvent file");
+            int version = in.readInt();
+            if (version != FORMAT_VERSION)
+                throw new IOException(path + " has format version " + version + ", this version of GCToolKit reads format version "
+                        + FORMAT_VERSION + ". Analyse the GC log again to record a new event file.");
+            ObjectInputStream objects = new ObjectInputStream(new BufferedInputStream(
+                    new InflaterInputStream(file, new Inflater(), BUFFER_SIZE), BUFFER_SIZE));
+            objects.setObjectInputFilter(FILTER);
+            return objects;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The file holds a class, or a version of a class, that this version of GCToolKit does not read.
+     */
+    private IOException incompatible(Exception cause) {
+        return new IOException(path + " was not written by this version of GCToolKit (format version " + FORMAT_VERSION
+                + "). Analyse the GC log again to record a new event file.", cause);
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    private static class Header {
+        private final ChannelName[] channels;
+        private final Set<EventSource> eventSources;
+        private final Diary diary;
+
+        private Header(ChannelName[] channels, Set<EventSource> eventSources, Diary diary) {
+            this.channels = channels;
+            this.eventSources = eventSources;
+            this.diary = diary;
+        }
+    }
+
+    private class Reader extends Spliterators.AbstractSpliterator<JVMEventRecord> implements AutoCloseable {
+
+        private final ObjectInputStream in;
+        private ChannelName[] channels;
+        private boolean done = false;
+
+        Reader(ObjectInputStream in) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.in = in;
+        }
+
+        Header readHeader() throws IOException {
+            try {
+                String[] channelNames = (String[]) in.readObject();
+                channels = new ChannelName[channelNames.length];
+                for (int i = 0; i < channelNames.length; i++)
+                    channels[i] = ChannelName.valueOf(channelNames[i]);
+                Set<EventSource> eventSources = EnumSet.noneOf(EventSource.class);
+                for (String eventSource : (String[]) in.readObject())
+                    eventSources.add(EventSource.valueOf(eventSource));
+                Diary diary = (Diary) in.readObject();
+                return new Header(channels, Collections.unmodifiableSet(eventSources), diary);
+            } catch (InvalidClassException | ClassNotFoundException | ClassCastException | IllegalArgumentException e) {
+                throw incompatible(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super JVMEventRecord> action) {
+            if (done)
+                return false;
+            try {
+                int channel = in.readUnsignedByte();
+                if (channel == END_OF_RECORDS) {
+                    done = true;
+                    return false;
+                }
+                action.accept(new JVMEventRecord(channels[channel], (JVMEvent) in.readObject()));
+                return true;
+            } catch (EOFException e) {
+                done = true;
+                LOGGER.log(Level.WARNING, path + " ends before its last record, it may be incomplete");
+                return false;
+            } catch (InvalidClassException | ClassNotFoundException | ClassCastException | ArrayIndexOutOfBoundsException e) {
+                throw new UncheckedIOException(incompatible(e));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Unable to close " + path, e);
+            }
+        }
+    }
+}
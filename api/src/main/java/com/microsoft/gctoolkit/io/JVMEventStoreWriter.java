@@ -0,0 +1,178 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.ChannelName;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Appends JVMEvents to a {@link JVMEventStore} file as they are published. Parsers publish from their own
+ * threads, so appending is synchronized; the events of any one channel are kept in the order they were published.
+ * <p>
+ * Each record is serialized into a buffer, and only reaches the file once the whole event has been written.
+ * An event that can't be serialized is skipped and counted, rather than failing the analysis that is being
+ * recorded, and leaves nothing in the file that would stop it being replayed. If the file itself can't be
+ * written, nothing more is appended and {@link #close()} reports the file as incomplete.
+ */
+public class JVMEventStoreWriter implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(JVMEventStoreWriter.class.getName());
+
+    private final Path path;
+    private final OutputStream file;
+    // The bytes of one record, until it has been serialized completely
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(JVMEventStore.BUFFER_SIZE);
+    private final ObjectOutputStream out;
+    private int recordsSinceReset = 0;
+    private long recordsWritten = 0L;
+    private long recordsSkipped = 0L;
+    private boolean closed = false;
+    private IOException failure = null;
+
+    /**
+     * Create, or replace, an event file.
+     * @param path the file to write to
+     * @param diary the diary of the log the events are parsed from
+     * @param eventSources the sources of the events that will be written
+     * @throws IOException if the file can't be created
+     */
+    public JVMEventStoreWriter(Path path, Diary diary, Set<EventSource> eventSources) throws IOException {
+        this.path = path;
+        OutputStream output = new BufferedOutputStream(Files.newOutputStream(path), JVMEventStore.BUFFER_SIZE);
+        try {
+            DataOutputStream header = new DataOutputStream(output);
+            header.write(JVMEventStore.MAGIC);
+            header.writeInt(JVMEventStore.FORMAT_VERSION);
+            header.flush();
+            this.file = new DeflaterOutputStream(output, new Deflater(Deflater.BEST_SPEED), JVMEventStore.BUFFER_SIZE);
+            out = new ObjectOutputStream(record);
+            out.writeObject(Arrays.stream(ChannelName.values()).map(Enum::name).toArray(String[]::new));
+            out.writeObject(eventSources.stream().map(Enum::name).toArray(String[]::new));
+            out.writeObject(diary);
+            commit();
+        } catch (IOException | RuntimeException e) {
+            output.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Append an event.
+     * @param channel the channel the event was published on
+     * @param event the event
+     */
+    public synchronized void append(ChannelName channel, JVMEvent event) {
+        if (closed) {
+            LOGGER.log(Level.FINE, () -> "Event published after " + path + " was closed: " + event);
+            return;
+        }
+        if (failure != null) {
+            recordsSkipped++;
+            return;
+        }
+        try {
+            out.writeByte(channel.ordinal());
+            out.writeObject(event);
+        } catch (IOException e) {
+            recordsSkipped++;
+            LOGGER.log(Level.WARNING, "Unable to write " + event.getClass().getSimpleName() + " to " + path, e);
+            discard();
+            return;
+        }
+        try {
+            // Drop the back references to what has been written so far, keeping memory use flat
+            if (++recordsSinceReset == JVMEventStore.RESET_INTERVAL) {
+                out.reset();
+                recordsSinceReset = 0;
+            }
+            commit();
+            recordsWritten++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Copy the record that has just been serialized to the file.
+     */
+    private void commit() throws IOException {
+        out.flush();
+        record.writeTo(file);
+        record.reset();
+    }
+
+    /**
+     * Drop what was serialized of a record that could not be written. The stream remembers the objects that
+     * it wrote, and the reader would not have seen them, so the stream is reset before anything else is written.
+     */
+    private void discard() {
+        try {
+            out.flush();
+            record.reset();
+            out.reset();
+            recordsSinceReset = 0;
+            commit();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        failure = e;
+        LOGGER.log(Level.WARNING, "Unable to write to " + path + ", no more events will be recorded", e);
+    }
+
+    /**
+     * @return the number of events written
+     */
+    public synchronized long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    /**
+     * @return the number of events that could not be written
+     */
+    public synchronized long getRecordsSkipped() {
+        return recordsSkipped;
+    }
+
+    /**
+     * End the file. A file that could not be written is closed without its end of records marker, so that it
+     * is read as a file that ended early.
+     * @throws IOException if the file could not be written, or can't be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (failure == null) {
+                out.writeByte(JVMEventStore.END_OF_RECORDS);
+                commit();
+            }
+        } finally {
+            file.close();
+        }
+        if (failure != null)
+            throw new IOException(path + " is incomplete, events after the first " + recordsWritten + " were not recorded", failure);
+    }
+}
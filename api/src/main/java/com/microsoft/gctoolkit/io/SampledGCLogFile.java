@@ -0,0 +1,431 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.jvm.Diary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A randomly chosen part of a single, uncompressed GC log, for a quick approximate analysis of a log that is
+ * too large to read in full. The log is divided into blocks of equal size, the last of them taking what is left
+ * over, and the first, the last and a random sample of the others are read. Each block read is resynchronized to whole GC cycles: its lines are
+ * passed on from the first cycle that starts in the block up to the first cycle that starts after it, so the
+ * parsers see complete cycles, and the same cycle is never read twice.
+ * <p>
+ * The diary is taken from the whole log, and the analysis uses the same parsers and Aggregations as any
+ * other. What was read, and the means of scaling the results of the Aggregations up to the whole log, are
+ * given by {@link #getSampling()}, and by {@link com.microsoft.gctoolkit.jvm.JavaVirtualMachine#getSampling()}.
+ * <p>
+ * The blocks are chosen from the seed, so an analysis with the same seed reads the same blocks.
+ */
+public class SampledGCLogFile extends GCLogFile {
+
+    private static final Logger LOGGER = Logger.getLogger(SampledGCLogFile.class.getName());
+
+    /**
+     * The size of a block, unless given.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    /**
+     * The seed the blocks are chosen from, unless given.
+     */
+    public static final long DEFAULT_SEED = 0L;
+
+    // how far before a block the GC ids are looked for, to know which cycle is the first to start in the block
+    private static final int LOOKBACK = 1 << 14;
+
+    private final SingleGCLogFile log;
+    private final double fraction;
+    private final int blockSize;
+    private final long seed;
+    private volatile Sampling sampling;
+
+    /**
+     * @param path the path to an uncompressed GC log
+     * @param fraction the part of the log to read, greater than 0 and at most 1
+     */
+    public SampledGCLogFile(Path path, double fraction) {
+        this(path, fraction, DEFAULT_BLOCK_SIZE, DEFAULT_SEED);
+    }
+
+    /**
+     * @param path the path to an uncompressed GC log
+     * @param fraction the part of the log to read, greater than 0 and at most 1
+     * @param blockSize the size of a block in bytes. A block should hold a good number of GC cycles.
+     * @param seed the seed the blocks are chosen from
+     */
+    public SampledGCLogFile(Path path, double fraction, int blockSize, long seed) {
+        super(path);
+        if (!(fraction > 0.0d && fraction <= 1.0d))
+            throw new IllegalArgumentException("The fraction of the log to read must be greater than 0 and at most 1: " + fraction);
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("The block size must be positive: " + blockSize);
+        this.log = new SingleGCLogFile(path);
+        this.fraction = fraction;
+        this.blockSize = blockSize;
+        this.seed = seed;
+    }
+
+    public double getFraction() {
+        return fraction;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * What was read the last time the log was streamed to the end.
+     * @return the sampling, or {@code null} if the log has not been read
+     */
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    @Override
+    public LogFileMetadata getMetaData() throws IOException {
+        return log.getMetaData();
+    }
+
+    /**
+     * The diary is that of the whole log, as the lines that set it up are at the start of the log.
+     */
+    @Override
+    public Diary diary() throws IOException {
+        return log.diary();
+    }
+
+    @Override
+    public boolean isUnified() {
+        return log.isUnified();
+    }
+
+    /**
+     * @return the number of bytes in the blocks that are to be read
+     */
+    @Override
+    public long estimateTotalBytes() {
+        try {
+            long size = Files.size(path);
+            long blocks = blocks(size);
+            return chooseBlocks(size).stream()
+                    .mapToLong(block -> ((block == blocks - 1) ? size : (block + 1) * blockSize) - block * blockSize)
+                    .sum();
+        } catch (IOException ioe) {
+            LOGGER.log(Level.FINE, () -> "Unable to estimate total bytes for " + path + ": " + ioe.getMessage());
+        }
+        return 0L;
+    }
+
+    @Override
+    public Stream<String> stream() throws IOException {
+        if (!getMetaData().isPlainText())
+            throw new IOException("Only an uncompressed log can be sampled: " + path);
+        Reader reader = new Reader(FileChannel.open(path, StandardOpenOption.READ), isUnified() ? new UnifiedCycles() : new PreUnifiedCycles());
+        return Stream.concat(StreamSupport.stream(reader, false)
+                        .map(String::trim)
+                        .filter(s -> s.length() > 0),
+                Stream.of(endOfData()))
+                .onClose(reader::close);
+    }
+
+    private long blocks(long size) {
+        return Math.max(1L, size / blockSize);
+    }
+
+    /**
+     * The first block, the last block, and a simple random sample of the others, at least two of them if
+     * there are that many.
+     * @return the index of each block to read, in ascending order
+     */
+    private TreeSet<Long> chooseBlocks(long size) {
+        long blocks = blocks(size);
+        TreeSet<Long> chosen = new TreeSet<>();
+        chosen.add(0L);
+        chosen.add(blocks - 1);
+        long population = blocks - chosen.size();
+        long sample = Math.min(population, Math.max(Math.min(2L, population), Math.round(fraction * blocks) - chosen.size()));
+        // Floyd's algorithm, over the blocks between the first and the last
+        Random random = new Random(seed);
+        TreeSet<Long> sampled = new TreeSet<>();
+        for (long j = population - sample; j < population; j++) {
+            long block = 1L + (long) (random.nextDouble() * (j + 1));
+            sampled.add(sampled.contains(block) ? j + 1 : block);
+        }
+        chosen.addAll(sampled);
+        return chosen;
+    }
+
+    /**
+     * Consecutive blocks to be read as one.
+     */
+    private static final class Run {
+        private final long firstBlock;
+        private final long lastBlock;
+        private final int firstIndex;
+
+        private Run(long firstBlock, long lastBlock, int firstIndex) {
+            this.firstBlock = firstBlock;
+            this.lastBlock = lastBlock;
+            this.firstIndex = firstIndex;
+        }
+    }
+
+    /**
+     * Tells where the GC cycles of a log start.
+     */
+    private interface Cycles {
+
+        /**
+         * @return true if reading may start, or end, at this line
+         */
+        boolean isBoundary(String line);
+
+        /**
+         * @return true if this line starts a GC cycle
+         */
+        boolean startsCycle(String line);
+
+        /**
+         * Take note of a line that has been read.
+         */
+        void read(String line);
+
+        /**
+         * Forget the lines read so far.
+         */
+        void reset();
+    }
+
+    /**
+     * The lines of a unified log carry the id of their cycle, as {@code GC(42)}, and the lines of concurrent
+     * cycles interleave with those of the pauses. A cycle starts at the first line with an id greater than
+     * any before it.
+     */
+    private static final class UnifiedCycles implements Cycles {
+        private long maxId = -1L;
+
+        private static long gcId(String line) {
+            int start = line.indexOf("GC(");
+            if (start < 0)
+                return -1L;
+            long id = 0L;
+            int i = start + 3;
+            for (; i < line.length() && Character.isDigit(line.charAt(i)); i++)
+                id = id * 10 + (line.charAt(i) - '0');
+            return (i > start + 3 && i < line.length() && line.charAt(i) == ')') ? id : -1L;
+        }
+
+        @Override
+        public boolean isBoundary(String line) {
+            return gcId(line) > maxId;
+        }
+
+        @Override
+        public boolean startsCycle(String line) {
+            return isBoundary(line);
+        }
+
+        @Override
+        public void read(String line) {
+            maxId = Math.max(maxId, gcId(line));
+        }
+
+        @Override
+        public void reset() {
+            maxId = -1L;
+        }
+    }
+
+    /**
+     * Each record of a pre-unified log starts with a date stamp or an uptime, and a record of a collection
+     * names it, as in {@code 3.039: [GC (Allocation Failure) ...} or {@code [Full GC ...}.
+     */
+    private static final class PreUnifiedCycles implements Cycles {
+        private static final Pattern RECORD = Pattern.compile("^(?:\\d{4}-\\d\\d-\\d\\dT\\S+?: |\\d+[.,]\\d+: )");
+
+        @Override
+        public boolean isBoundary(String line) {
+            return RECORD.matcher(line).lookingAt();
+        }
+
+        @Override
+        public boolean startsCycle(String line) {
+            return isBoundary(line) && line.contains("GC");
+        }
+
+        @Override
+        public void read(String line) {
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+    /**
+     * Reads the chosen blocks, and counts the cycles that start in each.
+     */
+    private class Reader extends Spliterators.AbstractSpliterator<String> implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final Cycles cycles;
+        private final long size;
+        private final long blocks;
+        private final long[] blocksRead;
+        private final long[] cyclesRead;
+        private final List<Run> runs = new ArrayList<>();
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        private long loaded;
+        private long bytesRead;
+        private int nextRun;
+        private Run run;
+        private boolean passing;
+
+        Reader(FileChannel channel, Cycles cycles) throws IOException {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.channel = channel;
+            this.cycles = cycles;
+            this.size = channel.size();
+            this.blocks = blocks(size);
+            this.blocksRead = chooseBlocks(size).stream().mapToLong(Long::longValue).toArray();
+            this.cyclesRead = new long[blocksRead.length];
+            for (int i = 0; i < blocksRead.length; i++) {
+                int first = i;
+                while (i + 1 < blocksRead.length && blocksRead[i + 1] == blocksRead[i] + 1)
+                    i++;
+                runs.add(new Run(blocksRead[first], blocksRead[i], first));
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            try {
+                while (true) {
+                    if (run == null && !startNextRun()) {
+                        sampling = new Sampling(path.toString(), size, blockSize, blocks, blocksRead, cyclesRead, bytesRead);
+                        LOGGER.log(Level.FINE, sampling::toString);
+                        return false;
+                    }
+                    long at = position();
+                    String next = readLine();
+                    if (next == null) {
+                        run = null;
+                        continue;
+                    }
+                    long start = run.firstBlock * blockSize;
+                    long end = (run.lastBlock == blocks - 1) ? size : (run.lastBlock + 1) * blockSize;
+                    if (!passing) {
+                        // the lines before the first cycle to start in the run belong to the blocks before it
+                        if (at >= end) {
+                            run = null;
+                            continue;
+                        }
+                        if (at < start || !cycles.isBoundary(next)) {
+                            cycles.read(next);
+                            continue;
+                        }
+                        passing = true;
+                    } else if (at >= end && (cycles.isBoundary(next) || at >= end + blockSize)) {
+                        // the cycle in progress at the end of the run is read to its end, within reason
+                        run = null;
+                        continue;
+                    }
+                    if (cycles.startsCycle(next))
+                        cyclesRead[run.firstIndex + (int) (Math.min(at / blockSize, run.lastBlock) - run.firstBlock)]++;
+                    cycles.read(next);
+                    bytesRead += position() - at;
+                    action.accept(next);
+                    return true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean startNextRun() throws IOException {
+            if (nextRun == runs.size())
+                return false;
+            run = runs.get(nextRun++);
+            cycles.reset();
+            long start = run.firstBlock * blockSize;
+            passing = start == 0L;
+            long lookback = start - LOOKBACK;
+            if (lookback > 0L) {
+                // read on from the first line that starts in the look back
+                seek(lookback - 1);
+                readLine();
+            } else {
+                seek(0L);
+            }
+            return true;
+        }
+
+        private void seek(long position) {
+            loaded = position;
+            buffer.clear().flip();
+        }
+
+        private long position() {
+            return loaded - buffer.remaining();
+        }
+
+        /**
+         * @return the next line, without its line terminator, or null at the end of the log
+         */
+        private String readLine() throws IOException {
+            line.reset();
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer, loaded);
+                    buffer.flip();
+                    if (read <= 0)
+                        return (line.size() == 0) ? null : decode();
+                    loaded += read;
+                }
+                byte b = buffer.get();
+                if (b == '\n')
+                    return decode();
+                line.write(b);
+            }
+        }
+
+        private String decode() {
+            String decoded = line.toString(Charset.defaultCharset());
+            return decoded.endsWith("\r") ? decoded.substring(0, decoded.length() - 1) : decoded;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Unable to close " + path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * What was read of a {@link SampledGCLogFile}, and the means of scaling what was found in it up to the whole log.
+ * <p>
+ * The log is divided into blocks of equal size, the last of them taking what is left over. The first and the
+ * last block are always read, so that the start and the end of the log, and so the runtime, are known
+ * exactly; the others are a simple random sample. The number of GC cycles that start in each block read is
+ * counted, and the number in the whole log is estimated from them, with a confidence interval from how much
+ * the counts vary from block to block. The interval is a t interval, as there are often only a few blocks.
+ * <p>
+ * The Aggregations of an approximate analysis only see the blocks that were read. Distributions, such as
+ * the percentiles of the pause times or the mix of GC causes, need no scaling, though they are only as
+ * good as the number of cycles read. Counts and totals do, by {@link #scale(double)}.
+ *
+ * @see com.microsoft.gctoolkit.jvm.JavaVirtualMachine#getSampling()
+ */
+public class Sampling {
+
+    /**
+     * The confidence level of the intervals.
+     */
+    public static final double CONFIDENCE = 0.95d;
+
+    // the quantile of the standard normal distribution for a two-sided 95% interval
+    private static final double Z = 1.959964d;
+
+    /**
+     * A value estimated from the blocks that were read, and the interval the true value is expected to
+     * lie in with a confidence of {@link #CONFIDENCE}.
+     */
+    public static class Estimate {
+        private final double value;
+        private final double lower;
+        private final double upper;
+
+        Estimate(double value, double lower, double upper) {
+            this.value = value;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        /**
+         * @return the estimate
+         */
+        public double getValue() {
+            return value;
+        }
+
+        /**
+         * @return the lower bound of the confidence interval, or {@code NaN} if nothing was read to base it on
+         */
+        public double getLower() {
+            return lower;
+        }
+
+        /**
+         * @return the upper bound of the confidence interval, or {@code NaN} if nothing was read to base it on
+         */
+        public double getUpper() {
+            return upper;
+        }
+
+        /**
+         * @param value a value to check
+         * @return true if the value lies within the confidence interval
+         */
+        public boolean contains(double value) {
+            return lower <= value && value <= upper;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.4g [%.4g, %.4g]", value, lower, upper);
+        }
+    }
+
+    private final String source;
+    private final long size;
+    private final int blockSize;
+    private final long blocks;
+    private final long[] blocksRead;
+    private final long[] cycles;
+    private final long bytesRead;
+
+    /**
+     * @param source the log that was sampled
+     * @param size the size of the log in bytes
+     * @param blockSize the size of a block in bytes
+     * @param blocks the number of blocks in the log
+     * @param blocksRead the index of each block read, in ascending order
+     * @param cycles the number of GC cycles that start in each block read
+     * @param bytesRead the number of bytes that were passed on to the parsers
+     */
+    Sampling(String source, long size, int blockSize, long blocks, long[] blocksRead, long[] cycles, long bytesRead) {
+        this.source = source;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.blocks = blocks;
+        this.blocksRead = blocksRead.clone();
+        this.cycles = cycles.clone();
+        this.bytesRead = bytesRead;
+    }
+
+    /**
+     * @return the size of the log in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the size of a block in bytes
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * @return the number of blocks the log is divided into
+     */
+    public long getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @return the number of blocks that were read
+     */
+    public int getBlocksRead() {
+        return blocksRead.length;
+    }
+
+    /**
+     * @return the number of bytes that were passed on to the parsers
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return the part of the log that was passed on to the parsers, between 0 and 1
+     */
+    public double getFraction() {
+        return (size == 0L) ? 1.0d : Math.min(1.0d, (double) bytesRead / size);
+    }
+
+    /**
+     * @return the number of GC cycles that start in the blocks that were read
+     */
+    public long getCyclesRead() {
+        return Arrays.stream(cycles).sum();
+    }
+
+    /**
+     * @return true if every block was read, in which case nothing is estimated
+     */
+    public boolean isComplete() {
+        return blocksRead.length == blocks;
+    }
+
+    /**
+     * Estimate the number of GC cycles in the whole log. The GC frequency is this over the
+     * {@link com.microsoft.gctoolkit.jvm.JavaVirtualMachine#getRuntimeDuration() runtime}, which is exact.
+     * @return the estimated number of GC cycles
+     */
+    public Estimate estimateCycles() {
+        long certain = 0L;
+        long sampled = 0L;
+        int n = 0;
+        for (int i = 0; i < blocksRead.length; i++) {
+            if (isCertain(blocksRead[i])) {
+                certain += cycles[i];
+            } else {
+                sampled += cycles[i];
+                n++;
+            }
+        }
+        long population = blocks - Math.min(blocks, 2L);
+        if (n == population)
+            return new Estimate(certain + sampled, certain + sampled, certain + sampled);
+
+        double mean = (double) sampled / n;
+        double sumOfSquares = 0.0d;
+        for (int i = 0; i < blocksRead.length; i++) {
+            if (!isCertain(blocksRead[i]))
+                sumOfSquares += (cycles[i] - mean) * (cycles[i] - mean);
+        }
+        double total = certain + population * mean;
+        // the variance of the total of a simple random sample without replacement, with the finite population correction
+        double variance = (n < 2) ? 0.0d : population * (double) population * (1.0d - (double) n / population) * (sumOfSquares / (n - 1)) / n;
+        double margin = (n < 2) ? 0.0d : t(n - 1) * Math.sqrt(variance);
+        return new Estimate(total, Math.max(certain + sampled, total - margin), total + margin);
+    }
+
+    /**
+     * Scale a count or a total found by an Aggregation up to the whole log, such as the number of pauses or the
+     * total pause time. The value is taken to grow with the number of GC cycles, and is scaled by the estimated
+     * number of cycles in the log over the number read, with the interval of that estimate. A log in which no
+     * cycle was read is scaled by its size instead, with no interval.
+     * @param sampledValue the value found in the blocks that were read
+     * @return the estimate of the value for the whole log
+     */
+    public Estimate scale(double sampledValue) {
+        long cyclesRead = getCyclesRead();
+        if (cyclesRead == 0L) {
+            double value = (bytesRead == 0L) ? Double.NaN : sampledValue * size / bytesRead;
+            return new Estimate(value, Double.NaN, Double.NaN);
+        }
+        Estimate estimatedCycles = estimateCycles();
+        double ratio = sampledValue / cyclesRead;
+        return new Estimate(ratio * estimatedCycles.getValue(), ratio * estimatedCycles.getLower(), ratio * estimatedCycles.getUpper());
+    }
+
+    /**
+     * The proportion of the events read that have some property, such as a GC cause, with its Wilson score
+     * interval. The events are taken to be independent, which understates the interval where the property
+     * comes and goes in bursts.
+     * @param count the number of events with the property
+     * @param total the number of events
+     * @return the estimated proportion, between 0 and 1
+     */
+    public Estimate proportion(long count, long total) {
+        if (total <= 0L)
+            return new Estimate(Double.NaN, Double.NaN, Double.NaN);
+        double p = (double) count / total;
+        double z2 = Z * Z;
+        double denominator = 1.0d + z2 / total;
+        double centre = (p + z2 / (2.0d * total)) / denominator;
+        double margin = Z * Math.sqrt(p * (1.0d - p) / total + z2 / (4.0d * total * total)) / denominator;
+        return new Estimate(p, Math.max(0.0d, centre - margin), Math.min(1.0d, centre + margin));
+    }
+
+    /**
+     * The quantile of Student's t distribution for a two-sided 95% interval, by its Cornish-Fisher expansion
+     * about the normal, which is close enough from three degrees of freedom on.
+     */
+    static double t(int degreesOfFreedom) {
+        if (degreesOfFreedom == 1)
+            return 12.7062d;
+        if (degreesOfFreedom == 2)
+            return 4.3027d;
+        double df = degreesOfFreedom;
+        double z3 = Z * Z * Z;
+        double z5 = z3 * Z * Z;
+        double z7 = z5 * Z * Z;
+        return Z + (z3 + Z) / (4.0d * df)
+                + (5.0d * z5 + 16.0d * z3 + 3.0d * Z) / (96.0d * df * df)
+                + (3.0d * z7 + 19.0d * z5 + 17.0d * z3 - 15.0d * Z) / (384.0d * df * df * df);
+    }
+
+    private boolean isCertain(long block) {
+        return block == 0L || block == blocks - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %d of %d blocks of %d bytes read (%.1f%%), %d GC cycles read, %s estimated",
+                source, blocksRead.length, blocks, blockSize, 100.0d * getFraction(), getCyclesRead(), estimateCycles());
+    }
+}
@@ -0,0 +1,30 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * An Aggregator receiving the last event of one of its channels.
+ */
+@Name("com.microsoft.gctoolkit.AggregatorCompleted")
+@Label("GCToolKit Aggregator Completed")
+@Description("An Aggregator received the end of one of the event streams it aggregates")
+@Category({"GCToolKit", "Aggregator"})
+@StackTrace(false)
+public class AggregatorCompletedEvent extends Event {
+
+    @Label("Aggregator")
+    public String aggregator;
+
+    @Label("Elapsed")
+    @Description("The time from the start of the analysis")
+    @Timespan(Timespan.NANOSECONDS)
+    public long elapsed;
+}
@@ -0,0 +1,34 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An analysis of a GC log, or of a recording of its events, from start to end.
+ */
+@Name("com.microsoft.gctoolkit.Analysis")
+@Label("GCToolKit Analysis")
+@Description("An analysis of a GC log or of an event recording")
+@Category("GCToolKit")
+@StackTrace(false)
+public class AnalysisEvent extends Event {
+
+    @Label("Data Source")
+    public String dataSource;
+
+    @Label("Size")
+    @Description("The size of the data source, estimated for compressed logs")
+    @DataAmount
+    public long size;
+
+    @Label("Aggregators")
+    @Description("The number of Aggregators the events were delivered to")
+    public int aggregators;
+}
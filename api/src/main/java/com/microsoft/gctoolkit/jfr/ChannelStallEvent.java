@@ -0,0 +1,32 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A publisher waiting for room in the full queue of a listener, which is the back pressure of a slow
+ * listener reaching the parsers. Only waits longer than the threshold, 1 ms unless changed in the recording
+ * settings, are recorded.
+ */
+@Name("com.microsoft.gctoolkit.ChannelStall")
+@Label("GCToolKit Channel Stall")
+@Description("A publisher waiting on the full queue of a listener")
+@Category({"GCToolKit", "Channel"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class ChannelStallEvent extends Event {
+
+    @Label("Listener")
+    @Description("The thread of the listener whose queue was full")
+    public String listener;
+
+    @Label("Queue Capacity")
+    public int queueCapacity;
+}
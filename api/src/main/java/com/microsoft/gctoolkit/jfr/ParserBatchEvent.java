@@ -0,0 +1,37 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A run of consecutive lines through one parser. Comparing the duration of batches shows how the throughput
+ * of a parser changes as the analysis goes on.
+ */
+@Name("com.microsoft.gctoolkit.ParserBatch")
+@Label("GCToolKit Parser Batch")
+@Description("Consecutive lines of a GC log received by one parser")
+@Category({"GCToolKit", "Parser"})
+@StackTrace(false)
+public class ParserBatchEvent extends Event {
+
+    /**
+     * The number of lines in a batch, except the last one of an analysis.
+     */
+    public static final int LINES = 10_000;
+
+    @Label("Parser")
+    public String parser;
+
+    @Label("Lines")
+    public long lines;
+
+    @Label("Events")
+    @Description("The events the parser published while it received the lines")
+    public long events;
+}
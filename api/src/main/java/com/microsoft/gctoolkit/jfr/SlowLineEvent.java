@@ -0,0 +1,43 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A line that a parser took longer than the threshold to parse. The threshold is 1 ms unless changed in the
+ * recording settings.
+ */
+@Name("com.microsoft.gctoolkit.SlowLine")
+@Label("GCToolKit Slow Line")
+@Description("A line of a GC log that took longer than the threshold to parse")
+@Category({"GCToolKit", "Parser"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class SlowLineEvent extends Event {
+
+    private static final SlowLineEvent PROBE = new SlowLineEvent();
+
+    @Label("Parser")
+    public String parser;
+
+    @Label("Rule")
+    @Description("The name of the parse rule that matched the line, or null if none did")
+    public String rule;
+
+    @Label("Line")
+    public String line;
+
+    /**
+     * @return true if the event is enabled in a recording, so that it is worth timing each line
+     */
+    public static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
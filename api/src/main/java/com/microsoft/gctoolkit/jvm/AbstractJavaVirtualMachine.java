@@ -5,18 +5,33 @@ package com.microsoft.gctoolkit.jvm;
 import com.microsoft.gctoolkit.GCToolKit;
 import com.microsoft.gctoolkit.aggregator.Aggregation;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.AggregatorExecutor;
+import com.microsoft.gctoolkit.aggregator.AggregatorStatistics;
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.JFRRecordingFile;
+import com.microsoft.gctoolkit.io.JVMEventRecord;
+import com.microsoft.gctoolkit.io.JVMEventStore;
 import com.microsoft.gctoolkit.io.ProgressListener;
 import com.microsoft.gctoolkit.io.ProgressUpdate;
+import com.microsoft.gctoolkit.io.Sampling;
+import com.microsoft.gctoolkit.jfr.AggregatorCompletedEvent;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannelAggregator;
+import com.microsoft.gctoolkit.message.RecordedEventParser;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
+import jdk.jfr.consumer.RecordedEvent;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -37,12 +52,26 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
     private static final Logger LOGGER = Logger.getLogger(AbstractJavaVirtualMachine.class.getName());
     private static final double LOG_FRAGMENT_THRESHOLD_SECONDS = 60.0d; //todo: replace magic threshold with a heuristic
 
-    private GCLogFile dataSource;
+    /**
+     * When set to true, each Aggregator is run on a thread of its own with a bounded queue of events.
+     */
+    public static final String PARALLEL_AGGREGATION_PROPERTY = "com.microsoft.gctoolkit.aggregator.parallel";
+    /**
+     * The number of events that may be queued for each Aggregator when aggregators are run in parallel.
+     */
+    public static final String AGGREGATOR_QUEUE_CAPACITY_PROPERTY = "com.microsoft.gctoolkit.aggregator.queueCapacity";
+
+    private DataSource<?> dataSource;
     private Diary diary;
     private DateTimeStamp estimatedStartTime;
     private DateTimeStamp timeOfLastEvent;
     private double logDuration = -1.0d;
     private final Map<Class<? extends Aggregation>, Aggregation> aggregatedData = new ConcurrentHashMap<>();
+    private List<AggregatorStatistics> aggregatorStatistics = Collections.emptyList();
+    private List<UnmatchedLines> unmatchedLines = Collections.emptyList();
+    private Map<String, Long> unknownGCCauses = Collections.emptyMap();
+    private Sampling sampling;
+    private RecordedEventParser recordedEventParser;
 
     /**
      * Sets the data source
@@ -50,7 +79,7 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
      * @throws IOException if there is any issues reading from the data source.
      */
     public void setDataSource(DataSource logFile) throws IOException {
-        this.dataSource = (GCLogFile) logFile;
+        this.dataSource = logFile;
         this.diary = logFile.diary();
     }
 
@@ -152,6 +181,58 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
         return Optional.ofNullable((T) aggregatedData.get(aggregationClass));
     }
 
+    @Override
+    public List<AggregatorStatistics> getAggregatorStatistics() {
+        return aggregatorStatistics;
+    }
+
+    @Override
+    public List<UnmatchedLines> getUnmatchedLines() {
+        return unmatchedLines;
+    }
+
+    /**
+     * Record the lines of the GC log that the parsers did not recognize.
+     * @param unmatchedLines the unrecognized lines of each parser that missed any
+     */
+    public void setUnmatchedLines(List<UnmatchedLines> unmatchedLines) {
+        this.unmatchedLines = List.copyOf(unmatchedLines);
+    }
+
+    @Override
+    public Map<String, Long> getUnknownGCCauses() {
+        return unknownGCCauses;
+    }
+
+    /**
+     * Record the GC cause texts that the parsers could not resolve.
+     * @param unknownGCCauses the unknown cause texts with the number of times each was seen
+     */
+    public void setUnknownGCCauses(Map<String, Long> unknownGCCauses) {
+        this.unknownGCCauses = Collections.unmodifiableMap(new LinkedHashMap<>(unknownGCCauses));
+    }
+
+    @Override
+    public Optional<Sampling> getSampling() {
+        return Optional.ofNullable(sampling);
+    }
+
+    /**
+     * Record what was read of a sampled log.
+     * @param sampling what was read of the log
+     */
+    public void setSampling(Sampling sampling) {
+        this.sampling = sampling;
+    }
+
+    /**
+     * Sets the parser the events of a {@link JFRRecordingFile} data source are handed to.
+     * @param recordedEventParser translates the recorded events into JVMEvents
+     */
+    public void setRecordedEventParser(RecordedEventParser recordedEventParser) {
+        this.recordedEventParser = recordedEventParser;
+    }
+
     /**
      * Orchestrate the analysis of a GC log. Step wise
      * 1. find the aggregators that aggregate events generated by the gc log
@@ -167,52 +248,36 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
     @Override
     public void analyze(List<Aggregator<? extends Aggregation>> registeredAggregators, JVMEventChannel eventBus, DataSourceChannel dataSourceBus) {
         Phaser finishLine = new Phaser();
+        long analysisStart = System.nanoTime();
         Set<EventSource> generatedEvents = diary.generatesEvents();
+        AggregatorExecutor aggregatorExecutor = Boolean.getBoolean(PARALLEL_AGGREGATION_PROPERTY)
+                ? new AggregatorExecutor(Integer.getInteger(AGGREGATOR_QUEUE_CAPACITY_PROPERTY, AggregatorExecutor.DEFAULT_QUEUE_CAPACITY))
+                : null;
         for (Aggregator aggregator : registeredAggregators) {
             Aggregation aggregation = aggregator.aggregation();
             aggregatedData.put(aggregation.getClass(), aggregation);
             generatedEvents.stream().filter(aggregator::aggregates).forEach(eventSource -> {
                 GCToolKit.LOG_DEBUG_MESSAGE(() -> "Registering " + aggregator.getClass().getName() + " with " + eventSource.toChannel());
                 finishLine.register();
-                aggregator.onCompletion(finishLine::arriveAndDeregister);
-                JVMEventChannelAggregator eventChannelAggregator = new JVMEventChannelAggregator(eventSource.toChannel(), aggregator);
+                aggregator.onCompletion(() -> {
+                    completed(aggregator, analysisStart);
+                    finishLine.arriveAndDeregister();
+                });
+                JVMEventChannelAggregator eventChannelAggregator = (aggregatorExecutor == null)
+                        ? new JVMEventChannelAggregator(eventSource.toChannel(), aggregator)
+                        : new JVMEventChannelAggregator(eventSource.toChannel(), aggregator, aggregatorExecutor);
                 eventBus.registerListener(eventChannelAggregator);
             });
         }
 
         try {
             if (finishLine.getRegisteredParties() > 0) {
-                ProgressListener progressListener = dataSource.getProgressListener();
-                boolean progressEnabled = progressListener != ProgressListener.NO_OP;
-                long totalBytes = progressEnabled ? dataSource.estimateTotalBytes() : 0L;
-                LongAdder processedBytes = progressEnabled ? new LongAdder() : null;
-                long[] lastReportedBytes = progressEnabled ? new long[]{0L} : null;
-                long progressThreshold = progressEnabled && totalBytes > 0
-                        ? Math.max(1L, totalBytes / 200)
-                        : 1L << 20;
-                long startMillis = System.currentTimeMillis();
-                String endOfData = dataSource.endOfData();
-
-                if (progressEnabled) {
-                    progressListener.onProgress(new ProgressUpdate(0.0d, 0L, totalBytes, 0L, -1L));
-                }
-
-                try (Stream<String> stream = dataSource.stream()) {
-                    stream.forEach(message -> {
-                        dataSourceBus.publish(ChannelName.DATA_SOURCE, message);
-                        if (progressEnabled && !endOfData.equals(message)) {
-                            processedBytes.add(estimatedBytes(message));
-                            reportProgress(progressListener, processedBytes.sum(), totalBytes, startMillis, lastReportedBytes, progressThreshold);
-                        }
-                    });
-                }
-
-                if (progressEnabled) {
-                    long processed = processedBytes.sum();
-                    long elapsed = System.currentTimeMillis() - startMillis;
-                    progressListener.onProgress(new ProgressUpdate(1.0d, processed, totalBytes, elapsed, 0L));
-                }
-
+                if (dataSource instanceof JVMEventStore)
+                    replay((JVMEventStore) dataSource, eventBus);
+                else if (dataSource instanceof JFRRecordingFile)
+                    read((JFRRecordingFile) dataSource);
+                else
+                    publish((GCLogFile) dataSource, dataSourceBus);
                 finishLine.awaitAdvance(0);
             } else {
                 LOGGER.log(Level.INFO, "No Aggregations have been registered, DataSource will not be analysed.");
@@ -230,8 +295,98 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
         } catch (IOException ioe) {
             LOGGER.log(Level.SEVERE, ioe.getMessage(), ioe);
         } finally {
-            dataSourceBus.close();
+            if (dataSourceBus != null)
+                dataSourceBus.close();
             eventBus.close();
+            if (aggregatorExecutor != null) {
+                aggregatorExecutor.close();
+                aggregatorStatistics = aggregatorExecutor.statistics();
+                aggregatorStatistics.forEach(statistics -> LOGGER.log(Level.FINE, statistics::toString));
+            }
+        }
+    }
+
+    private static void completed(Aggregator<?> aggregator, long analysisStart) {
+        AggregatorCompletedEvent event = new AggregatorCompletedEvent();
+        if (event.shouldCommit()) {
+            event.aggregator = aggregator.getClass().getName();
+            event.elapsed = System.nanoTime() - analysisStart;
+            event.commit();
+        }
+    }
+
+    private void publish(GCLogFile logFile, DataSourceChannel dataSourceBus) throws IOException {
+        ProgressListener progressListener = logFile.getProgressListener();
+        boolean progressEnabled = progressListener != ProgressListener.NO_OP;
+        long totalBytes = progressEnabled ? logFile.estimateTotalBytes() : 0L;
+        LongAdder processedBytes = progressEnabled ? new LongAdder() : null;
+        long[] lastReportedBytes = progressEnabled ? new long[]{0L} : null;
+        long progressThreshold = progressEnabled && totalBytes > 0
+                ? Math.max(1L, totalBytes / 200)
+                : 1L << 20;
+        long startMillis = System.currentTimeMillis();
+        String endOfData = logFile.endOfData();
+
+        if (progressEnabled) {
+            progressListener.onProgress(new ProgressUpdate(0.0d, 0L, totalBytes, 0L, -1L));
+        }
+
+        try (Stream<String> stream = logFile.stream()) {
+            stream.forEach(message -> {
+                dataSourceBus.publish(ChannelName.DATA_SOURCE, message);
+                if (progressEnabled && !endOfData.equals(message)) {
+                    processedBytes.add(estimatedBytes(message));
+                    reportProgress(progressListener, processedBytes.sum(), totalBytes, startMillis, lastReportedBytes, progressThreshold);
+                }
+            });
+        }
+
+        if (progressEnabled) {
+            long processed = processedBytes.sum();
+            long elapsed = System.currentTimeMillis() - startMillis;
+            progressListener.onProgress(new ProgressUpdate(1.0d, processed, totalBytes, elapsed, 0L));
+        }
+    }
+
+    /**
+     * Publish recorded events straight onto the event channel; there is nothing to parse. A file that ends
+     * before its last record holds no JVMTermination, so one is published on each channel that did not
+     * replay one, as a parser would at the end of the log, and the Aggregators complete.
+     */
+    private void replay(JVMEventStore eventStore, JVMEventChannel eventBus) throws IOException {
+        Set<ChannelName> terminated = EnumSet.noneOf(ChannelName.class);
+        DateTimeStamp[] clock = { diary.getTimeOfFirstEvent() };
+        try (Stream<JVMEventRecord> records = eventStore.stream()) {
+            records.forEach(record -> {
+                JVMEvent event = record.getEvent();
+                if (event instanceof JVMTermination)
+                    terminated.add(record.getChannel());
+                else if (event.getDateTimeStamp() != null && (clock[0] == null || event.getDateTimeStamp().after(clock[0])))
+                    clock[0] = event.getDateTimeStamp();
+                eventBus.publish(record.getChannel(), event);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Set<ChannelName> channels = EnumSet.noneOf(ChannelName.class);
+            eventStore.getEventSources().forEach(eventSource -> channels.add(eventSource.toChannel()));
+            diary.generatesEvents().forEach(eventSource -> channels.add(eventSource.toChannel()));
+            channels.removeAll(terminated);
+            channels.forEach(channel -> eventBus.publish(channel, new JVMTermination(clock[0], diary.getTimeOfFirstEvent())));
+        }
+    }
+
+    /**
+     * Hand the events of a flight recording to the parser, which publishes the JVMEvents they translate to.
+     * The parser is told of the end of the recording even if reading it fails, so the Aggregators complete.
+     */
+    private void read(JFRRecordingFile recording) throws IOException {
+        try (Stream<RecordedEvent> events = recording.stream()) {
+            events.forEach(recordedEventParser::receive);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            recordedEventParser.endOfData();
         }
     }
 
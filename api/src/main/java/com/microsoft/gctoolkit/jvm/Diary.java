@@ -6,6 +6,7 @@ import com.microsoft.gctoolkit.aggregator.EventSource;
 import com.microsoft.gctoolkit.parser.datatype.TripleState;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Set;
 import java.util.TreeSet;
@@ -54,7 +55,8 @@ import static com.microsoft.gctoolkit.jvm.SupportedFlags.*;
     GENERATIONAL_ZGC                            // 29
  */
 
-public class Diary {
+public class Diary implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final TripleState[] states;
     private DateTimeStamp timeOfFirstEvent;
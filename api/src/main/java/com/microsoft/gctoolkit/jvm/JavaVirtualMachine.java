@@ -6,12 +6,16 @@ package com.microsoft.gctoolkit.jvm;
 import com.microsoft.gctoolkit.GCToolKit;
 import com.microsoft.gctoolkit.aggregator.Aggregation;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.AggregatorStatistics;
 import com.microsoft.gctoolkit.io.DataSource;
+import com.microsoft.gctoolkit.io.Sampling;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -117,11 +121,56 @@ public interface JavaVirtualMachine {
      */
     <T extends Aggregation> Optional<T> getAggregation(Class<T> aggregationClass);
 
+    /**
+     * How each Aggregator kept up with its events, when aggregators were run in parallel.
+     * @return the statistics for each Aggregator, or an empty list if aggregators were not run in parallel.
+     * @see com.microsoft.gctoolkit.aggregator.AggregatorExecutor
+     */
+    default List<AggregatorStatistics> getAggregatorStatistics() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * The lines of the GC log that the parsers did not recognize, which is where a log has outgrown
+     * the parsers, such as for a newer JDK.
+     * @return the unrecognized lines of each parser that missed any, or an empty list
+     */
+    default List<UnmatchedLines> getUnmatchedLines() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * The GC cause texts that the parsers could not resolve to a {@link com.microsoft.gctoolkit.event.GCCause},
+     * such as a cause added by a newer JDK. Collections with such a cause are reported as
+     * {@link com.microsoft.gctoolkit.event.GCCause#GCCAUSE_NOT_SET}.
+     * @return the unknown cause texts with the number of times each was seen, or an empty map
+     */
+    default Map<String, Long> getUnknownGCCauses() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * What was read of a {@link com.microsoft.gctoolkit.io.SampledGCLogFile}. The Aggregations of such an
+     * analysis have seen only part of the log, and their counts and totals are to be scaled up by it.
+     * @return the sampling, or empty if the log was not sampled
+     */
+    default Optional<Sampling> getSampling() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return true if the analysis is of only part of the log, and so approximate
+     * @see #getSampling()
+     */
+    default boolean isApproximate() {
+        return getSampling().map(sampling -> !sampling.isComplete()).orElse(false);
+    }
+
     /**
      * Interface to trigger the analysis of a gc log.
      * @param registeredAggregations all aggregations supplied by the module SPI
      * @param eventChannel JVMEvent message channel
-     * @param dataSourceChannel GC logging data channel
+     * @param dataSourceChannel GC logging data channel, null when replaying a {@link com.microsoft.gctoolkit.io.JVMEventStore}
      */
     void analyze(List<Aggregator<? extends Aggregation>> registeredAggregations, JVMEventChannel eventChannel, DataSourceChannel dataSourceChannel);
 }
\ No newline at end of file
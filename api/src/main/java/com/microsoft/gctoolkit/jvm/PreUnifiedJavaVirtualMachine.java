@@ -4,6 +4,7 @@ package com.microsoft.gctoolkit.jvm;
 
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.JVMEventStore;
 
 import java.io.IOException;
 import java.util.logging.Level;
@@ -29,6 +30,11 @@ public class PreUnifiedJavaVirtualMachine extends AbstractJavaVirtualMachine {
                     super.setDataSource(logFile);
                     return true;
                 }
+            } else if (logFile instanceof JVMEventStore) {
+                if (!logFile.diary().isUnifiedLogging()) {
+                    super.setDataSource(logFile);
+                    return true;
+                }
             }
         } catch(IOException ioe) {
             LOGGER.log(Level.WARNING, ioe.getMessage());
@@ -23,7 +23,10 @@ public class UnifiedJavaVirtualMachine extends AbstractJavaVirtualMachine {
     @Override
     public boolean accepts(DataSource logFile) {
         try {
-            if (((GCLogFile) logFile).isUnified()) {
+            boolean unified = (logFile instanceof GCLogFile)
+                    ? ((GCLogFile) logFile).isUnified()
+                    : logFile.diary().isUnifiedLogging();
+            if (unified) {
                 super.setDataSource(logFile);
                 return true;
             }
@@ -0,0 +1,177 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jvm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Collects the lines a parser did not recognize in a fixed amount of memory. Lines are counted by
+ * {@link #shape(String) shape}, and a reservoir sample of a few examples of each shape is kept. Once the
+ * collector tracks its maximum number of shapes, lines of new shapes are only counted.
+ * <p>
+ * The examples are chosen at random with a fixed seed, so analyzing the same log twice gives the same
+ * examples.
+ *
+ * @see UnmatchedLines
+ */
+public class UnmatchedLineCollector {
+
+    public static final int DEFAULT_MAX_SHAPES = 100;
+    public static final int DEFAULT_EXAMPLES_PER_SHAPE = 5;
+
+    private static final int MAX_TEMPLATE_LENGTH = 160;
+    private static final int MAX_EXAMPLE_LENGTH = 512;
+
+    private final String parser;
+    private final int maxShapes;
+    private final int examplesPerShape;
+    private final Map<String, Reservoir> shapes = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom(42L);
+    private long total = 0L;
+    private long untracked = 0L;
+
+    /**
+     * @param parser the name of the parser the lines are collected for
+     */
+    public UnmatchedLineCollector(String parser) {
+        this(parser, DEFAULT_MAX_SHAPES, DEFAULT_EXAMPLES_PER_SHAPE);
+    }
+
+    /**
+     * @param parser the name of the parser the lines are collected for
+     * @param maxShapes the most shapes to count lines against
+     * @param examplesPerShape the number of example lines to keep for each shape
+     */
+    public UnmatchedLineCollector(String parser, int maxShapes, int examplesPerShape) {
+        if (maxShapes < 1 || examplesPerShape < 0)
+            throw new IllegalArgumentException("maxShapes must be positive and examplesPerShape not negative: " + maxShapes + ", " + examplesPerShape);
+        this.parser = parser;
+        this.maxShapes = maxShapes;
+        this.examplesPerShape = examplesPerShape;
+    }
+
+    /**
+     * @param line a line the parser did not recognize
+     */
+    public synchronized void collect(String line) {
+        total++;
+        String template = shape(line);
+        Reservoir reservoir = shapes.get(template);
+        if (reservoir == null) {
+            if (shapes.size() >= maxShapes) {
+                untracked++;
+                return;
+            }
+            reservoir = new Reservoir(examplesPerShape);
+            shapes.put(template, reservoir);
+        }
+        reservoir.offer(line, random);
+    }
+
+    /**
+     * @return the number of lines collected
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the lines collected so far
+     */
+    public synchronized UnmatchedLines snapshot() {
+        List<UnmatchedLines.Shape> snapshot = new ArrayList<>(shapes.size());
+        shapes.forEach((template, reservoir) -> snapshot.add(new UnmatchedLines.Shape(template, reservoir.seen, reservoir.examples())));
+        snapshot.sort(Comparator.comparingLong(UnmatchedLines.Shape::getCount).reversed()
+                .thenComparing(UnmatchedLines.Shape::getTemplate));
+        return new UnmatchedLines(parser, total, untracked, snapshot);
+    }
+
+    /**
+     * The shape of a line is the line with every number replaced by {@code #}, hexadecimal numbers
+     * included. Of the decorators at the start of a unified logging line, only those without digits,
+     * the level and the tags, are kept.
+     * @param line a line of a GC log
+     * @return the shape of the line, at most 160 characters long
+     */
+    public static String shape(String line) {
+        StringBuilder template = new StringBuilder(Math.min(line.length(), MAX_TEMPLATE_LENGTH));
+        int i = 0;
+        int length = line.length();
+        while (i < length && line.charAt(i) == '[') {
+            int close = line.indexOf(']', i);
+            if (close < 0)
+                break;
+            if (!containsDigit(line, i, close))
+                template.append(line, i, close + 1);
+            i = close + 1;
+        }
+        while (i < length && template.length() < MAX_TEMPLATE_LENGTH) {
+            char c = line.charAt(i);
+            if (c == '0' && i + 2 < length && (line.charAt(i + 1) == 'x' || line.charAt(i + 1) == 'X') && isHexDigit(line.charAt(i + 2))) {
+                template.append("0x#");
+                i += 2;
+                while (i < length && isHexDigit(line.charAt(i)))
+                    i++;
+            } else if (Character.isDigit(c)) {
+                template.append('#');
+                while (i < length && Character.isDigit(line.charAt(i)))
+                    i++;
+            } else {
+                template.append(c);
+                i++;
+            }
+        }
+        return template.toString();
+    }
+
+    private static boolean containsDigit(String line, int from, int to) {
+        for (int i = from; i < to; i++)
+            if (Character.isDigit(line.charAt(i)))
+                return true;
+        return false;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+
+    /**
+     * Algorithm R: the n-th line of a shape replaces a random example with probability k/n, so every
+     * line of the shape is equally likely to be kept.
+     */
+    private static class Reservoir {
+        private final String[] examples;
+        private long seen = 0L;
+
+        Reservoir(int size) {
+            examples = new String[size];
+        }
+
+        void offer(String line, SplittableRandom random) {
+            seen++;
+            if (examples.length == 0)
+                return;
+            if (seen <= examples.length) {
+                examples[(int) seen - 1] = truncate(line);
+            } else {
+                long slot = random.nextLong(seen);
+                if (slot < examples.length)
+                    examples[(int) slot] = truncate(line);
+            }
+        }
+
+        List<String> examples() {
+            return Arrays.asList(Arrays.copyOf(examples, (int) Math.min(seen, examples.length)));
+        }
+
+        private static String truncate(String line) {
+            return line.length() <= MAX_EXAMPLE_LENGTH ? line : line.substring(0, MAX_EXAMPLE_LENGTH);
+        }
+    }
+}
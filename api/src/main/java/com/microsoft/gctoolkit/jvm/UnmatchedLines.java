@@ -0,0 +1,104 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jvm;
+
+import java.util.List;
+
+/**
+ * The lines of a GC log that one parser did not recognize, grouped by their shape. The shape of a line
+ * is the line with its numbers replaced by {@code #}, and with the time, uptime and pid decorators of a
+ * unified log left out, so that lines which differ only in their values are counted together.
+ *
+ * @see JavaVirtualMachine#getUnmatchedLines()
+ * @see UnmatchedLineCollector
+ */
+public class UnmatchedLines {
+
+    /**
+     * The unrecognized lines of one shape.
+     */
+    public static class Shape {
+        private final String template;
+        private final long count;
+        private final List<String> examples;
+
+        Shape(String template, long count, List<String> examples) {
+            this.template = template;
+            this.count = count;
+            this.examples = List.copyOf(examples);
+        }
+
+        /**
+         * @return the shape, such as {@code [info][gc,foo] GC(#) Something new #.#ms}
+         */
+        public String getTemplate() {
+            return template;
+        }
+
+        /**
+         * @return the number of lines of this shape
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return a uniform sample of the lines of this shape
+         */
+        public List<String> getExamples() {
+            return examples;
+        }
+
+        @Override
+        public String toString() {
+            return count + " x " + template;
+        }
+    }
+
+    private final String parser;
+    private final long total;
+    private final long untracked;
+    private final List<Shape> shapes;
+
+    UnmatchedLines(String parser, long total, long untracked, List<Shape> shapes) {
+        this.parser = parser;
+        this.total = total;
+        this.untracked = untracked;
+        this.shapes = List.copyOf(shapes);
+    }
+
+    /**
+     * @return the simple class name of the parser
+     */
+    public String getParser() {
+        return parser;
+    }
+
+    /**
+     * @return the number of lines the parser did not recognize
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the number of lines that were not counted against a shape, as the collector was already
+     * tracking as many shapes as it could
+     */
+    public long getUntracked() {
+        return untracked;
+    }
+
+    /**
+     * @return the shapes, most frequent first
+     */
+    public List<Shape> getShapes() {
+        return shapes;
+    }
+
+    @Override
+    public String toString() {
+        return parser + " did not recognize " + total + " lines of " + shapes.size() + " shapes"
+                + (untracked > 0 ? " and " + untracked + " lines of other shapes" : "");
+    }
+}
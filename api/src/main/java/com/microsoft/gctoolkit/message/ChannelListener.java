@@ -3,4 +3,14 @@ package com.microsoft.gctoolkit.message;
 public interface ChannelListener<M> {
     ChannelName channel();
     void receive(M payload);
+
+    /**
+     * A listener that may wait in {@link #receive(Object)}, for example for a full queue to drain, must not be
+     * called on a thread that other listeners depend on, such as an event loop. A channel that shares threads
+     * between listeners runs such a listener on a thread where it may block.
+     * @return true if receiving a message may block
+     */
+    default boolean mayBlock() {
+        return false;
+    }
 }
@@ -1,7 +1,11 @@
 package com.microsoft.gctoolkit.message;
 
+import com.microsoft.gctoolkit.aggregator.EventDetail;
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
 import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.UnmatchedLineCollector;
+import com.microsoft.gctoolkit.metrics.MetricsRegistry;
 
 import java.util.Set;
 
@@ -10,4 +14,36 @@ public interface DataSourceParser extends DataSourceChannelListener {
     void diary(Diary diary);
     boolean accepts(Diary diary);
     Set<EventSource> eventsProduced();
+
+    /**
+     * Tell the parser which event detail sections are read by the Aggregators in this analysis.
+     * A parser may skip the work of filling in the sections that are not in the set. The default
+     * implementation ignores the hint.
+     * @param details the detail sections consumed by at least one Aggregator
+     */
+    default void detailsConsumed(Set<EventDetail> details) {}
+
+    /**
+     * Tell the parser where to report the lines it receives and the events it publishes. The registry
+     * is {@link MetricsRegistry#NO_OP} unless metrics have been asked for. The default implementation
+     * reports nothing.
+     * @param registry where the parser's metrics are recorded
+     */
+    default void metrics(MetricsRegistry registry) {}
+
+    /**
+     * Give the parser somewhere to put the lines it does not recognize, in place of logging each of them.
+     * The default implementation collects nothing.
+     * @param collector collects the unrecognized lines of this parser for this analysis
+     * @see com.microsoft.gctoolkit.jvm.JavaVirtualMachine#getUnmatchedLines()
+     */
+    default void collectUnmatchedLines(UnmatchedLineCollector collector) {}
+
+    /**
+     * Give the parser somewhere to count the GC causes it does not recognize. The default implementation
+     * counts nothing.
+     * @param collector counts the unknown GC causes of this parser for this analysis
+     * @see com.microsoft.gctoolkit.jvm.JavaVirtualMachine#getUnknownGCCauses()
+     */
+    default void collectUnknownGCCauses(UnknownGCCauseCollector collector) {}
 }
@@ -1,16 +1,43 @@
 package com.microsoft.gctoolkit.message;
 
 import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.AggregatorExecutor;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 
+import java.util.function.Consumer;
+
 public class JVMEventChannelAggregator implements JVMEventChannelListener {
 
     private ChannelName channel;
     private Aggregator aggregator;
+    private Consumer<JVMEvent> receiver;
+    private boolean mayBlock = false;
 
     public JVMEventChannelAggregator(ChannelName channel, Aggregator aggregator) {
         this.channel = channel;
         this.aggregator = aggregator;
+        this.receiver = aggregator::receive;
+    }
+
+    /**
+     * Deliver events to the aggregator through an executor, rather than on the thread the channel publishes on.
+     * Receiving an event waits while the aggregator's queue is full, so this listener {@link #mayBlock() may block}.
+     * @param channel the channel to listen to
+     * @param aggregator the aggregator to deliver events to
+     * @param executor runs the aggregator
+     */
+    public JVMEventChannelAggregator(ChannelName channel, Aggregator aggregator, AggregatorExecutor executor) {
+        this.channel = channel;
+        this.aggregator = aggregator;
+        this.receiver = executor.executorFor(aggregator);
+        this.mayBlock = true;
+    }
+
+    /**
+     * @return the aggregator events are delivered to
+     */
+    public Aggregator<?> aggregator() {
+        return aggregator;
     }
 
     @Override
@@ -18,8 +45,13 @@ public class JVMEventChannelAggregator implements JVMEventChannelListener {
         return channel;
     }
 
+    @Override
+    public boolean mayBlock() {
+        return mayBlock;
+    }
+
     @Override
     public void receive(JVMEvent payload) {
-        aggregator.receive(payload);
+        receiver.accept(payload);
     }
 }
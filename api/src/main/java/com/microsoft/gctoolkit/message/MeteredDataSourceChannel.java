@@ -0,0 +1,50 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.metrics.Counter;
+import com.microsoft.gctoolkit.metrics.MetricsRegistry;
+
+/**
+ * A {@link DataSourceChannel} that counts the lines read from a GC log, and their size in bytes, before
+ * passing them on to another channel. The size of a line is estimated as one byte per character plus
+ * the line terminator, as the progress of an analysis is.
+ *
+ * @see MetricsRegistry
+ */
+public class MeteredDataSourceChannel implements DataSourceChannel {
+
+    private final DataSourceChannel channel;
+    private final Counter lines;
+    private final Counter bytes;
+
+    /**
+     * @param channel the channel to pass lines on to
+     * @param registry where the metrics are recorded
+     */
+    public MeteredDataSourceChannel(DataSourceChannel channel, MetricsRegistry registry) {
+        this.channel = channel;
+        this.lines = registry.counter("datasource.lines");
+        this.bytes = registry.counter("datasource.bytes");
+    }
+
+    @Override
+    public void registerListener(DataSourceParser listener) {
+        channel.registerListener(listener);
+    }
+
+    @Override
+    public void publish(ChannelName channelName, String message) {
+        if (!GCLogFile.END_OF_DATA_SENTINEL.equals(message)) {
+            lines.increment();
+            bytes.add(message.length() + 1L);
+        }
+        channel.publish(channelName, message);
+    }
+
+    @Override
+    public void close() {
+        channel.close();
+    }
+}
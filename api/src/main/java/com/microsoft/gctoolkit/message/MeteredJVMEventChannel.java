@@ -0,0 +1,124 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.metrics.Counter;
+import com.microsoft.gctoolkit.metrics.Gauge;
+import com.microsoft.gctoolkit.metrics.Histogram;
+import com.microsoft.gctoolkit.metrics.MetricsRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link JVMEventChannel} that counts the events published and delivered on each {@link ChannelName},
+ * and times each listener, before passing events on to another channel. The depth of a channel is the
+ * number of deliveries still owed to its listeners, so an event published on a channel with three
+ * listeners adds three to the depth until each of them has received it. A JVMTermination is counted as
+ * delivered before it is handed on, and is not timed.
+ *
+ * @see MetricsRegistry
+ */
+public class MeteredJVMEventChannel implements JVMEventChannel {
+
+    private final JVMEventChannel channel;
+    private final MetricsRegistry registry;
+    private final Map<ChannelName, ChannelMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * @param channel the channel to pass events on to
+     * @param registry where the metrics are recorded
+     */
+    public MeteredJVMEventChannel(JVMEventChannel channel, MetricsRegistry registry) {
+        this.channel = channel;
+        this.registry = registry;
+    }
+
+    private ChannelMetrics metrics(ChannelName channelName) {
+        return metrics.computeIfAbsent(channelName, name -> new ChannelMetrics(registry, name));
+    }
+
+    @Override
+    public void registerListener(JVMEventChannelListener listener) {
+        ChannelMetrics channelMetrics = metrics(listener.channel());
+        channelMetrics.listeners.incrementAndGet();
+        channel.registerListener(new MeteredListener(listener, channelMetrics, registry.histogram(histogramName(listener))));
+    }
+
+    private static String histogramName(JVMEventChannelListener listener) {
+        if (listener instanceof JVMEventChannelAggregator)
+            return "aggregator." + ((JVMEventChannelAggregator) listener).aggregator().getClass().getSimpleName() + ".receive";
+        return "listener." + listener.getClass().getSimpleName() + ".receive";
+    }
+
+    @Override
+    public void publish(ChannelName channelName, JVMEvent message) {
+        ChannelMetrics channelMetrics = metrics(channelName);
+        channelMetrics.published.increment();
+        channelMetrics.depth.add(channelMetrics.listeners.get());
+        channel.publish(channelName, message);
+    }
+
+    @Override
+    public void close() {
+        channel.close();
+    }
+
+    private static class ChannelMetrics {
+        private final Counter published;
+        private final Counter delivered;
+        private final Gauge depth;
+        private final AtomicInteger listeners = new AtomicInteger();
+
+        private ChannelMetrics(MetricsRegistry registry, ChannelName channelName) {
+            String prefix = "channel." + channelName.name();
+            published = registry.counter(prefix + ".published");
+            delivered = registry.counter(prefix + ".delivered");
+            depth = registry.gauge(prefix + ".depth");
+        }
+    }
+
+    private static class MeteredListener implements JVMEventChannelListener {
+        private final JVMEventChannelListener listener;
+        private final ChannelMetrics channelMetrics;
+        private final Histogram serviceTime;
+
+        private MeteredListener(JVMEventChannelListener listener, ChannelMetrics channelMetrics, Histogram serviceTime) {
+            this.listener = listener;
+            this.channelMetrics = channelMetrics;
+            this.serviceTime = serviceTime;
+        }
+
+        @Override
+        public ChannelName channel() {
+            return listener.channel();
+        }
+
+        @Override
+        public boolean mayBlock() {
+            return listener.mayBlock();
+        }
+
+        @Override
+        public void receive(JVMEvent payload) {
+            if (payload instanceof JVMTermination) {
+                // The termination may complete the analysis, which could then return before it was counted
+                channelMetrics.delivered.increment();
+                channelMetrics.depth.add(-1L);
+                listener.receive(payload);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                listener.receive(payload);
+            } finally {
+                serviceTime.record(System.nanoTime() - start);
+                channelMetrics.delivered.increment();
+                channelMetrics.depth.add(-1L);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
+import com.microsoft.gctoolkit.jvm.Diary;
+import jdk.jfr.consumer.RecordedEvent;
+
+import java.util.Set;
+
+/**
+ * Translates the events of a JDK Flight Recorder recording into JVMEvents. This is the counterpart of a
+ * {@link DataSourceParser} for a {@link com.microsoft.gctoolkit.io.JFRRecordingFile}: the events it publishes
+ * are the same types, on the same channels, as those parsed from a GC log, so Aggregations work unchanged.
+ * The recorded events are handed to the parser one at a time, in the order they appear in the recording.
+ */
+public interface RecordedEventParser {
+    void publishTo(JVMEventChannel channel);
+    void diary(Diary diary);
+    boolean accepts(Diary diary);
+    Set<EventSource> eventsProduced();
+
+    /**
+     * Give the parser a collector for the GC causes it cannot resolve. Called once, before the recording is read.
+     * @param collector collects the unknown causes for this analysis
+     */
+    default void collectUnknownGCCauses(UnknownGCCauseCollector collector) {}
+
+    /**
+     * @param event the next event of the recording
+     */
+    void receive(RecordedEvent event);
+
+    /**
+     * Called once every event of the recording has been received, including when reading the recording
+     * failed part way. The parser publishes what it still holds, followed by a
+     * {@link com.microsoft.gctoolkit.event.jvm.JVMTermination} on each of its channels.
+     */
+    void endOfData();
+}
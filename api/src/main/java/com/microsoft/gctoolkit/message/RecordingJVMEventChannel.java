@@ -0,0 +1,42 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.io.JVMEventStoreWriter;
+
+/**
+ * A {@link JVMEventChannel} that appends every event published on it to a {@link JVMEventStoreWriter}
+ * before passing it on to another channel. Events are written on the thread that publishes them, so an
+ * event is complete on disk before any listener sees it.
+ */
+public class RecordingJVMEventChannel implements JVMEventChannel {
+
+    private final JVMEventChannel channel;
+    private final JVMEventStoreWriter writer;
+
+    /**
+     * @param channel the channel to pass events on to
+     * @param writer where events are recorded; closing the channel does not close the writer
+     */
+    public RecordingJVMEventChannel(JVMEventChannel channel, JVMEventStoreWriter writer) {
+        this.channel = channel;
+        this.writer = writer;
+    }
+
+    @Override
+    public void registerListener(JVMEventChannelListener listener) {
+        channel.registerListener(listener);
+    }
+
+    @Override
+    public void publish(ChannelName channelName, JVMEvent message) {
+        writer.append(channelName, message);
+        channel.publish(channelName, message);
+    }
+
+    @Override
+    public void close() {
+        channel.close();
+    }
+}
@@ -0,0 +1,213 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message.thread;
+
+import com.microsoft.gctoolkit.jfr.ChannelStallEvent;
+import com.microsoft.gctoolkit.message.Channel;
+import com.microsoft.gctoolkit.message.ChannelListener;
+import com.microsoft.gctoolkit.message.ChannelName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link Channel} that gives every listener a thread of its own, fed through a bounded queue.
+ * Publishing hands the message to the queue of each listener on the channel, waiting if a queue is full.
+ * A publisher stops waiting, and the message is dropped, if the listener thread is no longer running.
+ * A listener thread finishes after it has received the last message of the stream. The threads are owned
+ * by the channel: {@link #close()} waits for them to finish, so none of them outlive the analysis.
+ * <p>
+ * A listener that throws does not stop the others. The failure is logged and is available from
+ * {@link #getFailures()}.
+ *
+ * @param <M> the type of message
+ * @param <L> the type of listener
+ */
+public abstract class ThreadedChannel<M, L extends ChannelListener<M>> implements Channel<M, L> {
+
+    private static final Logger LOGGER = Logger.getLogger(ThreadedChannel.class.getName());
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 60L;
+    // How long a publisher waits on a full queue before checking that the listener thread is still running
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final int queueCapacity;
+    private final Map<ChannelName, List<ListenerThread>> listeners = new EnumMap<>(ChannelName.class);
+    private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+    protected ThreadedChannel(int queueCapacity) {
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Is this the last message that a listener will receive?
+     * @param message the message
+     * @return true if the listener thread should finish after handling the message
+     */
+    protected abstract boolean isEndOfStream(M message);
+
+    @Override
+    public synchronized void registerListener(L listener) {
+        ListenerThread thread = new ListenerThread(listener);
+        listeners.computeIfAbsent(listener.channel(), name -> new CopyOnWriteArrayList<>()).add(thread);
+        thread.start();
+    }
+
+    @Override
+    public void publish(ChannelName channel, M message) {
+        List<ListenerThread> subscribers;
+        synchronized (this) {
+            subscribers = listeners.get(channel);
+        }
+        if (subscribers == null)
+            return;
+        for (ListenerThread subscriber : subscribers)
+            subscriber.offer(message);
+    }
+
+    /**
+     * Wait for the listener threads to finish with the messages already published, then release them.
+     * Threads that have not received the end of the stream are interrupted.
+     */
+    @Override
+    public void close() {
+        List<ListenerThread> threads = new ArrayList<>();
+        synchronized (this) {
+            listeners.values().forEach(threads::addAll);
+            listeners.clear();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CLOSE_TIMEOUT_SECONDS);
+        for (ListenerThread thread : threads) {
+            thread.finish(deadline);
+        }
+        for (ListenerThread thread : threads) {
+            try {
+                thread.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (thread.isAlive()) {
+                LOGGER.log(Level.WARNING, thread.getName() + " did not finish, interrupting");
+                thread.interrupt();
+            }
+        }
+        if (!failures.isEmpty())
+            LOGGER.log(Level.WARNING, failures.size() + " failure(s) while processing messages");
+    }
+
+    /**
+     * @return the exceptions thrown by listeners, in the order they happened
+     */
+    public List<Throwable> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    private final class ListenerThread extends Thread {
+
+        private final L listener;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile boolean done = false;
+
+        // Queued by close() in case the end of the stream was never published
+        private final Object finish = new Object();
+
+        ListenerThread(L listener) {
+            super("gctoolkit-" + listener.channel().getName() + "-" + THREAD_COUNT.incrementAndGet());
+            setDaemon(true);
+            this.listener = listener;
+        }
+
+        void offer(M message) {
+            if (done)
+                return;
+            try {
+                if (!queue.offer(message)) {
+                    ChannelStallEvent stall = new ChannelStallEvent();
+                    stall.begin();
+                    boolean queued = offerWhileRunning(message);
+                    stall.end();
+                    if (stall.shouldCommit()) {
+                        stall.listener = getName();
+                        stall.queueCapacity = queueCapacity;
+                        stall.commit();
+                    }
+                    if (!queued)
+                        LOGGER.log(Level.WARNING, getName() + " is not running, dropped " + message.getClass().getSimpleName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.log(Level.WARNING, "Interrupted while publishing to " + getName());
+            }
+        }
+
+        /**
+         * Wait for room in the queue for as long as the listener thread is running.
+         * @return false if the thread stopped before the message could be queued
+         */
+        private boolean offerWhileRunning(M message) throws InterruptedException {
+            while (!queue.offer(message, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (done || !isAlive())
+                    return false;
+            }
+            return true;
+        }
+
+        /**
+         * Queue the finish marker behind the messages already published. A full queue is waited on,
+         * as the messages in it have still to be processed.
+         */
+        void finish(long deadline) {
+            if (done)
+                return;
+            try {
+                if (!queue.offer(finish, Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))
+                    interrupt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupt();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            try {
+                while (!done) {
+                    Object next = queue.take();
+                    if (next == finish)
+                        break;
+                    M message = (M) next;
+                    try {
+                        listener.receive(message);
+                    } catch (Throwable t) {
+                        failures.add(t);
+                        LOGGER.log(Level.WARNING, getName() + ": processing " + message + " failed", t);
+                    }
+                    if (isEndOfStream(message))
+                        done = true;
+                }
+            } catch (InterruptedException e) {
+                LOGGER.log(Level.FINE, getName() + " interrupted");
+            } finally {
+                done = true;
+                // Release any publisher waiting on a full queue
+                queue.clear();
+            }
+        }
+    }
+}
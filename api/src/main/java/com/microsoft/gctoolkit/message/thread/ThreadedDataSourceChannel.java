@@ -0,0 +1,31 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message.thread;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.message.DataSourceChannel;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+
+/**
+ * A {@link DataSourceChannel} that runs each {@link DataSourceParser} on a thread of its own.
+ * This is an alternative to the Vert.x implementation that needs no other libraries. Load it with
+ * {@link com.microsoft.gctoolkit.GCToolKit#loadDataSourceChannel(DataSourceChannel)}.
+ */
+public class ThreadedDataSourceChannel extends ThreadedChannel<String, DataSourceParser> implements DataSourceChannel {
+
+    public ThreadedDataSourceChannel() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity the number of lines that may be waiting for each parser
+     */
+    public ThreadedDataSourceChannel(int queueCapacity) {
+        super(queueCapacity);
+    }
+
+    @Override
+    protected boolean isEndOfStream(String message) {
+        return GCLogFile.END_OF_DATA_SENTINEL.equals(message);
+    }
+}
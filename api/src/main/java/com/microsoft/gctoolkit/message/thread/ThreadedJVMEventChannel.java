@@ -0,0 +1,32 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message.thread;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+
+/**
+ * A {@link JVMEventChannel} that runs each listener, typically an Aggregator, on a thread of its own.
+ * This is an alternative to the Vert.x implementation that needs no other libraries. Load it with
+ * {@link com.microsoft.gctoolkit.GCToolKit#loadJVMEventChannel(JVMEventChannel)}.
+ */
+public class ThreadedJVMEventChannel extends ThreadedChannel<JVMEvent, JVMEventChannelListener> implements JVMEventChannel {
+
+    public ThreadedJVMEventChannel() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity the number of events that may be waiting for each listener
+     */
+    public ThreadedJVMEventChannel(int queueCapacity) {
+        super(queueCapacity);
+    }
+
+    @Override
+    protected boolean isEndOfStream(JVMEvent message) {
+        return message instanceof JVMTermination;
+    }
+}
@@ -0,0 +1,36 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.metrics;
+
+/**
+ * A count that only goes up, such as the number of lines a parser has received.
+ */
+public interface Counter {
+
+    Counter NO_OP = new Counter() {
+        @Override
+        public void add(long amount) {}
+
+        @Override
+        public long count() {
+            return 0L;
+        }
+    };
+
+    /**
+     * Add one to the count.
+     */
+    default void increment() {
+        add(1L);
+    }
+
+    /**
+     * @param amount added to the count
+     */
+    void add(long amount);
+
+    /**
+     * @return the count so far
+     */
+    long count();
+}
@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.metrics;
+
+/**
+ * A value that goes up and down, such as the number of events waiting to be delivered on a channel.
+ * The largest value the gauge has held is kept as well.
+ */
+public interface Gauge {
+
+    Gauge NO_OP = new Gauge() {
+        @Override
+        public void add(long amount) {}
+
+        @Override
+        public long value() {
+            return 0L;
+        }
+
+        @Override
+        public long max() {
+            return 0L;
+        }
+    };
+
+    /**
+     * @param amount added to the value, which may be negative
+     */
+    void add(long amount);
+
+    /**
+     * @return the current value
+     */
+    long value();
+
+    /**
+     * @return the largest value the gauge has held
+     */
+    long max();
+}
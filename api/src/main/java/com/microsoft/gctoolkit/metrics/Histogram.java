@@ -0,0 +1,61 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.metrics;
+
+/**
+ * The distribution of a non-negative value, typically a latency in nanoseconds.
+ */
+public interface Histogram {
+
+    Histogram NO_OP = new Histogram() {
+        @Override
+        public void record(long value) {}
+
+        @Override
+        public long count() {
+            return 0L;
+        }
+
+        @Override
+        public long max() {
+            return 0L;
+        }
+
+        @Override
+        public double mean() {
+            return 0.0d;
+        }
+
+        @Override
+        public long percentile(double percentile) {
+            return 0L;
+        }
+    };
+
+    /**
+     * @param value the value to record; negative values are recorded as 0
+     */
+    void record(long value);
+
+    /**
+     * @return the number of values recorded
+     */
+    long count();
+
+    /**
+     * @return the largest value recorded, or 0 if nothing has been recorded
+     */
+    long max();
+
+    /**
+     * @return the mean of the values recorded, or 0 if nothing has been recorded
+     */
+    double mean();
+
+    /**
+     * @param percentile from 0 to 100
+     * @return a value that at least the given percentage of the recorded values are less than or equal to,
+     * or 0 if nothing has been recorded
+     */
+    long percentile(double percentile);
+}
@@ -0,0 +1,185 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A {@link MetricsRegistry} that keeps its metrics in memory, to be read once an analysis is done or
+ * while it runs. The metrics can be written out as a JSON document of the form
+ * <pre>
+ * {
+ *   "counters": { "datasource.lines": 12345, ... },
+ *   "gauges": { "channel.G1GC_PARSER_OUTBOX.depth": { "value": 0, "max": 17 }, ... },
+ *   "histograms": { "parser.UnifiedG1GCParser.receive": { "count": 12345, "mean": 812.5, "max": 91234,
+ *                   "p50": 703, "p90": 1471, "p99": 5887, "p99.9": 30207 }, ... }
+ * }
+ * </pre>
+ * with the metrics of each kind in order of name. Histogram values are in the units they were recorded in,
+ * nanoseconds for the latencies the toolkit records. The registry is safe to use from any number of threads.
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+
+    private static final double[] PERCENTILES = {50.0d, 90.0d, 99.0d, 99.9d};
+
+    private final ConcurrentMap<String, InMemoryCounter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, InMemoryGauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LogLinearHistogram> histograms = new ConcurrentHashMap<>();
+
+    public InMemoryMetricsRegistry() {}
+
+    @Override
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new InMemoryCounter());
+    }
+
+    @Override
+    public Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, key -> new InMemoryGauge());
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LogLinearHistogram());
+    }
+
+    /**
+     * @return the counters, by name
+     */
+    public SortedMap<String, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    /**
+     * @return the gauges, by name
+     */
+    public SortedMap<String, Gauge> getGauges() {
+        return new TreeMap<>(gauges);
+    }
+
+    /**
+     * @return the histograms, by name
+     */
+    public SortedMap<String, Histogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Forget every metric, so that the registry can be used for another analysis.
+     */
+    public void clear() {
+        counters.clear();
+        gauges.clear();
+        histograms.clear();
+    }
+
+    /**
+     * @param writer where the metrics are written as JSON; the writer is not closed
+     * @throws IOException if the writer fails
+     */
+    public void writeJson(Writer writer) throws IOException {
+        writer.write("{\n  \"counters\": {");
+        writeEntries(writer, getCounters(), counter -> Long.toString(counter.count()));
+        writer.write("},\n  \"gauges\": {");
+        writeEntries(writer, getGauges(), gauge -> "{ \"value\": " + gauge.value() + ", \"max\": " + gauge.max() + " }");
+        writer.write("},\n  \"histograms\": {");
+        writeEntries(writer, getHistograms(), InMemoryMetricsRegistry::toJson);
+        writer.write("}\n}\n");
+    }
+
+    /**
+     * @return the metrics as JSON
+     */
+    public String toJson() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeJson(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private static <T> void writeEntries(Writer writer, SortedMap<String, T> metrics, Function<T, String> value) throws IOException {
+        String separator = "\n";
+        for (Map.Entry<String, T> entry : metrics.entrySet()) {
+            writer.write(separator);
+            writer.write("    \"" + escape(entry.getKey()) + "\": " + value.apply(entry.getValue()));
+            separator = ",\n";
+        }
+        if (!metrics.isEmpty())
+            writer.write("\n  ");
+    }
+
+    private static String toJson(Histogram histogram) {
+        StringBuilder json = new StringBuilder("{ \"count\": ").append(histogram.count())
+                .append(", \"mean\": ").append(String.format(Locale.ROOT, "%.1f", histogram.mean()))
+                .append(", \"max\": ").append(histogram.max());
+        for (double percentile : PERCENTILES)
+            json.append(", \"p").append(String.format(Locale.ROOT, "%s", percentile).replaceAll("\\.0$", ""))
+                    .append("\": ").append(histogram.percentile(percentile));
+        return json.append(" }").toString();
+    }
+
+    private static String escape(String name) {
+        StringBuilder escaped = new StringBuilder(name.length());
+        for (char c : name.toCharArray()) {
+            if (c == '"' || c == '\\')
+                escaped.append('\\').append(c);
+            else if (c < ' ')
+                escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            else
+                escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static class InMemoryCounter implements Counter {
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void add(long amount) {
+            count.add(amount);
+        }
+
+        @Override
+        public long count() {
+            return count.sum();
+        }
+    }
+
+    private static class InMemoryGauge implements Gauge {
+        private final AtomicLong value = new AtomicLong();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        @Override
+        public void add(long amount) {
+            long now = value.addAndGet(amount);
+            if (amount > 0L)
+                max.accumulate(now);
+        }
+
+        @Override
+        public long value() {
+            return value.get();
+        }
+
+        @Override
+        public long max() {
+            return max.get();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.metrics;
+
+/**
+ * Where the stages of an analysis report what they are doing. Metrics are created on first use and
+ * looked up by name, so the same name always returns the same metric.
+ * <p>
+ * The toolkit reports the following, where {@code <channel>} is a {@link com.microsoft.gctoolkit.message.ChannelName},
+ * {@code <parser>} is the simple class name of a parser and {@code <aggregator>} is the simple class name of an Aggregator:
+ * <ul>
+ *     <li>{@code datasource.lines} and {@code datasource.bytes}: counters of the lines read from the GC log</li>
+ *     <li>{@code parser.<parser>.lines}, {@code parser.<parser>.lines.matched} and {@code parser.<parser>.lines.unmatched}:
+ *     counters of the lines each parser received, and of those it recognized or reported as missed. Parsers that
+ *     only pick a few lines out of a log, such as those for the survivor spaces, report no misses.</li>
+ *     <li>{@code parser.<parser>.events}: counter of the events each parser published</li>
+ *     <li>{@code parser.<parser>.receive}: histogram of the nanoseconds each parser spent on a line</li>
+ *     <li>{@code channel.<channel>.published}: counter of the events published on each channel</li>
+ *     <li>{@code channel.<channel>.delivered}: counter of the events delivered to the listeners of each channel</li>
+ *     <li>{@code channel.<channel>.depth}: gauge of the events published on each channel but not yet delivered to every listener</li>
+ *     <li>{@code aggregator.<aggregator>.receive}: histogram of the nanoseconds each Aggregator spent on an event</li>
+ * </ul>
+ * The default, {@link #NO_OP}, records nothing and the toolkit does not instrument an analysis at all when it is used.
+ *
+ * @see com.microsoft.gctoolkit.GCToolKit#loadMetricsRegistry(MetricsRegistry)
+ * @see InMemoryMetricsRegistry
+ */
+public interface MetricsRegistry {
+
+    MetricsRegistry NO_OP = new MetricsRegistry() {
+        @Override
+        public Counter counter(String name) {
+            return Counter.NO_OP;
+        }
+
+        @Override
+        public Gauge gauge(String name) {
+            return Gauge.NO_OP;
+        }
+
+        @Override
+        public Histogram histogram(String name) {
+            return Histogram.NO_OP;
+        }
+    };
+
+    /**
+     * @param name the name of the counter
+     * @return the counter with the name, created if need be
+     */
+    Counter counter(String name);
+
+    /**
+     * @param name the name of the gauge
+     * @return the gauge with the name, created if need be
+     */
+    Gauge gauge(String name);
+
+    /**
+     * @param name the name of the histogram
+     * @return the histogram with the name, created if need be
+     */
+    Histogram histogram(String name);
+}
@@ -9,6 +9,36 @@ public class OnlineMeanCalculator implements OnlineStatisticsCalculator {
         mean += (sampleValue - mean) / numSamples;
     }
 
+    /**
+     * Combine the samples seen by another calculator with the samples seen by this one.
+     * The result is the mean of all of the samples. The other calculator is not changed.
+     * @param other the calculator to merge into this one
+     */
+    public void merge(OnlineMeanCalculator other) {
+        merge(other, 0.0d);
+    }
+
+    /**
+     * Combine the samples seen by another calculator, each shifted by {@code offset}, with the samples
+     * seen by this one. The other calculator is not changed.
+     * @param other the calculator to merge into this one
+     * @param offset the amount added to each of the samples seen by the other calculator
+     */
+    public void merge(OnlineMeanCalculator other, double offset) {
+        if (other.numSamples == 0)
+            return;
+        int combinedSamples = numSamples + other.numSamples;
+        mean += (other.mean + offset - mean) * other.numSamples / combinedSamples;
+        numSamples = combinedSamples;
+    }
+
+    /**
+     * @return the number of samples seen
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
     @Override
     public double getValue() {
         return mean;
@@ -17,6 +17,47 @@ public class WelfordVarianceCalculator implements OnlineStatisticsCalculator {
         m2 += (sampleValue - oldMean) * (sampleValue - newMean);
     }
 
+    /**
+     * Combine the samples seen by another calculator with the samples seen by this one, using
+     * Chan et al's parallel algorithm. The result is the variance of all of the samples, as though
+     * they had been seen by one calculator. The other calculator is not changed.
+     * @param other the calculator to merge into this one
+     */
+    public void merge(WelfordVarianceCalculator other) {
+        merge(other, 0.0d);
+    }
+
+    /**
+     * Combine the samples seen by another calculator, each shifted by {@code offset}, with the samples
+     * seen by this one. Shifting the samples changes their mean but not their variance.
+     * The other calculator is not changed.
+     * @param other the calculator to merge into this one
+     * @param offset the amount added to each of the samples seen by the other calculator
+     */
+    public void merge(WelfordVarianceCalculator other, double offset) {
+        if (other.numSamples == 0)
+            return;
+        int combinedSamples = numSamples + other.numSamples;
+        double delta = other.getMean() + offset - getMean();
+        m2 += other.m2 + delta * delta * ((double) numSamples * other.numSamples / combinedSamples);
+        onlineMeanCalculator.merge(other.onlineMeanCalculator, offset);
+        numSamples = combinedSamples;
+    }
+
+    /**
+     * @return the number of samples seen
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * @return the mean of the samples seen
+     */
+    public double getMean() {
+        return onlineMeanCalculator.getValue();
+    }
+
     @Override
     public double getValue() throws NotEnoughSampleException {
         if (numSamples < 2) {
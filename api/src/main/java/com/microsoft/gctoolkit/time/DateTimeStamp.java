@@ -2,6 +2,7 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.time;
 
+import java.io.Serializable;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -25,7 +26,9 @@ import static java.util.Comparator.*;
  * found for dates and time stamps in a GC log file.
  */
 
-public class DateTimeStamp implements Comparable<DateTimeStamp> {
+public class DateTimeStamp implements Comparable<DateTimeStamp>, Serializable {
+    private static final long serialVersionUID = 1L;
+
     // Represents the time from Epoch
     // In the case where we have timestamps, the epoch is start of JVM
     // In the case where we only have date stamps, the epoch is 1970:01:01:00:00:00.000::UTC+0
@@ -31,6 +31,7 @@ import com.microsoft.gctoolkit.jvm.UnifiedJavaVirtualMachine;
  */
 module com.microsoft.gctoolkit.api {
     requires java.logging;
+    requires jdk.jfr;
 
     exports com.microsoft.gctoolkit;
     exports com.microsoft.gctoolkit.aggregator;
@@ -41,9 +42,12 @@ module com.microsoft.gctoolkit.api {
     exports com.microsoft.gctoolkit.event.shenandoah;
     exports com.microsoft.gctoolkit.event.zgc;
     exports com.microsoft.gctoolkit.io;
+    exports com.microsoft.gctoolkit.jfr;
     exports com.microsoft.gctoolkit.jvm;
     exports com.microsoft.gctoolkit.time;
     exports com.microsoft.gctoolkit.message;
+    exports com.microsoft.gctoolkit.message.thread;
+    exports com.microsoft.gctoolkit.metrics;
 
     uses com.microsoft.gctoolkit.aggregator.Aggregation;
     uses com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
@@ -53,6 +57,7 @@ module com.microsoft.gctoolkit.api {
     uses com.microsoft.gctoolkit.message.DataSourceChannelListener;
     uses com.microsoft.gctoolkit.message.JVMEventChannel;
     uses com.microsoft.gctoolkit.message.JVMEventChannelListener;
+    uses com.microsoft.gctoolkit.message.RecordedEventParser;
 
     // todo: no need to load with SPI
     provides com.microsoft.gctoolkit.jvm.JavaVirtualMachine with
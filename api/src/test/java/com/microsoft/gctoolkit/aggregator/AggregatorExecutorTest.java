@@ -0,0 +1,124 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregatorExecutorTest {
+
+    private static final int EVENTS = 100;
+
+    private static class RecordingAggregation extends Aggregation {
+        final List<Double> timeStamps = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch received = new CountDownLatch(EVENTS);
+
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return timeStamps.isEmpty();
+        }
+    }
+
+    private static class RecordingAggregator extends Aggregator<RecordingAggregation> {
+        RecordingAggregator(RecordingAggregation aggregation) {
+            super(aggregation);
+            register(G1Young.class, this::process);
+        }
+
+        private void process(G1Young young) {
+            aggregation().timeStamps.add(young.getDateTimeStamp().getTimeStamp());
+            aggregation().threads.add(Thread.currentThread().getName());
+            aggregation().received.countDown();
+        }
+    }
+
+    @Test
+    void eventsAreProcessedInOrderOnTheAggregatorsThread() throws InterruptedException {
+        RecordingAggregation aggregation = new RecordingAggregation();
+        RecordingAggregator aggregator = new RecordingAggregator(aggregation);
+        try (AggregatorExecutor executor = new AggregatorExecutor(4)) {
+            Consumer<JVMEvent> queue = executor.executorFor(aggregator);
+            assertSame(queue, executor.executorFor(aggregator));
+            for (int i = 0; i < EVENTS; i++)
+                queue.accept(new G1Young(new DateTimeStamp(i), GCCause.G1_EVACUATION_PAUSE, 0.001d));
+            assertTrue(aggregation.received.await(10, TimeUnit.SECONDS));
+
+            for (int i = 0; i < EVENTS; i++)
+                assertEquals(i, aggregation.timeStamps.get(i), 0.0d);
+            String thread = aggregation.threads.get(0);
+            assertNotEquals(Thread.currentThread().getName(), thread);
+            assertTrue(aggregation.threads.stream().allMatch(thread::equals));
+
+            List<AggregatorStatistics> statistics = executor.statistics();
+            assertEquals(1, statistics.size());
+            assertEquals(RecordingAggregator.class.getName(), statistics.get(0).getAggregator());
+            assertTrue(statistics.get(0).getMaxQueueDepth() <= 4);
+        }
+    }
+
+    @Test
+    void eachAggregatorHasItsOwnWorker() throws InterruptedException {
+        RecordingAggregation first = new RecordingAggregation();
+        RecordingAggregation second = new RecordingAggregation();
+        try (AggregatorExecutor executor = new AggregatorExecutor()) {
+            Consumer<JVMEvent> firstQueue = executor.executorFor(new RecordingAggregator(first));
+            Consumer<JVMEvent> secondQueue = executor.executorFor(new RecordingAggregator(second));
+            for (int i = 0; i < EVENTS; i++) {
+                G1Young young = new G1Young(new DateTimeStamp(i), GCCause.G1_EVACUATION_PAUSE, 0.001d);
+                firstQueue.accept(young);
+                secondQueue.accept(young);
+            }
+            assertTrue(first.received.await(10, TimeUnit.SECONDS));
+            assertTrue(second.received.await(10, TimeUnit.SECONDS));
+            assertNotEquals(first.threads.get(0), second.threads.get(0));
+            assertEquals(2, executor.statistics().size());
+        }
+    }
+
+    @Test
+    void closeWaitsForQueuedEvents() {
+        RecordingAggregation aggregation = new RecordingAggregation();
+        AggregatorExecutor executor = new AggregatorExecutor(4);
+        Consumer<JVMEvent> queue = executor.executorFor(new RecordingAggregator(aggregation));
+        for (int i = 0; i < EVENTS; i++)
+            queue.accept(new G1Young(new DateTimeStamp(i), GCCause.G1_EVACUATION_PAUSE, 0.001d));
+        executor.close();
+        assertEquals(EVENTS, aggregation.timeStamps.size());
+        assertEquals(EVENTS, executor.statistics().get(0).getEventCount());
+    }
+
+    @Test
+    void publishingToAStoppedWorkerDoesNotBlock() {
+        RecordingAggregation aggregation = new RecordingAggregation();
+        AggregatorExecutor executor = new AggregatorExecutor(1);
+        Consumer<JVMEvent> queue = executor.executorFor(new RecordingAggregator(aggregation));
+        executor.close();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 3; i++)
+                queue.accept(new G1Young(new DateTimeStamp(i), GCCause.G1_EVACUATION_PAUSE, 0.001d));
+        });
+        assertTrue(aggregation.timeStamps.isEmpty());
+    }
+}
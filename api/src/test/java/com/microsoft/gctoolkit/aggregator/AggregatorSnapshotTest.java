@@ -0,0 +1,129 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregatorSnapshotTest {
+
+    @Collates(PauseAggregator.class)
+    private static class PauseCount extends Aggregation implements MergeableAggregation<PauseCount> {
+        int pauses;
+
+        @Override
+        public PauseCount identity() {
+            return new PauseCount();
+        }
+
+        @Override
+        public void merge(PauseCount later) {
+            mergeTimes(later);
+            pauses += later.pauses;
+        }
+
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return pauses == 0;
+        }
+    }
+
+    @Aggregates(EventSource.G1GC)
+    private static class PauseAggregator extends Aggregator<PauseCount> {
+        PauseAggregator(PauseCount aggregation) {
+            super(aggregation);
+            register(G1Young.class, event -> aggregation().pauses++);
+        }
+    }
+
+    private static class NotMergeable extends Aggregation {
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+    }
+
+    private static class NotMergeableAggregator extends Aggregator<NotMergeable> {
+        NotMergeableAggregator() {
+            super(new NotMergeable());
+        }
+    }
+
+    private static G1Young young(double timeStamp) {
+        return new G1Young(new DateTimeStamp(timeStamp), GCCause.G1_EVACUATION_PAUSE, 0.01d);
+    }
+
+    @Test
+    void snapshotIsTakenBetweenEvents() throws Exception {
+        PauseAggregator aggregator = new PauseAggregator(new PauseCount());
+        aggregator.receive(young(1.0d));
+        aggregator.receive(young(2.0d));
+
+        CompletableFuture<PauseCount> first = aggregator.snapshot();
+        assertFalse(first.isDone());
+        assertSame(first, aggregator.snapshot());
+
+        aggregator.receive(young(3.0d));
+        PauseCount snapshot = first.get();
+        assertNotSame(aggregator.aggregation(), snapshot);
+        assertEquals(3, snapshot.pauses);
+        assertEquals(1.0d, snapshot.timeOfFirstEvent().getTimeStamp(), 0.0d);
+        assertEquals(3.0d, snapshot.timeOfTerminationEvent().getTimeStamp(), 0.0d);
+
+        aggregator.receive(young(4.0d));
+        assertEquals(3, snapshot.pauses);
+        assertEquals(4, aggregator.aggregation().pauses);
+    }
+
+    @Test
+    void snapshotIsTakenStraightAwayOnceTerminated() throws Exception {
+        PauseAggregator aggregator = new PauseAggregator(new PauseCount());
+        aggregator.receive(young(1.0d));
+        aggregator.receive(new JVMTermination(new DateTimeStamp(10.0d), new DateTimeStamp(1.0d)));
+
+        CompletableFuture<PauseCount> snapshot = aggregator.snapshot();
+        assertTrue(snapshot.isDone());
+        assertEquals(1, snapshot.get().pauses);
+        assertEquals(10.0d, snapshot.get().timeOfTerminationEvent().getTimeStamp(), 0.0d);
+    }
+
+    @Test
+    void onlyMergeableAggregationsCanBeCopied() {
+        NotMergeableAggregator aggregator = new NotMergeableAggregator();
+        assertFalse(aggregator.supportsSnapshots());
+        assertThrows(UnsupportedOperationException.class, aggregator::snapshot);
+    }
+
+    @Test
+    void snapshotOfAll() throws Exception {
+        PauseAggregator aggregator = new PauseAggregator(new PauseCount());
+        aggregator.receive(young(1.0d));
+        aggregator.receive(new JVMTermination(new DateTimeStamp(2.0d), new DateTimeStamp(1.0d)));
+        AggregationSnapshot snapshot = new AggregationSnapshot(List.of(aggregator.snapshot().get()));
+        assertEquals(1, snapshot.getAggregation(PauseCount.class).orElseThrow().pauses);
+        assertTrue(snapshot.getAggregation(NotMergeable.class).isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregatorTest {
+
+    @Collates(G1Aggregator.class)
+    private static class TestAggregation extends Aggregation {
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+    }
+
+    private static class UncollatedAggregation extends TestAggregation {}
+
+    @Aggregates({EventSource.G1GC, EventSource.SAFEPOINT})
+    @Consumes({})
+    private static class G1Aggregator extends Aggregator<TestAggregation> {
+        G1Aggregator() {
+            super(new TestAggregation());
+        }
+    }
+
+    @Aggregates(EventSource.ZGC)
+    @Consumes({EventDetail.PHASES, EventDetail.CPU})
+    private static class SubAggregator extends G1Aggregator {}
+
+    private static class UndeclaredAggregator extends Aggregator<TestAggregation> {
+        UndeclaredAggregator() {
+            super(new TestAggregation());
+        }
+    }
+
+    @Test
+    void eventSourcesAreResolvedFromTheHierarchy() {
+        assertTrue(new G1Aggregator().aggregates(EventSource.G1GC));
+        assertTrue(new G1Aggregator().aggregates(EventSource.SAFEPOINT));
+        assertFalse(new G1Aggregator().aggregates(EventSource.ZGC));
+        assertFalse(new G1Aggregator().aggregates(null));
+        assertTrue(new SubAggregator().aggregates(EventSource.ZGC));
+        assertTrue(new SubAggregator().aggregates(EventSource.G1GC));
+        assertFalse(new UndeclaredAggregator().aggregates(EventSource.G1GC));
+    }
+
+    @Test
+    void detailsConsumed() {
+        assertTrue(new G1Aggregator().detailsConsumed().isEmpty());
+        assertEquals(EnumSet.of(EventDetail.PHASES, EventDetail.CPU), new SubAggregator().detailsConsumed());
+        assertEquals(EnumSet.allOf(EventDetail.class), new UndeclaredAggregator().detailsConsumed());
+        new G1Aggregator().detailsConsumed().add(EventDetail.CPU);
+        assertTrue(new G1Aggregator().detailsConsumed().isEmpty());
+    }
+
+    @Test
+    void collates() {
+        assertEquals(G1Aggregator.class, new TestAggregation().collates());
+        assertEquals(G1Aggregator.class, new UncollatedAggregation().collates());
+    }
+
+    @Test
+    void completionRunsOnTheThreadThatDeliversTheTermination() throws InterruptedException {
+        G1Aggregator aggregator = new G1Aggregator();
+        AtomicReference<Thread> completedOn = new AtomicReference<>();
+        aggregator.onCompletion(() -> completedOn.set(Thread.currentThread()));
+        Thread delivery = new Thread(() -> aggregator.receive(new JVMTermination(new DateTimeStamp(2.0d), new DateTimeStamp(1.0d))));
+        delivery.start();
+        delivery.join();
+        assertSame(delivery, completedOn.get());
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1FullGC;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCEventTableTest {
+
+    private static GCEventTable table() {
+        GCEventTable table = new GCEventTable(2);
+        for (int i = 0; i < 10; i++) {
+            G1Young young = new G1Young(new DateTimeStamp(i * 10.0d), GarbageCollectionTypes.Young, GCCause.G1_EVACUATION_PAUSE, 0.01d * (i + 1));
+            table.append(young, new MemoryPoolSummary(1000L + i, 4000L, 200L + i, 4000L),
+                    new RegionSummary(20 + i, 0, 0), new RegionSummary(5, 6, 0), new RegionSummary(1, 1, 0));
+        }
+        G1FullGC full = new G1FullGC(new DateTimeStamp(105.0d), GarbageCollectionTypes.FullGC, GCCause.JAVA_LANG_SYSTEM, 1.0d);
+        table.append(full, null, null, null, null);
+        return table;
+    }
+
+    @Test
+    void appendGrowsColumns() {
+        GCEventTable table = table();
+        assertEquals(11, table.size());
+        assertEquals(GarbageCollectionTypes.FullGC, table.getGarbageCollectionType(10));
+        assertEquals(GCCause.JAVA_LANG_SYSTEM, table.getGCCause(10));
+        assertEquals(-1.0d, table.getValue(GCEventTable.Column.HEAP_OCCUPANCY_AFTER, 10));
+        assertEquals(29.0d, table.getValue(GCEventTable.Column.EDEN_REGIONS_BEFORE, 9));
+        assertTrue(Double.isNaN(table.getValue(GCEventTable.Column.DATE_STAMP, 0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getValue(GCEventTable.Column.DURATION, 11));
+    }
+
+    @Test
+    void filters() {
+        GCEventTable table = table();
+        assertEquals(11, table.query().count());
+        assertEquals(10, table.query().where(GarbageCollectionTypes.Young).count());
+        assertEquals(1, table.query().whereCause(GCCause.JAVA_LANG_SYSTEM).count());
+        assertArrayEquals(new int[]{7, 8, 9}, table.query().where(GCEventTable.Column.DURATION, 0.075d, 0.5d).getRows());
+        // The full collection has no heap, so it is not selected by a heap filter.
+        assertEquals(10, table.query().where(GCEventTable.Column.HEAP_OCCUPANCY_BEFORE, 0.0d, Double.MAX_VALUE).count());
+        assertArrayEquals(new int[]{2, 3}, table.query().between(new DateTimeStamp(20.0d), new DateTimeStamp(40.0d)).getRows());
+        assertEquals(0, table.query().where(GarbageCollectionTypes.Young).whereCause(GCCause.JAVA_LANG_SYSTEM).count());
+    }
+
+    @Test
+    void statistics() {
+        GCEventTable table = table();
+        ColumnStatistics pauses = table.query().where(GarbageCollectionTypes.Young).statistics(GCEventTable.Column.DURATION);
+        assertEquals(10, pauses.getCount());
+        assertEquals(0.55d, pauses.getSum(), 1e-9d);
+        assertEquals(0.01d, pauses.getMin(), 1e-9d);
+        assertEquals(0.1d, pauses.getMax(), 1e-9d);
+        assertEquals(0.055d, pauses.getMean(), 1e-9d);
+        assertEquals(0.05d, pauses.getPercentile(50.0d), 1e-9d);
+        assertEquals(0.09d, pauses.getPercentile(90.0d), 1e-9d);
+        assertEquals(0.1d, pauses.getPercentile(100.0d), 1e-9d);
+
+        ColumnStatistics heap = table.query().statistics(GCEventTable.Column.HEAP_OCCUPANCY_AFTER);
+        assertEquals(10, heap.getCount());
+        assertEquals(209.0d, heap.getMax());
+
+        ColumnStatistics none = table.query().whereCause(GCCause.ALLOCATION_FAILURE).statistics(GCEventTable.Column.DURATION);
+        assertEquals(0, none.getCount());
+        assertTrue(Double.isNaN(none.getMean()));
+        assertTrue(Double.isNaN(none.getPercentile(99.0d)));
+    }
+
+    @Test
+    void groupBy() {
+        GCEventTable table = table();
+        Map<GarbageCollectionTypes, ColumnStatistics> byType = table.query().groupByType(GCEventTable.Column.DURATION);
+        assertEquals(2, byType.size());
+        assertEquals(10, byType.get(GarbageCollectionTypes.Young).getCount());
+        assertEquals(1.0d, byType.get(GarbageCollectionTypes.FullGC).getMax());
+
+        Map<GCCause, ColumnStatistics> byCause = table.query()
+                .where(GCEventTable.Column.TIME_STAMP, 50.0d, Double.MAX_VALUE)
+                .groupByCause(GCEventTable.Column.DURATION);
+        assertEquals(5, byCause.get(GCCause.G1_EVACUATION_PAUSE).getCount());
+        assertEquals(1, byCause.get(GCCause.JAVA_LANG_SYSTEM).getCount());
+        assertNull(byCause.get(GCCause.ALLOCATION_FAILURE));
+
+        // Groups only hold rows with a value in the column.
+        assertNull(table.query().groupByType(GCEventTable.Column.OLD_REGIONS_AFTER).get(GarbageCollectionTypes.FullGC));
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1FullGC;
+import com.microsoft.gctoolkit.event.g1gc.G1Mixed;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JVMEventDispatcherTest {
+
+    private final G1Young young = new G1Young(new DateTimeStamp(1.0d), GCCause.G1_EVACUATION_PAUSE, 0.01d);
+    private final G1Mixed mixed = new G1Mixed(new DateTimeStamp(2.0d), GCCause.G1_EVACUATION_PAUSE, 0.02d);
+    private final G1FullGC full = new G1FullGC(new DateTimeStamp(3.0d), GCCause.ALLOCATION_FAILURE, 0.3d);
+
+    @Test
+    void mostSpecificConsumerIsCalled() {
+        List<String> calls = new ArrayList<>();
+        JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+        dispatcher.register(JVMEvent.class, event -> calls.add("event"));
+        dispatcher.register(G1Young.class, event -> calls.add("young"));
+
+        dispatcher.dispatch(young);
+        dispatcher.dispatch(mixed);
+        dispatcher.dispatch(full);
+        assertEquals(List.of("young", "young", "event"), calls);
+    }
+
+    @Test
+    void allConsumersForAnEventClassAreCalledInOrder() {
+        List<String> calls = new ArrayList<>();
+        JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+        dispatcher.register(G1Young.class, event -> calls.add("first"));
+        dispatcher.register(G1Young.class, event -> calls.add("second"));
+
+        dispatcher.dispatch(mixed);
+        assertEquals(List.of("first", "second"), calls);
+    }
+
+    @Test
+    void unregisteredEventsAreIgnored() {
+        List<String> calls = new ArrayList<>();
+        JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+        dispatcher.register(G1Mixed.class, event -> calls.add("mixed"));
+
+        dispatcher.dispatch(young);
+        dispatcher.dispatch(full);
+        assertEquals(List.of(), calls);
+    }
+
+    @Test
+    void registeringAfterDispatchIsSeen() {
+        List<String> calls = new ArrayList<>();
+        JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+        dispatcher.register(JVMEvent.class, event -> calls.add("event"));
+        dispatcher.dispatch(mixed);
+        dispatcher.register(G1Mixed.class, event -> calls.add("mixed"));
+        dispatcher.dispatch(mixed);
+        assertEquals(List.of("event", "mixed"), calls);
+    }
+
+    @Test
+    void dispatchersDoNotShareConsumers() {
+        List<String> calls = new ArrayList<>();
+        JVMEventDispatcher first = new JVMEventDispatcher();
+        JVMEventDispatcher second = new JVMEventDispatcher();
+        first.register(JVMEvent.class, event -> calls.add("first"));
+        second.register(G1Young.class, event -> calls.add("second"));
+
+        first.dispatch(mixed);
+        second.dispatch(mixed);
+        second.dispatch(full);
+        assertEquals(List.of("first", "second"), calls);
+    }
+}
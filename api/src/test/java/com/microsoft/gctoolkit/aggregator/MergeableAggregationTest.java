@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MergeableAggregationTest {
+
+    private static class PauseSeries extends Aggregation implements MergeableAggregation<PauseSeries> {
+        final List<Double> pauses = new ArrayList<>();
+
+        void record(double timeStamp, double pause) {
+            updateEventFrequency(new G1Young(new DateTimeStamp(timeStamp), GCCause.G1_EVACUATION_PAUSE, pause));
+            pauses.add(timeStamp);
+        }
+
+        @Override
+        public PauseSeries identity() {
+            return new PauseSeries();
+        }
+
+        @Override
+        public void merge(PauseSeries later) {
+            mergeTimes(later);
+            pauses.addAll(later.pauses);
+        }
+
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return pauses.isEmpty();
+        }
+    }
+
+    private static final double[] TIME_STAMPS = {3.0, 4.5, 7.0, 8.25, 12.0, 13.0, 19.5, 21.0};
+
+    private static PauseSeries segment(int from, int to) {
+        PauseSeries series = new PauseSeries();
+        series.timeOfFirstEvent(new DateTimeStamp(TIME_STAMPS[from]));
+        for (int i = from; i < to; i++)
+            series.record(TIME_STAMPS[i], 0.01d);
+        series.timeOfTerminationEvent(new DateTimeStamp(TIME_STAMPS[to - 1] + 0.01d));
+        return series;
+    }
+
+    @Test
+    void mergedSegmentsMatchTheWholeLog() {
+        PauseSeries whole = segment(0, TIME_STAMPS.length);
+        PauseSeries merged = MergeableAggregation.mergeInOrder(List.of(segment(5, 8), segment(0, 2), segment(2, 5)));
+
+        assertEquals(whole.pauses, merged.pauses);
+        assertEquals(whole.timeOfFirstEvent(), merged.timeOfFirstEvent());
+        assertEquals(whole.timeOfTerminationEvent(), merged.timeOfTerminationEvent());
+        assertEquals(whole.estimatedStartTime().getTimeStamp(), merged.estimatedStartTime().getTimeStamp(), 0.0001d);
+        assertEquals(whole.estimatedRuntime(), merged.estimatedRuntime(), 0.0001d);
+    }
+
+    @Test
+    void identityLeavesTheOtherUnchanged() {
+        PauseSeries whole = segment(0, TIME_STAMPS.length);
+        PauseSeries merged = whole.identity();
+        merged.merge(whole);
+        assertEquals(whole.pauses, merged.pauses);
+        assertEquals(whole.estimatedRuntime(), merged.estimatedRuntime(), 0.0001d);
+    }
+
+    @Test
+    void nothingToMerge() {
+        assertThrows(IllegalArgumentException.class, () -> MergeableAggregation.mergeInOrder(List.<PauseSeries>of()));
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WindowedGCStatisticsTest {
+
+    private final List<GCWindow> windows = new ArrayList<>();
+
+    @Test
+    void tumblingWindows() {
+        WindowedGCStatistics statistics = new WindowedGCStatistics(TimeWindows.tumbling(10.0d), windows::add);
+        statistics.recordCollection(new DateTimeStamp(1.0d), 0.1d, 100L, 20L);
+        statistics.recordCollection(new DateTimeStamp(5.0d), 0.3d, 120L, 20L);
+        statistics.recordCollection(new DateTimeStamp(12.0d), 0.5d, 220L, 20L);
+        statistics.complete(new DateTimeStamp(16.0d));
+
+        assertEquals(2, windows.size());
+        GCWindow first = windows.get(0);
+        assertEquals(1.0d, first.getStart().getTimeStamp(), 1e-9d);
+        assertEquals(10.0d, first.getDuration(), 1e-9d);
+        assertEquals(2, first.getCollectionCount());
+        assertEquals(0.3d, first.getMaxPauseTime(), 1e-9d);
+        assertEquals(4.0d, first.getPercentPaused(), 1e-9d);
+        assertEquals(0.2d, first.getFrequency(), 1e-9d);
+        assertEquals(100L, first.getAllocatedKBytes());
+
+        GCWindow last = windows.get(1);
+        assertEquals(11.0d, last.getStart().getTimeStamp(), 1e-9d);
+        assertEquals(5.0d, last.getDuration(), 1e-9d);
+        assertEquals(200L, last.getAllocatedKBytes());
+        assertEquals(40.0d, last.getAllocationRate(), 1e-9d);
+    }
+
+    @Test
+    void promotionAndOldGenerationGrowth() {
+        WindowedGCStatistics statistics = new WindowedGCStatistics(TimeWindows.tumbling(10.0d), windows::add);
+        statistics.recordCollection(new DateTimeStamp(1.0d), 0.1d,
+                new MemoryPoolSummary(500L, 200L, 1000L), new MemoryPoolSummary(100L, 150L, 600L));
+        statistics.recordCollection(new DateTimeStamp(3.0d), 0.1d,
+                new MemoryPoolSummary(600L, 260L, 1000L), new MemoryPoolSummary(150L, 230L, 600L));
+        // a full collection shrinks the old generation
+        statistics.recordCollection(new DateTimeStamp(6.0d), 0.5d,
+                new MemoryPoolSummary(700L, 100L, 1000L), new MemoryPoolSummary(230L, 100L, 600L));
+        statistics.complete(new DateTimeStamp(11.0d));
+
+        assertEquals(1, windows.size());
+        GCWindow window = windows.get(0);
+        assertEquals(400L + 440L, window.getAllocatedKBytes());
+        assertEquals(50L + 80L, window.getPromotedKBytes());
+        assertEquals(80L - 130L, window.getOldGenerationGrowthKBytes());
+        assertEquals(13.0d, window.getPromotionRate(), 1e-9d);
+    }
+
+    @Test
+    void slidingWindowsOverlap() {
+        WindowedGCStatistics statistics = new WindowedGCStatistics(TimeWindows.sliding(3.0d, 1.0d), windows::add);
+        for (int second = 0; second < 6; second++)
+            statistics.recordPause(new DateTimeStamp(second + 0.5d), second / 10.0d);
+        statistics.complete(null);
+
+        // windows ending at slides 2, 3 and 4, then the last window cut short at the last collection
+        assertEquals(4, windows.size());
+        assertEquals(3, windows.get(0).getCollectionCount());
+        assertEquals(0.2d, windows.get(0).getMaxPauseTime(), 1e-9d);
+        assertEquals(0.9d, windows.get(2).getTotalPauseTime(), 1e-9d);
+        assertEquals(0.5d, windows.get(3).getMaxPauseTime(), 1e-9d);
+        assertEquals(2.5d, windows.get(3).getDuration(), 1e-9d);
+    }
+
+    @Test
+    void idleTimeIsSkipped() {
+        WindowedGCStatistics statistics = new WindowedGCStatistics(TimeWindows.sliding(4.0d, 2.0d), windows::add);
+        statistics.recordPause(new DateTimeStamp(0.0d), 0.1d);
+        statistics.recordPause(new DateTimeStamp(1_000_000.0d), 0.2d);
+        statistics.complete(null);
+
+        assertEquals(2, windows.size());
+        assertEquals(0.1d, windows.get(0).getTotalPauseTime(), 1e-9d);
+        assertEquals(0.2d, windows.get(1).getTotalPauseTime(), 1e-9d);
+        assertEquals(999_998.0d, windows.get(1).getStart().getTimeStamp(), 1e-9d);
+    }
+
+    @Test
+    void shortLogIsOneWindow() {
+        WindowedGCStatistics statistics = new WindowedGCStatistics(TimeWindows.tumbling(300.0d), windows::add);
+        statistics.recordPause(new DateTimeStamp(10.0d), 1.0d);
+        statistics.recordPause(new DateTimeStamp(19.0d), 1.0d);
+        statistics.complete(new DateTimeStamp(30.0d));
+
+        assertEquals(1, windows.size());
+        assertEquals(20.0d, windows.get(0).getDuration(), 1e-9d);
+        assertEquals(10.0d, windows.get(0).getPercentPaused(), 1e-9d);
+        assertTrue(windows.get(0).getEnd().after(new DateTimeStamp(29.0d)));
+    }
+
+    @Test
+    void windowSizeMustBeWholeSlides() {
+        assertThrows(IllegalArgumentException.class, () -> TimeWindows.sliding(10.0d, 3.0d));
+        assertThrows(IllegalArgumentException.class, () -> TimeWindows.tumbling(0.0d));
+    }
+}
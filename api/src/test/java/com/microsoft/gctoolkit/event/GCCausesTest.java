@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCCausesTest {
+
+    @Test
+    void everyLabelResolves() {
+        for (GCCause cause : GCCause.values())
+            assertEquals(cause, GCCauses.get("(" + cause.getLabel() + ")"), cause.getLabel());
+    }
+
+    @Test
+    void systemResolvesToJavaLangSystem() {
+        assertEquals(GCCause.JAVA_LANG_SYSTEM, GCCauses.get("(System)"));
+        assertEquals(GCCause.JAVA_LANG_SYSTEM, GCCauses.get("(System.gc())"));
+    }
+
+    @Test
+    void surroundingWhiteSpaceIsIgnored() {
+        assertEquals(GCCause.G1_EVACUATION_PAUSE, GCCauses.get("  (G1 Evacuation Pause) "));
+    }
+
+    @Test
+    void resolvesFromRegionOfLine() {
+        String line = "[0.029s][info][gc] GC(0) Pause Young (Normal) (G1 Humongous Allocation) 24M->4M(256M) 3.474ms";
+        int start = line.indexOf("(G1 H");
+        int end = line.indexOf(')', start) + 1;
+        assertEquals(GCCause.G1_HUMONGOUS_ALLOCATION, GCCauses.get(line, start, end));
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get(line, start, end - 2));
+    }
+
+    @Test
+    void missingOrMalformedCauses() {
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get(null));
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get(""));
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get("("));
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get("()"));
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get("(G1 Evacuation)"));
+    }
+
+    @Test
+    void unknownCausesAreCollected() {
+        UnknownGCCauseCollector collector = new UnknownGCCauseCollector();
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get("(Not A Real Cause)", collector));
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get("(Not A Real Cause)", collector));
+        String line = "[2.1s][info][gc] Pause Young (Another Cause) 24M->4M(256M)";
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get(line, line.indexOf('('), line.indexOf(')') + 1, collector));
+        assertEquals(GCCause.G1_EVACUATION_PAUSE, GCCauses.get("(G1 Evacuation Pause)", collector));
+        assertEquals(Map.of("Not A Real Cause", 2L, "Another Cause", 1L), collector.getUnknownCauses());
+        assertEquals(3L, collector.getTotal());
+    }
+
+    @Test
+    void unknownCausesAreNotSharedBetweenCollectors() {
+        GCCauses.get("(Not A Real Cause)", new UnknownGCCauseCollector());
+        assertTrue(new UnknownGCCauseCollector().getUnknownCauses().isEmpty());
+        assertEquals(GCCause.GCCAUSE_NOT_SET, GCCauses.get("(Not A Real Cause)"));
+    }
+
+    @Test
+    void distinctUnknownCausesAreBounded() {
+        UnknownGCCauseCollector collector = new UnknownGCCauseCollector(2);
+        GCCauses.get("(First)", collector);
+        GCCauses.get("(Second)", collector);
+        GCCauses.get("(Third)", collector);
+        assertEquals(Map.of("First", 1L, "Second", 1L), collector.getUnknownCauses());
+        assertEquals(3L, collector.getTotal());
+    }
+
+    @Test
+    void duplicateLabelsAreNamedRatherThanSearchedForever() {
+        String[] labels = { "G1 Evacuation Pause", "Allocation Failure", "G1 Evacuation Pause" };
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> GCCauses.perfectHash(labels));
+        assertTrue(e.getMessage().contains("[G1 Evacuation Pause]"), e.getMessage());
+    }
+}
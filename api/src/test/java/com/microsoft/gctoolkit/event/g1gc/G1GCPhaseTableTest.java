@@ -0,0 +1,70 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class G1GCPhaseTableTest {
+
+    @Test
+    void emptyTable() {
+        G1GCPhaseTable<Double> table = new G1GCPhaseTable<>();
+        assertTrue(table.isEmpty());
+        assertNull(table.get(G1GCPhase.OBJECT_COPY));
+        assertNull(table.get("Unknown Phase"));
+        assertEquals(0, table.names().count());
+    }
+
+    @Test
+    void knownPhasesAreStoredByOrdinal() {
+        G1GCPhaseTable<Double> table = new G1GCPhaseTable<>();
+        table.put("Move objects", 4.0d);
+        table.put(G1GCPhase.MARK_LIVE_OBJECTS, 1.0d);
+        table.put("Adjust pointers", 3.0d);
+        assertEquals(1.0d, table.get("Mark live objects"));
+        assertEquals(3.0d, table.get(G1GCPhase.ADJUST_POINTERS));
+        List<String> names = table.names().collect(Collectors.toList());
+        assertEquals(List.of("Mark live objects", "Adjust pointers", "Move objects"), names);
+    }
+
+    @Test
+    void unknownPhasesOverflow() {
+        G1GCPhaseTable<Double> table = new G1GCPhaseTable<>();
+        table.put("Some New Phase", 2.0d);
+        table.put("Object Copy", 1.0d);
+        table.put("Another New Phase", 3.0d);
+        assertEquals(2.0d, table.get("Some New Phase"));
+        List<String> names = table.names().collect(Collectors.toList());
+        assertEquals(List.of("Object Copy", "Some New Phase", "Another New Phase"), names);
+    }
+
+    @Test
+    void absentPhasesHaveADefault() {
+        G1GCPhaseTable<Double> table = new G1GCPhaseTable<>();
+        assertEquals(-1.0d, table.getOrDefault(G1GCPhase.OBJECT_COPY, -1.0d));
+        table.put(G1GCPhase.OBJECT_COPY, 2.0d);
+        assertEquals(2.0d, table.getOrDefault(G1GCPhase.OBJECT_COPY, -1.0d));
+        assertEquals(-1.0d, table.getOrDefault(G1GCPhase.MARK_LIVE_OBJECTS, -1.0d));
+    }
+
+    @Test
+    void eventsReportAbsentPhasesAsNaN() {
+        G1Young young = new G1Young(new DateTimeStamp(1.0d), GCCause.G1_EVACUATION_PAUSE, 0.01d);
+        young.addPreEvacuationCollectionPhase("Choose Collection Set", 0.001d);
+        assertEquals(0.001d, young.preEvacuateCSetPhaseDuration(G1GCPhase.CHOOSE_COLLECTION_SET));
+        assertTrue(Double.isNaN(young.postEvacuateCSetPhaseDuration(G1GCPhase.OBJECT_COPY)));
+        assertNull(young.evacuateCSetPhaseDuration(G1GCPhase.OBJECT_COPY));
+
+        G1FullGC full = new G1FullGC(new DateTimeStamp(2.0d), GCCause.ALLOCATION_FAILURE, 0.1d);
+        assertTrue(Double.isNaN(full.internalPhaseDuration(G1GCPhase.MARK_LIVE_OBJECTS)));
+    }
+}
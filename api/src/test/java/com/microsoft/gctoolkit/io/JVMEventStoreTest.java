@@ -0,0 +1,325 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.aggregator.Aggregates;
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+import com.microsoft.gctoolkit.event.StatisticalSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.event.jvm.Safepoint;
+import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.SupportedFlags;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.thread.ThreadedJVMEventChannel;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JVMEventStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Collates(PauseCounter.class)
+    public static class PauseCount extends Aggregation {
+        int pauses;
+
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return pauses == 0;
+        }
+    }
+
+    @Aggregates(EventSource.G1GC)
+    public static class PauseCounter extends Aggregator<PauseCount> {
+        public PauseCounter(PauseCount aggregation) {
+            super(aggregation);
+            register(G1Young.class, event -> aggregation().pauses++);
+        }
+    }
+
+    private static class NotSerializable extends JVMEvent {
+        private final Object lock = new Object();
+
+        NotSerializable(DateTimeStamp timeStamp) {
+            super(timeStamp, 0.0d);
+        }
+    }
+
+    private Diary diary() {
+        Diary diary = new Diary();
+        diary.setTrue(SupportedFlags.G1GC, SupportedFlags.UNIFIED_LOGGING);
+        diary.setTimeOfFirstEvent(new DateTimeStamp("2024-01-01T00:00:00.000+0000", 0.01d));
+        return diary;
+    }
+
+    private G1Young young(double timeStamp) {
+        G1Young young = new G1Young(new DateTimeStamp("2024-01-01T00:00:01.000+0000", timeStamp), GCCause.G1_EVACUATION_PAUSE, 0.005d);
+        young.addMemorySummary(new MemoryPoolSummary(1024L, 2048L, 256L, 2048L));
+        young.addRegionSummary(new RegionSummary(10, 0, 20), null, new RegionSummary(5, 6, 20), null, null);
+        young.deferDetails(event -> event.addCPUSummary(null));
+        return young;
+    }
+
+    private Path record(int youngCollections) throws IOException {
+        Path file = directory.resolve("events.gcevents");
+        try (JVMEventStoreWriter writer = new JVMEventStoreWriter(file, diary(), EnumSet.of(EventSource.G1GC, EventSource.SAFEPOINT))) {
+            writer.append(ChannelName.JVM_EVENT_PARSER_OUTBOX, new Safepoint("G1CollectForAllocation", new DateTimeStamp(0.5d), 0.001d));
+            for (int i = 0; i < youngCollections; i++)
+                writer.append(ChannelName.G1GC_PARSER_OUTBOX, young(1.0d + i));
+            writer.append(ChannelName.G1GC_PARSER_OUTBOX, new JVMTermination(new DateTimeStamp(1.0d + youngCollections), new DateTimeStamp(0.01d)));
+            assertEquals(youngCollections + 2, writer.getRecordsWritten());
+        }
+        return file;
+    }
+
+    private List<JVMEventRecord> readAll(JVMEventStore store) throws IOException {
+        try (Stream<JVMEventRecord> records = store.stream()) {
+            return records.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void eventsAreReplayedInOrderWithTheirChannels() throws IOException {
+        // More than one reset interval, so back references are dropped along the way
+        int youngCollections = JVMEventStore.RESET_INTERVAL + 10;
+        JVMEventStore store = new JVMEventStore(record(youngCollections));
+
+        List<JVMEventRecord> records = readAll(store);
+
+        assertEquals(youngCollections + 2, records.size());
+        assertEquals(ChannelName.JVM_EVENT_PARSER_OUTBOX, records.get(0).getChannel());
+        assertEquals("G1CollectForAllocation", ((Safepoint) records.get(0).getEvent()).getVmOperation());
+        for (int i = 0; i < youngCollections; i++) {
+            JVMEventRecord record = records.get(i + 1);
+            assertEquals(ChannelName.G1GC_PARSER_OUTBOX, record.getChannel());
+            G1Young young = (G1Young) record.getEvent();
+            assertEquals(1.0d + i, young.getDateTimeStamp().getTimeStamp(), 1e-9d);
+            assertEquals(GCCause.G1_EVACUATION_PAUSE, young.getGCCause());
+            assertEquals(0.005d, young.getDuration(), 1e-9d);
+            assertEquals(256L, young.getHeap().getOccupancyAfterCollection());
+            assertEquals(6, young.getOldRegionSummary().getAfter());
+            assertFalse(young.hasDeferredDetails());
+        }
+        assertTrue(records.get(youngCollections + 1).getEvent() instanceof JVMTermination);
+    }
+
+    @Test
+    void headerDescribesTheLog() throws IOException {
+        JVMEventStore store = new JVMEventStore(record(1));
+
+        assertTrue(store.diary().isG1GC());
+        assertTrue(store.diary().isUnifiedLogging());
+        assertEquals(0.01d, store.diary().getTimeOfFirstEvent().getTimeStamp(), 1e-9d);
+        assertEquals(EnumSet.of(EventSource.G1GC, EventSource.SAFEPOINT), store.getEventSources());
+        assertTrue(store.getJavaVirtualMachine().isG1GC());
+        assertTrue(store.getJavaVirtualMachine().isUnifiedLogging());
+    }
+
+    @Test
+    void truncatedFileIsReadUpToTheLastCompleteRecord() throws IOException {
+        Path file = record(JVMEventStore.RESET_INTERVAL);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = directory.resolve("truncated.gcevents");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 64));
+
+        List<JVMEventRecord> records = readAll(new JVMEventStore(truncated));
+
+        assertTrue(records.size() > 1);
+        assertTrue(records.size() < JVMEventStore.RESET_INTERVAL + 2);
+    }
+
+    @Test
+    void analysingATruncatedFileCompletes() throws IOException {
+        Path file = record(JVMEventStore.RESET_INTERVAL);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = directory.resolve("truncated.gcevents");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 64));
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadJVMEventChannel(new ThreadedJVMEventChannel());
+        gcToolKit.loadAggregation(new PauseCount());
+
+        JavaVirtualMachine jvm = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> gcToolKit.analyze(new JVMEventStore(truncated)));
+
+        PauseCount pauseCount = jvm.getAggregation(PauseCount.class).orElseThrow();
+        assertTrue(pauseCount.pauses > 0);
+        // The JVM terminates at the last collection that was replayed
+        assertEquals(pauseCount.pauses, pauseCount.timeOfTerminationEvent().getTimeStamp(), 1e-9d);
+    }
+
+    @Test
+    void eventsThatCannotBeWrittenAreSkipped() throws IOException {
+        Path file = directory.resolve("skipped.gcevents");
+        try (JVMEventStoreWriter writer = new JVMEventStoreWriter(file, diary(), EnumSet.of(EventSource.G1GC))) {
+            writer.append(ChannelName.G1GC_PARSER_OUTBOX, young(1.0d));
+            writer.append(ChannelName.G1GC_PARSER_OUTBOX, new NotSerializable(new DateTimeStamp(1.5d)));
+            writer.append(ChannelName.G1GC_PARSER_OUTBOX, young(2.0d));
+            writer.append(ChannelName.G1GC_PARSER_OUTBOX, new JVMTermination(new DateTimeStamp(3.0d), new DateTimeStamp(0.01d)));
+            assertEquals(3, writer.getRecordsWritten());
+            assertEquals(1, writer.getRecordsSkipped());
+        }
+
+        List<JVMEventRecord> records = readAll(new JVMEventStore(file));
+
+        assertEquals(3, records.size());
+        assertEquals(1.0d, records.get(0).getEvent().getDateTimeStamp().getTimeStamp(), 1e-9d);
+        // The young collection after the skipped event refers back to what the first one wrote
+        G1Young second = (G1Young) records.get(1).getEvent();
+        assertEquals(2.0d, second.getDateTimeStamp().getTimeStamp(), 1e-9d);
+        assertEquals(GCCause.G1_EVACUATION_PAUSE, second.getGCCause());
+        assertEquals(6, second.getOldRegionSummary().getAfter());
+        assertTrue(records.get(2).getEvent() instanceof JVMTermination);
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = directory.resolve("gc.log");
+        Files.writeString(file, "[0.010s][info][gc] Using G1\n");
+
+        assertThrows(IOException.class, () -> new JVMEventStore(file).diary());
+        assertThrows(IOException.class, () -> new JVMEventStore(file).stream());
+    }
+
+    @Test
+    void latePausesAndPhaseDetailsAreKept() throws IOException {
+        Path file = directory.resolve("late.gcevents");
+        G1Young young = young(1.0d);
+        young.late();
+        young.addPhaseDuration("Evacuate Collection Set", 0.004d);
+        young.addParallelPhaseSummary("Object Copy", new StatisticalSummary(0.1d, 0.2d, 0.3d, 0.2d, 1.6d));
+        SurvivorRecord survivors = new SurvivorRecord(new DateTimeStamp(1.0d), 4096L, 7, 15);
+        survivors.add(1, 512L);
+        young.add(survivors);
+        try (JVMEventStoreWriter writer = new JVMEventStoreWriter(file, diary(), EnumSet.of(EventSource.G1GC))) {
+            writer.append(ChannelName.G1GC_PARSER_OUTBOX, young);
+            writer.append(ChannelName.G1GC_PARSER_OUTBOX, young(2.0d));
+        }
+
+        List<JVMEventRecord> records = readAll(new JVMEventStore(file));
+
+        G1Young replayed = (G1Young) records.get(0).getEvent();
+        assertTrue(replayed.isLate());
+        assertFalse(((G1Young) records.get(1).getEvent()).isLate());
+        assertEquals(0.004d, replayed.phaseDurationFor("Evacuate Collection Set"), 1e-9d);
+        assertEquals(0.3d, replayed.parallelPhaseSummaryFor("Object Copy").getMax(), 1e-9d);
+        assertEquals(512L, replayed.getSurvivorRecord().getBytesAtAge(1));
+        assertEquals("2024-01-01T00:00:01Z", replayed.getDateTimeStamp().getDateTime().toInstant().toString());
+    }
+
+    @Test
+    void otherFormatVersionsAreRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(record(1));
+        ByteBuffer.wrap(bytes, JVMEventStore.MAGIC.length, Integer.BYTES).putInt(JVMEventStore.FORMAT_VERSION - 1);
+        Path file = directory.resolve("old.gcevents");
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> new JVMEventStore(file).diary());
+        assertTrue(e.getMessage().contains("format version " + (JVMEventStore.FORMAT_VERSION - 1)), e.getMessage());
+    }
+
+    @Test
+    void eventsThatNoLongerMatchTheirClassAreRejected() throws IOException {
+        // An event file from a version of GCToolKit in which G1Young had another serial version UID
+        Path recorded = record(1);
+        byte[] stream = inflate(recorded);
+        byte[] name = G1Young.class.getName().getBytes(StandardCharsets.UTF_8);
+        int at = indexOf(stream, name) + name.length;
+        ByteBuffer.wrap(stream, at, Long.BYTES).putLong(42L);
+        Path file = directory.resolve("stale.gcevents");
+        deflate(recorded, stream, file);
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> readAll(new JVMEventStore(file)));
+        assertTrue(e.getCause().getMessage().contains("format version " + JVMEventStore.FORMAT_VERSION), e.getCause().getMessage());
+        assertTrue(e.getCause().getCause() instanceof InvalidClassException);
+    }
+
+    @Test
+    void classesOutsideTheEventModelAreRejected() throws IOException {
+        Path file = directory.resolve("foreign.gcevents");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            DataOutputStream header = new DataOutputStream(out);
+            header.write(JVMEventStore.MAGIC);
+            header.writeInt(JVMEventStore.FORMAT_VERSION);
+            header.flush();
+            ObjectOutputStream objects = new ObjectOutputStream(new DeflaterOutputStream(out));
+            objects.writeObject(Arrays.stream(ChannelName.values()).map(Enum::name).toArray(String[]::new));
+            objects.writeObject(new String[]{EventSource.G1GC.name()});
+            objects.writeObject(diary());
+            objects.writeByte(ChannelName.G1GC_PARSER_OUTBOX.ordinal());
+            objects.writeObject(new java.util.Date());
+            objects.close();
+        }
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> readAll(new JVMEventStore(file)));
+        assertTrue(e.getCause().getCause() instanceof InvalidClassException);
+    }
+
+    private byte[] inflate(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int headerLength = JVMEventStore.MAGIC.length + Integer.BYTES;
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes, headerLength, bytes.length - headerLength))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private void deflate(Path header, byte[] stream, Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(header);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(bytes, 0, JVMEventStore.MAGIC.length + Integer.BYTES);
+            try (OutputStream deflated = new DeflaterOutputStream(out)) {
+                deflated.write(stream);
+            }
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length))
+                return i;
+        }
+        throw new AssertionError("not found");
+    }
+}
@@ -0,0 +1,202 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampledGCLogFileTest {
+
+    private static final int CYCLES = 2000;
+    private static final int BLOCK_SIZE = 4096;
+    private static final Pattern GC_ID = Pattern.compile("GC\\((\\d+)\\)");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * A unified log of young collections of varying length, with a concurrent cycle now and then whose lines
+     * interleave with those of the collections that follow it.
+     */
+    private Path unifiedLog() throws IOException {
+        Random random = new Random(42L);
+        List<String> lines = new ArrayList<>();
+        lines.add("[0.010s][info][gc] Using G1");
+        lines.add("[0.010s][info][gc,init] Heap Region Size: 1M");
+        double uptime = 1.0d;
+        int concurrent = -1;
+        for (int id = 0; id < CYCLES; id++) {
+            uptime += random.nextDouble();
+            String time = String.format(Locale.ROOT, "[%.3fs][info]", uptime);
+            lines.add(time + "[gc,start] GC(" + id + ") Pause Young (Normal) (G1 Evacuation Pause)");
+            for (int phase = random.nextInt(8); phase >= 0; phase--)
+                lines.add(time + "[gc,phases] GC(" + id + ")   Phase " + phase + ": 1.0ms");
+            lines.add(time + "[gc] GC(" + id + ") Pause Young (Normal) (G1 Evacuation Pause) 100M->20M(1024M) 2.000ms");
+            if (concurrent >= 0) {
+                lines.add(time + "[gc] GC(" + concurrent + ") Concurrent Mark Cycle 12.000ms");
+                concurrent = -1;
+            } else if (id % 10 == 0) {
+                concurrent = ++id;
+                lines.add(time + "[gc] GC(" + concurrent + ") Concurrent Mark Cycle");
+            }
+            lines.add(time + "[safepoint] Safepoint \"G1CollectForAllocation\", Time since last: 1000 ns");
+        }
+        Path log = directory.resolve("unified.log");
+        Files.write(log, lines);
+        return log;
+    }
+
+    private Path preUnifiedLog() throws IOException {
+        Random random = new Random(42L);
+        List<String> lines = new ArrayList<>();
+        lines.add("OpenJDK 64-Bit Server VM (25.382-b05) for linux-amd64 JRE (1.8.0_382-b05)");
+        lines.add("CommandLine flags: -XX:+PrintGCDetails -XX:+UseConcMarkSweepGC");
+        double uptime = 1.0d;
+        for (int i = 0; i < CYCLES; i++) {
+            uptime += random.nextDouble();
+            String time = String.format(Locale.ROOT, "%.3f: ", uptime);
+            lines.add(time + "[GC (Allocation Failure) " + time + "[ParNew");
+            lines.add("Desired survivor size 16121856 bytes, new threshold 15 (max 15)");
+            for (int age = 1; age <= 1 + random.nextInt(6); age++)
+                lines.add("- age   " + age + ":    1048576 bytes,    1048576 total");
+            lines.add(": 276021K->14564K(314572K), 0.0174249 secs] 276021K->20084K(1013623K), 0.0177805 secs] [Times: user=0.10 sys=0.01, real=0.02 secs]");
+            if (random.nextBoolean())
+                lines.add(time + "[CMS-concurrent-mark: 0.010/0.010 secs] [Times: user=0.01 sys=0.00, real=0.01 secs]");
+            lines.add(time + "Total time for which application threads were stopped: 0.0180000 seconds, Stopping threads took: 0.0000100 seconds");
+        }
+        Path log = directory.resolve("preunified.log");
+        Files.write(log, lines);
+        return log;
+    }
+
+    private static List<String> read(GCLogFile log) throws IOException {
+        try (Stream<String> lines = log.stream()) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void readingEveryBlockReadsTheWholeLog() throws IOException {
+        Path path = unifiedLog();
+        SampledGCLogFile log = new SampledGCLogFile(path, 1.0d, BLOCK_SIZE, 1L);
+        List<String> lines = read(log);
+
+        assertEquals(read(new SingleGCLogFile(path)), lines);
+        Sampling sampling = log.getSampling();
+        assertTrue(sampling.isComplete());
+        assertEquals(Files.size(path), sampling.getBytesRead());
+        long cycles = Files.readAllLines(path).stream().map(GC_ID::matcher).filter(Matcher::find).map(id -> id.group(1)).distinct().count();
+        assertEquals(cycles, sampling.getCyclesRead());
+        assertEquals(cycles, sampling.estimateCycles().getValue());
+        assertEquals(cycles, sampling.estimateCycles().getLower());
+        assertEquals(cycles, sampling.estimateCycles().getUpper());
+    }
+
+    @Test
+    void blocksAreResynchronizedToWholeCycles() throws IOException {
+        Path path = unifiedLog();
+        SampledGCLogFile log = new SampledGCLogFile(path, 0.2d, BLOCK_SIZE, 1L);
+        List<String> lines = read(log);
+        assertEquals(GCLogFile.END_OF_DATA_SENTINEL, lines.get(lines.size() - 1));
+        assertEquals("[0.010s][info][gc] Using G1", lines.get(0));
+
+        // every cycle read is read whole, and only once
+        Map<String, List<String>> expected = Files.readAllLines(path).stream()
+                .filter(line -> GC_ID.matcher(line).find())
+                .collect(Collectors.groupingBy(SampledGCLogFileTest::gcId, LinkedHashMap::new, Collectors.toList()));
+        Map<String, List<String>> cycles = lines.stream()
+                .filter(line -> GC_ID.matcher(line).find())
+                .collect(Collectors.groupingBy(SampledGCLogFileTest::gcId, LinkedHashMap::new, Collectors.toList()));
+        cycles.forEach((id, cycle) -> {
+            if (!cycle.get(0).contains("Concurrent Mark Cycle"))
+                assertEquals(expected.get(id), cycle, "GC(" + id + ")");
+        });
+        long pauses = lines.stream().filter(line -> line.contains("[gc,start]")).count();
+        assertEquals(pauses, lines.stream().filter(line -> line.contains("[gc,start]")).distinct().count());
+
+        Sampling sampling = log.getSampling();
+        assertFalse(sampling.isComplete());
+        assertTrue(sampling.getFraction() > 0.15d && sampling.getFraction() < 0.3d, sampling.toString());
+        // a concurrent cycle that started before the block was read is not counted again
+        assertEquals(cycles.values().stream().filter(cycle -> !cycle.get(0).endsWith("Concurrent Mark Cycle 12.000ms")).count(), sampling.getCyclesRead());
+        assertTrue(sampling.estimateCycles().contains(expected.size()), sampling.toString());
+        long allPauses = Files.readAllLines(path).stream().filter(line -> line.contains("[gc,start]")).count();
+        assertTrue(sampling.scale(pauses).contains(allPauses), sampling.scale(pauses) + " " + allPauses);
+    }
+
+    @Test
+    void preUnifiedRecordsAreReadWhole() throws IOException {
+        Path path = preUnifiedLog();
+        SampledGCLogFile log = new SampledGCLogFile(path, 0.2d, BLOCK_SIZE, 3L);
+        List<String> lines = read(log);
+        assertEquals("CommandLine flags: -XX:+PrintGCDetails -XX:+UseConcMarkSweepGC", lines.get(1));
+        List<String> all = Files.readAllLines(path);
+        List<String> collections = lines.stream().filter(line -> line.contains("[GC")).collect(Collectors.toList());
+        for (String collection : collections) {
+            // a collection is followed by the rest of its record, up to the next line with an uptime
+            int at = all.indexOf(collection);
+            int next = lines.indexOf(collection);
+            do {
+                assertEquals(all.get(++at), lines.get(++next));
+            } while (!Character.isDigit(all.get(at + 1).charAt(0)));
+        }
+
+        Sampling sampling = log.getSampling();
+        assertEquals(collections.size(), sampling.getCyclesRead());
+        assertTrue(sampling.estimateCycles().contains(CYCLES), sampling.toString());
+    }
+
+    @Test
+    void theSameSeedReadsTheSameBlocks() throws IOException {
+        Path path = unifiedLog();
+        assertEquals(read(new SampledGCLogFile(path, 0.1d, BLOCK_SIZE, 7L)), read(new SampledGCLogFile(path, 0.1d, BLOCK_SIZE, 7L)));
+    }
+
+    @Test
+    void theFractionMustBeAPart() {
+        Path path = directory.resolve("gc.log");
+        assertThrows(IllegalArgumentException.class, () -> new SampledGCLogFile(path, 0.0d));
+        assertThrows(IllegalArgumentException.class, () -> new SampledGCLogFile(path, 1.5d));
+        assertThrows(IllegalArgumentException.class, () -> new SampledGCLogFile(path, 0.5d, 0, 0L));
+    }
+
+    @Test
+    void studentsT() {
+        assertEquals(2.228d, Sampling.t(10), 0.002d);
+        assertEquals(2.042d, Sampling.t(30), 0.001d);
+        assertEquals(3.182d, Sampling.t(3), 0.03d);
+    }
+
+    @Test
+    void proportionsHaveAWilsonInterval() {
+        Sampling.Estimate proportion = new Sampling("gc.log", 0L, BLOCK_SIZE, 1L, new long[]{0L}, new long[]{0L}, 0L).proportion(10L, 100L);
+        assertEquals(0.1d, proportion.getValue());
+        assertEquals(0.0552d, proportion.getLower(), 0.0001d);
+        assertEquals(0.1744d, proportion.getUpper(), 0.0001d);
+    }
+
+    private static String gcId(String line) {
+        Matcher matcher = GC_ID.matcher(line);
+        matcher.find();
+        return matcher.group(1);
+    }
+}
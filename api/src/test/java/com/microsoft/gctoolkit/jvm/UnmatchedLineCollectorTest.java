@@ -0,0 +1,71 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jvm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnmatchedLineCollectorTest {
+
+    @Test
+    void theShapeKeepsTheTagsAndDropsTheNumbers() {
+        assertEquals("[info][gc,foo] GC(#) Something new #.#ms",
+                UnmatchedLineCollector.shape("[2024-01-01T00:00:01.234+0000][1.234s][4242][info][gc,foo] GC(17) Something new 3.25ms"));
+        assertEquals("#-#-#T#:#:#.#+#: #.#: [Card table 0x# at 0x#]",
+                UnmatchedLineCollector.shape("2024-01-01T00:00:01.234+0000: 1.234: [Card table 0x00000007c0000000 at 0x7f3a9bc01e40]"));
+        assertEquals(160, UnmatchedLineCollector.shape("x".repeat(500)).length());
+    }
+
+    @Test
+    void linesAreCountedByShape() {
+        UnmatchedLineCollector collector = new UnmatchedLineCollector("TestParser");
+        for (int i = 0; i < 1000; i++)
+            collector.collect("[" + i + ".000s][info][gc,foo] GC(" + i + ") new " + i + "ms");
+        for (int i = 0; i < 10; i++)
+            collector.collect("[" + i + ".000s][debug][gc,bar] Other " + i);
+        UnmatchedLines lines = collector.snapshot();
+        assertEquals("TestParser", lines.getParser());
+        assertEquals(1010L, lines.getTotal());
+        assertEquals(2, lines.getShapes().size());
+        UnmatchedLines.Shape first = lines.getShapes().get(0);
+        assertEquals("[info][gc,foo] GC(#) new #ms", first.getTemplate());
+        assertEquals(1000L, first.getCount());
+        assertEquals(UnmatchedLineCollector.DEFAULT_EXAMPLES_PER_SHAPE, first.getExamples().size());
+        assertEquals(10L, lines.getShapes().get(1).getCount());
+    }
+
+    /**
+     * With 5 examples of 100 lines, each line should be kept about 5% of the time.
+     */
+    @Test
+    void theExamplesAreAUniformSample() {
+        UnmatchedLineCollector collector = new UnmatchedLineCollector("TestParser", 2000, 5);
+        for (int shape = 0; shape < 2000; shape++) {
+            String name = Integer.toString(shape, 10).chars().mapToObj(digit -> String.valueOf((char) ('a' + digit - '0'))).reduce("", String::concat);
+            for (int i = 0; i < 100; i++)
+                collector.collect(name + " line " + i);
+        }
+        int[] kept = new int[100];
+        collector.snapshot().getShapes().stream()
+                .flatMap(shape -> shape.getExamples().stream())
+                .forEach(example -> kept[Integer.parseInt(example.substring(example.lastIndexOf(' ') + 1))]++);
+        // Each line is expected to be kept 100 times, with a standard deviation of about 10
+        for (int i = 0; i < 100; i++)
+            assertTrue(kept[i] > 50 && kept[i] < 150, i + " was kept " + kept[i] + " times");
+    }
+
+    @Test
+    void memoryIsBounded() {
+        UnmatchedLineCollector collector = new UnmatchedLineCollector("TestParser", 3, 2);
+        for (char c = 'a'; c <= 'z'; c++)
+            collector.collect(c + " line");
+        UnmatchedLines lines = collector.snapshot();
+        assertEquals(26L, lines.getTotal());
+        assertEquals(3, lines.getShapes().size());
+        assertEquals(23L, lines.getUntracked());
+        assertThrows(IllegalArgumentException.class, () -> new UnmatchedLineCollector("TestParser", 0, 1));
+    }
+}
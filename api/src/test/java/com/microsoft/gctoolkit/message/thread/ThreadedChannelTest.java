@@ -0,0 +1,186 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message.thread;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThreadedChannelTest {
+
+    private static class Listener implements JVMEventChannelListener {
+        final ChannelName channel;
+        final List<JVMEvent> events = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        Listener(ChannelName channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public ChannelName channel() {
+            return channel;
+        }
+
+        @Override
+        public void receive(JVMEvent payload) {
+            events.add(payload);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    private static class FailingParser implements DataSourceParser {
+        final List<String> lines;
+
+        FailingParser(List<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public ChannelName channel() {
+            return ChannelName.DATA_SOURCE;
+        }
+
+        @Override
+        public void receive(String payload) {
+            lines.add(payload);
+            if ("fail".equals(payload))
+                throw new IllegalStateException("cannot parse " + payload);
+        }
+
+        @Override
+        public void publishTo(JVMEventChannel channel) {}
+
+        @Override
+        public void diary(Diary diary) {}
+
+        @Override
+        public boolean accepts(Diary diary) {
+            return true;
+        }
+
+        @Override
+        public Set<EventSource> eventsProduced() {
+            return Set.of();
+        }
+    }
+
+    private static G1Young young(double timeStamp) {
+        return new G1Young(new DateTimeStamp(timeStamp), GCCause.G1_EVACUATION_PAUSE, 0.001d);
+    }
+
+    @Test
+    void eachListenerReceivesEveryEventInOrderOnItsOwnThread() {
+        ThreadedJVMEventChannel channel = new ThreadedJVMEventChannel(2);
+        Listener first = new Listener(ChannelName.G1GC_PARSER_OUTBOX);
+        Listener second = new Listener(ChannelName.G1GC_PARSER_OUTBOX);
+        Listener other = new Listener(ChannelName.ZGC_PARSER_OUTBOX);
+        channel.registerListener(first);
+        channel.registerListener(second);
+        channel.registerListener(other);
+
+        for (int i = 0; i < 100; i++)
+            channel.publish(ChannelName.G1GC_PARSER_OUTBOX, young(i));
+        channel.publish(ChannelName.G1GC_PARSER_OUTBOX, new JVMTermination(new DateTimeStamp(100.0d), new DateTimeStamp(0.0d)));
+        channel.close();
+
+        assertEquals(101, first.events.size());
+        assertEquals(101, second.events.size());
+        assertTrue(other.events.isEmpty());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, first.events.get(i).getDateTimeStamp().getTimeStamp(), 0.0d);
+        assertNotEquals(Thread.currentThread().getName(), first.threads.get(0));
+        assertTrue(first.threads.stream().allMatch(first.threads.get(0)::equals));
+        assertNotEquals(first.threads.get(0), second.threads.get(0));
+    }
+
+    @Test
+    void eventsAfterTheEndOfTheStreamAreDropped() {
+        ThreadedJVMEventChannel channel = new ThreadedJVMEventChannel(1);
+        Listener listener = new Listener(ChannelName.G1GC_PARSER_OUTBOX);
+        channel.registerListener(listener);
+        channel.publish(ChannelName.G1GC_PARSER_OUTBOX, new JVMTermination(new DateTimeStamp(1.0d), new DateTimeStamp(0.0d)));
+        for (int i = 0; i < 10; i++)
+            channel.publish(ChannelName.G1GC_PARSER_OUTBOX, young(i));
+        channel.close();
+        assertTrue(listener.events.get(0) instanceof JVMTermination);
+    }
+
+    @Test
+    void failuresAreCollected() {
+        ThreadedDataSourceChannel channel = new ThreadedDataSourceChannel();
+        List<String> lines = new CopyOnWriteArrayList<>();
+        channel.registerListener(new FailingParser(lines));
+        channel.publish(ChannelName.DATA_SOURCE, "first");
+        channel.publish(ChannelName.DATA_SOURCE, "fail");
+        channel.publish(ChannelName.DATA_SOURCE, "last");
+        channel.publish(ChannelName.DATA_SOURCE, GCLogFile.END_OF_DATA_SENTINEL);
+        channel.close();
+
+        assertEquals(List.of("first", "fail", "last", GCLogFile.END_OF_DATA_SENTINEL), lines);
+        assertEquals(1, channel.getFailures().size());
+        assertFalse(channel.getFailures().get(0).getMessage().isEmpty());
+    }
+
+    @Test
+    void publishersWaitingOnAStoppedListenerAreReleased() throws Exception {
+        ThreadedJVMEventChannel channel = new ThreadedJVMEventChannel(1);
+        AtomicBoolean released = new AtomicBoolean();
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        channel.registerListener(new Listener(ChannelName.G1GC_PARSER_OUTBOX) {
+            @Override
+            public void receive(JVMEvent payload) {
+                listenerThread.set(Thread.currentThread());
+                // Ignore interrupts, so the thread only stops once it takes from the queue again
+                while (!released.get())
+                    Thread.onSpinWait();
+            }
+        });
+        channel.publish(ChannelName.G1GC_PARSER_OUTBOX, young(0));
+        while (listenerThread.get() == null)
+            Thread.onSpinWait();
+        channel.publish(ChannelName.G1GC_PARSER_OUTBOX, young(1));
+
+        // Two publishers wait on the full queue. Stopping the listener thread makes room for only one of them.
+        List<Thread> publishers = List.of(
+                new Thread(() -> channel.publish(ChannelName.G1GC_PARSER_OUTBOX, young(2))),
+                new Thread(() -> channel.publish(ChannelName.G1GC_PARSER_OUTBOX, young(3))));
+        for (Thread publisher : publishers) {
+            publisher.setDaemon(true);
+            publisher.start();
+        }
+        for (Thread publisher : publishers)
+            while (publisher.getState() == Thread.State.RUNNABLE || publisher.getState() == Thread.State.NEW)
+                Thread.onSpinWait();
+        listenerThread.get().interrupt();
+        released.set(true);
+
+        for (Thread publisher : publishers) {
+            publisher.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(publisher.isAlive(), publisher.getName() + " is still waiting");
+        }
+        channel.close();
+    }
+}
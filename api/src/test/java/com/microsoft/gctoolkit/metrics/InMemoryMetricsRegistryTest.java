@@ -0,0 +1,103 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryMetricsRegistryTest {
+
+    @Test
+    void theSameNameIsTheSameMetric() {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        assertSame(registry.counter("lines"), registry.counter("lines"));
+        assertSame(registry.gauge("depth"), registry.gauge("depth"));
+        assertSame(registry.histogram("receive"), registry.histogram("receive"));
+    }
+
+    @Test
+    void countersAreThreadSafe() {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        IntStream.range(0, 100_000).parallel().forEach(i -> registry.counter("lines").increment());
+        assertEquals(100_000L, registry.counter("lines").count());
+    }
+
+    @Test
+    void gaugesKeepTheirLargestValue() {
+        Gauge gauge = new InMemoryMetricsRegistry().gauge("depth");
+        gauge.add(3);
+        gauge.add(4);
+        gauge.add(-6);
+        gauge.add(2);
+        assertEquals(3L, gauge.value());
+        assertEquals(7L, gauge.max());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        Histogram histogram = new LogLinearHistogram();
+        for (long value = 1; value <= 100; value++)
+            histogram.record(value);
+        assertEquals(100L, histogram.count());
+        assertEquals(50L, histogram.percentile(50.0d));
+        assertEquals(99L, histogram.percentile(99.0d));
+        assertEquals(100L, histogram.percentile(100.0d));
+        assertEquals(50.5d, histogram.mean(), 0.001d);
+    }
+
+    @Test
+    void largeValuesAreWithinTwoPercent() {
+        Random random = new Random(7);
+        long[] values = random.longs(50_000, 1_000L, 10_000_000_000L).sorted().toArray();
+        Histogram histogram = new LogLinearHistogram();
+        for (long value : values)
+            histogram.record(value);
+        for (double percentile : new double[]{10.0d, 50.0d, 90.0d, 99.0d, 99.9d}) {
+            long exact = values[(int) Math.ceil(percentile / 100.0d * values.length) - 1];
+            long estimate = histogram.percentile(percentile);
+            assertTrue(Math.abs(estimate - exact) <= exact / 50, percentile + ": " + estimate + " vs " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.max());
+    }
+
+    @Test
+    void bucketsCoverEveryLong() {
+        for (long value : new long[]{0L, 127L, 128L, 255L, 256L, 1L << 40, Long.MAX_VALUE}) {
+            int index = LogLinearHistogram.index(value);
+            assertTrue(LogLinearHistogram.highestEquivalentValue(index) >= value, Long.toString(value));
+            if (index > 0)
+                assertTrue(LogLinearHistogram.highestEquivalentValue(index - 1) < value, Long.toString(value));
+        }
+    }
+
+    @Test
+    void metricsAreWrittenAsJson() {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        registry.counter("parser.\"quoted\".lines").add(12);
+        registry.counter("datasource.lines").add(42);
+        registry.gauge("channel.G1GC_PARSER_OUTBOX.depth").add(5);
+        registry.histogram("parser.UnifiedG1GCParser.receive").record(1000);
+        String json = registry.toJson();
+        assertTrue(json.contains("\"datasource.lines\": 42"), json);
+        assertTrue(json.indexOf("datasource.lines") < json.indexOf("parser.\\\"quoted\\\".lines"), json);
+        assertTrue(json.contains("\"channel.G1GC_PARSER_OUTBOX.depth\": { \"value\": 5, \"max\": 5 }"), json);
+        assertTrue(json.contains("\"count\": 1, \"mean\": 1000.0, \"max\": 1000, \"p50\": 1000, \"p90\": 1000, \"p99\": 1000, \"p99.9\": 1000 }"), json);
+
+        registry.clear();
+        assertEquals("{\n  \"counters\": {},\n  \"gauges\": {},\n  \"histograms\": {}\n}\n", registry.toJson());
+    }
+
+    @Test
+    void theNoOpRegistryRecordsNothing() {
+        MetricsRegistry.NO_OP.counter("lines").add(10);
+        MetricsRegistry.NO_OP.histogram("receive").record(10);
+        assertEquals(0L, MetricsRegistry.NO_OP.counter("lines").count());
+        assertEquals(0L, MetricsRegistry.NO_OP.histogram("receive").count());
+    }
+}
@@ -31,4 +31,51 @@ class WelfordVarianceCalculatorTest {
         assertEquals(0.00010493893, calculator.getValue(), 0.0001d);
     }
 
-}
\ No newline at end of file
+    @Test
+    void mergeMatchesSequentialUpdates() {
+        double[] samples = {1421.23, 2897.34, 3907.45, 12.5, 7.25, 9001.0, 3.14};
+        WelfordVarianceCalculator sequential = new WelfordVarianceCalculator();
+        for (double sample : samples)
+            sequential.update(sample);
+
+        for (int split = 0; split <= samples.length; split++) {
+            WelfordVarianceCalculator left = new WelfordVarianceCalculator();
+            WelfordVarianceCalculator right = new WelfordVarianceCalculator();
+            for (int i = 0; i < samples.length; i++)
+                (i < split ? left : right).update(samples[i]);
+            left.merge(right);
+            assertEquals(samples.length, left.getNumSamples());
+            assertEquals(sequential.getMean(), left.getMean(), 0.0001d);
+            assertEquals(sequential.getValue(), left.getValue(), 0.0001d);
+            // the merged calculator keeps working as an online calculator
+            left.update(42.0d);
+            assertEquals(samples.length + 1, left.getNumSamples());
+        }
+    }
+
+    @Test
+    void mergeEmptyCalculators() {
+        WelfordVarianceCalculator calculator = new WelfordVarianceCalculator();
+        calculator.merge(new WelfordVarianceCalculator());
+        assertEquals(0, calculator.getNumSamples());
+        assertThrows(NotEnoughSampleException.class, calculator::getValue);
+    }
+
+    @Test
+    void mergeShiftedSamples() {
+        WelfordVarianceCalculator sequential = new WelfordVarianceCalculator();
+        WelfordVarianceCalculator left = new WelfordVarianceCalculator();
+        WelfordVarianceCalculator right = new WelfordVarianceCalculator();
+        double[] samples = {1.0, 4.0, 9.0, 16.0, 25.0};
+        for (int i = 0; i < samples.length; i++) {
+            sequential.update(samples[i]);
+            if (i < 2)
+                left.update(samples[i]);
+            else
+                right.update(samples[i] - 100.0d);
+        }
+        left.merge(right, 100.0d);
+        assertEquals(sequential.getMean(), left.getMean(), 0.0001d);
+        assertEquals(sequential.getValue(), left.getValue(), 0.0001d);
+    }
+}
@@ -30,7 +30,7 @@ class ReportChartGenerator {
     private static final int CHART_HEIGHT = 480;
 
     Optional<String> renderHeapOccupancyChart(HeapOccupancySummary summary) throws ReportGenerationException {
-        Map<GarbageCollectionTypes, List<XYPoint>> seriesByType = summary.getSeriesByType();
+        Map<GarbageCollectionTypes, List<XYPoint>> seriesByType = summary.getSeriesByType(CHART_WIDTH);
         if (seriesByType == null || seriesByType.isEmpty()) {
             return Optional.empty();
         }
@@ -50,8 +50,8 @@ class ReportChartGenerator {
         chart.getStyler().setMarkerSize(4);
 
         for (Map.Entry<GarbageCollectionTypes, List<XYPoint>> entry : seriesByType.entrySet()) {
-            List<Double> xValues = new ArrayList<>();
-            List<Double> yValues = new ArrayList<>();
+            List<Double> xValues = new ArrayList<>(entry.getValue().size());
+            List<Double> yValues = new ArrayList<>(entry.getValue().size());
             for (XYPoint point : entry.getValue()) {
                 xValues.add(point.getX());
                 yValues.add(point.getY());
@@ -13,6 +13,9 @@ import com.microsoft.gctoolkit.io.RotatingGCLogFile;
 import com.microsoft.gctoolkit.io.SingleGCLogFile;
 import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.yourorg.gcdesk.cache.AnalysisResultCache;
+import com.yourorg.gcdesk.cache.CacheStatistics;
+import com.yourorg.gcdesk.cache.LogFingerprint;
 import com.yourorg.gcdesk.model.AnalysisResult;
 import com.yourorg.gcdesk.model.CollectionCycleSummary;
 import com.yourorg.gcdesk.model.GCCauseSummary;
@@ -26,14 +29,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 
@@ -44,14 +47,14 @@ public class AnalysisService {
 
     private static final Logger LOGGER = Logging.getLogger(AnalysisService.class);
 
-    private final Map<UUID, AnalysisResult> analysisCache = new ConcurrentHashMap<>();
-    private final Map<Path, UUID> pathIndex = new ConcurrentHashMap<>();
+    private final AnalysisResultCache analysisCache;
     private final PluginManager pluginManager;
     private final PluginRegistry pluginRegistry;
 
     /**
-     * Analyse the supplied GC log and return the aggregated results. If the log has been processed
-     * previously, the cached result will be returned to avoid reprocessing the log.
+     * Analyse the supplied GC log and return the aggregated results. If a log with the same content has been
+     * processed previously, the cached result will be returned to avoid reprocessing the log. A log that has
+     * grown or been rewritten since it was analysed is analysed again.
      *
      * @param logFilePath path to the GC log file or directory
      * @return aggregated analysis result
@@ -61,13 +64,11 @@ public class AnalysisService {
         Objects.requireNonNull(logFilePath, "logFilePath");
         Path normalized = logFilePath.toAbsolutePath().normalize();
 
-        UUID cachedId = pathIndex.get(normalized);
-        if (cachedId != null) {
-            AnalysisResult cachedResult = analysisCache.get(cachedId);
-            if (cachedResult != null) {
-                LOGGER.debug("Returning cached analysis for {}", normalized);
-                return cachedResult;
-            }
+        LogFingerprint fingerprint = LogFingerprint.of(normalized);
+        Optional<AnalysisResult> cachedResult = analysisCache.get(fingerprint);
+        if (cachedResult.isPresent()) {
+            LOGGER.debug("Returning cached analysis for {}", normalized);
+            return cachedResult.get().withSource(normalized);
         }
 
         GCLogFile logFile = createLogFile(normalized);
@@ -83,8 +84,7 @@ public class AnalysisService {
 
             UUID analysisId = UUID.randomUUID();
             AnalysisResult result = buildAnalysisResult(analysisId, normalized, machine);
-            analysisCache.put(analysisId, result);
-            pathIndex.put(normalized, analysisId);
+            analysisCache.put(fingerprint, result);
             LOGGER.info("GC analysis complete for {}", normalized);
             return result;
         } catch (IOException ex) {
@@ -112,7 +112,14 @@ public class AnalysisService {
      * @return optional containing the cached result if present
      */
     public Optional<AnalysisResult> get(UUID analysisId) {
-        return Optional.ofNullable(analysisCache.get(analysisId));
+        return analysisCache.find(analysisId);
+    }
+
+    /**
+     * @return hits, misses and evictions of the analysis result cache
+     */
+    public CacheStatistics getCacheStatistics() {
+        return analysisCache.getStatistics();
     }
 
     private GCLogFile createLogFile(Path path) {
@@ -126,14 +133,22 @@ public class AnalysisService {
      * Construct an analysis service using the default plug-in directory.
      */
     public AnalysisService() {
-        this(new PluginManager());
+        this(new PluginManager(), new AnalysisResultCache());
     }
 
     /**
      * Visible for testing.
      */
     AnalysisService(PluginManager pluginManager) {
+        this(pluginManager, new AnalysisResultCache(AnalysisResultCache.DEFAULT_MEMORY_BYTES, null, 0L));
+    }
+
+    /**
+     * Visible for testing.
+     */
+    AnalysisService(PluginManager pluginManager, AnalysisResultCache analysisCache) {
         this.pluginManager = Objects.requireNonNull(pluginManager, "pluginManager");
+        this.analysisCache = Objects.requireNonNull(analysisCache, "analysisCache");
         this.pluginRegistry = pluginManager.getRegistry();
     }
 
@@ -176,10 +191,9 @@ public class AnalysisService {
         Map<GarbageCollectionTypes, List<XYPoint>> series = new EnumMap<>(GarbageCollectionTypes.class);
         for (Map.Entry<GarbageCollectionTypes, XYDataSet> entry : source.entrySet()) {
             XYDataSet dataSet = entry.getValue();
-            List<XYPoint> points = dataSet.getItems().stream()
-                    .map(point -> new XYPoint(point.getX(), point.getY()))
-                    .collect(Collectors.toUnmodifiableList());
-            series.put(entry.getKey(), points);
+            List<XYPoint> points = new ArrayList<>(dataSet.size());
+            dataSet.forEach((x, y) -> points.add(new XYPoint(x, y)));
+            series.put(entry.getKey(), Collections.unmodifiableList(points));
         }
         return new HeapOccupancySummary(series);
     }
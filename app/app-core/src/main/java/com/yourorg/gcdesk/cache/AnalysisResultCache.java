@@ -0,0 +1,296 @@
+package com.yourorg.gcdesk.cache;
+
+import com.example.app.core.logging.Logging;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yourorg.gcdesk.model.AnalysisResult;
+import com.yourorg.gcdesk.preferences.PreferencesService;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Two tier cache of analysis results keyed by the {@link LogFingerprint} of the analysed log.
+ * <p>
+ * The memory tier holds the most recently used results up to an estimated number of bytes, most of which is
+ * taken by the heap occupancy series. The disk tier keeps every result as a compressed JSON file in a cache
+ * directory, deleting the least recently used files once the directory grows past its own bound, so results
+ * survive a restart of the application. Either tier can be disabled by giving it a bound of zero.
+ * <p>
+ * Failures to read or write the disk tier are logged and otherwise ignored: the worst outcome is that a log
+ * is analysed again.
+ */
+public class AnalysisResultCache {
+
+    private static final Logger LOGGER = Logging.getLogger(AnalysisResultCache.class);
+
+    public static final long DEFAULT_MEMORY_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_DISK_BYTES = 256L * 1024 * 1024;
+
+    private static final String SUFFIX = ".json.gz";
+    private static final long ENTRY_OVERHEAD_BYTES = 256L;
+    private static final long BYTES_PER_POINT = 48L;
+
+    private final long maxMemoryBytes;
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final ObjectMapper objectMapper;
+
+    private final LinkedHashMap<LogFingerprint, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+    private long memoryEvictions;
+    private long diskEvictions;
+
+    /**
+     * Cache with the default bounds, storing results under the application configuration directory.
+     */
+    public AnalysisResultCache() {
+        this(DEFAULT_MEMORY_BYTES, defaultDirectory(), DEFAULT_DISK_BYTES);
+    }
+
+    /**
+     * @param maxMemoryBytes estimated size of the results kept in memory, 0 to keep none
+     * @param directory      where results are stored on disk, or {@code null} to keep nothing on disk
+     * @param maxDiskBytes   size of the files kept in {@code directory}, 0 to keep none
+     */
+    public AnalysisResultCache(long maxMemoryBytes, Path directory, long maxDiskBytes) {
+        if (maxMemoryBytes < 0 || maxDiskBytes < 0) {
+            throw new IllegalArgumentException("cache bounds must not be negative");
+        }
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.directory = maxDiskBytes > 0 ? directory : null;
+        this.maxDiskBytes = maxDiskBytes;
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public static Path defaultDirectory() {
+        return PreferencesService.defaultConfigDirectory().resolve("analysis-cache");
+    }
+
+    /**
+     * Look up the result of analysing a log with the given fingerprint. A result found on disk is brought
+     * back into memory.
+     *
+     * @param fingerprint fingerprint of the log
+     * @return the cached result, if there is one
+     */
+    public Optional<AnalysisResult> get(LogFingerprint fingerprint) {
+        Objects.requireNonNull(fingerprint, "fingerprint");
+        synchronized (this) {
+            Entry entry = memory.get(fingerprint);
+            if (entry != null) {
+                memoryHits++;
+                return Optional.of(entry.result());
+            }
+        }
+        Optional<AnalysisResult> fromDisk = read(fingerprint);
+        synchronized (this) {
+            if (fromDisk.isPresent()) {
+                diskHits++;
+                remember(fingerprint, fromDisk.get());
+            } else {
+                misses++;
+            }
+        }
+        return fromDisk;
+    }
+
+    /**
+     * Find a result in memory by its identifier. Results that only exist on disk are not searched, since
+     * identifiers are only handed out for results that were in memory when they were returned.
+     *
+     * @param id identifier of the result
+     * @return the result, if it is still held in memory
+     */
+    public synchronized Optional<AnalysisResult> find(UUID id) {
+        for (Entry entry : memory.values()) {
+            if (entry.result().getId().equals(id)) {
+                return Optional.of(entry.result());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Store the result of analysing a log in both tiers.
+     *
+     * @param fingerprint fingerprint of the analysed log
+     * @param result      the result of the analysis
+     */
+    public void put(LogFingerprint fingerprint, AnalysisResult result) {
+        Objects.requireNonNull(fingerprint, "fingerprint");
+        Objects.requireNonNull(result, "result");
+        synchronized (this) {
+            remember(fingerprint, result);
+        }
+        write(fingerprint, result);
+    }
+
+    /**
+     * @return the counters of this cache as they are now
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(memoryHits, diskHits, misses, memoryEvictions, diskEvictions,
+                memory.size(), memoryBytes);
+    }
+
+    private void remember(LogFingerprint fingerprint, AnalysisResult result) {
+        long size = estimateSize(result);
+        if (size > maxMemoryBytes) {
+            return;
+        }
+        Entry previous = memory.put(fingerprint, new Entry(result, size));
+        if (previous != null) {
+            memoryBytes -= previous.size();
+        }
+        memoryBytes += size;
+        Iterator<Map.Entry<LogFingerprint, Entry>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            Map.Entry<LogFingerprint, Entry> evicted = eldest.next();
+            eldest.remove();
+            memoryBytes -= evicted.getValue().size();
+            memoryEvictions++;
+            LOGGER.debug("Evicted cached analysis {} from memory", evicted.getKey());
+        }
+    }
+
+    static long estimateSize(AnalysisResult result) {
+        long points = 0;
+        for (List<?> series : result.getHeapOccupancySummary().getSeriesByType().values()) {
+            points += series.size();
+        }
+        return ENTRY_OVERHEAD_BYTES + points * BYTES_PER_POINT;
+    }
+
+    private Optional<AnalysisResult> read(LogFingerprint fingerprint) {
+        if (directory == null) {
+            return Optional.empty();
+        }
+        Path file = fileFor(fingerprint);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            CachedAnalysis cached = objectMapper.readValue(in, CachedAnalysis.class);
+            if (cached.version() != CachedAnalysis.FORMAT_VERSION || !fingerprint.getValue().equals(cached.fingerprint())) {
+                LOGGER.debug("Ignoring stale cached analysis {}", file);
+                return Optional.empty();
+            }
+            touch(file);
+            return Optional.of(cached.toResult());
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Unable to read cached analysis {}", file, ex);
+            return Optional.empty();
+        }
+    }
+
+    private void write(LogFingerprint fingerprint, AnalysisResult result) {
+        if (directory == null) {
+            return;
+        }
+        Path file = fileFor(fingerprint);
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, fingerprint.getValue(), ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+                objectMapper.writeValue(out, CachedAnalysis.from(fingerprint, result));
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temporary = null;
+            trimDisk(file);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Unable to write cached analysis {}", file, ex);
+        } finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // a stray temporary file is harmless
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete the least recently used files until the directory is within its bound. The file just written is kept.
+     */
+    private synchronized void trimDisk(Path keep) throws IOException {
+        List<CacheFile> files = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                files.add(new CacheFile(path, attributes.size(), attributes.lastModifiedTime()));
+                total += attributes.size();
+            }
+        }
+        if (total <= maxDiskBytes) {
+            return;
+        }
+        files.sort(Comparator.comparing(CacheFile::lastUsed));
+        for (CacheFile file : files) {
+            if (total <= maxDiskBytes) {
+                break;
+            }
+            if (file.path().equals(keep)) {
+                continue;
+            }
+            if (Files.deleteIfExists(file.path())) {
+                total -= file.size();
+                diskEvictions++;
+                LOGGER.debug("Evicted cached analysis {} from disk", file.path());
+            }
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ex) {
+            LOGGER.debug("Unable to update last use of {}", file, ex);
+        }
+    }
+
+    private Path fileFor(LogFingerprint fingerprint) {
+        return directory.resolve(fingerprint.getValue() + SUFFIX);
+    }
+
+    private record Entry(AnalysisResult result, long size) {
+    }
+
+    private record CacheFile(Path path, long size, FileTime lastUsed) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourorg.gcdesk.cache;
+
+/**
+ * Counters describing how well the {@link AnalysisResultCache} is doing since it was created.
+ *
+ * @param memoryHits      lookups answered from memory
+ * @param diskHits        lookups answered from disk
+ * @param misses          lookups that required an analysis
+ * @param memoryEvictions results dropped from memory to stay within its bound
+ * @param diskEvictions   results deleted from disk to stay within its bound
+ * @param memoryEntries   results currently held in memory
+ * @param memoryBytes     estimated size of the results held in memory
+ */
+public record CacheStatistics(long memoryHits, long diskHits, long misses, long memoryEvictions,
+                              long diskEvictions, int memoryEntries, long memoryBytes) {
+
+    /**
+     * @return fraction of lookups that did not require an analysis
+     */
+    public double hitRate() {
+        long lookups = memoryHits + diskHits + misses;
+        return lookups == 0 ? 0.0d : (double) (memoryHits + diskHits) / lookups;
+    }
+}
@@ -0,0 +1,114 @@
+package com.yourorg.gcdesk.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.yourorg.gcdesk.model.AnalysisResult;
+import com.yourorg.gcdesk.model.CollectionCycleSummary;
+import com.yourorg.gcdesk.model.GCCauseSummary;
+import com.yourorg.gcdesk.model.HeapOccupancySummary;
+import com.yourorg.gcdesk.model.HeapOccupancySummary.XYPoint;
+import com.yourorg.gcdesk.model.PauseStatistics;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * On-disk form of an {@link AnalysisResult}. Heap occupancy series are stored as parallel arrays, which keeps
+ * the files small for logs with many collections.
+ */
+record CachedAnalysis(
+        @JsonProperty("version") int version,
+        @JsonProperty("fingerprint") String fingerprint,
+        @JsonProperty("id") UUID id,
+        @JsonProperty("source") String source,
+        @JsonProperty("analyzedAt") Instant analyzedAt,
+        @JsonProperty("heapOccupancy") Map<GarbageCollectionTypes, Series> heapOccupancy,
+        @JsonProperty("pauses") double[] pauses,
+        @JsonProperty("cycleCounts") Map<GarbageCollectionTypes, Integer> cycleCounts,
+        @JsonProperty("causeCounts") Map<GCCause, Integer> causeCounts,
+        @JsonProperty("causeAverageDurations") Map<GCCause, Double> causeAverageDurations,
+        @JsonProperty("causesByType") Map<GarbageCollectionTypes, Map<GCCause, Integer>> causesByType) {
+
+    /**
+     * Bumped whenever the layout of this record, or the meaning of what is stored in it, changes.
+     * Files written with another version are ignored.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    @JsonCreator
+    CachedAnalysis {
+        fingerprint = Objects.requireNonNull(fingerprint, "fingerprint");
+        id = Objects.requireNonNull(id, "id");
+        source = Objects.requireNonNull(source, "source");
+        analyzedAt = Objects.requireNonNull(analyzedAt, "analyzedAt");
+        heapOccupancy = heapOccupancy == null ? Map.of() : heapOccupancy;
+        pauses = pauses == null ? new double[7] : pauses;
+        cycleCounts = cycleCounts == null ? Map.of() : cycleCounts;
+        causeCounts = causeCounts == null ? Map.of() : causeCounts;
+        causeAverageDurations = causeAverageDurations == null ? Map.of() : causeAverageDurations;
+        causesByType = causesByType == null ? Map.of() : causesByType;
+    }
+
+    /**
+     * Points of one heap occupancy series.
+     */
+    record Series(@JsonProperty("x") double[] x, @JsonProperty("y") double[] y) {
+
+        @JsonCreator
+        Series {
+            x = x == null ? new double[0] : x;
+            y = y == null ? new double[0] : y;
+            if (x.length != y.length) {
+                throw new IllegalArgumentException("x and y have different lengths: " + x.length + ", " + y.length);
+            }
+        }
+    }
+
+    static CachedAnalysis from(LogFingerprint fingerprint, AnalysisResult result) {
+        Map<GarbageCollectionTypes, Series> heap = new EnumMap<>(GarbageCollectionTypes.class);
+        result.getHeapOccupancySummary().getSeriesByType().forEach((type, points) -> {
+            double[] x = new double[points.size()];
+            double[] y = new double[points.size()];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = points.get(i).getX();
+                y[i] = points.get(i).getY();
+            }
+            heap.put(type, new Series(x, y));
+        });
+        PauseStatistics pauseStatistics = result.getPauseStatistics();
+        double[] pauses = {
+                pauseStatistics.getTotalPauseTime(), pauseStatistics.getPercentPaused(),
+                pauseStatistics.getAveragePause(), pauseStatistics.getMedianPause(),
+                pauseStatistics.getP90Pause(), pauseStatistics.getP99Pause(), pauseStatistics.getMaxPause()
+        };
+        GCCauseSummary causes = result.getGcCauseSummary();
+        return new CachedAnalysis(FORMAT_VERSION, fingerprint.getValue(), result.getId(),
+                result.getSource().toString(), result.getAnalyzedAt(), heap, pauses,
+                result.getCollectionCycleSummary().getCounts(), causes.getCauseCounts(),
+                causes.getAverageDurations(), causes.getTypeBreakdown());
+    }
+
+    AnalysisResult toResult() {
+        Map<GarbageCollectionTypes, List<XYPoint>> series = new EnumMap<>(GarbageCollectionTypes.class);
+        heapOccupancy.forEach((type, points) -> {
+            List<XYPoint> list = new ArrayList<>(points.x().length);
+            for (int i = 0; i < points.x().length; i++) {
+                list.add(new XYPoint(points.x()[i], points.y()[i]));
+            }
+            series.put(type, list);
+        });
+        double[] p = pauses.length == 7 ? pauses : new double[7];
+        return new AnalysisResult(id, Path.of(source), analyzedAt, new HeapOccupancySummary(series),
+                new PauseStatistics(p[0], p[1], p[2], p[3], p[4], p[5], p[6]),
+                new CollectionCycleSummary(cycleCounts),
+                new GCCauseSummary(causeCounts, causeAverageDurations, causesByType));
+    }
+}
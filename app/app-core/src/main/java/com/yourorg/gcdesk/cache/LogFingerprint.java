@@ -0,0 +1,143 @@
+package com.yourorg.gcdesk.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Cheap identity of the content of a GC log. The fingerprint covers the size and modification time of
+ * the log and a hash of a few blocks sampled across it, so a log that has grown or been rewritten gets a
+ * new fingerprint while reading only a fixed amount of it, however large it is. A directory of rotating
+ * logs is fingerprinted from the fingerprints of its files.
+ */
+public final class LogFingerprint {
+
+    static final int BLOCK_SIZE = 64 * 1024;
+    static final int SAMPLED_BLOCKS = 4;
+
+    private final String value;
+
+    private LogFingerprint(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Fingerprint a GC log file or a directory of rotating GC log files.
+     *
+     * @param path log file or directory
+     * @return the fingerprint of the content at {@code path}
+     * @throws IOException if the log cannot be read
+     */
+    public static LogFingerprint of(Path path) throws IOException {
+        Objects.requireNonNull(path, "path");
+        MessageDigest digest = newDigest();
+        if (Files.isDirectory(path)) {
+            List<Path> files = new ArrayList<>();
+            try (Stream<Path> entries = Files.list(path)) {
+                entries.filter(Files::isRegularFile).sorted().forEach(files::add);
+            }
+            for (Path file : files) {
+                digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                update(digest, file);
+            }
+        } else {
+            update(digest, path);
+        }
+        return new LogFingerprint(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        ByteBuffer header = ByteBuffer.allocate(2 * Long.BYTES);
+        header.putLong(size).putLong(attributes.lastModifiedTime().toMillis());
+        digest.update(header.array());
+
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (long offset : sampleOffsets(size)) {
+                block.clear();
+                while (block.hasRemaining() && channel.read(block, offset + block.position()) > 0) {
+                    // keep reading until the block is full or the end of the file
+                }
+                block.flip();
+                digest.update(block);
+            }
+        }
+    }
+
+    /**
+     * Start of the first block, the last block and evenly spaced blocks in between. Small files are read whole.
+     */
+    static long[] sampleOffsets(long size) {
+        if (size <= (long) BLOCK_SIZE * SAMPLED_BLOCKS) {
+            long[] offsets = new long[(int) ((size + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = (long) i * BLOCK_SIZE;
+            }
+            return offsets;
+        }
+        long[] offsets = new long[SAMPLED_BLOCKS];
+        long last = size - BLOCK_SIZE;
+        for (int i = 0; i < SAMPLED_BLOCKS; i++) {
+            offsets[i] = last * i / (SAMPLED_BLOCKS - 1);
+        }
+        return offsets;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * @param value a value previously returned by {@link #getValue()}
+     * @return the fingerprint with that value
+     */
+    public static LogFingerprint fromValue(String value) {
+        return new LogFingerprint(Objects.requireNonNull(value, "value"));
+    }
+
+    /**
+     * @return hexadecimal form of the fingerprint, safe to use as a file name
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LogFingerprint)) {
+            return false;
+        }
+        return value.equals(((LogFingerprint) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -57,4 +57,16 @@ public class AnalysisResult {
     public GCCauseSummary getGcCauseSummary() {
         return gcCauseSummary;
     }
+
+    /**
+     * @param source the log the result now describes, for example after the log has been moved
+     * @return this result attributed to {@code source}
+     */
+    public AnalysisResult withSource(Path source) {
+        if (this.source.equals(source)) {
+            return this;
+        }
+        return new AnalysisResult(id, source, analyzedAt, heapOccupancySummary, pauseStatistics,
+                collectionCycleSummary, gcCauseSummary);
+    }
 }
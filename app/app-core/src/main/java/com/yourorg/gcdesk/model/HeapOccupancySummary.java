@@ -7,6 +7,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 
 /**
  * Immutable representation of heap occupancy series grouped by garbage collection type.
@@ -29,10 +30,48 @@ public class HeapOccupancySummary {
         return new HeapOccupancySummary(Collections.emptyMap());
     }
 
+    /**
+     * @return every point of every series
+     */
     public Map<GarbageCollectionTypes, List<XYPoint>> getSeriesByType() {
         return seriesByType;
     }
 
+    /**
+     * Series reduced to what can be seen on a chart of the given width, using
+     * {@link SeriesDownsampler#lttb(List, int)}.
+     *
+     * @param pixelWidth the width of the chart in pixels
+     * @return the downsampled series
+     */
+    public Map<GarbageCollectionTypes, List<XYPoint>> getSeriesByType(int pixelWidth) {
+        int threshold = SeriesDownsampler.pointsForWidth(pixelWidth);
+        return mapSeries(points -> SeriesDownsampler.lttb(points, threshold));
+    }
+
+    /**
+     * Series restricted to the x range {@code [fromX, toX]}, for a chart zoomed in to that range.
+     * Points inside the range are kept at full resolution unless there are more than the chart can show.
+     *
+     * @param fromX      the start of the range
+     * @param toX        the end of the range
+     * @param pixelWidth the width of the chart in pixels
+     * @return the series within the range
+     */
+    public Map<GarbageCollectionTypes, List<XYPoint>> getSeriesByType(double fromX, double toX, int pixelWidth) {
+        int threshold = SeriesDownsampler.pointsForWidth(pixelWidth);
+        return mapSeries(points -> SeriesDownsampler.lttb(SeriesDownsampler.window(points, fromX, toX), threshold));
+    }
+
+    private Map<GarbageCollectionTypes, List<XYPoint>> mapSeries(UnaryOperator<List<XYPoint>> operator) {
+        if (seriesByType.isEmpty()) {
+            return seriesByType;
+        }
+        Map<GarbageCollectionTypes, List<XYPoint>> mapped = new EnumMap<>(GarbageCollectionTypes.class);
+        seriesByType.forEach((type, points) -> mapped.put(type, operator.apply(points)));
+        return Collections.unmodifiableMap(mapped);
+    }
+
     /**
      * Simple immutable representation of a coordinate pair from the GC log.
      */
@@ -0,0 +1,145 @@
+package com.yourorg.gcdesk.model;
+
+import com.yourorg.gcdesk.model.HeapOccupancySummary.XYPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reduces a series to a bounded number of points that still looks the same when drawn.
+ * Charts cannot show more than a couple of points per pixel, so drawing every GC of a long log
+ * only costs time. Series are expected to be ordered by x, as series from a GC log are.
+ */
+public final class SeriesDownsampler {
+
+    /**
+     * Number of points kept for each pixel of chart width.
+     */
+    public static final int POINTS_PER_PIXEL = 2;
+
+    private SeriesDownsampler() {
+    }
+
+    /**
+     * @param pixelWidth the width of the chart in pixels
+     * @return the largest number of points worth drawing on a chart of the given width
+     */
+    public static int pointsForWidth(int pixelWidth) {
+        return Math.max(3, pixelWidth * POINTS_PER_PIXEL);
+    }
+
+    /**
+     * Downsample with Largest-Triangle-Three-Buckets, which keeps the points that contribute most to
+     * the shape of a line. The first and last points are always kept.
+     *
+     * @param points    the series, ordered by x
+     * @param threshold the number of points to keep
+     * @return the series, or a downsampled copy of it if it has more than {@code threshold} points
+     */
+    public static List<XYPoint> lttb(List<XYPoint> points, int threshold) {
+        int size = points.size();
+        if (threshold >= size || threshold < 3) {
+            return points;
+        }
+
+        List<XYPoint> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int selected = 0;
+        sampled.add(points.get(0));
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // the average of the next bucket is the third point of the triangle
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0.0d;
+            double averageY = 0.0d;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += points.get(i).getX();
+                averageY += points.get(i).getY();
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            XYPoint a = points.get(selected);
+            double maxArea = -1.0d;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                XYPoint candidate = points.get(i);
+                double area = Math.abs((a.getX() - averageX) * (candidate.getY() - a.getY())
+                        - (a.getX() - candidate.getX()) * (averageY - a.getY()));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+            sampled.add(points.get(maxIndex));
+            selected = maxIndex;
+        }
+
+        sampled.add(points.get(size - 1));
+        return Collections.unmodifiableList(sampled);
+    }
+
+    /**
+     * Downsample by keeping the smallest and largest y of each bucket, in x order. Unlike
+     * {@link #lttb(List, int)} every peak and trough survives, which matters for series such as pause times.
+     *
+     * @param points  the series, ordered by x
+     * @param buckets the number of buckets; at most two points are kept per bucket
+     * @return the series, or a downsampled copy of it if it has more than {@code 2 * buckets} points
+     */
+    public static List<XYPoint> minMax(List<XYPoint> points, int buckets) {
+        int size = points.size();
+        if (buckets < 1 || size <= buckets * 2) {
+            return points;
+        }
+
+        List<XYPoint> sampled = new ArrayList<>(buckets * 2);
+        double bucketSize = (double) size / buckets;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int start = (int) Math.floor(bucket * bucketSize);
+            int end = Math.min((int) Math.floor((bucket + 1) * bucketSize), size);
+            if (start >= end) {
+                continue;
+            }
+            int min = start;
+            int max = start;
+            for (int i = start + 1; i < end; i++) {
+                double y = points.get(i).getY();
+                if (y < points.get(min).getY()) {
+                    min = i;
+                }
+                if (y > points.get(max).getY()) {
+                    max = i;
+                }
+            }
+            sampled.add(points.get(Math.min(min, max)));
+            if (min != max) {
+                sampled.add(points.get(Math.max(min, max)));
+            }
+        }
+        return Collections.unmodifiableList(sampled);
+    }
+
+    /**
+     * Select the points whose x lies in {@code [fromX, toX]}, at full resolution.
+     *
+     * @param points the series
+     * @param fromX  the smallest x to keep
+     * @param toX    the largest x to keep
+     * @return the points in the range
+     */
+    public static List<XYPoint> window(List<XYPoint> points, double fromX, double toX) {
+        List<XYPoint> selected = new ArrayList<>();
+        for (XYPoint point : points) {
+            if (point.getX() >= fromX && point.getX() <= toX) {
+                selected.add(point);
+            }
+        }
+        return Collections.unmodifiableList(selected);
+    }
+}
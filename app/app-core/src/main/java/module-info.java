@@ -23,6 +23,9 @@ module com.yourorg.gcdesk.core {
     exports com.example.app.core.logging;
     exports com.yourorg.gcdesk.preferences;
     exports com.yourorg.gcdesk.plugins;
+    exports com.yourorg.gcdesk.cache;
+
+    opens com.yourorg.gcdesk.cache to com.fasterxml.jackson.databind;
 
     provides com.microsoft.gctoolkit.aggregator.Aggregation with
             com.example.app.core.aggregations.HeapOccupancyAfterCollectionSummary,
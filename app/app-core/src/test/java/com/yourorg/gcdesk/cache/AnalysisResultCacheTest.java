@@ -0,0 +1,144 @@
+package com.yourorg.gcdesk.cache;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.yourorg.gcdesk.model.AnalysisResult;
+import com.yourorg.gcdesk.model.CollectionCycleSummary;
+import com.yourorg.gcdesk.model.GCCauseSummary;
+import com.yourorg.gcdesk.model.HeapOccupancySummary;
+import com.yourorg.gcdesk.model.HeapOccupancySummary.XYPoint;
+import com.yourorg.gcdesk.model.PauseStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static AnalysisResult result(Path source, int points) {
+        List<XYPoint> series = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            series.add(new XYPoint(i, i * 2.5d));
+        }
+        return new AnalysisResult(UUID.randomUUID(), source, Instant.parse("2024-01-01T00:00:00Z"),
+                new HeapOccupancySummary(Map.of(GarbageCollectionTypes.Young, series)),
+                new PauseStatistics(1.0d, 2.0d, 3.0d, 4.0d, 5.0d, 6.0d, 7.0d),
+                new CollectionCycleSummary(Map.of(GarbageCollectionTypes.Young, points)),
+                new GCCauseSummary(Map.of(GCCause.ALLOCATION_FAILURE, points),
+                        Map.of(GCCause.ALLOCATION_FAILURE, 0.5d),
+                        Map.of(GarbageCollectionTypes.Young, Map.of(GCCause.ALLOCATION_FAILURE, points))));
+    }
+
+    private Path log(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2024-01-01T00:00:00Z")));
+        return file;
+    }
+
+    @Test
+    void fingerprintFollowsContentNotPath() throws IOException {
+        Path first = log("first.log", "[0.010s][info][gc] GC(0) Pause Young");
+        Path copy = log("copy.log", "[0.010s][info][gc] GC(0) Pause Young");
+        Path other = log("other.log", "[0.010s][info][gc] GC(0) Pause Full!");
+
+        assertThat(LogFingerprint.of(first)).isEqualTo(LogFingerprint.of(copy));
+        assertThat(LogFingerprint.of(first)).isNotEqualTo(LogFingerprint.of(other));
+
+        Files.writeString(first, "\n[0.020s][info][gc] GC(1) Pause Young", java.nio.file.StandardOpenOption.APPEND);
+        assertThat(LogFingerprint.of(first)).isNotEqualTo(LogFingerprint.of(copy));
+    }
+
+    @Test
+    void largeFilesAreSampled() {
+        long size = 100L * LogFingerprint.BLOCK_SIZE;
+
+        long[] offsets = LogFingerprint.sampleOffsets(size);
+
+        assertThat(offsets).hasSize(LogFingerprint.SAMPLED_BLOCKS);
+        assertThat(offsets[0]).isZero();
+        assertThat(offsets[offsets.length - 1]).isEqualTo(size - LogFingerprint.BLOCK_SIZE);
+        assertThat(LogFingerprint.sampleOffsets(LogFingerprint.BLOCK_SIZE + 1)).containsExactly(0L, LogFingerprint.BLOCK_SIZE);
+    }
+
+    @Test
+    void memoryTierEvictsLeastRecentlyUsed() {
+        AnalysisResult sample = result(tempDir.resolve("a.log"), 100);
+        long size = AnalysisResultCache.estimateSize(sample);
+        AnalysisResultCache cache = new AnalysisResultCache(2 * size, null, 0L);
+        LogFingerprint a = LogFingerprint.fromValue("a");
+        LogFingerprint b = LogFingerprint.fromValue("b");
+        LogFingerprint c = LogFingerprint.fromValue("c");
+
+        cache.put(a, sample);
+        cache.put(b, result(tempDir.resolve("b.log"), 100));
+        assertThat(cache.get(a)).contains(sample);
+        cache.put(c, result(tempDir.resolve("c.log"), 100));
+
+        assertThat(cache.get(b)).isEmpty();
+        assertThat(cache.get(a)).contains(sample);
+        assertThat(cache.find(sample.getId())).contains(sample);
+        CacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.memoryHits()).isEqualTo(2);
+        assertThat(statistics.misses()).isEqualTo(1);
+        assertThat(statistics.memoryEvictions()).isEqualTo(1);
+        assertThat(statistics.memoryEntries()).isEqualTo(2);
+        assertThat(statistics.memoryBytes()).isEqualTo(2 * size);
+    }
+
+    @Test
+    void diskTierSurvivesANewCache() {
+        Path directory = tempDir.resolve("cache");
+        AnalysisResult stored = result(tempDir.resolve("gc.log"), 50);
+        LogFingerprint fingerprint = LogFingerprint.fromValue("0123abcd");
+        new AnalysisResultCache(AnalysisResultCache.DEFAULT_MEMORY_BYTES, directory, AnalysisResultCache.DEFAULT_DISK_BYTES)
+                .put(fingerprint, stored);
+
+        AnalysisResultCache reopened = new AnalysisResultCache(AnalysisResultCache.DEFAULT_MEMORY_BYTES, directory,
+                AnalysisResultCache.DEFAULT_DISK_BYTES);
+        AnalysisResult loaded = reopened.get(fingerprint).orElseThrow();
+
+        assertThat(loaded.getId()).isEqualTo(stored.getId());
+        assertThat(loaded.getSource()).isEqualTo(stored.getSource());
+        assertThat(loaded.getAnalyzedAt()).isEqualTo(stored.getAnalyzedAt());
+        assertThat(loaded.getHeapOccupancySummary().getSeriesByType())
+                .isEqualTo(stored.getHeapOccupancySummary().getSeriesByType());
+        assertThat(loaded.getPauseStatistics().getMaxPause()).isEqualTo(7.0d);
+        assertThat(loaded.getCollectionCycleSummary().getCounts()).isEqualTo(stored.getCollectionCycleSummary().getCounts());
+        assertThat(loaded.getGcCauseSummary().getTypeBreakdown()).isEqualTo(stored.getGcCauseSummary().getTypeBreakdown());
+        assertThat(reopened.get(fingerprint)).isPresent();
+        assertThat(reopened.getStatistics().diskHits()).isEqualTo(1);
+        assertThat(reopened.getStatistics().memoryHits()).isEqualTo(1);
+    }
+
+    @Test
+    void diskTierEvictsOldestFiles() throws IOException {
+        Path directory = tempDir.resolve("cache");
+        AnalysisResultCache cache = new AnalysisResultCache(0L, directory, 1L);
+        LogFingerprint first = LogFingerprint.fromValue("first");
+        LogFingerprint second = LogFingerprint.fromValue("second");
+
+        cache.put(first, result(tempDir.resolve("first.log"), 10));
+        cache.put(second, result(tempDir.resolve("second.log"), 10));
+
+        assertThat(Files.exists(directory.resolve("first.json.gz"))).isFalse();
+        assertThat(Files.exists(directory.resolve("second.json.gz"))).isTrue();
+        assertThat(cache.get(second)).isPresent();
+        assertThat(cache.get(first)).isEmpty();
+        assertThat(cache.getStatistics().diskEvictions()).isEqualTo(1);
+        assertThat(cache.getStatistics().memoryEntries()).isZero();
+    }
+}
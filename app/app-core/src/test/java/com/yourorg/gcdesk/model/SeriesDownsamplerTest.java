@@ -0,0 +1,78 @@
+package com.yourorg.gcdesk.model;
+
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.yourorg.gcdesk.model.HeapOccupancySummary.XYPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesDownsamplerTest {
+
+    private static List<XYPoint> sawTooth(int size) {
+        List<XYPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new XYPoint(i, i % 100));
+        }
+        return points;
+    }
+
+    @Test
+    void smallSeriesAreLeftAlone() {
+        List<XYPoint> points = sawTooth(10);
+
+        assertThat(SeriesDownsampler.lttb(points, 20)).isSameAs(points);
+        assertThat(SeriesDownsampler.minMax(points, 5)).isSameAs(points);
+    }
+
+    @Test
+    void lttbKeepsEndPointsAndOrder() {
+        List<XYPoint> points = sawTooth(10_000);
+
+        List<XYPoint> sampled = SeriesDownsampler.lttb(points, 200);
+
+        assertThat(sampled).hasSize(200);
+        assertThat(sampled.get(0)).isEqualTo(points.get(0));
+        assertThat(sampled.get(199)).isEqualTo(points.get(9_999));
+        for (int i = 1; i < sampled.size(); i++) {
+            assertThat(sampled.get(i).getX()).isGreaterThan(sampled.get(i - 1).getX());
+        }
+    }
+
+    @Test
+    void lttbKeepsSpikes() {
+        List<XYPoint> points = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            points.add(new XYPoint(i, i == 2_500 ? 1_000 : 1));
+        }
+
+        assertThat(SeriesDownsampler.lttb(points, 50)).contains(new XYPoint(2_500, 1_000));
+    }
+
+    @Test
+    void minMaxKeepsEveryPeakAndTrough() {
+        List<XYPoint> points = sawTooth(10_000);
+
+        List<XYPoint> sampled = SeriesDownsampler.minMax(points, 100);
+
+        assertThat(sampled).hasSizeLessThanOrEqualTo(200);
+        assertThat(sampled.stream().filter(point -> point.getY() == 99)).hasSize(100);
+        assertThat(sampled.stream().filter(point -> point.getY() == 0)).hasSize(100);
+    }
+
+    @Test
+    void zoomReturnsFullResolutionWindow() {
+        HeapOccupancySummary summary = new HeapOccupancySummary(
+                Map.of(GarbageCollectionTypes.Young, sawTooth(100_000)));
+
+        assertThat(summary.getSeriesByType(800).get(GarbageCollectionTypes.Young))
+                .hasSize(SeriesDownsampler.pointsForWidth(800));
+        assertThat(summary.getSeriesByType(1_000, 1_099, 800).get(GarbageCollectionTypes.Young))
+                .hasSize(100)
+                .first().isEqualTo(new XYPoint(1_000, 0));
+        assertThat(summary.getSeriesByType().get(GarbageCollectionTypes.Young)).hasSize(100_000);
+    }
+}
@@ -34,6 +34,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -47,6 +48,8 @@ import java.util.stream.Collectors;
  */
 public class ResultsDashboardController {
 
+    private static final int DEFAULT_CHART_WIDTH = 1200;
+
     @FXML
     private Label sourceLabel;
 
@@ -227,7 +230,8 @@ public class ResultsDashboardController {
 
     private void populateHeapOccupancy(HeapOccupancySummary summary) {
         heapOccupancyChart.getData().clear();
-        Map<GarbageCollectionTypes, List<HeapOccupancySummary.XYPoint>> seriesByType = summary.getSeriesByType();
+        Map<GarbageCollectionTypes, List<HeapOccupancySummary.XYPoint>> seriesByType =
+                summary.getSeriesByType(heapOccupancyChartWidth());
         if (seriesByType == null || seriesByType.isEmpty()) {
             showTimelineWarning("No heap occupancy data available.");
             return;
@@ -237,11 +241,19 @@ public class ResultsDashboardController {
         seriesByType.forEach((type, points) -> {
             XYChart.Series<Number, Number> series = new XYChart.Series<>();
             series.setName(type.getLabel());
-            points.forEach(point -> series.getData().add(new XYChart.Data<>(point.getX(), point.getY())));
+            List<XYChart.Data<Number, Number>> data = new ArrayList<>(points.size());
+            points.forEach(point -> data.add(new XYChart.Data<>(point.getX(), point.getY())));
+            series.getData().setAll(data);
             heapOccupancyChart.getData().add(series);
         });
     }
 
+    private int heapOccupancyChartWidth() {
+        double width = heapOccupancyChart.getWidth();
+        // the chart has no width until it has been laid out for the first time
+        return width > 0 ? (int) Math.ceil(width) : DEFAULT_CHART_WIDTH;
+    }
+
     private void populateCauseTables(GCCauseSummary summary) {
         Map<GCCause, Integer> causeCounts = summary.getCauseCounts();
         Map<GCCause, Double> averageDurations = summary.getAverageDurations();
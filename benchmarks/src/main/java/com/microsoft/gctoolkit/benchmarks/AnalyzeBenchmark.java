@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.message.thread.ThreadedDataSourceChannel;
+import com.microsoft.gctoolkit.message.thread.ThreadedJVMEventChannel;
+import com.microsoft.gctoolkit.sample.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.sample.aggregation.HeapOccupancyAfterCollectionSummary;
+import com.microsoft.gctoolkit.sample.aggregation.PauseTimeSummary;
+import com.microsoft.gctoolkit.vertx.VertxDataSourceChannel;
+import com.microsoft.gctoolkit.vertx.VertxJVMEventChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A complete {@link GCToolKit#analyze} of a GC log with the sample Aggregations, from reading the file to
+ * the last Aggregation. Paths are relative to the working directory, which is the root of the project when
+ * run with {@code mvn exec:exec}. Other logs can be given with {@code -p logFile=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AnalyzeBenchmark {
+
+    @Param({"gclogs/samples/g1-sample.log"})
+    public String logFile;
+
+    @Param({"vertx", "threaded"})
+    public String channelType;
+
+    private Path path;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkLogging.quiet();
+        path = Path.of(logFile);
+        if (!Files.isRegularFile(path))
+            throw new IOException("GC log not found: " + path.toAbsolutePath());
+    }
+
+    @Benchmark
+    public JavaVirtualMachine analyze() throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        if ("vertx".equals(channelType)) {
+            gcToolKit.loadDataSourceChannel(new VertxDataSourceChannel());
+            gcToolKit.loadJVMEventChannel(new VertxJVMEventChannel());
+        } else {
+            gcToolKit.loadDataSourceChannel(new ThreadedDataSourceChannel());
+            gcToolKit.loadJVMEventChannel(new ThreadedJVMEventChannel());
+        }
+        gcToolKit.loadAggregation(new HeapOccupancyAfterCollectionSummary());
+        gcToolKit.loadAggregation(new PauseTimeSummary());
+        gcToolKit.loadAggregation(new CollectionCycleCountsSummary());
+        return gcToolKit.analyze(new SingleGCLogFile(path));
+    }
+}
@@ -0,0 +1,22 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The parsers log a warning for each line they do not recognize. Writing those out would measure the console
+ * rather than the parser, and bury the JMH output, so only severe messages are logged while benchmarking.
+ */
+final class BenchmarkLogging {
+
+    // Held so the level is not lost if the logger is garbage collected.
+    private static final Logger GCTOOLKIT = Logger.getLogger("com.microsoft.gctoolkit");
+
+    private BenchmarkLogging() {}
+
+    static void quiet() {
+        GCTOOLKIT.setLevel(Level.SEVERE);
+    }
+}
@@ -0,0 +1,33 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks with the JMH command line. Unless a result format is given with {@code -rf},
+ * results are also written as JSON to {@code jmh-result.json} in the working directory, so that runs
+ * can be compared over time.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        org.openjdk.jmh.Main.main(withJsonResults(args));
+    }
+
+    static String[] withJsonResults(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add(0, "json");
+            arguments.add(0, "-rf");
+        }
+        return arguments.toArray(new String[0]);
+    }
+}
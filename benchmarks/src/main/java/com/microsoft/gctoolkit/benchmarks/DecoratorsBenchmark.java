@@ -0,0 +1,60 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.parser.jvm.Decorators;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of reading the decorators and the time stamp from the front of a line, which is done for every
+ * line of a log.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DecoratorsBenchmark {
+
+    String unifiedUptime = "[32.193s][info][gc,heap     ] GC(2) Forwarding Usage: 13M";
+    String unifiedDateAndUptime = "[2025-10-28T12:32:41.793+0000][0.140s][info][gc,heap     ] GC(0) Eden regions: 1->0(7)";
+    String preUnifiedDateAndUptime = "2025-03-23T03:46:46.582+0000: 27.619: [GC pause (G1 Evacuation Pause) (young), 0.0552009 secs]";
+    String preUnifiedUptime = "10.233: [GC 10.233: [ParNew";
+
+    @Benchmark
+    public DateTimeStamp decoratorsUptime() {
+        return new Decorators(unifiedUptime).getDateTimeStamp();
+    }
+
+    @Benchmark
+    public DateTimeStamp decoratorsDateAndUptime() {
+        return new Decorators(unifiedDateAndUptime).getDateTimeStamp();
+    }
+
+    @Benchmark
+    public DateTimeStamp fromUnifiedLine() {
+        return DateTimeStamp.fromGCLogLine(unifiedDateAndUptime);
+    }
+
+    @Benchmark
+    public DateTimeStamp fromPreUnifiedLine() {
+        return DateTimeStamp.fromGCLogLine(preUnifiedDateAndUptime);
+    }
+
+    @Benchmark
+    public DateTimeStamp fromPreUnifiedLineUptimeOnly() {
+        return DateTimeStamp.fromGCLogLine(preUnifiedUptime);
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GCCauses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Resolving the GC cause of a line with the perfect hash in {@code GCCauses}, from the cause text and from the
+ * region of the line it was matched in, against the HashMap lookup it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GCCausesBenchmark {
+
+    private static final Pattern CAUSE = Pattern.compile("Pause \\S+ (\\([^)]+\\)) ");
+
+    @Param({"G1 Evacuation Pause", "Metadata GC Threshold", "System", "Not A Cause"})
+    public String cause;
+
+    private Map<String, GCCause> map;
+    private String line;
+    private String causeText;
+    private int start;
+    private int end;
+
+    @Setup
+    public void setUp() {
+        map = new HashMap<>(Arrays.stream(GCCause.values()).collect(Collectors.toMap(GCCause::getLabel, Function.identity())));
+        map.put("System", GCCause.JAVA_LANG_SYSTEM);
+        line = "[2.1s][info][gc] GC(12) Pause Young (" + cause + ") 24M->4M(256M) 3.474ms";
+        Matcher matcher = CAUSE.matcher(line);
+        if (!matcher.find())
+            throw new IllegalStateException(line);
+        causeText = matcher.group(1);
+        start = matcher.start(1);
+        end = matcher.end(1);
+    }
+
+    @Benchmark
+    public GCCause hashMap() {
+        String lookup = causeText.trim();
+        GCCause gcCause = map.get(lookup.substring(1, lookup.length() - 1));
+        return (gcCause == null) ? GCCause.GCCAUSE_NOT_SET : gcCause;
+    }
+
+    @Benchmark
+    public GCCause perfectHashFromString() {
+        return GCCauses.get(causeText);
+    }
+
+    @Benchmark
+    public GCCause perfectHashFromLine() {
+        return GCCauses.get(line, start, end);
+    }
+}
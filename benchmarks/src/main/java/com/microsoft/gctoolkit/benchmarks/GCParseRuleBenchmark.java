@@ -0,0 +1,69 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.parser.CMSPatterns;
+import com.microsoft.gctoolkit.parser.G1GCPatterns;
+import com.microsoft.gctoolkit.parser.GCLogTrace;
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import com.microsoft.gctoolkit.parser.unified.ZGCPatterns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of applying a single GCParseRule to a line. A parser tries many rules on each line and most of
+ * them fail, so the cost of a miss matters as much as the cost of a match.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GCParseRuleBenchmark {
+
+    String unifiedG1Young = "[2025-10-28T12:32:41.794+0000][0.141s][info][gc          ] GC(0) Pause Young (Concurrent Start) (G1 Humongous Allocation) 13M->11M(32M) 3.768ms";
+    String unifiedG1Regions = "[2025-10-28T12:32:41.793+0000][0.140s][info][gc,heap     ] GC(0) Eden regions: 1->0(7)";
+    String zgcPause = "[32.121s][info][gc,phases   ] GC(2) Pause Mark Start 0.023ms";
+    String preUnifiedG1Young = "2015-09-30T11:01:36.540+0200: 1.155: [GC pause (G1 Evacuation Pause) (young) 24M->4096K(256M), 0.0063810 secs]";
+    String cmsInitialMark = "2.145: [GC (CMS Initial Mark) [1 CMS-initial-mark: 3412K(62656K)] 5094K(81280K), 0.0012110 secs] [Times: user=0.00 sys=0.00, real=0.00 secs]";
+
+    @Benchmark
+    public GCLogTrace unifiedG1YoungMatch() {
+        return UnifiedG1GCPatterns.YOUNG_DETAILS.parse(unifiedG1Young);
+    }
+
+    @Benchmark
+    public GCLogTrace unifiedG1YoungMiss() {
+        return UnifiedG1GCPatterns.YOUNG_DETAILS.parse(unifiedG1Regions);
+    }
+
+    @Benchmark
+    public GCLogTrace unifiedG1RegionSummary() {
+        return UnifiedG1GCPatterns.REGION_SUMMARY.parse(unifiedG1Regions);
+    }
+
+    @Benchmark
+    public GCLogTrace zgcPausePhase() {
+        return ZGCPatterns.PAUSE_PHASE.parse(zgcPause);
+    }
+
+    @Benchmark
+    public GCLogTrace preUnifiedG1Young() {
+        return G1GCPatterns.YOUNG.parse(preUnifiedG1Young);
+    }
+
+    @Benchmark
+    public GCLogTrace cmsInitialMark() {
+        return CMSPatterns.INITIAL_MARK.parse(cmsInitialMark);
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.message.thread.ThreadedJVMEventChannel;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import com.microsoft.gctoolkit.vertx.VertxJVMEventChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of a JVMEventChannel from the parsers to the Aggregators. Each invocation publishes a batch
+ * of events and waits until the listener has received all of them, so the score is events delivered per
+ * second rather than how fast events can be queued.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JVMEventChannelBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"vertx", "threaded"})
+    public String channelType;
+
+    private JVMEventChannel channel;
+    private final AtomicLong received = new AtomicLong();
+    private long published;
+    private final JVMEvent event = new G1Young(new DateTimeStamp(1.0d), GCCause.G1_EVACUATION_PAUSE, 0.01d);
+
+    @Setup
+    public void setUp() {
+        channel = "vertx".equals(channelType) ? new VertxJVMEventChannel() : new ThreadedJVMEventChannel();
+        channel.registerListener(new JVMEventChannelListener() {
+            @Override
+            public ChannelName channel() {
+                return ChannelName.JVM_EVENT_PARSER_OUTBOX;
+            }
+
+            @Override
+            public void receive(JVMEvent payload) {
+                received.incrementAndGet();
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long publishAndDeliver() {
+        for (int i = 0; i < BATCH; i++)
+            channel.publish(ChannelName.JVM_EVENT_PARSER_OUTBOX, event);
+        published += BATCH;
+        while (received.get() < published)
+            Thread.onSpinWait();
+        return published;
+    }
+}
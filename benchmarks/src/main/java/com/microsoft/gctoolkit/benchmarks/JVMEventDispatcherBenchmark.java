@@ -0,0 +1,66 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.aggregator.JVMEventDispatcher;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GCEvent;
+import com.microsoft.gctoolkit.event.g1gc.G1Remark;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of dispatching an event to an Aggregator: to a consumer registered for the class of the event,
+ * to one registered for a superclass, and to none at all.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JVMEventDispatcherBenchmark {
+
+    private final JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+    private Blackhole blackhole;
+
+    private final G1Young young = new G1Young(new DateTimeStamp(1.0d), GCCause.G1_EVACUATION_PAUSE, 0.01d);
+    private final G1Remark remark = new G1Remark(new DateTimeStamp(2.0d), 0.001d, 0.002d);
+    private final JVMTermination termination = new JVMTermination(new DateTimeStamp(3.0d), new DateTimeStamp(0.0d));
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        dispatcher.register(G1Young.class, event -> this.blackhole.consume(event));
+        dispatcher.register(GCEvent.class, event -> this.blackhole.consume(event));
+    }
+
+    @Benchmark
+    public void registeredClass() {
+        dispatcher.dispatch(young);
+    }
+
+    @Benchmark
+    public void registeredSuperclass() {
+        dispatcher.dispatch(remark);
+    }
+
+    @Benchmark
+    public void notRegistered() {
+        dispatcher.dispatch(termination);
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.parser.GCLogParser;
+import com.microsoft.gctoolkit.parser.GenerationalHeapParser;
+import com.microsoft.gctoolkit.parser.PreUnifiedG1GCParser;
+import com.microsoft.gctoolkit.parser.ShenandoahParser;
+import com.microsoft.gctoolkit.parser.UnifiedG1GCParser;
+import com.microsoft.gctoolkit.parser.UnifiedGenerationalParser;
+import com.microsoft.gctoolkit.parser.ZGCParser;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * A representative fragment of a GC log for each collector, along with the parser for it. The fragments
+ * are resources of this module, taken from the parser tests and the sample G1 log.
+ */
+public enum LogFragment {
+
+    UNIFIED_G1("unified-g1.log", UnifiedDiarizer::new, UnifiedG1GCParser::new),
+    UNIFIED_PARALLEL("unified-parallel.log", UnifiedDiarizer::new, UnifiedGenerationalParser::new),
+    UNIFIED_ZGC("unified-zgc.log", UnifiedDiarizer::new, ZGCParser::new),
+    UNIFIED_SHENANDOAH("unified-shenandoah.log", UnifiedDiarizer::new, ShenandoahParser::new),
+    PRE_UNIFIED_G1("preunified-g1.log", PreUnifiedDiarizer::new, PreUnifiedG1GCParser::new),
+    PRE_UNIFIED_CMS("preunified-cms.log", PreUnifiedDiarizer::new, GenerationalHeapParser::new);
+
+    private final String resource;
+    private final Supplier<Diarizer> diarizer;
+    private final Supplier<GCLogParser> parser;
+
+    LogFragment(String resource, Supplier<Diarizer> diarizer, Supplier<GCLogParser> parser) {
+        this.resource = resource;
+        this.diarizer = diarizer;
+        this.parser = parser;
+    }
+
+    /**
+     * @return the lines of the fragment, trimmed as the parser tests do
+     */
+    public String[] lines() {
+        try (InputStream in = LogFragment.class.getResourceAsStream(resource)) {
+            if (in == null)
+                throw new IllegalStateException("Missing resource " + resource);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return reader.lines().map(String::trim).filter(line -> !line.isEmpty()).toArray(String[]::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param lines the lines of the fragment
+     * @return the Diary of the fragment
+     */
+    public Diary diary(String[] lines) {
+        Diarizer diarizer = this.diarizer.get();
+        for (String line : lines)
+            diarizer.diarize(line);
+        return diarizer.getDiary();
+    }
+
+    /**
+     * @return a new parser for the fragment
+     */
+    public GCLogParser parser() {
+        return parser.get();
+    }
+}
@@ -0,0 +1,95 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.parser.GCLogParser;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parser throughput for each collector. Each invocation feeds a {@link LogFragment} to a new parser,
+ * the way a parser sees a log, with the events going to a channel that only counts them. The score is
+ * fragments per second; the {@code lines} counter gives lines per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParserBenchmark {
+
+    @Param
+    public LogFragment fragment;
+
+    private String[] lines;
+    private Diary diary;
+    private final CountingChannel channel = new CountingChannel();
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        lines = fragment.lines();
+        diary = fragment.diary(lines);
+    }
+
+    @Benchmark
+    public long parse(Lines counter) {
+        GCLogParser parser = fragment.parser();
+        parser.diary(diary);
+        parser.publishTo(channel);
+        for (String line : lines)
+            parser.receive(line);
+        counter.lines += lines.length;
+        return channel.events;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Lines {
+
+        public long lines;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lines = 0L;
+        }
+    }
+
+    /**
+     * Counts the events published by the parser and otherwise drops them.
+     */
+    static class CountingChannel implements JVMEventChannel {
+
+        long events;
+
+        @Override
+        public void registerListener(JVMEventChannelListener listener) {}
+
+        @Override
+        public void publish(ChannelName channel, JVMEvent message) {
+            events++;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,256 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes the collections of one collector in the format of one log.
+ * <p>
+ * A writer keeps a simple model of the heap: allocation fills the young generation, each young collection
+ * promotes some of what survives to the old generation, and the old generation is collected by a
+ * concurrent cycle or a full collection once it fills past the collector's threshold. Each call to
+ * {@link #collection(GCCause)} writes the next collection the model calls for, which is a collection for
+ * the given cause unless a concurrent cycle or a full collection is due.
+ */
+abstract class CollectorWriter {
+
+    final GCLogFormat format;
+    final Detail detail;
+    final long heapSize;
+    final Random random;
+    private final LineFormatter formatter;
+    private LogOutput output;
+    private LogValidator validator;
+    private boolean recognized = true;
+
+    /** Seconds since the JVM started */
+    double uptime = 0.0d;
+    int gcId = 0;
+    long collections = 0L;
+    long pauses = 0L;
+    long fullCollections = 0L;
+    long concurrentCycles = 0L;
+    /** Kilobytes of metaspace in use */
+    long metaspaceUsed = 20_480L;
+
+    /**
+     * @param format the log format
+     * @param detail how much of each collection to write
+     * @param heapSize the maximum heap size in megabytes
+     * @param formatter writes the decorations and numbers
+     * @param random the source of all of the variation in the log
+     */
+    CollectorWriter(GCLogFormat format, Detail detail, long heapSize, LineFormatter formatter, Random random) {
+        this.format = format;
+        this.detail = format.isUnified() ? detail : Detail.DETAILS;
+        this.heapSize = heapSize;
+        this.formatter = formatter;
+        this.random = random;
+    }
+
+    static CollectorWriter of(GCLogFormat format, Detail detail, long heapSize, LineFormatter formatter, Random random) {
+        switch (format) {
+            case UNIFIED_G1:
+                return new G1Writer(format, detail, heapSize, formatter, random);
+            case UNIFIED_ZGC:
+            case UNIFIED_GENERATIONAL_ZGC:
+                return new ZGCWriter(format, detail, heapSize, formatter, random);
+            case UNIFIED_SHENANDOAH:
+                return new ShenandoahWriter(format, detail, heapSize, formatter, random);
+            case UNIFIED_PARALLEL:
+            case UNIFIED_SERIAL:
+            case UNIFIED_CMS:
+                return new GenerationalWriter(format, detail, heapSize, formatter, random);
+            default:
+                return new PreUnifiedGenerationalWriter(format, detail, heapSize, formatter, random);
+        }
+    }
+
+    /**
+     * @return the causes that start a collection when none are configured, with their weights
+     */
+    abstract Map<GCCause, Double> defaultCauses();
+
+    /**
+     * @return the causes this collector can log
+     */
+    abstract Set<GCCause> supportedCauses();
+
+    /**
+     * Write the lines the JVM logs before the first collection.
+     * @throws IOException if the log could not be written
+     */
+    abstract void header() throws IOException;
+
+    /**
+     * Write the header. GCToolKit has no use for most of what the JVM logs about its configuration, so
+     * the parsers are not expected to recognize these lines.
+     * @throws IOException if the log could not be written
+     */
+    final void writeHeader() throws IOException {
+        unrecognized(this::header);
+    }
+
+    /**
+     * Write lines that the GCToolKit parsers are not expected to recognize. They are still passed to the
+     * parsers when the log is validated, but do not fail it.
+     * @param lines writes the lines
+     * @throws IOException if the log could not be written
+     */
+    final void unrecognized(Lines lines) throws IOException {
+        boolean outer = recognized;
+        recognized = false;
+        try {
+            lines.write();
+        } finally {
+            recognized = outer;
+        }
+    }
+
+    /**
+     * Write the next collection.
+     * @param cause the cause of the collection, unless the heap model calls for a different collection
+     * @throws IOException if the log could not be written
+     */
+    abstract void collection(GCCause cause) throws IOException;
+
+    /**
+     * @param output where the lines are written
+     * @param validator checks each line as it is written, or null if the lines are not checked
+     */
+    void setOutput(LogOutput output, LogValidator validator) {
+        this.output = output;
+        this.validator = validator;
+    }
+
+    /**
+     * Let the application run between collections.
+     * @param seconds the time to the next collection
+     */
+    void advance(double seconds) {
+        uptime += seconds;
+    }
+
+    void info(String tags, String message) throws IOException {
+        write(formatter.unified(uptime, "info", tags, message));
+    }
+
+    /**
+     * A line logged only with the debug level phase timings.
+     */
+    void debug(String tags, String message) throws IOException {
+        if (detail == Detail.DEBUG)
+            write(formatter.unified(uptime, "debug", tags, message));
+    }
+
+    /**
+     * A line logged with {@code gc*} but not with {@code gc}.
+     */
+    void details(String tags, String message) throws IOException {
+        if (detail != Detail.SUMMARY)
+            info(tags, message);
+    }
+
+    /**
+     * A line of a pre-unified log, written as is.
+     */
+    void write(String line) throws IOException {
+        output.write(line);
+        if (validator != null)
+            validator.check(line, recognized);
+    }
+
+    /**
+     * @return the date and time stamps of a pre-unified record at the current uptime
+     */
+    String stamp() {
+        return formatter.stamp(uptime);
+    }
+
+    String stamp(double at) {
+        return formatter.stamp(at);
+    }
+
+    boolean has(Decorator decorator) {
+        return formatter.has(decorator);
+    }
+
+    /**
+     * @return the {@code GC(n) } prefix of a unified log line
+     */
+    static String gc(int id) {
+        return "GC(" + id + ") ";
+    }
+
+    static String ms(double seconds) {
+        return LineFormatter.fixed(seconds * 1000.0d, 3) + "ms";
+    }
+
+    static String secs(double seconds, int decimals) {
+        return LineFormatter.fixed(seconds, decimals);
+    }
+
+    /**
+     * Load a few classes between collections.
+     */
+    void loadClasses() {
+        metaspaceUsed += random.nextInt(4);
+    }
+
+    /**
+     * @return the kilobytes of metaspace committed to hold what is in use
+     */
+    long metaspaceCommitted() {
+        return (metaspaceUsed + 1023L) / 512L * 512L;
+    }
+
+    /**
+     * The metaspace line of a JDK 17 log, which is the same before and after a collection as classes are
+     * only unloaded by a full collection or a concurrent cycle.
+     */
+    String metaspace() {
+        long committed = metaspaceCommitted();
+        long classUsed = metaspaceUsed / 8L;
+        long classCommitted = committed / 8L;
+        return "Metaspace: " + metaspaceUsed + "K(" + committed + "K)->" + metaspaceUsed + "K(" + committed + "K)"
+                + " NonClass: " + (metaspaceUsed - classUsed) + "K(" + (committed - classCommitted) + "K)->" + (metaspaceUsed - classUsed) + "K(" + (committed - classCommitted) + "K)"
+                + " Class: " + classUsed + "K(" + classCommitted + "K)->" + classUsed + "K(" + classCommitted + "K)";
+    }
+
+    /**
+     * The user, system and real times logged after a pause.
+     */
+    String cpu(double seconds, int workers) {
+        double user = seconds * workers * (0.6d + 0.4d * random.nextDouble());
+        return "User=" + secs(user, 2) + "s Sys=" + secs(user / 10.0d, 2) + "s Real=" + secs(seconds, 2) + "s";
+    }
+
+    /**
+     * @return a value spread evenly between half and one and a half times the mean
+     */
+    double around(double mean) {
+        return mean * (0.5d + random.nextDouble());
+    }
+
+    /**
+     * @return the time between events that happen at random at the given mean rate
+     */
+    double exponential(double mean) {
+        return -mean * Math.log(1.0d - random.nextDouble());
+    }
+
+    static int percent(long part, long whole) {
+        return (int) (part * 100L / whole);
+    }
+
+    @FunctionalInterface
+    interface Lines {
+        void write() throws IOException;
+    }
+}
@@ -0,0 +1,31 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+/**
+ * The unified logging decorators of JEP 158, in the order the JVM writes them. Pre-unified formats only
+ * honour {@link #TIME}, written as {@code -XX:+PrintGCDateStamps} does, and {@link #UPTIME}, written as
+ * {@code -XX:+PrintGCTimeStamps} does.
+ */
+public enum Decorator {
+    /** Current date and time in ISO-8601 format. */
+    TIME,
+    /** Seconds since the start of the JVM. */
+    UPTIME,
+    /** Milliseconds since the epoch. */
+    TIMEMILLIS,
+    /** Milliseconds since the start of the JVM. */
+    UPTIMEMILLIS,
+    /** The value of a monotonic nanosecond clock. */
+    TIMENANOS,
+    /** Nanoseconds since the start of the JVM. */
+    UPTIMENANOS,
+    /** The process identifier. */
+    PID,
+    /** The thread identifier. */
+    TID,
+    /** The level of the log message. */
+    LEVEL,
+    /** The tag set of the log message. */
+    TAGS
+}
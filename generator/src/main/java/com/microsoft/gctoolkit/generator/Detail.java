@@ -0,0 +1,23 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+/**
+ * How much of each collection is written to a generated log.
+ */
+public enum Detail {
+    /**
+     * One line per collection or concurrent phase, as logged with {@code -Xlog:gc}. Pre-unified formats
+     * are always written with details, as GCToolKit requires {@code -XX:+PrintGCDetails} for them. The
+     * unified Parallel, Serial and CMS parser also needs details, so only G1 and ZGC summaries are analyzed.
+     */
+    SUMMARY,
+    /**
+     * Phases, generation and region sizes, as logged with {@code -Xlog:gc*}.
+     */
+    DETAILS,
+    /**
+     * {@link #DETAILS} with the debug level phase timings, as logged with {@code -Xlog:gc*,gc+phases=debug}.
+     */
+    DEBUG
+}
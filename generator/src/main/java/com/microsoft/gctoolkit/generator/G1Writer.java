@@ -0,0 +1,283 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a JDK 17 G1 log. The heap is modelled in regions. Once the old and humongous regions reach the
+ * initiating heap occupancy of 45%, a young pause starts a concurrent mark cycle, which is followed by a
+ * Prepare Mixed pause and a run of mixed pauses that bring the old generation back down to its live size.
+ * <p>
+ * The concurrent mark is written the way JDK 11 writes it, ending before the remark pause, as that is the
+ * form the G1 parser follows.
+ */
+final class G1Writer extends CollectorWriter {
+
+    private static final int INITIATING_HEAP_OCCUPANCY_PERCENT = 45;
+    private static final Set<GCCause> YOUNG_CAUSES = EnumSet.of(GCCause.G1_EVACUATION_PAUSE, GCCause.G1_HUMONGOUS_ALLOCATION,
+            GCCause.GC_LOCKER, GCCause.METADATA_GENERATION_THRESHOLD);
+    private static final Set<GCCause> FULL_CAUSES = EnumSet.of(GCCause.JAVA_LANG_SYSTEM, GCCause.HEAP_DUMP,
+            GCCause.HEAP_INSPECTION, GCCause.G1_COMPACTION_PAUSE);
+    private static final int WORKERS = 8;
+
+    private final long regionSize;
+    private final int regions;
+    private final int edenTarget;
+    private final int survivorTarget;
+    private final int liveOld;
+    private final int baseHumongous;
+
+    private int survivors = 0;
+    private int old = 0;
+    private int humongous;
+    private boolean cycleDue = false;
+    private boolean prepareMixed = false;
+    private int mixedRemaining = 0;
+    private int mixedReclaim = 0;
+
+    G1Writer(GCLogFormat format, Detail detail, long heapSize, LineFormatter formatter, Random random) {
+        super(format, detail, heapSize, formatter, random);
+        long size = 1L;
+        while (size < 32L && size * 2L * 2048L <= heapSize)
+            size *= 2L;
+        regionSize = size;
+        regions = (int) Math.max(16L, heapSize / regionSize);
+        edenTarget = Math.max(1, regions / 4);
+        survivorTarget = Math.max(1, edenTarget / 8);
+        liveOld = Math.max(1, regions / 5);
+        baseHumongous = regions / 200;
+        humongous = baseHumongous;
+    }
+
+    @Override
+    Map<GCCause, Double> defaultCauses() {
+        Map<GCCause, Double> causes = new EnumMap<>(GCCause.class);
+        causes.put(GCCause.G1_EVACUATION_PAUSE, 0.97d);
+        causes.put(GCCause.G1_HUMONGOUS_ALLOCATION, 0.025d);
+        causes.put(GCCause.JAVA_LANG_SYSTEM, 0.005d);
+        return causes;
+    }
+
+    @Override
+    Set<GCCause> supportedCauses() {
+        Set<GCCause> causes = EnumSet.copyOf(YOUNG_CAUSES);
+        causes.addAll(FULL_CAUSES);
+        return causes;
+    }
+
+    @Override
+    void header() throws IOException {
+        info("gc", "Using G1");
+        details("gc,init", "Version: 17.0.8+7 (release)");
+        details("gc,init", "CPUs: " + WORKERS + " total, " + WORKERS + " available");
+        details("gc,init", "Memory: " + (heapSize * 4L) + "M");
+        details("gc,init", "Large Page Support: Disabled");
+        details("gc,init", "NUMA Support: Disabled");
+        details("gc,init", "Compressed Oops: Enabled (Zero based)");
+        details("gc,init", "Heap Region Size: " + regionSize + "M");
+        details("gc,init", "Heap Min Capacity: " + regionSize * regions + "M");
+        details("gc,init", "Heap Initial Capacity: " + regionSize * regions + "M");
+        details("gc,init", "Heap Max Capacity: " + regionSize * regions + "M");
+        details("gc,init", "Pre-touch: Disabled");
+        details("gc,init", "Parallel Workers: " + WORKERS);
+        details("gc,init", "Concurrent Workers: " + WORKERS / 4);
+        details("gc,init", "Concurrent Refinement Workers: " + WORKERS);
+        details("gc,init", "Periodic GC: Disabled");
+    }
+
+    @Override
+    void collection(GCCause cause) throws IOException {
+        loadClasses();
+        if (FULL_CAUSES.contains(cause))
+            full(cause);
+        else if (cycleDue)
+            concurrentCycle();
+        else
+            young(cause);
+        collections++;
+    }
+
+    private void young(GCCause cause) throws IOException {
+        String type;
+        if (mixedRemaining > 0) {
+            type = "Mixed";
+            mixedRemaining--;
+        } else if (prepareMixed) {
+            type = "Prepare Mixed";
+            prepareMixed = false;
+        } else if ((old + humongous) * 100 >= regions * INITIATING_HEAP_OCCUPANCY_PERCENT) {
+            type = "Concurrent Start";
+            cycleDue = true;
+        } else {
+            type = "Normal";
+        }
+
+        int id = gcId++;
+        int edenBefore = Math.max(1, (int) (edenTarget * (0.9d + 0.2d * random.nextDouble())));
+        int survivorsBefore = survivors;
+        int oldBefore = old;
+        int humongousBefore = humongous + ((cause == GCCause.G1_HUMONGOUS_ALLOCATION) ? 1 + random.nextInt(4) : 0);
+        survivors = Math.min(survivorTarget, Math.max(1, (int) Math.round(edenBefore * (0.03d + 0.04d * random.nextDouble()))));
+        old += Math.max(1, (int) Math.round(edenBefore * 0.02d + survivorsBefore * 0.3d));
+        if ("Mixed".equals(type))
+            old = Math.max(liveOld, old - mixedReclaim);
+        humongous = baseHumongous;
+        double duration = around(0.002d + heapSize / 200_000.0d);
+
+        double start = uptime;
+        details("gc,start", gc(id) + "Pause Young (" + type + ") (" + cause.getLabel() + ")");
+        details("gc,task", gc(id) + "Using " + WORKERS + " workers of " + WORKERS + " for evacuation");
+        evacuationPhases(id, duration);
+        uptime = start + duration;
+        regions(id, edenBefore, 0, survivorsBefore, survivors, oldBefore, old, humongousBefore, humongous);
+        info("gc", gc(id) + "Pause Young (" + type + ") (" + cause.getLabel() + ") "
+                + heap(edenBefore + survivorsBefore + oldBefore + humongousBefore) + "->"
+                + heap(survivors + old + humongous) + "(" + heap(regions) + ") " + ms(duration));
+        details("gc,cpu", gc(id) + cpu(duration, WORKERS));
+        pauses++;
+    }
+
+    private void evacuationPhases(int id, double duration) throws IOException {
+        double milliseconds = duration * 1000.0d;
+        details("gc,phases", gc(id) + "  Pre Evacuate Collection Set: " + LineFormatter.fixed(milliseconds * 0.05d, 1) + "ms");
+        details("gc,phases", gc(id) + "  Merge Heap Roots: " + LineFormatter.fixed(milliseconds * 0.1d, 1) + "ms");
+        details("gc,phases", gc(id) + "  Evacuate Collection Set: " + LineFormatter.fixed(milliseconds * 0.7d, 1) + "ms");
+        workerPhase(id, "Ext Root Scanning", milliseconds * 0.1d);
+        workerPhase(id, "Object Copy", milliseconds * 0.55d);
+        workerPhase(id, "Termination", milliseconds * 0.05d);
+        details("gc,phases", gc(id) + "  Post Evacuate Collection Set: " + LineFormatter.fixed(milliseconds * 0.1d, 1) + "ms");
+        debug("gc,phases", gc(id) + "    Reference Processing: " + LineFormatter.fixed(milliseconds * 0.02d, 1) + "ms");
+        debug("gc,phases", gc(id) + "    Free Collection Set: " + LineFormatter.fixed(milliseconds * 0.03d, 1) + "ms");
+        details("gc,phases", gc(id) + "  Other: " + LineFormatter.fixed(milliseconds * 0.05d, 1) + "ms");
+    }
+
+    /**
+     * A debug line with the minimum, average, maximum, difference and sum of the time each worker spent in
+     * a phase.
+     */
+    private void workerPhase(int id, String phase, double milliseconds) throws IOException {
+        if (detail != Detail.DEBUG)
+            return;
+        double min = milliseconds * 0.8d;
+        double max = milliseconds * 1.1d;
+        StringBuilder message = new StringBuilder(gc(id)).append("    ").append(phase).append(" (ms):");
+        for (int i = phase.length(); i < 18; i++)
+            message.append(' ');
+        message.append(" Min: ").append(column(min))
+                .append(", Avg: ").append(column(milliseconds))
+                .append(", Max: ").append(column(max))
+                .append(", Diff: ").append(column(max - min))
+                .append(", Sum: ").append(column(milliseconds * WORKERS))
+                .append(", Workers: ").append(WORKERS);
+        debug("gc,phases", message.toString());
+    }
+
+    private static String column(double value) {
+        String text = LineFormatter.fixed(value, 1);
+        return (text.length() < 4) ? " ".repeat(4 - text.length()) + text : text;
+    }
+
+    private void concurrentCycle() throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        double scale = heapSize / 1024.0d;
+        info("gc", gc(id) + "Concurrent Mark Cycle");
+        concurrentPhase(id, "Clear Claimed Marks", around(0.00002d));
+        concurrentPhase(id, "Scan Root Regions", around(0.0005d * scale));
+        double markStart = uptime;
+        details("gc,marking", gc(id) + "Concurrent Mark (" + LineFormatter.fixed(markStart, 3) + "s)");
+        details("gc,marking", gc(id) + "Concurrent Mark From Roots");
+        details("gc,task", gc(id) + "Using " + WORKERS / 4 + " workers of " + WORKERS / 4 + " for marking");
+        uptime += around(0.03d * scale);
+        details("gc,marking", gc(id) + "Concurrent Mark From Roots " + ms(uptime - markStart));
+        concurrentPhase(id, "Preclean", around(0.0002d * scale));
+
+        details("gc,marking", gc(id) + "Concurrent Mark (" + LineFormatter.fixed(markStart, 3) + "s, " + LineFormatter.fixed(uptime, 3) + "s) "
+                + ms(uptime - markStart));
+
+        long used = survivors + old + humongous + edenTarget / 2;
+        pause(id, "Remark", used, used, around(0.002d + heapSize / 400_000.0d));
+        concurrentPhase(id, "Rebuild Remembered Sets", around(0.01d * scale));
+        int empty = (old - liveOld) / 10;
+        old -= empty;
+        pause(id, "Cleanup", used, used - empty, around(0.0003d));
+        concurrentPhase(id, "Cleanup for Next Mark", around(0.001d * scale));
+        info("gc", gc(id) + "Concurrent Mark Cycle " + ms(uptime - start));
+
+        cycleDue = false;
+        prepareMixed = true;
+        mixedRemaining = 4 + random.nextInt(5);
+        mixedReclaim = Math.max(1, (old - liveOld) / mixedRemaining);
+        concurrentCycles++;
+    }
+
+    private void concurrentPhase(int id, String phase, double duration) throws IOException {
+        details("gc,marking", gc(id) + "Concurrent " + phase);
+        uptime += duration;
+        details("gc,marking", gc(id) + "Concurrent " + phase + " " + ms(duration));
+    }
+
+    private void pause(int id, String pause, long before, long after, double duration) throws IOException {
+        details("gc,start", gc(id) + "Pause " + pause);
+        uptime += duration;
+        info("gc", gc(id) + "Pause " + pause + " " + heap(before) + "->" + heap(after) + "(" + heap(regions) + ") " + ms(duration));
+        details("gc,cpu", gc(id) + cpu(duration, WORKERS));
+        pauses++;
+    }
+
+    private void full(GCCause cause) throws IOException {
+        int id = gcId++;
+        int edenBefore = (int) (edenTarget * random.nextDouble());
+        int survivorsBefore = survivors;
+        int oldBefore = old;
+        int humongousBefore = humongous;
+        double duration = around(0.05d + heapSize / 10_000.0d);
+
+        double start = uptime;
+        details("gc,start", gc(id) + "Pause Full (" + cause.getLabel() + ")");
+        String[] phases = {"Mark live objects", "Prepare for compaction", "Adjust pointers", "Compact heap"};
+        double[] shares = {0.4d, 0.15d, 0.25d, 0.2d};
+        for (int i = 0; i < phases.length; i++) {
+            String phase = "Phase " + (i + 1) + ": " + phases[i];
+            details("gc,phases,start", gc(id) + phase);
+            uptime += duration * shares[i];
+            details("gc,phases", gc(id) + phase + " " + ms(duration * shares[i]));
+        }
+        uptime = start + duration;
+        survivors = 0;
+        old = liveOld;
+        humongous = baseHumongous;
+        regions(id, edenBefore, 0, survivorsBefore, 0, oldBefore, old, humongousBefore, humongous);
+        info("gc", gc(id) + "Pause Full (" + cause.getLabel() + ") "
+                + heap(edenBefore + survivorsBefore + oldBefore + humongousBefore) + "->"
+                + heap(old + humongous) + "(" + heap(regions) + ") " + ms(duration));
+        details("gc,cpu", gc(id) + cpu(duration, WORKERS));
+
+        cycleDue = false;
+        prepareMixed = false;
+        mixedRemaining = 0;
+        pauses++;
+        fullCollections++;
+    }
+
+    private void regions(int id, int edenBefore, int edenAfter, int survivorsBefore, int survivorsAfter,
+                         int oldBefore, int oldAfter, int humongousBefore, int humongousAfter) throws IOException {
+        details("gc,heap", gc(id) + "Eden regions: " + edenBefore + "->" + edenAfter + "(" + edenTarget + ")");
+        details("gc,heap", gc(id) + "Survivor regions: " + survivorsBefore + "->" + survivorsAfter + "(" + survivorTarget + ")");
+        details("gc,heap", gc(id) + "Old regions: " + oldBefore + "->" + oldAfter);
+        details("gc,heap", gc(id) + "Humongous regions: " + humongousBefore + "->" + humongousAfter);
+        details("gc,metaspace", gc(id) + metaspace());
+    }
+
+    private String heap(long regionCount) {
+        return regionCount * regionSize + "M";
+    }
+}
@@ -0,0 +1,45 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+/**
+ * The GC log formats that {@link GCLogGenerator} can write. Unified formats are written the way a JDK 17 or
+ * later JVM writes them with {@code -Xlog:gc} or {@code -Xlog:gc*}, apart from CMS, which is written the way
+ * JDK 11 writes it as it was removed in JDK 14. Pre-unified formats are written the way a JDK 8 JVM writes
+ * them with {@code -XX:+PrintGCDetails}.
+ */
+public enum GCLogFormat {
+    UNIFIED_G1(true, "G1"),
+    UNIFIED_ZGC(true, "The Z Garbage Collector"),
+    UNIFIED_GENERATIONAL_ZGC(true, "The Z Garbage Collector"),
+    UNIFIED_SHENANDOAH(true, "Shenandoah"),
+    UNIFIED_PARALLEL(true, "Parallel"),
+    UNIFIED_SERIAL(true, "Serial"),
+    UNIFIED_CMS(true, "Concurrent Mark Sweep"),
+    PRE_UNIFIED_PARALLEL(false, "-XX:+UseParallelGC"),
+    PRE_UNIFIED_SERIAL(false, "-XX:+UseSerialGC"),
+    PRE_UNIFIED_CMS(false, "-XX:+UseConcMarkSweepGC -XX:+UseParNewGC");
+
+    private final boolean unified;
+    private final String collector;
+
+    GCLogFormat(boolean unified, String collector) {
+        this.unified = unified;
+        this.collector = collector;
+    }
+
+    /**
+     * @return {@code true} if this is a JDK 9 or later unified logging format
+     */
+    public boolean isUnified() {
+        return unified;
+    }
+
+    /**
+     * The collector as named in the log: the name in the {@code Using} line of a unified log, or the
+     * command line flags that select the collector in a pre-unified log.
+     */
+    String collector() {
+        return collector;
+    }
+}
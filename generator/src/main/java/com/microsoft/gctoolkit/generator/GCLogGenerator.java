@@ -0,0 +1,250 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates synthetic GC logs of any size for scale testing, without shipping a production log.
+ * <p>
+ * A log is generated from a seed, so the same configuration always writes the same log. Unless validation
+ * is turned off, each line is passed to the GCToolKit parsers as it is written, so a generated log is known
+ * to parse.
+ * <pre>{@code
+ * GeneratedLog log = new GCLogGenerator(GCLogFormat.UNIFIED_G1)
+ *         .seed(42)
+ *         .targetSize(2L << 30)
+ *         .detail(Detail.DEBUG)
+ *         .rotation(100L << 20, 5)
+ *         .write(Path.of("target", "gc.log"));
+ * }</pre>
+ */
+public class GCLogGenerator {
+
+    private static final long DEFAULT_PID = 4242L;
+
+    private final GCLogFormat format;
+    private long seed = 0L;
+    private long collections = Long.MAX_VALUE;
+    private long targetSize = Long.MAX_VALUE;
+    private double meanInterval = 2.0d;
+    private long heapSize = 1024L;
+    private final Map<GCCause, Double> causes = new EnumMap<>(GCCause.class);
+    private Detail detail = Detail.DETAILS;
+    private Set<Decorator> decorators = EnumSet.of(Decorator.UPTIME, Decorator.LEVEL, Decorator.TAGS);
+    private ZonedDateTime startTime = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private long rotationSize = Long.MAX_VALUE;
+    private int fileCount = 1;
+    private boolean validate = true;
+
+    /**
+     * @param format the format of the log to generate
+     */
+    public GCLogGenerator(GCLogFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * @param seed the seed of the random numbers that all the variation in the log comes from
+     * @return this generator
+     */
+    public GCLogGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Stop after a number of collections. A concurrent cycle counts as one collection.
+     * @param collections the number of collections to write
+     * @return this generator
+     */
+    public GCLogGenerator collections(long collections) {
+        if (collections < 1L)
+            throw new IllegalArgumentException("At least one collection must be written: " + collections);
+        this.collections = collections;
+        return this;
+    }
+
+    /**
+     * Stop once the log has reached a size, counting all of the files of a rotated log.
+     * @param bytes the size of the log
+     * @return this generator
+     */
+    public GCLogGenerator targetSize(long bytes) {
+        if (bytes < 1L)
+            throw new IllegalArgumentException("The target size must be positive: " + bytes);
+        this.targetSize = bytes;
+        return this;
+    }
+
+    /**
+     * @param seconds the mean time between the start of one collection and the start of the next
+     * @return this generator
+     */
+    public GCLogGenerator meanInterval(double seconds) {
+        if (!(seconds > 0.0d))
+            throw new IllegalArgumentException("The mean interval must be positive: " + seconds);
+        this.meanInterval = seconds;
+        return this;
+    }
+
+    /**
+     * @param megabytes the maximum heap size
+     * @return this generator
+     */
+    public GCLogGenerator heapSize(long megabytes) {
+        if (megabytes < 64L)
+            throw new IllegalArgumentException("The heap must be at least 64M: " + megabytes);
+        this.heapSize = megabytes;
+        return this;
+    }
+
+    /**
+     * Add a cause to the mix of causes that start a collection. When no cause is added, the mix is the one
+     * that the collector typically logs. The heap model may still start a collection for a different
+     * cause, for example a full collection once the old generation has filled.
+     * @param cause the cause of a collection
+     * @param weight the weight of the cause relative to the other causes
+     * @return this generator
+     */
+    public GCLogGenerator cause(GCCause cause, double weight) {
+        if (!(weight > 0.0d))
+            throw new IllegalArgumentException("The weight of " + cause + " must be positive: " + weight);
+        causes.put(cause, weight);
+        return this;
+    }
+
+    /**
+     * @param detail how much of each collection to write. Pre-unified logs are always written with details.
+     * @return this generator
+     */
+    public GCLogGenerator detail(Detail detail) {
+        this.detail = detail;
+        return this;
+    }
+
+    /**
+     * @param decorators the decorations in front of each unified line, or the stamps in front of each
+     * pre-unified record. There must be a time or an uptime for the log to be parsed.
+     * @return this generator
+     */
+    public GCLogGenerator decorators(Set<Decorator> decorators) {
+        if (!decorators.contains(Decorator.TIME) && !decorators.contains(Decorator.UPTIME))
+            throw new IllegalArgumentException("The decorators must include TIME or UPTIME: " + decorators);
+        this.decorators = EnumSet.copyOf(decorators);
+        return this;
+    }
+
+    /**
+     * @param startTime the date and time that the JVM started
+     * @return this generator
+     */
+    public GCLogGenerator startTime(ZonedDateTime startTime) {
+        this.startTime = startTime;
+        return this;
+    }
+
+    /**
+     * Rotate the log the way the JVM does when it is started with a file count and file size.
+     * @param bytes the size a file grows to before the next file is started
+     * @param files the number of files to keep
+     * @return this generator
+     */
+    public GCLogGenerator rotation(long bytes, int files) {
+        if (bytes < 1L || files < 1)
+            throw new IllegalArgumentException("Rotation needs a positive size and file count: " + bytes + ", " + files);
+        this.rotationSize = bytes;
+        this.fileCount = files;
+        return this;
+    }
+
+    /**
+     * @param validate false to skip passing each line to the GCToolKit parsers, which is faster
+     * @return this generator
+     */
+    public GCLogGenerator validate(boolean validate) {
+        this.validate = validate;
+        return this;
+    }
+
+    /**
+     * Write the log to a file, rotating it if rotation is configured.
+     * @param path the log file, or the base name of the files of a rotated log
+     * @return what was written
+     * @throws IOException if the log could not be written
+     * @throws IllegalArgumentException if the collector does not log one of the causes
+     * @throws IllegalStateException if validation is on and the parsers do not recognize a line
+     */
+    public GeneratedLog write(Path path) throws IOException {
+        try (LogOutput output = new LogOutput(path, format.isUnified(), rotationSize, fileCount)) {
+            return generate(output);
+        }
+    }
+
+    /**
+     * Write the log to a writer. The log is not rotated.
+     * @param writer where to write the log, which is flushed but not closed
+     * @return what was written
+     * @throws IOException if the log could not be written
+     * @throws IllegalArgumentException if the collector does not log one of the causes
+     * @throws IllegalStateException if validation is on and the parsers do not recognize a line
+     */
+    public GeneratedLog write(Writer writer) throws IOException {
+        try (LogOutput output = new LogOutput(writer)) {
+            return generate(output);
+        }
+    }
+
+    private GeneratedLog generate(LogOutput output) throws IOException {
+        if (collections == Long.MAX_VALUE && targetSize == Long.MAX_VALUE)
+            throw new IllegalStateException("Either the number of collections or the target size must be set");
+        Random random = new Random(seed);
+        LineFormatter formatter = new LineFormatter(format, decorators, startTime, DEFAULT_PID);
+        CollectorWriter writer = CollectorWriter.of(format, detail, heapSize, formatter, random);
+        Map<GCCause, Double> mix = new EnumMap<>(causes.isEmpty() ? writer.defaultCauses() : causes);
+        Set<GCCause> supported = writer.supportedCauses();
+        for (GCCause cause : mix.keySet())
+            if (!supported.contains(cause))
+                throw new IllegalArgumentException(format + " does not log collections for " + cause.getLabel() + ", only for " + supported);
+        GCCause[] choices = mix.keySet().toArray(new GCCause[0]);
+        double[] cumulative = new double[choices.length];
+        double total = 0.0d;
+        for (int i = 0; i < choices.length; i++) {
+            total += mix.get(choices[i]);
+            cumulative[i] = total;
+        }
+
+        LogValidator validator = validate ? new LogValidator(format.isUnified()) : null;
+        writer.setOutput(output, validator);
+        writer.advance(0.2d + random.nextDouble() * 0.1d);
+        writer.writeHeader();
+        while (writer.collections < collections && output.getBytes() < targetSize) {
+            if (output.rotateIfFull() && !format.isUnified())
+                writer.writeHeader();
+            writer.advance(writer.exponential(meanInterval));
+            writer.collection(choose(choices, cumulative, random.nextDouble() * total));
+        }
+        if (validator != null)
+            validator.finish();
+        return new GeneratedLog(format, writer.collections, writer.pauses, writer.fullCollections,
+                writer.concurrentCycles, writer.uptime, output.getLines(), output.getBytes(), output.getFiles());
+    }
+
+    private static GCCause choose(GCCause[] choices, double[] cumulative, double point) {
+        for (int i = 0; i < choices.length - 1; i++)
+            if (point < cumulative[i])
+                return choices[i];
+        return choices[choices.length - 1];
+    }
+}
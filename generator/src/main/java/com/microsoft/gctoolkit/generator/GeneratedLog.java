@@ -0,0 +1,89 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * What {@link GCLogGenerator} wrote, which is what an analysis of the log is expected to find.
+ */
+public class GeneratedLog {
+
+    private final GCLogFormat format;
+    private final long collections;
+    private final long pauses;
+    private final long fullCollections;
+    private final long concurrentCycles;
+    private final double uptime;
+    private final long lines;
+    private final long bytes;
+    private final List<Path> files;
+
+    GeneratedLog(GCLogFormat format, long collections, long pauses, long fullCollections, long concurrentCycles,
+                 double uptime, long lines, long bytes, List<Path> files) {
+        this.format = format;
+        this.collections = collections;
+        this.pauses = pauses;
+        this.fullCollections = fullCollections;
+        this.concurrentCycles = concurrentCycles;
+        this.uptime = uptime;
+        this.lines = lines;
+        this.bytes = bytes;
+        this.files = files;
+    }
+
+    public GCLogFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @return the number of collections, counting each concurrent cycle as one collection
+     */
+    public long getCollections() {
+        return collections;
+    }
+
+    /**
+     * @return the number of stop the world pauses, including the pauses of concurrent cycles
+     */
+    public long getPauses() {
+        return pauses;
+    }
+
+    public long getFullCollections() {
+        return fullCollections;
+    }
+
+    public long getConcurrentCycles() {
+        return concurrentCycles;
+    }
+
+    /**
+     * @return the uptime in seconds at the end of the last collection
+     */
+    public double getUptime() {
+        return uptime;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the files of the log, oldest first, or an empty list if the log was written to a {@code Writer}
+     */
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    @Override
+    public String toString() {
+        return format + ": " + collections + " collections, " + pauses + " pauses, " + fullCollections + " full collections, "
+                + concurrentCycles + " concurrent cycles, " + lines + " lines, " + bytes + " bytes in " + Math.max(1, files.size()) + " file(s)";
+    }
+}
@@ -0,0 +1,274 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a unified Parallel, Serial or CMS log. Parallel and Serial are written as JDK 17 writes them and
+ * CMS, which was removed in JDK 14, as JDK 11 writes it.
+ * <p>
+ * The heap is modelled in kilobytes, with a third of it young. Parallel and Serial collect the old
+ * generation with a full collection once it is 90% full, and CMS starts a concurrent cycle once the old
+ * generation is 70% full.
+ */
+final class GenerationalWriter extends CollectorWriter {
+
+    private static final int WORKERS = 8;
+    private static final long METASPACE_RESERVED = 1_064_960L;
+    private static final Set<GCCause> YOUNG_CAUSES = EnumSet.of(GCCause.ALLOCATION_FAILURE, GCCause.GC_LOCKER);
+    private static final Set<GCCause> FULL_CAUSES = EnumSet.of(GCCause.JAVA_LANG_SYSTEM, GCCause.HEAP_DUMP,
+            GCCause.HEAP_INSPECTION, GCCause.METADATA_GENERATION_THRESHOLD);
+
+    private final String youngName;
+    private final String oldName;
+    private final long eden;
+    private final long survivor;
+    private final long oldCapacity;
+    private final long liveOld;
+
+    private long survivorUsed = 0L;
+    private long oldUsed = 0L;
+    private boolean oldCollectionDue = false;
+
+    GenerationalWriter(GCLogFormat format, Detail detail, long heapSize, LineFormatter formatter, Random random) {
+        super(format, detail, heapSize, formatter, random);
+        switch (format) {
+            case UNIFIED_PARALLEL:
+                youngName = "PSYoungGen";
+                oldName = "ParOldGen";
+                break;
+            case UNIFIED_SERIAL:
+                youngName = "DefNew";
+                oldName = "Tenured";
+                break;
+            default:
+                youngName = "ParNew";
+                oldName = "CMS";
+        }
+        long young = heapSize * 1024L / 3L;
+        eden = young * 8L / 10L;
+        survivor = young / 10L;
+        oldCapacity = heapSize * 1024L - young;
+        liveOld = oldCapacity / 4L;
+    }
+
+    @Override
+    Map<GCCause, Double> defaultCauses() {
+        Map<GCCause, Double> causes = new EnumMap<>(GCCause.class);
+        causes.put(GCCause.ALLOCATION_FAILURE, 0.99d);
+        causes.put(GCCause.JAVA_LANG_SYSTEM, 0.01d);
+        return causes;
+    }
+
+    @Override
+    Set<GCCause> supportedCauses() {
+        Set<GCCause> causes = EnumSet.copyOf(YOUNG_CAUSES);
+        causes.addAll(FULL_CAUSES);
+        return causes;
+    }
+
+    @Override
+    void header() throws IOException {
+        info("gc", "Using " + format.collector());
+        if (format == GCLogFormat.UNIFIED_CMS)
+            return;
+        details("gc,init", "Version: 17.0.8+7 (release)");
+        details("gc,init", "CPUs: " + WORKERS + " total, " + WORKERS + " available");
+        details("gc,init", "Memory: " + (heapSize * 4L) + "M");
+        details("gc,init", "Large Page Support: Disabled");
+        details("gc,init", "NUMA Support: Disabled");
+        details("gc,init", "Compressed Oops: Enabled (Zero based)");
+        details("gc,init", "Heap Min Capacity: " + heapSize + "M");
+        details("gc,init", "Heap Initial Capacity: " + heapSize + "M");
+        details("gc,init", "Heap Max Capacity: " + heapSize + "M");
+        details("gc,init", "Pre-touch: Disabled");
+        if (format == GCLogFormat.UNIFIED_PARALLEL) {
+            details("gc,init", "Alignments: Space 512K, Generation 512K, Heap 2M");
+            details("gc,init", "Parallel Workers: " + WORKERS);
+        }
+    }
+
+    @Override
+    void collection(GCCause cause) throws IOException {
+        loadClasses();
+        if (FULL_CAUSES.contains(cause))
+            full(cause);
+        else if (oldCollectionDue && format == GCLogFormat.UNIFIED_CMS)
+            concurrentCycle();
+        else if (oldCollectionDue && format == GCLogFormat.UNIFIED_SERIAL)
+            failedYoung(cause);
+        else if (oldCollectionDue)
+            full(GCCause.ADAPTIVE_SIZE_POLICY);
+        else
+            young(cause);
+        collections++;
+    }
+
+    private void young(GCCause cause) throws IOException {
+        int id = gcId++;
+        long edenBefore = (long) (eden * (0.95d + 0.05d * random.nextDouble()));
+        long survivorBefore = survivorUsed;
+        long oldBefore = oldUsed;
+        survivorUsed = Math.min(survivor, (long) (edenBefore * (0.03d + 0.04d * random.nextDouble())));
+        oldUsed += (long) (edenBefore * 0.02d + survivorBefore * 0.3d);
+        double duration = around(0.002d + heapSize / 100_000.0d);
+
+        double start = uptime;
+        details("gc,start", gc(id) + "Pause Young (" + cause.getLabel() + ")");
+        if (format != GCLogFormat.UNIFIED_SERIAL)
+            details("gc,task", gc(id) + "Using " + WORKERS + " workers of " + WORKERS + " for evacuation");
+        if (format == GCLogFormat.UNIFIED_PARALLEL)
+            debug("gc,phases", gc(id) + "Scavenge " + ms(duration * 0.9d));
+        debug("gc,phases", gc(id) + "Reference Processing " + ms(duration * 0.01d));
+        debug("gc,phases", gc(id) + "Weak Processing " + ms(duration * 0.01d));
+        uptime = start + duration;
+        generations(id, edenBefore + survivorBefore, survivorBefore, survivorUsed, oldBefore, oldUsed);
+        info("gc", gc(id) + "Pause Young (" + cause.getLabel() + ") " + heap(edenBefore + survivorBefore + oldBefore, survivorUsed + oldUsed) + " " + ms(duration));
+        details("gc,cpu", gc(id) + cpu(duration, WORKERS));
+        pauses++;
+        oldCollectionDue = oldUsed * 100L >= oldCapacity * ((format == GCLogFormat.UNIFIED_CMS) ? 70L : 90L);
+    }
+
+    /**
+     * A Serial young collection that finds too little room in the old generation to promote into, and so
+     * runs a full collection inside of itself.
+     */
+    private void failedYoung(GCCause cause) throws IOException {
+        int id = gcId++;
+        long edenBefore = (long) (eden * (0.95d + 0.05d * random.nextDouble()));
+        long survivorBefore = survivorUsed;
+        long oldBefore = oldUsed;
+        double start = uptime;
+        details("gc,start", gc(id) + "Pause Young (" + cause.getLabel() + ")");
+        double fullDuration = fullCollection(gcId++, cause, edenBefore, survivorBefore, oldBefore, true);
+        uptime = start + fullDuration + 0.0001d;
+        generations(id, edenBefore + survivorBefore, survivorBefore, 0L, oldBefore, oldUsed);
+        info("gc", gc(id) + "Pause Young (" + cause.getLabel() + ") " + heap(edenBefore + survivorBefore + oldBefore, oldUsed) + " " + ms(uptime - start));
+        details("gc,cpu", gc(id) + cpu(uptime - start, 1));
+        pauses++;
+        fullCollections++;
+    }
+
+    private void full(GCCause cause) throws IOException {
+        int id = gcId++;
+        long edenBefore = (long) (eden * random.nextDouble());
+        long survivorBefore = survivorUsed;
+        long oldBefore = oldUsed;
+        double start = uptime;
+        if (format == GCLogFormat.UNIFIED_PARALLEL)
+            debug("gc,phases", gc(id) + "Pre Compact " + ms(0.00002d));
+        double duration = fullCollection(id, cause, edenBefore, survivorBefore, oldBefore, false);
+        uptime = start + duration;
+        details("gc,cpu", gc(id) + cpu(duration, WORKERS));
+        pauses++;
+        fullCollections++;
+    }
+
+    /**
+     * The lines of a full collection from its start to its summary, which leave the young generation
+     * empty and the old generation holding only live objects. The generations are not logged for a full
+     * collection nested in a young collection, as the young collection logs them.
+     * @return the duration of the collection
+     */
+    private double fullCollection(int id, GCCause cause, long edenBefore, long survivorBefore, long oldBefore, boolean nested) throws IOException {
+        double duration = around(0.05d + heapSize / 5_000.0d);
+        double start = uptime;
+        details("gc,start", gc(id) + "Pause Full (" + cause.getLabel() + ")");
+        if (format == GCLogFormat.UNIFIED_PARALLEL) {
+            String[] phases = {"Marking Phase", "Summary Phase", "Adjust Roots", "Compaction Phase", "Post Compact"};
+            double[] shares = {0.35d, 0.01d, 0.2d, 0.4d, 0.04d};
+            fullPhases(id, phases, shares, duration);
+        } else {
+            String[] phases = {"Phase 1: Mark live objects", "Phase 2: Compute new object addresses", "Phase 3: Adjust pointers", "Phase 4: Move objects"};
+            double[] shares = {0.4d, 0.15d, 0.25d, 0.2d};
+            fullPhases(id, phases, shares, duration);
+        }
+        uptime = start + duration;
+        survivorUsed = 0L;
+        oldUsed = (long) (liveOld * (0.9d + 0.2d * random.nextDouble()));
+        oldCollectionDue = false;
+        if (!nested)
+            generations(id, edenBefore + survivorBefore, survivorBefore, 0L, oldBefore, oldUsed);
+        info("gc", gc(id) + "Pause Full (" + cause.getLabel() + ") " + heap(edenBefore + survivorBefore + oldBefore, oldUsed) + " " + ms(duration));
+        return duration;
+    }
+
+    private void fullPhases(int id, String[] phases, double[] shares, double duration) throws IOException {
+        for (int i = 0; i < phases.length; i++) {
+            details("gc,phases,start", gc(id) + phases[i]);
+            uptime += duration * shares[i];
+            details("gc,phases", gc(id) + phases[i] + " " + ms(duration * shares[i]));
+        }
+    }
+
+    private void concurrentCycle() throws IOException {
+        int id = gcId++;
+        long used = survivorUsed + oldUsed + eden / 2L;
+        cmsPause(id, "Initial Mark", used, used, around(0.001d + heapSize / 1_000_000.0d));
+        concurrentPhase(id, "Mark", around(0.03d * heapSize / 1024.0d), true);
+        concurrentPhase(id, "Preclean", around(0.002d * heapSize / 1024.0d), false);
+        concurrentPhase(id, "Abortable Preclean", around(0.01d * heapSize / 1024.0d), false);
+        details("gc,start", gc(id) + "Pause Remark");
+        double remark = around(0.003d + heapSize / 500_000.0d);
+        debug("gc,phases", gc(id) + "Rescan (parallel) " + ms(remark * 0.5d));
+        debug("gc,phases", gc(id) + "Reference Processing " + ms(remark * 0.05d));
+        debug("gc,phases", gc(id) + "Class Unloading " + ms(remark * 0.2d));
+        uptime += remark;
+        info("gc", gc(id) + "Pause Remark " + heap(used, used) + " " + ms(remark));
+        details("gc,cpu", gc(id) + cpu(remark, WORKERS));
+        pauses++;
+        concurrentPhase(id, "Sweep", around(0.01d * heapSize / 1024.0d), false);
+        oldUsed = (long) (liveOld * (0.9d + 0.2d * random.nextDouble()));
+        concurrentPhase(id, "Reset", around(0.002d), false);
+        oldCollectionDue = false;
+        concurrentCycles++;
+    }
+
+    private void cmsPause(int id, String pause, long before, long after, double duration) throws IOException {
+        details("gc,start", gc(id) + "Pause " + pause);
+        uptime += duration;
+        info("gc", gc(id) + "Pause " + pause + " " + heap(before, after) + " " + ms(duration));
+        details("gc,cpu", gc(id) + cpu(duration, WORKERS));
+        pauses++;
+    }
+
+    private void concurrentPhase(int id, String phase, double duration, boolean workers) throws IOException {
+        info("gc", gc(id) + "Concurrent " + phase);
+        if (workers)
+            details("gc,task", gc(id) + "Using " + WORKERS / 4 + " workers of " + WORKERS / 4 + " for marking");
+        uptime += duration;
+        info("gc", gc(id) + "Concurrent " + phase + " " + ms(duration));
+        details("gc,cpu", gc(id) + cpu(duration, WORKERS / 4));
+    }
+
+    private void generations(int id, long youngBefore, long fromBefore, long youngAfter, long oldBefore, long oldAfter) throws IOException {
+        long youngCapacity = eden + survivor;
+        if (format == GCLogFormat.UNIFIED_CMS) {
+            details("gc,heap", gc(id) + youngName + ": " + youngBefore + "K->" + youngAfter + "K(" + youngCapacity + "K)");
+            details("gc,heap", gc(id) + oldName + ": " + oldBefore + "K->" + oldAfter + "K(" + oldCapacity + "K)");
+            details("gc,metaspace", gc(id) + "Metaspace: " + metaspaceUsed + "K->" + metaspaceUsed + "K(" + METASPACE_RESERVED + "K)");
+            return;
+        }
+        long from = Math.min(fromBefore, survivor);
+        details("gc,heap", gc(id) + youngName + ": " + youngBefore + "K(" + youngCapacity + "K)->" + youngAfter + "K(" + youngCapacity + "K)"
+                + " Eden: " + (youngBefore - from) + "K(" + eden + "K)->0K(" + eden + "K)"
+                + " From: " + from + "K(" + survivor + "K)->" + youngAfter + "K(" + survivor + "K)");
+        details("gc,heap", gc(id) + oldName + ": " + oldBefore + "K(" + oldCapacity + "K)->" + oldAfter + "K(" + oldCapacity + "K)");
+        details("gc,metaspace", gc(id) + metaspace());
+    }
+
+    /**
+     * @return the heap occupancy before and after, and the heap size, in megabytes
+     */
+    private String heap(long before, long after) {
+        return before / 1024L + "M->" + after / 1024L + "M(" + (eden + survivor + oldCapacity) / 1024L + "M)";
+    }
+}
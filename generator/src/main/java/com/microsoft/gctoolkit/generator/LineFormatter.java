@@ -0,0 +1,161 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Writes the decorations in front of a log line, and the numbers in it, the way the JVM does.
+ * <p>
+ * As in the JVM, the level and tags decorations are padded to the widest value written so far, so the
+ * padding grows as the log goes on. The date is formatted once for each millisecond as many lines share
+ * the same time stamp.
+ */
+final class LineFormatter {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L};
+
+    private final boolean unified;
+    private final Set<Decorator> decorators;
+    private final long startMillis;
+    private final ZoneOffset offset;
+    private final long nanoBase;
+    private final long pid;
+    private final long tid;
+
+    private int levelWidth = 0;
+    private int tagsWidth = 0;
+    private long cachedMillis = Long.MIN_VALUE;
+    private String cachedDate;
+
+    LineFormatter(GCLogFormat format, Set<Decorator> decorators, ZonedDateTime startTime, long pid) {
+        this.unified = format.isUnified();
+        this.decorators = decorators;
+        this.startMillis = startTime.toInstant().toEpochMilli();
+        this.offset = startTime.getOffset();
+        this.nanoBase = 10_000_000_000_000L + pid * 1_000_000L;
+        this.pid = pid;
+        this.tid = pid + 1L;
+    }
+
+    /**
+     * A unified log line.
+     * @param uptime seconds since the JVM started
+     * @param level the log level, such as {@code info}
+     * @param tags the tag set, such as {@code gc,start}
+     * @param message the message
+     * @return the decorated line
+     */
+    String unified(double uptime, String level, String tags, String message) {
+        StringBuilder line = new StringBuilder(64 + message.length());
+        long uptimeMillis = Math.round(uptime * 1000.0d);
+        for (Decorator decorator : decorators) {
+            switch (decorator) {
+                case TIME:
+                    line.append('[').append(date(uptimeMillis)).append(']');
+                    break;
+                case UPTIME:
+                    line.append('[');
+                    fixed(line, uptimeMillis / 1000.0d, 3);
+                    line.append("s]");
+                    break;
+                case TIMEMILLIS:
+                    line.append('[').append(startMillis + uptimeMillis).append("ms]");
+                    break;
+                case UPTIMEMILLIS:
+                    line.append('[').append(uptimeMillis).append("ms]");
+                    break;
+                case TIMENANOS:
+                    line.append('[').append(nanoBase + uptimeMillis * 1_000_000L).append("ns]");
+                    break;
+                case UPTIMENANOS:
+                    line.append('[').append(uptimeMillis * 1_000_000L).append("ns]");
+                    break;
+                case PID:
+                    line.append('[').append(pid).append(']');
+                    break;
+                case TID:
+                    line.append('[').append(tid).append(']');
+                    break;
+                case LEVEL:
+                    levelWidth = Math.max(levelWidth, level.length());
+                    pad(line.append('['), level, levelWidth).append(']');
+                    break;
+                case TAGS:
+                    tagsWidth = Math.max(tagsWidth, tags.length());
+                    pad(line.append('['), tags, tagsWidth).append(']');
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown decorator " + decorator);
+            }
+        }
+        return line.append(' ').append(message).toString();
+    }
+
+    /**
+     * The time stamp written at the start of a pre-unified record, and in front of each nested record.
+     * @param uptime seconds since the JVM started
+     * @return the date and uptime stamps, each followed by ": "
+     */
+    String stamp(double uptime) {
+        StringBuilder stamp = new StringBuilder(40);
+        long uptimeMillis = Math.round(uptime * 1000.0d);
+        if (decorators.contains(Decorator.TIME))
+            stamp.append(date(uptimeMillis)).append(": ");
+        if (decorators.contains(Decorator.UPTIME)) {
+            fixed(stamp, uptimeMillis / 1000.0d, 3);
+            stamp.append(": ");
+        }
+        return stamp.toString();
+    }
+
+    boolean has(Decorator decorator) {
+        return decorators.contains(decorator);
+    }
+
+    boolean isUnified() {
+        return unified;
+    }
+
+    private String date(long uptimeMillis) {
+        long millis = startMillis + uptimeMillis;
+        if (millis != cachedMillis) {
+            cachedMillis = millis;
+            cachedDate = DATE_FORMAT.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), offset));
+        }
+        return cachedDate;
+    }
+
+    private static StringBuilder pad(StringBuilder line, String value, int width) {
+        line.append(value);
+        for (int i = value.length(); i < width; i++)
+            line.append(' ');
+        return line;
+    }
+
+    /**
+     * Append a non-negative value rounded to a fixed number of decimals, which is a good deal cheaper than
+     * {@code String.format} when writing gigabytes of log.
+     */
+    static StringBuilder fixed(StringBuilder buffer, double value, int decimals) {
+        long scaled = Math.round(value * POWERS_OF_TEN[decimals]);
+        buffer.append(scaled / POWERS_OF_TEN[decimals]);
+        if (decimals > 0) {
+            buffer.append('.');
+            String fraction = Long.toString(scaled % POWERS_OF_TEN[decimals]);
+            for (int i = fraction.length(); i < decimals; i++)
+                buffer.append('0');
+            buffer.append(fraction);
+        }
+        return buffer;
+    }
+
+    static String fixed(double value, int decimals) {
+        return fixed(new StringBuilder(16), value, decimals).toString();
+    }
+}
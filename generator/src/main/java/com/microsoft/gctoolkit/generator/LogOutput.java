@@ -0,0 +1,130 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where the generated lines go: a single {@code Writer}, or a file that is rotated the way the JVM rotates
+ * its GC log.
+ * <p>
+ * When a file has grown past the rotation size, the next collection starts a new file. A unified log is
+ * always written to the base name, and each full file is archived as {@code <name>.<n>}, where {@code n}
+ * counts up and wraps around at the file count, overwriting the oldest archive. A pre-unified log writes
+ * to {@code <name>.<n>.current} and drops the {@code .current} suffix once the file is full. A log that is
+ * not rotated is written to the base name.
+ */
+final class LogOutput implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path path;
+    private final boolean unified;
+    private final long rotationSize;
+    private final int fileCount;
+
+    private Writer writer;
+    private Path currentFile;
+    private int fileIndex = 0;
+    private long fileBytes = 0L;
+    private long bytes = 0L;
+    private long lines = 0L;
+    private final List<Path> files = new ArrayList<>();
+
+    LogOutput(Writer writer) {
+        this.path = null;
+        this.unified = true;
+        this.rotationSize = Long.MAX_VALUE;
+        this.fileCount = 1;
+        this.writer = writer;
+    }
+
+    LogOutput(Path path, boolean unified, long rotationSize, int fileCount) throws IOException {
+        this.path = path;
+        this.unified = unified;
+        this.rotationSize = rotationSize;
+        this.fileCount = fileCount;
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        open();
+    }
+
+    void write(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+        // The lines are ASCII so each character is a byte.
+        fileBytes += line.length() + 1;
+        bytes += line.length() + 1;
+        lines++;
+    }
+
+    /**
+     * Start a new file if the current one has reached the rotation size.
+     * @return true if a new file was started
+     * @throws IOException if the files could not be renamed or opened
+     */
+    boolean rotateIfFull() throws IOException {
+        if (path == null || fileBytes < rotationSize)
+            return false;
+        writer.close();
+        Path archive = sibling(path.getFileName() + "." + fileIndex);
+        Files.move(currentFile, archive, StandardCopyOption.REPLACE_EXISTING);
+        files.remove(currentFile);
+        files.remove(archive);
+        files.add(archive);
+        fileIndex = (fileIndex + 1) % fileCount;
+        open();
+        return true;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    long getLines() {
+        return lines;
+    }
+
+    /**
+     * @return the files that hold the log, oldest first
+     */
+    List<Path> getFiles() {
+        return List.copyOf(files);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (path == null)
+            writer.flush();
+        else
+            writer.close();
+    }
+
+    private void open() throws IOException {
+        boolean current = !unified && rotationSize < Long.MAX_VALUE;
+        currentFile = current ? sibling(path.getFileName() + "." + fileIndex + ".current") : path;
+        if (current) {
+            Path overwritten = sibling(path.getFileName() + "." + fileIndex);
+            Files.deleteIfExists(overwritten);
+            files.remove(overwritten);
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(currentFile), StandardCharsets.US_ASCII), BUFFER_SIZE);
+        files.remove(currentFile);
+        files.add(currentFile);
+        fileBytes = 0L;
+    }
+
+    private Path sibling(String name) {
+        return path.resolveSibling(name);
+    }
+}
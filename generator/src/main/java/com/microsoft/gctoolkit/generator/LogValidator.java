@@ -0,0 +1,187 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.UnmatchedLineCollector;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+/**
+ * Checks a log as it is written by passing each line to the GCToolKit parsers, which are found the way
+ * GCToolKit finds them, through the {@link Diarizer} and {@link DataSourceParser} services. A line that one
+ * of the parsers does not recognize, or that has a GC cause it does not know, fails the generation rather
+ * than producing a log that quietly parses to less than what was generated.
+ * <p>
+ * The parsers cannot be chosen until the diary of the log is known, so the first lines are held back until
+ * the diarizer has seen enough of them. Lines the parsers are not expected to recognize, such as the
+ * configuration the JVM logs when it starts, are passed to them without being checked.
+ */
+final class LogValidator {
+
+    private static final String[] DIARIZERS = {
+            "com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer",
+            "com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer"
+    };
+
+    private static final String[] PARSERS = {
+            "com.microsoft.gctoolkit.parser.CMSTenuredPoolParser",
+            "com.microsoft.gctoolkit.parser.GenerationalHeapParser",
+            "com.microsoft.gctoolkit.parser.JVMEventParser",
+            "com.microsoft.gctoolkit.parser.PreUnifiedG1GCParser",
+            "com.microsoft.gctoolkit.parser.ShenandoahParser",
+            "com.microsoft.gctoolkit.parser.SurvivorMemoryPoolParser",
+            "com.microsoft.gctoolkit.parser.UnifiedG1GCParser",
+            "com.microsoft.gctoolkit.parser.UnifiedGenerationalParser",
+            "com.microsoft.gctoolkit.parser.UnifiedJVMEventParser",
+            "com.microsoft.gctoolkit.parser.UnifiedSurvivorMemoryPoolParser",
+            "com.microsoft.gctoolkit.parser.ZGCParser"
+    };
+
+    private final Diarizer diarizer;
+    private List<String> heldBack = new ArrayList<>();
+    private final BitSet heldBackUnrecognized = new BitSet();
+    private List<Check> checks = null;
+
+    /**
+     * @param unified true if the log is a unified log
+     */
+    LogValidator(boolean unified) {
+        this.diarizer = load(Diarizer.class, DIARIZERS).stream()
+                .filter(candidate -> candidate.isUnified() == unified)
+                .findFirst()
+                .orElseThrow(() -> new ServiceConfigurationError("Unable to find a suitable provider to create a diary"));
+    }
+
+    /**
+     * @param line the line that has just been written
+     * @param recognized true if the parsers are expected to recognize the line
+     * @throws IllegalStateException if a parser does not recognize a line it is expected to
+     */
+    void check(String line, boolean recognized) {
+        if (checks != null) {
+            deliver(line, recognized);
+            return;
+        }
+        if (!recognized)
+            heldBackUnrecognized.set(heldBack.size());
+        heldBack.add(line);
+        String trimmed = line.trim();
+        if (!trimmed.isEmpty() && diarizer.diarize(trimmed))
+            start();
+    }
+
+    /**
+     * Tell the parsers that the log has ended, so that anything they are holding on to is checked too.
+     * @throws IllegalStateException if a parser does not recognize a line, or no parser accepts the log
+     */
+    void finish() {
+        if (checks == null)
+            start();
+        deliver(GCLogFile.END_OF_DATA_SENTINEL, true);
+    }
+
+    private void start() {
+        Diary diary = diarizer.getDiary();
+        JVMEventChannel channel = new DiscardingChannel();
+        List<DataSourceParser> parsers = load(DataSourceParser.class, PARSERS);
+        if (parsers.isEmpty())
+            throw new ServiceConfigurationError("Unable to find a suitable provider to create a DataSourceParser");
+        checks = parsers.stream()
+                .filter(parser -> parser.accepts(diary))
+                .map(parser -> new Check(parser, diary, channel))
+                .collect(Collectors.toList());
+        if (checks.isEmpty())
+            throw new IllegalStateException("None of the parsers accept the generated log, so GCToolKit cannot analyze it: " + diary);
+        List<String> lines = heldBack;
+        heldBack = null;
+        for (int i = 0; i < lines.size(); i++)
+            deliver(lines.get(i), !heldBackUnrecognized.get(i));
+    }
+
+    private void deliver(String line, boolean recognized) {
+        for (Check check : checks)
+            check.receive(line, recognized);
+    }
+
+    /**
+     * Load the providers of a service, falling back to the GCToolKit implementations by name when the
+     * service is not declared, as it is not when GCToolKit is on the class path.
+     */
+    private static <S> List<S> load(Class<S> service, String[] implementations) {
+        List<S> providers = ServiceLoader.load(service).stream()
+                .map(ServiceLoader.Provider::get)
+                .collect(Collectors.toList());
+        if (!providers.isEmpty())
+            return providers;
+        return Arrays.stream(implementations)
+                .map(name -> {
+                    try {
+                        Class<?> clazz = Class.forName(name, true, Thread.currentThread().getContextClassLoader());
+                        return service.cast(clazz.getConstructors()[0].newInstance());
+                    } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One parser with the collectors of the lines and GC causes it does not recognize.
+     */
+    private static final class Check {
+        private final DataSourceParser parser;
+        private final UnmatchedLineCollector unmatchedLines;
+        private final UnknownGCCauseCollector unknownGCCauses = new UnknownGCCauseCollector();
+
+        private Check(DataSourceParser parser, Diary diary, JVMEventChannel channel) {
+            this.parser = parser;
+            this.unmatchedLines = new UnmatchedLineCollector(parser.getClass().getSimpleName());
+            parser.diary(diary);
+            parser.collectUnmatchedLines(unmatchedLines);
+            parser.collectUnknownGCCauses(unknownGCCauses);
+            parser.publishTo(channel);
+        }
+
+        private void receive(String line, boolean recognized) {
+            long unmatched = unmatchedLines.getTotal();
+            long unknown = unknownGCCauses.getTotal();
+            parser.receive(line);
+            if (recognized && unmatchedLines.getTotal() > unmatched)
+                throw new IllegalStateException(parser.getClass().getSimpleName() + " does not recognize the generated line: " + line);
+            if (unknownGCCauses.getTotal() > unknown)
+                throw new IllegalStateException(parser.getClass().getSimpleName() + " does not know the GC cause of the generated line: " + line);
+        }
+    }
+
+    /**
+     * The events are not needed to check the lines, only that the parsers recognize them.
+     */
+    private static final class DiscardingChannel implements JVMEventChannel {
+        @Override
+        public void registerListener(JVMEventChannelListener listener) {}
+
+        @Override
+        public void publish(ChannelName channel, JVMEvent message) {}
+
+        @Override
+        public void close() {}
+    }
+}
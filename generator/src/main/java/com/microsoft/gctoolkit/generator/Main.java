@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generates a GC log from the command line.
+ * <pre>
+ * Main &lt;format&gt; &lt;file&gt; [--size 2G] [--collections n] [--seed n] [--heap megabytes] [--interval seconds]
+ *      [--detail SUMMARY|DETAILS|DEBUG] [--decorators uptime,level,tags] [--rotate 100M 5] [--no-validate]
+ * </pre>
+ */
+public class Main {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Usage: <format> <file> [--size 2G] [--collections n] [--seed n] [--heap megabytes] [--interval seconds] "
+                    + "[--detail SUMMARY|DETAILS|DEBUG] [--decorators uptime,level,tags] [--rotate 100M 5] [--no-validate]. The formats are " + EnumSet.allOf(GCLogFormat.class));
+
+        GCLogGenerator generator = new GCLogGenerator(GCLogFormat.valueOf(args[0].toUpperCase(Locale.ROOT)));
+        Path path = Path.of(args[1]);
+        boolean limited = false;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--size":
+                    generator.targetSize(bytes(args[++i]));
+                    limited = true;
+                    break;
+                case "--collections":
+                    generator.collections(Long.parseLong(args[++i]));
+                    limited = true;
+                    break;
+                case "--seed":
+                    generator.seed(Long.parseLong(args[++i]));
+                    break;
+                case "--heap":
+                    generator.heapSize(Long.parseLong(args[++i]));
+                    break;
+                case "--interval":
+                    generator.meanInterval(Double.parseDouble(args[++i]));
+                    break;
+                case "--detail":
+                    generator.detail(Detail.valueOf(args[++i].toUpperCase(Locale.ROOT)));
+                    break;
+                case "--decorators":
+                    Set<Decorator> decorators = EnumSet.noneOf(Decorator.class);
+                    for (String decorator : args[++i].split(","))
+                        decorators.add(Decorator.valueOf(decorator.trim().toUpperCase(Locale.ROOT)));
+                    generator.decorators(decorators);
+                    break;
+                case "--rotate":
+                    generator.rotation(bytes(args[++i]), Integer.parseInt(args[++i]));
+                    break;
+                case "--no-validate":
+                    generator.validate(false);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (!limited)
+            generator.targetSize(bytes("100M"));
+
+        long start = System.nanoTime();
+        GeneratedLog log = generator.write(path);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0d;
+        System.out.printf("Wrote %s to %s in %.1f seconds%n", log, path.toAbsolutePath(), seconds);
+    }
+
+    /**
+     * @return a number of bytes, which may end in K, M or G
+     */
+    static long bytes(String size) {
+        String value = size.trim().toUpperCase(Locale.ROOT);
+        int shift = "KMG".indexOf(value.charAt(value.length() - 1)) + 1;
+        if (shift > 0)
+            value = value.substring(0, value.length() - 1);
+        return Long.parseLong(value) << (10 * shift);
+    }
+}
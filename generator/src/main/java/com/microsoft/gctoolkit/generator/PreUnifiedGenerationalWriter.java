@@ -0,0 +1,200 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a JDK 8 Parallel, Serial or CMS log with {@code -XX:+PrintGCDetails}, and with the date stamps
+ * and time stamps that the decorators ask for.
+ * <p>
+ * The heap is modelled in kilobytes in the same way as a unified log is: a third of the heap is young,
+ * Parallel and Serial run a full collection once the old generation is 90% full, and CMS starts a
+ * concurrent cycle once it is 70% full.
+ */
+final class PreUnifiedGenerationalWriter extends CollectorWriter {
+
+    private static final int WORKERS = 8;
+    private static final long METASPACE_RESERVED = 1_064_960L;
+    private static final Set<GCCause> YOUNG_CAUSES = EnumSet.of(GCCause.ALLOCATION_FAILURE, GCCause.GC_LOCKER);
+    private static final Set<GCCause> FULL_CAUSES = EnumSet.of(GCCause.JAVA_LANG_SYSTEM, GCCause.HEAP_DUMP,
+            GCCause.HEAP_INSPECTION, GCCause.METADATA_GENERATION_THRESHOLD);
+
+    private final long eden;
+    private final long survivor;
+    private final long oldCapacity;
+    private final long liveOld;
+
+    private long survivorUsed = 0L;
+    private long oldUsed = 0L;
+    private boolean oldCollectionDue = false;
+
+    PreUnifiedGenerationalWriter(GCLogFormat format, Detail detail, long heapSize, LineFormatter formatter, Random random) {
+        super(format, detail, heapSize, formatter, random);
+        long young = heapSize * 1024L / 3L;
+        eden = young * 8L / 10L;
+        survivor = young / 10L;
+        oldCapacity = heapSize * 1024L - young;
+        liveOld = oldCapacity / 4L;
+    }
+
+    @Override
+    Map<GCCause, Double> defaultCauses() {
+        Map<GCCause, Double> causes = new EnumMap<>(GCCause.class);
+        causes.put(GCCause.ALLOCATION_FAILURE, 0.99d);
+        causes.put(GCCause.JAVA_LANG_SYSTEM, 0.01d);
+        return causes;
+    }
+
+    @Override
+    Set<GCCause> supportedCauses() {
+        Set<GCCause> causes = EnumSet.copyOf(YOUNG_CAUSES);
+        causes.addAll(FULL_CAUSES);
+        return causes;
+    }
+
+    /**
+     * The JVM writes these lines at the top of every file of a rotated log, which is how the collector
+     * of each file can be told from the file alone.
+     */
+    @Override
+    void header() throws IOException {
+        long heapBytes = heapSize * 1024L * 1024L;
+        write("OpenJDK 64-Bit Server VM (25.382-b05) for linux-amd64 JRE (1.8.0_382-b05), built on Jul 19 2023 10:00:00 by \"openjdk\" with gcc 7.5.0");
+        write("Memory: 4k page, physical " + heapSize * 4L * 1024L + "k(" + heapSize * 2L * 1024L + "k free), swap 0k(0k free)");
+        write("CommandLine flags: -XX:InitialHeapSize=" + heapBytes + " -XX:MaxHeapSize=" + heapBytes
+                + " -XX:+PrintGC" + (has(Decorator.TIME) ? " -XX:+PrintGCDateStamps" : "") + " -XX:+PrintGCDetails"
+                + (has(Decorator.UPTIME) ? " -XX:+PrintGCTimeStamps" : "")
+                + " -XX:+UseCompressedClassPointers -XX:+UseCompressedOops " + format.collector());
+    }
+
+    @Override
+    void collection(GCCause cause) throws IOException {
+        loadClasses();
+        if (FULL_CAUSES.contains(cause))
+            full(cause);
+        else if (oldCollectionDue && format == GCLogFormat.PRE_UNIFIED_CMS)
+            concurrentCycle();
+        else if (oldCollectionDue)
+            full(format == GCLogFormat.PRE_UNIFIED_PARALLEL ? GCCause.ADAPTIVE_SIZE_POLICY : GCCause.ALLOCATION_FAILURE);
+        else
+            young(cause);
+        collections++;
+    }
+
+    private void young(GCCause cause) throws IOException {
+        long edenBefore = (long) (eden * (0.95d + 0.05d * random.nextDouble()));
+        long youngBefore = edenBefore + survivorUsed;
+        long oldBefore = oldUsed;
+        oldUsed += (long) (edenBefore * 0.02d + survivorUsed * 0.3d);
+        survivorUsed = Math.min(survivor, (long) (edenBefore * (0.03d + 0.04d * random.nextDouble())));
+        double duration = around(0.002d + heapSize / 100_000.0d);
+
+        StringBuilder line = new StringBuilder(stamp()).append("[GC (").append(cause.getLabel()).append(") ");
+        switch (format) {
+            case PRE_UNIFIED_PARALLEL:
+                line.append("[PSYoungGen: ").append(occupancy(youngBefore, survivorUsed, eden + survivor)).append("] ");
+                break;
+            case PRE_UNIFIED_SERIAL:
+                line.append(stamp()).append("[DefNew: ").append(occupancy(youngBefore, survivorUsed, eden + survivor)).append(", ").append(secs(duration * 0.98d, 7)).append(" secs] ");
+                break;
+            default:
+                line.append(stamp()).append("[ParNew: ").append(occupancy(youngBefore, survivorUsed, eden + survivor)).append(", ").append(secs(duration * 0.98d, 7)).append(" secs] ");
+        }
+        line.append(occupancy(youngBefore + oldBefore, survivorUsed + oldUsed, eden + survivor + oldCapacity))
+                .append(", ").append(secs(duration, 7)).append(" secs] ").append(times(duration, WORKERS));
+        write(line.toString());
+        uptime += duration;
+        pauses++;
+        oldCollectionDue = oldUsed * 100L >= oldCapacity * ((format == GCLogFormat.PRE_UNIFIED_CMS) ? 70L : 90L);
+    }
+
+    private void full(GCCause cause) throws IOException {
+        long youngBefore = (long) (eden * random.nextDouble()) + survivorUsed;
+        long oldBefore = oldUsed;
+        survivorUsed = 0L;
+        oldUsed = (long) (liveOld * (0.9d + 0.2d * random.nextDouble()));
+        double duration = around(0.05d + heapSize / 5_000.0d);
+
+        StringBuilder line = new StringBuilder(stamp()).append("[Full GC (").append(cause.getLabel()).append(") ");
+        switch (format) {
+            case PRE_UNIFIED_PARALLEL:
+                line.append("[PSYoungGen: ").append(occupancy(youngBefore, 0L, eden + survivor)).append("] ")
+                        .append("[ParOldGen: ").append(occupancy(oldBefore, oldUsed, oldCapacity)).append("] ");
+                break;
+            case PRE_UNIFIED_SERIAL:
+                line.append(stamp()).append("[Tenured: ").append(occupancy(oldBefore, oldUsed, oldCapacity)).append(", ").append(secs(duration * 0.98d, 7)).append(" secs] ");
+                break;
+            default:
+                line.append(stamp()).append("[CMS: ").append(occupancy(oldBefore, oldUsed, oldCapacity)).append(", ").append(secs(duration * 0.98d, 7)).append(" secs] ");
+        }
+        line.append(occupancy(youngBefore + oldBefore, oldUsed, eden + survivor + oldCapacity)).append(", ")
+                .append("[Metaspace: ").append(occupancy(metaspaceUsed, metaspaceUsed, METASPACE_RESERVED)).append("], ")
+                .append(secs(duration, 7)).append(" secs] ").append(times(duration, format == GCLogFormat.PRE_UNIFIED_PARALLEL ? WORKERS : 1));
+        write(line.toString());
+        uptime += duration;
+        oldCollectionDue = false;
+        pauses++;
+        fullCollections++;
+    }
+
+    private void concurrentCycle() throws IOException {
+        long youngUsed = survivorUsed + eden / 2L;
+        double initialMark = around(0.001d + heapSize / 1_000_000.0d);
+        write(stamp() + "[GC (" + GCCause.CMS_INITIAL_MARK.getLabel() + ") [1 CMS-initial-mark: " + oldUsed + "K(" + oldCapacity + "K)] "
+                + (youngUsed + oldUsed) + "K(" + (eden + survivor + oldCapacity) + "K), " + secs(initialMark, 7) + " secs] " + times(initialMark, WORKERS));
+        uptime += initialMark;
+        pauses++;
+
+        concurrentPhase("mark", around(0.03d * heapSize / 1024.0d));
+        concurrentPhase("preclean", around(0.002d * heapSize / 1024.0d));
+        concurrentPhase("abortable-preclean", around(0.01d * heapSize / 1024.0d));
+
+        double remark = around(0.003d + heapSize / 500_000.0d);
+        double start = uptime;
+        StringBuilder line = new StringBuilder(stamp()).append("[GC (").append(GCCause.CMS_FINAL_REMARK.getLabel()).append(") ")
+                .append("[YG occupancy: ").append(youngUsed).append(" K (").append(eden + survivor).append(" K)]");
+        String[] phases = {"Rescan (parallel) ,", "weak refs processing,", "class unloading,", "scrub symbol table,", "scrub string table,"};
+        double[] shares = {0.5d, 0.05d, 0.2d, 0.15d, 0.05d};
+        for (int i = 0; i < phases.length; i++) {
+            line.append(stamp()).append('[').append(phases[i]).append(' ').append(secs(remark * shares[i], 7)).append(" secs]");
+            uptime += remark * shares[i];
+        }
+        line.append("[1 CMS-remark: ").append(oldUsed).append("K(").append(oldCapacity).append("K)] ")
+                .append(youngUsed + oldUsed).append("K(").append(eden + survivor + oldCapacity).append("K), ")
+                .append(secs(remark, 7)).append(" secs] ").append(times(remark, WORKERS));
+        uptime = start;
+        write(line.toString());
+        uptime += remark;
+        pauses++;
+
+        concurrentPhase("sweep", around(0.01d * heapSize / 1024.0d));
+        oldUsed = (long) (liveOld * (0.9d + 0.2d * random.nextDouble()));
+        concurrentPhase("reset", around(0.002d));
+        oldCollectionDue = false;
+        concurrentCycles++;
+    }
+
+    private void concurrentPhase(String phase, double duration) throws IOException {
+        write(stamp() + "[CMS-concurrent-" + phase + "-start]");
+        uptime += duration;
+        String elapsed = secs(duration, 3);
+        write(stamp() + "[CMS-concurrent-" + phase + ": " + elapsed + "/" + elapsed + " secs] " + times(duration, WORKERS / 4));
+    }
+
+    private static String occupancy(long before, long after, long capacity) {
+        return before + "K->" + after + "K(" + capacity + "K)";
+    }
+
+    private String times(double seconds, int workers) {
+        double user = seconds * workers * (0.6d + 0.4d * random.nextDouble());
+        return "[Times: user=" + secs(user, 2) + " sys=" + secs(user / 10.0d, 2) + ", real=" + secs(seconds, 2) + " secs]";
+    }
+}
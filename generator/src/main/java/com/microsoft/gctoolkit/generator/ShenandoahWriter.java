@@ -0,0 +1,184 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a JDK 17 Shenandoah log with the adaptive heuristics.
+ * <p>
+ * The heap is modelled in megabytes. As in the JVM, the first five cycles are learning cycles, and every
+ * cycle marks, evacuates and updates references concurrently between four short pauses.
+ */
+final class ShenandoahWriter extends CollectorWriter {
+
+    private static final int PARALLEL_WORKERS = 4;
+    private static final int LEARNING_CYCLES = 5;
+    private static final String WEAK_REFERENCES = " (process weakrefs) (unload classes)";
+
+    private final long regionSize;
+    private long live;
+
+    ShenandoahWriter(GCLogFormat format, Detail detail, long heapSize, LineFormatter formatter, Random random) {
+        super(format, detail, heapSize, formatter, random);
+        long size = 256L;
+        while (size < 32_768L && heapSize * 1024L / size > 2048L)
+            size *= 2L;
+        regionSize = size;
+        live = Math.max(1L, heapSize / 10L);
+    }
+
+    @Override
+    Map<GCCause, Double> defaultCauses() {
+        Map<GCCause, Double> causes = new EnumMap<>(GCCause.class);
+        causes.put(GCCause.ALLOC_RATE, 0.9d);
+        causes.put(GCCause.HIGH_USAGE, 0.09d);
+        causes.put(GCCause.METADATA_GENERATION_THRESHOLD, 0.01d);
+        return causes;
+    }
+
+    @Override
+    Set<GCCause> supportedCauses() {
+        return EnumSet.of(GCCause.ALLOC_RATE, GCCause.HIGH_USAGE, GCCause.METADATA_GENERATION_THRESHOLD);
+    }
+
+    @Override
+    void header() throws IOException {
+        info("gc", "Min heap equals to max heap, disabling ShenandoahUncommit");
+        info("gc", "Heuristics ergonomically sets -XX:+ExplicitGCInvokesConcurrent");
+        info("gc", "Heuristics ergonomically sets -XX:+ShenandoahImplicitGCInvokesConcurrent");
+        info("gc,init", "Version: 17.0.8+7 (release)");
+        info("gc,init", "CPUs: " + PARALLEL_WORKERS + " total, " + PARALLEL_WORKERS + " available");
+        info("gc,init", "Memory: " + (heapSize * 4L) + "M");
+        info("gc,init", "Large Page Support: Disabled");
+        info("gc", "Using Shenandoah");
+        info("gc,init", "Shenandoah GC mode: Snapshot-At-The-Beginning (SATB)");
+        info("gc,init", "Shenandoah heuristics: Adaptive");
+        info("gc,init", "Initialize Shenandoah heap: " + heapSize + "M initial, " + heapSize + "M min, " + heapSize + "M max");
+        info("gc,init", "Safepointing mechanism: global-page poll");
+        info("gc,init", "Regions: " + (heapSize * 1024L / regionSize) + " x " + regionSize + "K");
+        info("gc,init", "Humongous object threshold: " + regionSize + "K");
+        info("gc,init", "Max TLAB size: " + regionSize + "K");
+        info("gc,init", "GC threads: " + PARALLEL_WORKERS + " parallel, " + PARALLEL_WORKERS / 2 + " concurrent");
+        info("gc,init", "Reference processing: parallel");
+    }
+
+    /**
+     * The Shenandoah parser does not yet read the cycles, so their lines are not expected to be recognized.
+     */
+    @Override
+    void collection(GCCause cause) throws IOException {
+        unrecognized(() -> cycle(cause));
+    }
+
+    private void cycle(GCCause cause) throws IOException {
+        loadClasses();
+        int id = gcId++;
+        long before = Math.min(heapSize * 9L / 10L, live + (long) (heapSize * (0.3d + 0.4d * random.nextDouble())));
+        long free = heapSize - before;
+        long minimum = heapSize / 10L;
+
+        info("gc", trigger(cause, free, minimum));
+        details("gc,ergo", free(free));
+
+        concurrent(id, "reset", "concurrent reset", PARALLEL_WORKERS / 2, "Pacer for Reset. Non-Taxable: " + heapSize + "M", around(0.0003d));
+
+        long expectedLive = Math.max(1L, live * 11L / 10L);
+        pause(id, "Init Mark" + WEAK_REFERENCES, "init marking",
+                "Pacer for Mark. Expected Live: " + expectedLive + "M, Free: " + free + "M, Non-Taxable: " + free / 10L + "M, Alloc Tax Rate: 0.4x",
+                around(0.0005d));
+        concurrent(id, "marking" + WEAK_REFERENCES, "concurrent marking", PARALLEL_WORKERS / 2, null, around(0.004d * heapSize / 1024.0d));
+        concurrent(id, "precleaning", "concurrent preclean", 1, "Pacer for Precleaning. Non-Taxable: " + heapSize + "M", around(0.0003d));
+
+        long garbage = before - live;
+        long immediate = garbage / 4L;
+        long cset = garbage - immediate;
+        details("gc,start", gc(id) + "Pause Final Mark" + WEAK_REFERENCES);
+        details("gc,task", gc(id) + "Using " + PARALLEL_WORKERS + " of " + PARALLEL_WORKERS + " workers for final marking");
+        double finalMark = around(0.001d);
+        uptime += finalMark;
+        details("gc,ergo", gc(id) + "Adaptive CSet Selection. Target Free: " + heapSize * 14L / 100L + "M, Actual Free: " + (free + immediate) + "M, Max CSet: " + heapSize / 24L + "M, Min Garbage: 0B");
+        details("gc,ergo", gc(id) + "Collectable Garbage: " + garbage + "M (" + percent(garbage, before) + "%), Immediate: " + immediate + "M (" + percent(immediate, before) + "%), CSet: " + cset + "M (" + percent(cset, before) + "%)");
+        details("gc,ergo", gc(id) + "Pacer for Evacuation. Used CSet: " + cset + "M, Free: " + free + "M, Non-Taxable: " + free / 10L + "M, Alloc Tax Rate: 1.1x");
+        info("gc", gc(id) + "Pause Final Mark" + WEAK_REFERENCES + " " + ms(finalMark));
+        pauses++;
+
+        long allocated = Math.max(1L, before / 50L);
+        long afterImmediate = before - immediate + allocated;
+        cleanup(id, before, afterImmediate);
+        details("gc,ergo", gc(id) + free(heapSize - afterImmediate));
+
+        concurrent(id, "evacuation", "concurrent evacuation", PARALLEL_WORKERS / 2, null, around(0.004d * heapSize / 1024.0d));
+        pause(id, "Init Update Refs", null,
+                "Pacer for Update Refs. Used: " + afterImmediate + "M, Free: " + (heapSize - afterImmediate) + "M, Non-Taxable: " + (heapSize - afterImmediate) / 10L + "M, Alloc Tax Rate: 1.1x",
+                around(0.00003d));
+        concurrent(id, "update references", "concurrent reference update", PARALLEL_WORKERS / 2, null, around(0.004d * heapSize / 1024.0d));
+        pause(id, "Final Update Refs", "final reference update", null, around(0.0003d));
+
+        long after = Math.min(afterImmediate, live + allocated * 2L);
+        cleanup(id, afterImmediate + allocated, after);
+        details("gc,ergo", free(heapSize - after));
+        details("gc,metaspace", "Metaspace: " + metaspaceUsed + "K->" + metaspaceUsed + "K(" + metaspaceCommitted() + "K)");
+        details("gc,ergo", "Pacer for Idle. Initial: " + heapSize * 2L / 100L + "M, Alloc Tax Rate: 1.0x");
+
+        live = Math.max(1L, live + (long) (heapSize * 0.02d * (random.nextDouble() - 0.5d)));
+        collections++;
+        concurrentCycles++;
+    }
+
+    /**
+     * @return the trigger line, which explains why the heuristics started the cycle
+     */
+    private String trigger(GCCause cause, long free, long minimum) {
+        if (collections < LEARNING_CYCLES)
+            return "Trigger: Learning " + (collections + 1) + " of " + LEARNING_CYCLES + ". Free (" + free + "M) is below initial threshold (" + heapSize * 7L / 10L + "M)";
+        switch (cause) {
+            case HIGH_USAGE:
+                return "Trigger: Free (" + Math.min(free, minimum) + "M) is below minimum threshold (" + minimum + "M)";
+            case METADATA_GENERATION_THRESHOLD:
+                return "Trigger: " + cause.getLabel();
+            default:
+                return "Trigger: Average GC time (" + secs(around(0.015d) * 1000.0d, 2) + " ms) is above the time for average allocation rate ("
+                        + (100 + random.nextInt(400)) + " MB/s) to deplete free headroom (" + free + "M) (margin of error = 1.80, spike factor = 1.00)";
+        }
+    }
+
+    private String free(long free) {
+        return "Free: " + free + "M, Max: " + regionSize + "K regular, " + free + "M humongous, Frag: 0% external, 0% internal; Reserve: "
+                + heapSize * 5L / 100L + "M, Max: " + regionSize + "K";
+    }
+
+    private void concurrent(int id, String phase, String task, int workers, String pacer, double duration) throws IOException {
+        details("gc,start", gc(id) + "Concurrent " + phase);
+        details("gc,task", gc(id) + "Using " + workers + " of " + PARALLEL_WORKERS + " workers for " + task);
+        if (pacer != null)
+            details("gc,ergo", gc(id) + pacer);
+        uptime += duration;
+        info("gc", gc(id) + "Concurrent " + phase + " " + ms(duration));
+    }
+
+    private void pause(int id, String phase, String task, String pacer, double duration) throws IOException {
+        details("gc,start", gc(id) + "Pause " + phase);
+        if (task != null)
+            details("gc,task", gc(id) + "Using " + PARALLEL_WORKERS + " of " + PARALLEL_WORKERS + " workers for " + task);
+        if (pacer != null)
+            details("gc,ergo", gc(id) + pacer);
+        uptime += duration;
+        info("gc", gc(id) + "Pause " + phase + " " + ms(duration));
+        pauses++;
+    }
+
+    private void cleanup(int id, long before, long after) throws IOException {
+        double duration = around(0.00005d);
+        details("gc,start", gc(id) + "Concurrent cleanup");
+        uptime += duration;
+        info("gc", gc(id) + "Concurrent cleanup " + before + "M->" + after + "M(" + heapSize + "M) " + ms(duration));
+    }
+}
@@ -0,0 +1,314 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a ZGC log, either as the single generation ZGC of JDK 17 or as the generational ZGC of JDK 21.
+ * <p>
+ * The heap is modelled in megabytes. As in the JVM, the first three cycles are warmup cycles. Generational
+ * ZGC runs minor collections of the young generation, each of which promotes some of what survives, and a
+ * major collection of both generations when asked for one or once the old generation reaches 40% of the
+ * heap.
+ */
+final class ZGCWriter extends CollectorWriter {
+
+    private static final int WORKERS = 8;
+    private static final int WARMUP_CYCLES = 3;
+    private static final Set<GCCause> MAJOR_CAUSES = EnumSet.of(GCCause.WARMUP, GCCause.PROACTIVE,
+            GCCause.METADATA_GENERATION_THRESHOLD, GCCause.JAVA_LANG_SYSTEM, GCCause.HEAP_DUMP);
+    private static final String HEAP_TABLE_HEADER = "               Mark Start          Mark End        Relocate Start      Relocate End           High               Low         ";
+    private static final String GENERATION_TABLE_HEADER = "               Mark Start          Mark End        Relocate Start      Relocate End    ";
+
+    private final boolean generational;
+    private long youngLive;
+    private long old = 0L;
+
+    ZGCWriter(GCLogFormat format, Detail detail, long heapSize, LineFormatter formatter, Random random) {
+        super(format, detail, heapSize, formatter, random);
+        generational = format == GCLogFormat.UNIFIED_GENERATIONAL_ZGC;
+        youngLive = Math.max(1L, heapSize / 20L);
+    }
+
+    @Override
+    Map<GCCause, Double> defaultCauses() {
+        Map<GCCause, Double> causes = new EnumMap<>(GCCause.class);
+        causes.put(GCCause.ALLOC_RATE, 0.9d);
+        causes.put(GCCause.PROACTIVE, 0.05d);
+        causes.put(GCCause.TIMER, 0.03d);
+        causes.put(GCCause.METADATA_GENERATION_THRESHOLD, 0.01d);
+        causes.put(GCCause.JAVA_LANG_SYSTEM, 0.01d);
+        return causes;
+    }
+
+    @Override
+    Set<GCCause> supportedCauses() {
+        return EnumSet.of(GCCause.WARMUP, GCCause.ALLOC_RATE, GCCause.ALLOC_STALL, GCCause.PROACTIVE, GCCause.TIMER,
+                GCCause.HIGH_USAGE, GCCause.METADATA_GENERATION_THRESHOLD, GCCause.JAVA_LANG_SYSTEM, GCCause.HEAP_DUMP);
+    }
+
+    @Override
+    void header() throws IOException {
+        info("gc,init", "Initializing The Z Garbage Collector");
+        details("gc,init", "Version: " + (generational ? "21.0.2+13-58" : "17.0.8+7") + " (release)");
+        details("gc,init", "NUMA Support: Disabled");
+        details("gc,init", "CPUs: " + WORKERS + " total, " + WORKERS + " available");
+        details("gc,init", "Memory: " + (heapSize * 4L) + "M");
+        details("gc,init", "Large Page Support: Disabled");
+        details("gc,init", "Min Capacity: 8M");
+        details("gc,init", "Initial Capacity: " + heapSize + "M");
+        details("gc,init", "Max Capacity: " + heapSize + "M");
+        info("gc", "Using The Z Garbage Collector");
+    }
+
+    @Override
+    void collection(GCCause cause) throws IOException {
+        loadClasses();
+        if (collections < WARMUP_CYCLES)
+            cause = GCCause.WARMUP;
+        if (!generational)
+            cycle(cause);
+        else if (MAJOR_CAUSES.contains(cause) || old * 100L >= heapSize * 40L)
+            major(old * 100L >= heapSize * 40L && !MAJOR_CAUSES.contains(cause) ? GCCause.HIGH_USAGE : cause);
+        else
+            minor(cause);
+        collections++;
+        concurrentCycles++;
+    }
+
+    /**
+     * A cycle of single generation ZGC.
+     */
+    private void cycle(GCCause cause) throws IOException {
+        int id = gcId++;
+        long live = youngLive + (long) (heapSize * 0.1d * random.nextDouble());
+        long before = allocated(live);
+        double start = uptime;
+        details("gc,start", gc(id) + "Garbage Collection (" + cause.getLabel() + ")");
+        Occupancy occupancy = phases(id, "", before, live, false);
+        statistics(id, "", "");
+        heapTable(id, "", occupancy, true);
+        info("gc", gc(id) + "Garbage Collection (" + cause.getLabel() + ") " + memory(before) + "->" + memory(occupancy.after));
+        youngLive = Math.max(1L, live * 2L / 3L);
+        uptime = Math.max(uptime, start);
+    }
+
+    private void minor(GCCause cause) throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        info("gc", gc(id) + "Minor Collection (" + cause.getLabel() + ")");
+        long before = allocated(youngLive) + old;
+        long after = young(id, "y: ", before);
+        info("gc", gc(id) + "Minor Collection (" + cause.getLabel() + ") " + memory(before) + "->" + memory(after) + " " + secs(uptime - start, 3) + "s");
+    }
+
+    private void major(GCCause cause) throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        info("gc", gc(id) + "Major Collection (" + cause.getLabel() + ")");
+        long before = allocated(youngLive) + old;
+        long youngAfter = young(id, "Y: ", before);
+
+        double oldStart = uptime;
+        long oldBefore = youngAfter;
+        details("gc,phases", gc(id) + "O: Old Generation");
+        long oldLive = Math.max(1L, old / 3L);
+        Occupancy occupancy = phases(id, "O: ", oldBefore, youngAfter - old + oldLive, true);
+        statistics(id, "O: ", "O: ");
+        heapTable(id, "O: ", occupancy, false);
+        generationTable(id, "O: ", "Old", old, oldLive, false);
+        old = oldLive;
+        long after = occupancy.after;
+        details("gc,phases", gc(id) + "O: Old Generation " + memory(oldBefore) + "->" + memory(after) + " " + secs(uptime - oldStart, 3) + "s");
+        info("gc", gc(id) + "Major Collection (" + cause.getLabel() + ") " + memory(before) + "->" + memory(after) + " " + secs(uptime - start, 3) + "s");
+    }
+
+    /**
+     * The young generation of a minor or major collection, which promotes some of what is live.
+     * @return the heap used when the young generation has been collected
+     */
+    private long young(int id, String prefix, long before) throws IOException {
+        double start = uptime;
+        details("gc,phases", gc(id) + prefix + "Young Generation");
+        long youngBefore = before - old;
+        long live = youngLive + (long) (heapSize * 0.05d * random.nextDouble());
+        long promoted = live / 10L;
+        Occupancy occupancy = phases(id, prefix, before, old + live, false);
+        statistics(id, prefix, prefix);
+        heapTable(id, prefix, occupancy, false);
+        generationTable(id, prefix, "Young", youngBefore, live, true);
+        old += promoted;
+        youngLive = Math.max(1L, live * 2L / 3L);
+        details("gc,phases", gc(id) + prefix + "Young Generation " + memory(before) + "->" + memory(occupancy.after) + " " + secs(uptime - start, 3) + "s");
+        return occupancy.after;
+    }
+
+    /**
+     * @return the heap used when the next cycle starts, which is what is live plus what the application
+     * has allocated since the last cycle
+     */
+    private long allocated(long live) {
+        return Math.min(heapSize * 9L / 10L, live + (long) (heapSize * (0.2d + 0.3d * random.nextDouble())));
+    }
+
+    /**
+     * The pause and concurrent phases of a cycle or generation, which move the clock on by the time each takes.
+     * @return the heap used at each point of the cycle
+     */
+    private Occupancy phases(int id, String prefix, long before, long live, boolean old) throws IOException {
+        double scale = heapSize / 1024.0d;
+        Occupancy occupancy = new Occupancy(before, live);
+        if (!old)
+            pause(id, prefix, generational ? (prefix.equals("y: ") ? "Mark Start" : "Mark Start (Major)") : "Mark Start");
+        concurrent(id, prefix, "Mark", around(0.01d * scale));
+        pause(id, prefix, "Mark End");
+        concurrent(id, prefix, "Mark Free", around(0.000001d));
+        if (!generational || old)
+            concurrent(id, prefix, generational ? "Process Non-Strong" : "Process Non-Strong References", around(0.002d * scale));
+        concurrent(id, prefix, "Reset Relocation Set", around(0.00001d));
+        concurrent(id, prefix, "Select Relocation Set", around(0.005d));
+        if (old)
+            concurrent(id, prefix, "Remap Roots", around(0.02d * scale));
+        pause(id, prefix, "Relocate Start");
+        concurrent(id, prefix, "Relocate", around(0.005d * scale));
+        return occupancy;
+    }
+
+    private void pause(int id, String prefix, String phase) throws IOException {
+        details("gc,phases", gc(id) + prefix + "Pause " + phase + " " + ms(around(0.00002d)));
+        pauses++;
+    }
+
+    private void concurrent(int id, String prefix, String phase, double duration) throws IOException {
+        uptime += duration;
+        details("gc,phases", gc(id) + prefix + "Concurrent " + phase + " " + ms(duration));
+    }
+
+    /**
+     * The load, MMU, marking, code cache, metaspace and reference lines logged at the end of a cycle.
+     */
+    private void statistics(int id, String prefix, String loadPrefix) throws IOException {
+        if (generational)
+            details("gc,load", gc(id) + loadPrefix + "Load: 1.20 (15%) / 1.10 (14%) / 0.90 (11%)");
+        else
+            details("gc,load", gc(id) + "Load: 1.20/1.10/0.90");
+        details("gc,mmu", gc(id) + prefix + "MMU: 2ms/97.5%, 5ms/98.9%, 10ms/99.4%, 20ms/99.7%, 50ms/99.8%, 100ms/99.9%");
+        details("gc,marking", gc(id) + prefix + "Mark: 2 stripe(s), 2 proactive flush(es), 1 terminate flush(es), 0 completion(s), 0 continuation(s)");
+        details("gc,nmethod", gc(id) + prefix + "NMethods: 2721 registered, 0 unregistered");
+        details("gc,metaspace", gc(id) + prefix + "Metaspace: " + metaspaceUsed / 1024L + "M used, " + metaspaceCommitted() / 1024L + "M committed, 1088M reserved");
+        if (!generational) {
+            for (String reference : new String[]{"Soft", "Weak", "Final", "Phantom"})
+                details("gc,ref", gc(id) + reference + ": 1024 encountered, 128 discovered, 64 enqueued");
+        } else if (prefix.equals("O: ")) {
+            for (String reference : new String[]{"Soft", "Weak", "Final", "Phantom"})
+                details("gc,ref", gc(id) + prefix + reference + " References:" + " ".repeat(13 - reference.length()) + "1024          128           64 ");
+        }
+    }
+
+    /**
+     * The capacities and the table of the heap at each point of the cycle.
+     */
+    private void heapTable(int id, String prefix, Occupancy occupancy, boolean occupancies) throws IOException {
+        details("gc,heap", gc(id) + prefix + "Min Capacity: 8M(0%)");
+        details("gc,heap", gc(id) + prefix + "Max Capacity: " + heapSize + "M(100%)");
+        details("gc,heap", gc(id) + prefix + "Soft Max Capacity: " + heapSize + "M(100%)");
+        // The ZGC parser reads the rows of the table but not this heading.
+        if (generational)
+            unrecognized(() -> details("gc,heap", gc(id) + prefix + "Heap Statistics:"));
+        details("gc,heap", gc(id) + prefix + HEAP_TABLE_HEADER);
+        long[] used = occupancy.used();
+        long[] free = new long[used.length];
+        long[] capacity = new long[used.length];
+        for (int i = 0; i < used.length; i++) {
+            capacity[i] = heapSize;
+            free[i] = heapSize - used[i];
+        }
+        details("gc,heap", gc(id) + prefix + row(" Capacity:", capacity));
+        details("gc,heap", gc(id) + prefix + row("     Free:", free));
+        details("gc,heap", gc(id) + prefix + row("     Used:", used));
+        if (occupancies) {
+            long live = occupancy.live;
+            long garbage = occupancy.before - live;
+            details("gc,heap", gc(id) + row("     Live:", -1L, live, live, live, -1L, -1L));
+            details("gc,heap", gc(id) + row("Allocated:", -1L, occupancy.allocated, occupancy.allocated * 2L, occupancy.allocated * 3L, -1L, -1L));
+            details("gc,heap", gc(id) + row("  Garbage:", -1L, garbage, garbage, garbage / 10L, -1L, -1L));
+            details("gc,heap", gc(id) + row("Reclaimed:", -1L, -1L, 0L, garbage - garbage / 10L, -1L, -1L));
+        }
+    }
+
+    /**
+     * The statistics of one generation of generational ZGC.
+     */
+    private void generationTable(int id, String prefix, String generation, long before, long live, boolean young) throws IOException {
+        details("gc,heap", gc(id) + prefix + generation + " Generation Statistics:");
+        details("gc,heap", gc(id) + prefix + GENERATION_TABLE_HEADER);
+        long garbage = Math.max(0L, before - live);
+        long allocated = young ? Math.max(1L, before / 50L) : 0L;
+        details("gc,heap", gc(id) + prefix + row("     Used:", before, before + allocated, before + allocated, live + allocated * 2L));
+        details("gc,heap", gc(id) + prefix + row("     Live:", -1L, live, live, live));
+        details("gc,heap", gc(id) + prefix + row("  Garbage:", -1L, garbage, garbage, garbage / 10L));
+        details("gc,heap", gc(id) + prefix + row("Allocated:", -1L, allocated, allocated, allocated * 2L));
+        details("gc,heap", gc(id) + prefix + row("Reclaimed:", -1L, -1L, 0L, garbage - garbage / 10L));
+        if (young)
+            details("gc,heap", gc(id) + prefix + row(" Promoted:", -1L, -1L, 0L, live / 10L));
+        details("gc,heap", gc(id) + prefix + row("Compacted:", -1L, -1L, -1L, live / 4L));
+    }
+
+    /**
+     * A row of a heap table, with the cells laid out as ZGC lays them out. A negative value is not known
+     * at that point of the cycle and is written as {@code -}.
+     */
+    private String row(String label, long... values) {
+        StringBuilder row = new StringBuilder(label);
+        for (long value : values) {
+            int cellStart = row.length() + 4;
+            row.append("    ");
+            if (value < 0L) {
+                row.append("     -");
+            } else {
+                String megabytes = Long.toString(value);
+                for (int i = megabytes.length(); i < 5; i++)
+                    row.append(' ');
+                row.append(megabytes).append("M (").append(percent(value, heapSize)).append("%)");
+            }
+            while (row.length() < cellStart + 15)
+                row.append(' ');
+        }
+        return row.toString();
+    }
+
+    private String memory(long megabytes) {
+        return megabytes + "M(" + percent(megabytes, heapSize) + "%)";
+    }
+
+    /**
+     * The heap used at mark start, mark end, relocate start and relocate end, and its high and low.
+     */
+    private final class Occupancy {
+        private final long before;
+        private final long live;
+        private final long allocated;
+        private final long after;
+
+        private Occupancy(long before, long live) {
+            this.before = before;
+            this.live = Math.min(live, before);
+            this.allocated = Math.max(1L, before / 100L);
+            this.after = Math.min(heapSize, this.live + allocated * 3L);
+        }
+
+        private long[] used() {
+            long markEnd = before + allocated;
+            long relocateStart = markEnd + allocated;
+            return new long[]{before, markEnd, relocateStart, after, Math.max(relocateStart, after), Math.min(before, after)};
+        }
+    }
+}
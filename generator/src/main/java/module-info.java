@@ -0,0 +1,15 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+/**
+ * Contains a generator of synthetic GC logs. The lines are passed to the GCToolKit parsers as they are
+ * written, so the logs can be used to test and benchmark GCToolKit at any scale.
+ */
+module com.microsoft.gctoolkit.generator {
+    requires com.microsoft.gctoolkit.api;
+
+    exports com.microsoft.gctoolkit.generator;
+
+    uses com.microsoft.gctoolkit.jvm.Diarizer;
+    uses com.microsoft.gctoolkit.message.DataSourceParser;
+}
@@ -0,0 +1,145 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCLogGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    private static String generate(GCLogGenerator generator) throws IOException {
+        StringWriter writer = new StringWriter();
+        generator.write(writer);
+        return writer.toString();
+    }
+
+    @Test
+    void theSameSeedWritesTheSameLog() throws IOException {
+        String first = generate(new GCLogGenerator(GCLogFormat.UNIFIED_G1).seed(11).collections(200));
+        String second = generate(new GCLogGenerator(GCLogFormat.UNIFIED_G1).seed(11).collections(200));
+        String other = generate(new GCLogGenerator(GCLogFormat.UNIFIED_G1).seed(12).collections(200));
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    /**
+     * Every line is passed to the GCToolKit parsers as it is written, so writing the log is the test.
+     */
+    @Test
+    void everyFormatAndDetailIsRecognizedByTheParsers() throws IOException {
+        for (GCLogFormat format : GCLogFormat.values()) {
+            for (Detail detail : Detail.values()) {
+                if (format == GCLogFormat.UNIFIED_ZGC && detail == Detail.SUMMARY)
+                    continue;
+                StringWriter writer = new StringWriter();
+                GeneratedLog log = new GCLogGenerator(format).seed(3).collections(300).detail(detail).write(writer);
+                assertEquals(300, log.getCollections(), format + " " + detail);
+                assertTrue(log.getPauses() > 0, format + " " + detail);
+                assertEquals(writer.toString().length(), log.getBytes(), format + " " + detail);
+                assertEquals(writer.toString().lines().count(), log.getLines(), format + " " + detail);
+            }
+        }
+    }
+
+    /**
+     * GCToolKit tells a ZGC log by the start of a cycle, which is not logged with {@code -Xlog:gc} alone.
+     */
+    @Test
+    void aLogThatCannotBeAnalyzedFailsValidation() throws IOException {
+        GCLogGenerator generator = new GCLogGenerator(GCLogFormat.UNIFIED_ZGC).collections(10).detail(Detail.SUMMARY);
+        assertThrows(IllegalStateException.class, () -> generator.write(new StringWriter()));
+        assertEquals(10, generator.validate(false).write(new StringWriter()).getCollections());
+    }
+
+    @Test
+    void aLineTheParsersDoNotRecognizeFailsValidation() {
+        LogValidator validator = new LogValidator(true);
+        validator.check("[0.010s][info][gc] Using G1", false);
+        validator.check("[0.020s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.474ms", true);
+        validator.check("[0.030s][info][gc] GC(1) Not something G1 logs", true);
+        IllegalStateException e = assertThrows(IllegalStateException.class, validator::finish);
+        assertTrue(e.getMessage().endsWith("GC(1) Not something G1 logs"), e.getMessage());
+    }
+
+    @Test
+    void oldCollectionsAreWritten() throws IOException {
+        GeneratedLog cms = new GCLogGenerator(GCLogFormat.PRE_UNIFIED_CMS).collections(400).write(new StringWriter());
+        assertTrue(cms.getConcurrentCycles() > 0);
+        GeneratedLog parallel = new GCLogGenerator(GCLogFormat.UNIFIED_PARALLEL).collections(400).write(new StringWriter());
+        assertTrue(parallel.getFullCollections() > 0);
+    }
+
+    @Test
+    void decoratorsAreWritten() throws IOException {
+        String log = generate(new GCLogGenerator(GCLogFormat.UNIFIED_ZGC).collections(10)
+                .decorators(EnumSet.of(Decorator.TIME, Decorator.UPTIME, Decorator.PID, Decorator.LEVEL, Decorator.TAGS)));
+        assertTrue(log.startsWith("[2024-01-01T00:00:00."), log.substring(0, 80));
+        assertTrue(log.lines().allMatch(line -> line.contains("[4242]")));
+    }
+
+    @Test
+    void theLogStopsAtTheTargetSize() throws IOException {
+        GeneratedLog log = new GCLogGenerator(GCLogFormat.UNIFIED_SHENANDOAH).targetSize(256 * 1024).write(new StringWriter());
+        assertTrue(log.getBytes() >= 256 * 1024);
+        assertTrue(log.getBytes() < 264 * 1024, log.toString());
+    }
+
+    @Test
+    void unifiedLogsRotateToNumberedFiles() throws IOException {
+        Path path = directory.resolve("gc.log");
+        GeneratedLog log = new GCLogGenerator(GCLogFormat.UNIFIED_G1).targetSize(1 << 20).rotation(100 * 1024, 3).write(path);
+        List<Path> files = log.getFiles();
+        assertEquals(4, files.size());
+        assertEquals(path, files.get(files.size() - 1));
+        for (Path file : files)
+            assertTrue(Files.exists(file), file.toString());
+        assertTrue(Files.size(files.get(0)) >= 100 * 1024);
+    }
+
+    @Test
+    void preUnifiedLogsRotateWithAHeaderInEachFile() throws IOException {
+        Path path = directory.resolve("gc.log");
+        GeneratedLog log = new GCLogGenerator(GCLogFormat.PRE_UNIFIED_PARALLEL).targetSize(1 << 20).rotation(100 * 1024, 5).write(path);
+        List<Path> files = log.getFiles();
+        assertEquals(5, files.size());
+        assertTrue(files.get(files.size() - 1).getFileName().toString().endsWith(".current"));
+        for (Path file : files)
+            assertTrue(Files.readAllLines(file).get(2).startsWith("CommandLine flags: "), file.toString());
+    }
+
+    @Test
+    void unsupportedCausesAreRejected() {
+        GCLogGenerator generator = new GCLogGenerator(GCLogFormat.UNIFIED_G1).collections(10).cause(GCCause.ALLOCATION_FAILURE, 1.0d);
+        assertThrows(IllegalArgumentException.class, () -> generator.write(new StringWriter()));
+    }
+
+    @Test
+    void aLimitMustBeSet() {
+        assertThrows(IllegalStateException.class, () -> new GCLogGenerator(GCLogFormat.UNIFIED_G1).write(new StringWriter()));
+        assertThrows(IllegalArgumentException.class, () -> new GCLogGenerator(GCLogFormat.UNIFIED_G1).decorators(EnumSet.of(Decorator.LEVEL)));
+    }
+
+    @Test
+    void sizesMayHaveAUnit() {
+        assertEquals(512L, Main.bytes("512"));
+        assertEquals(64L << 10, Main.bytes("64k"));
+        assertEquals(100L << 20, Main.bytes("100M"));
+        assertEquals(2L << 30, Main.bytes("2G"));
+    }
+}
@@ -17,9 +17,16 @@ public abstract class AbstractLogTrace {
     private static final Pattern TIMES_STAMP_RULE = Pattern.compile(PreUnifiedTokens.TIMESTAMP);
     private static final Pattern DATE_TIME_STAMP_RULE = Pattern.compile(PreUnifiedTokens.DATE_TIMESTAMP);
     protected final Matcher trace;
+    // The text the matcher is matching against, when known, so groups can be read without extracting them.
+    protected final CharSequence input;
 
     public AbstractLogTrace(Matcher matcher) {
+        this(matcher, null);
+    }
+
+    public AbstractLogTrace(Matcher matcher, CharSequence input) {
         this.trace = matcher;
+        this.input = input;
     }
 
     public int length() {
@@ -118,7 +125,7 @@ public abstract class AbstractLogTrace {
 
     public GCLogTrace next() {
         if (trace.find())
-            return new GCLogTrace(trace);
+            return new GCLogTrace(trace, input);
         return null;
     }
 }
@@ -2,6 +2,7 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.parser;
 
+import com.microsoft.gctoolkit.event.CPUSummary;
 import com.microsoft.gctoolkit.event.GCCause;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.event.MalformedEvent;
@@ -23,17 +24,18 @@ import com.microsoft.gctoolkit.event.g1gc.G1ConcurrentUndoCycle;
 import com.microsoft.gctoolkit.event.g1gc.G1FullGC;
 import com.microsoft.gctoolkit.event.g1gc.G1FullGCNES;
 import com.microsoft.gctoolkit.event.g1gc.G1GCConcurrentEvent;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPauseDetails;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPhaseTable;
 import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
 import com.microsoft.gctoolkit.event.g1gc.G1Mixed;
 import com.microsoft.gctoolkit.event.g1gc.G1Remark;
 import com.microsoft.gctoolkit.event.g1gc.G1SystemGC;
 import com.microsoft.gctoolkit.event.g1gc.G1Young;
 import com.microsoft.gctoolkit.event.g1gc.G1YoungInitialMark;
+import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.parser.jvm.Decorators;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -59,11 +61,23 @@ class G1GCForwardReference extends ForwardReference {
     private GarbageCollectionTypes pausePhaseDuringConcurrentCycle = null;
     private GarbageCollectionTypes gcType = null;
     private GarbageCollectionTypes concurrentPhase;
+    private boolean deferDetails = false;
 
     G1GCForwardReference(Decorators decorators, int gcID) {
         super(decorators, gcID);
     }
 
+    /**
+     * When set, young and full collection events are built with their detail sections deferred. The event
+     * keeps a {@link PauseDetails} that shares the measurement arrays and phase tables of this forward
+     * reference, and decodes them on first access. This is only safe for forward references that are
+     * retired once the event is published.
+     * @param deferDetails true to defer the decoding of detail sections
+     */
+    void deferDetails(boolean deferDetails) {
+        this.deferDetails = deferDetails;
+    }
+
     boolean isConcurrentCycle() {
         return gcType == GarbageCollectionTypes.Concurrent_Cycle;
     }
@@ -381,20 +395,6 @@ class G1GCForwardReference extends ForwardReference {
         referenceCounts[FINAL_REFERENCE] = finalReferenceCount;
     }
 
-    private boolean hasReferenceGCSummary() {
-        return referenceCounts[0] != -1;
-    }
-
-    private ReferenceGCSummary generateReferenceGCSummary() {
-        ReferenceGCSummary summary = new ReferenceGCSummary();
-        summary.addSoftReferences(getStartTime(), referenceCounts[SOFT_REFERENCE], referenceProcessingDuarations[SOFT_REFERENCE]);
-        summary.addWeakReferences(getStartTime(), referenceCounts[WEAK_REFERENCE], referenceProcessingDuarations[WEAK_REFERENCE]);
-        summary.addPhantomReferences(getStartTime(), referenceCounts[PHANTOM_REFERENCE], referenceProcessingDuarations[PHANTOM_REFERENCE]);
-        summary.addFinalReferences(getStartTime(), referenceCounts[FINAL_REFERENCE], referenceProcessingDuarations[FINAL_REFERENCE]);
-        summary.addJNIWeakReferences(getStartTime(), referenceCounts[JNI_WEAK_REFERENCE], referenceProcessingDuarations[JNI_WEAK_REFERENCE]);
-        return summary;
-    }
-
 
     // ****
     // Young phases
@@ -406,9 +406,9 @@ class G1GCForwardReference extends ForwardReference {
     static final int OTHER = 3;
 
     private final double[] youngCollectionPhases = {NOT_SET, NOT_SET, NOT_SET, NOT_SET};
-    private final Map<String, Double> preEvacuateCSetPhaseDurations = new ConcurrentHashMap<>(3);
-    private final Map<String, UnifiedStatisticalSummary> evacuateCSetPhaseDurations = new ConcurrentHashMap<>();
-    private final Map<String, Double> postEvacuateCSetPhaseDurations = new ConcurrentHashMap<>();
+    private final G1GCPhaseTable<Double> preEvacuateCSetPhaseDurations = new G1GCPhaseTable<>();
+    private final G1GCPhaseTable<UnifiedStatisticalSummary> evacuateCSetPhaseDurations = new G1GCPhaseTable<>();
+    private final G1GCPhaseTable<Double> postEvacuateCSetPhaseDurations = new G1GCPhaseTable<>();
 
     void setPreEvacuateCSetDuration(double duration) {
         this.youngCollectionPhases[PRE_EVACUATE_COLLECTION_SET] = duration;
@@ -419,7 +419,7 @@ class G1GCForwardReference extends ForwardReference {
     }
 
     Stream<String> preEvacuateCSetPhaseNames() {
-        return preEvacuateCSetPhaseDurations.keySet().stream();
+        return preEvacuateCSetPhaseDurations.names();
     }
 
     double preEvacuateCSetPhaseDuration(String phaseName) {
@@ -435,7 +435,7 @@ class G1GCForwardReference extends ForwardReference {
     }
 
     Stream<String> evacuateCSetPhaseNames() {
-        return evacuateCSetPhaseDurations.keySet().stream();
+        return evacuateCSetPhaseDurations.names();
     }
 
     UnifiedStatisticalSummary evacuateCSetPhaseDuration(String phaseName) {
@@ -451,7 +451,7 @@ class G1GCForwardReference extends ForwardReference {
     }
 
     Stream<String> postEvacuateCSetPhaseNames() {
-        return postEvacuateCSetPhaseDurations.keySet().stream();
+        return postEvacuateCSetPhaseDurations.names();
     }
 
     double postEvacuateCSetPhaseDuration(String phaseName) {
@@ -515,58 +515,6 @@ class G1GCForwardReference extends ForwardReference {
         aborted = true;
     }
 
-    // builders
-
-    private SurvivorMemoryPoolSummary getSurvivorMemoryPoolSummary() {
-        if (memoryPoolMeasurment[SURVIVOR_OCCUPANCY_BEFORE_COLLECTION] == -1L)
-            return null;
-        return new SurvivorMemoryPoolSummary(memoryPoolMeasurment[SURVIVOR_OCCUPANCY_BEFORE_COLLECTION], memoryPoolMeasurment[SURVIVOR_OCCUPANCY_AFTER_COLLECTION], memoryPoolMeasurment[SURVIVOR_SIZE_AFTER_COLLECTION]);
-    }
-
-    private static final int OCCUPANCY_BEFORE_OFFSET = 0;
-    private static final int OCCUPANCY_AFTER_OFFSET = 1;
-    private static final int SIZE_BEFORE_OFFSET = 2;
-    private static final int SIZE_AFTER_OFFSET = 3;
-
-    private MemoryPoolSummary getMemoryPoolSummary(int offset) {
-        if (memoryPoolMeasurment[offset + OCCUPANCY_BEFORE_OFFSET] == -1L) //do we have recorded values
-            return null;
-        //do we know the size of the memory pool prior to the collection
-        long sizeBeforeCollection = (memoryPoolMeasurment[offset + SIZE_BEFORE_OFFSET] > -1L) ? memoryPoolMeasurment[offset + SIZE_BEFORE_OFFSET] : memoryPoolMeasurment[offset + SIZE_AFTER_OFFSET];
-        return new MemoryPoolSummary(memoryPoolMeasurment[offset + OCCUPANCY_BEFORE_OFFSET], sizeBeforeCollection, memoryPoolMeasurment[offset + OCCUPANCY_AFTER_OFFSET], memoryPoolMeasurment[offset + SIZE_AFTER_OFFSET]);
-    }
-
-    private void fillInMemoryPoolStats(G1GCPauseEvent collection) {
-        //Eden, survivor, and heap
-        MemoryPoolSummary heap = getMemoryPoolSummary(HEAP_OCCUPANCY_BEFORE_COLLECTION);
-        MemoryPoolSummary young = getMemoryPoolSummary(YOUNG_OCCUPANCY_BEFORE_COLLECTION);
-        MemoryPoolSummary eden = getMemoryPoolSummary(EDEN_OCCUPANCY_BEFORE_COLLECTION);
-        SurvivorMemoryPoolSummary survivor = getSurvivorMemoryPoolSummary();
-        MemoryPoolSummary tenured = getMemoryPoolSummary(OLD_OCCUPANCY_BEFORE_COLLECTION);
-        MemoryPoolSummary humongous = getMemoryPoolSummary(HUMONGOUS_OCCUPANCY_BEFORE_COLLECTION);
-        collection.addHeapRegionSize(heapRegionSize);
-        if (heap != null && eden != null && survivor != null) {
-            collection.addMemorySummary(eden, survivor, heap);
-        } else if (eden == null && survivor == null && heap != null) {
-            collection.addMemorySummary(heap);
-        } //else
-        //need to consider other possible combinations.
-    }
-
-    /*
-    private static final int METASPACE_OCCUPANCY_BEFORE_COLLECTION = 24;
-    private static final int METASPACE_OCCUPANCY_AFTER_COLLECTION = 25;
-    private static final int METASPACE_SIZE_BEFORE_COLLECTION = 26;
-    private static final int METASPACE_SIZE_AFTER_COLLECTION = 27;
-    private static final int METASPACE_COMMITTED_BEFORE_COLLECTION = 28;
-    private static final int METASPACE_COMMITTED_AFTER_COLLECTION = 29;
-    private static final int METASPACE_RESERVED_BEFORE_COLLECTION = 30;
-    private static final int METASPACE_RESERVED_AFTER_COLLECTION = 31;
-     */
-    private void fillInMetaspaceStats(G1GCPauseEvent collection) {
-        collection.addPermOrMetaSpaceRecord(getMemoryPoolSummary(METASPACE_OCCUPANCY_BEFORE_COLLECTION));
-    }
-
 
     enum REGIONS {
         EDEN,
@@ -628,40 +576,6 @@ class G1GCForwardReference extends ForwardReference {
         }
     }
 
-    private void fillInRegionSummary(G1GCPauseEvent collection) {
-        collection.addRegionSummary(
-                regionSummaries[REGIONS.EDEN.ordinal()],
-                regionSummaries[REGIONS.SURVIVOR.ordinal()],
-                regionSummaries[REGIONS.OLD.ordinal()],
-                regionSummaries[REGIONS.HUMONGOUS.ordinal()],
-                regionSummaries[REGIONS.ARCHIVE.ordinal()]
-        );
-    }
-
-    private void fullInInternalPhases(G1FullGC collection) {
-        int index = 0;
-        String key;
-        while ((key = fullGCInternalPhaseOrder.get(++index)) != null) {
-            collection.addInternalPhase(key, fullGCInternalPhases.get(key));
-        }
-    }
-
-    private void fillInPhases(G1Young collection) {
-        collection.addPhaseDuration("Pre Evacuate Collection", youngCollectionPhases[PRE_EVACUATE_COLLECTION_SET]);
-        collection.addPhaseDuration("Evacuate Collection", youngCollectionPhases[EVACUATE_COLLECTION_SET]);
-        collection.addPhaseDuration("Post Evacuate Collection Set", youngCollectionPhases[POST_EVACUATE_COLLECTION_SET]);
-        collection.addPhaseDuration("Other", youngCollectionPhases[OTHER]);
-
-        preEvacuateCSetPhaseNames().forEach(name -> collection.addPreEvacuationCollectionPhase(name, preEvacuateCSetPhaseDuration(name)));
-        evacuateCSetPhaseNames().forEach(name -> collection.addEvacuationCollectionPhase(name, evacuateCSetPhaseDuration(name)));
-        postEvacuateCSetPhaseNames().forEach(name -> collection.addPostEvacuationCollectionPhase(name, postEvacuateCSetPhaseDuration(name)));
-    }
-
-    private void fillInWorkers(G1Young collection) {
-        collection.setEvacuationWorkersUsed(evacuationWorkersUsed);
-        collection.setEvacuationWorkersAvailable(evacuationWorkersAvailable);
-    }
-
     private DateTimeStamp pausePhaseDuringConcurrentCycleTime = null;
     private double pausePhaseDuringConcurrentCycleDuration = -1.0d;
 
@@ -774,20 +688,19 @@ class G1GCForwardReference extends ForwardReference {
     }
 
     private G1Young buildYoung(G1Young collection) {
-        fillInMemoryPoolStats(collection);
-        fillInRegionSummary(collection);
-        fillInMetaspaceStats(collection);
-        fillInPhases(collection);
-        fillInWorkers(collection);
         if (toSpaceExhausted) collection.toSpaceExhausted();
-        if (hasReferenceGCSummary())
-            collection.add(generateReferenceGCSummary());
-        if (survivorRecord != null)
-            collection.add(survivorRecord);
-        collection.addCPUSummary(getCPUSummary());
+        addDetails(collection);
         return collection;
     }
 
+    private void addDetails(G1GCPauseEvent collection) {
+        PauseDetails details = new PauseDetails(this);
+        if (deferDetails)
+            collection.deferDetails(details);
+        else
+            details.materialize(collection);
+    }
+
     private G1Young buildYoung() {
         return buildYoung(new G1Young(getStartTime(), getGCCause(), getDuration()));
     }
@@ -819,16 +732,16 @@ class G1GCForwardReference extends ForwardReference {
 
     private G1Remark buildRemark() {
         G1Remark remark = new G1Remark(pausePhaseDuringConcurrentCycleTime, 0.0d, pausePhaseDuringConcurrentCycleDuration);
-        if (hasReferenceGCSummary())
-            remark.add(generateReferenceGCSummary());
-        fillInMemoryPoolStats(remark);
+        PauseDetails details = new PauseDetails(this);
+        details.fillInReferenceSummary(remark);
+        details.fillInMemoryPoolStats(remark);
         remark.addCPUSummary(getCPUSummary());
         return remark;
     }
 
     private G1Cleanup buildCleanup() {
         G1Cleanup cleanup = new G1Cleanup(pausePhaseDuringConcurrentCycleTime, pausePhaseDuringConcurrentCycleDuration);
-        fillInMemoryPoolStats(cleanup);
+        new PauseDetails(this).fillInMemoryPoolStats(cleanup);
         cleanup.addCPUSummary(getCPUSummary());
         return cleanup;
     }
@@ -856,20 +769,14 @@ class G1GCForwardReference extends ForwardReference {
         //collection.addPermOrMetaSpaceRecord(metaSpaceSummary);
         //[226.310s][debug][gc,phases      ] GC(1198) Class Unloading 3.481ms
         //collection.classUnloading()  todo: fill in
-        fillInMemoryPoolStats(collection);
-        fullInInternalPhases(collection);
-        fillInRegionSummary(collection);
-        if (hasReferenceGCSummary())
-            collection.add(generateReferenceGCSummary());
-        collection.addCPUSummary(getCPUSummary());
+        addDetails(collection);
         return collection;
     }
 
-    private final Map<String, Double> fullGCInternalPhases = new ConcurrentHashMap<>();
-    private final Map<Integer, String> fullGCInternalPhaseOrder = new ConcurrentHashMap<>();
+    // Known full GC phases are reported in the order they run, so the phase number isn't needed to order them.
+    private final G1GCPhaseTable<Double> fullGCInternalPhases = new G1GCPhaseTable<>();
 
-    void fullPhase(int integerGroup, String fullGCInternalPhase, double duration) {
-        fullGCInternalPhaseOrder.put(integerGroup, fullGCInternalPhase);
+    void fullPhase(String fullGCInternalPhase, double duration) {
         fullGCInternalPhases.put(fullGCInternalPhase, duration);
     }
 
@@ -905,4 +812,142 @@ class G1GCForwardReference extends ForwardReference {
     DateTimeStamp getConcurrentCycleStartTime() {
         return concurrentCycleStartTime;
     }
+
+    /**
+     * The measurements of one pause, taken from a forward reference when its event is built. A deferred event
+     * holds these values rather than the forward reference, so the decorators and parse state of the forward
+     * reference can be collected once the event is published.
+     */
+    private static final class PauseDetails implements G1GCPauseDetails {
+
+        private static final int OCCUPANCY_BEFORE_OFFSET = 0;
+        private static final int OCCUPANCY_AFTER_OFFSET = 1;
+        private static final int SIZE_BEFORE_OFFSET = 2;
+        private static final int SIZE_AFTER_OFFSET = 3;
+
+        private final int heapRegionSize;
+        private final long[] memoryPoolMeasurment;
+        private final RegionSummary[] regionSummaries;
+        private final DateTimeStamp startTime;
+        private final double[] referenceProcessingDuarations;
+        private final int[] referenceCounts;
+        private final double[] youngCollectionPhases;
+        private final G1GCPhaseTable<Double> preEvacuateCSetPhaseDurations;
+        private final G1GCPhaseTable<UnifiedStatisticalSummary> evacuateCSetPhaseDurations;
+        private final G1GCPhaseTable<Double> postEvacuateCSetPhaseDurations;
+        private final G1GCPhaseTable<Double> fullGCInternalPhases;
+        private final int evacuationWorkersUsed;
+        private final int evacuationWorkersAvailable;
+        private final SurvivorRecord survivorRecord;
+        private final CPUSummary cpuSummary;
+
+        private PauseDetails(G1GCForwardReference forwardReference) {
+            this.heapRegionSize = forwardReference.heapRegionSize;
+            this.memoryPoolMeasurment = forwardReference.memoryPoolMeasurment;
+            this.regionSummaries = forwardReference.regionSummaries;
+            this.startTime = forwardReference.getStartTime();
+            this.referenceProcessingDuarations = forwardReference.referenceProcessingDuarations;
+            this.referenceCounts = forwardReference.referenceCounts;
+            this.youngCollectionPhases = forwardReference.youngCollectionPhases;
+            this.preEvacuateCSetPhaseDurations = forwardReference.preEvacuateCSetPhaseDurations;
+            this.evacuateCSetPhaseDurations = forwardReference.evacuateCSetPhaseDurations;
+            this.postEvacuateCSetPhaseDurations = forwardReference.postEvacuateCSetPhaseDurations;
+            this.fullGCInternalPhases = forwardReference.fullGCInternalPhases;
+            this.evacuationWorkersUsed = forwardReference.evacuationWorkersUsed;
+            this.evacuationWorkersAvailable = forwardReference.evacuationWorkersAvailable;
+            this.survivorRecord = forwardReference.survivorRecord;
+            this.cpuSummary = forwardReference.getCPUSummary();
+        }
+
+        @Override
+        public void materialize(G1GCPauseEvent event) {
+            if (event instanceof G1Young)
+                fillInYoungDetails((G1Young) event);
+            else if (event instanceof G1FullGC)
+                fillInFullDetails((G1FullGC) event);
+        }
+
+        private void fillInYoungDetails(G1Young collection) {
+            fillInMemoryPoolStats(collection);
+            fillInRegionSummary(collection);
+            collection.addPermOrMetaSpaceRecord(getMemoryPoolSummary(METASPACE_OCCUPANCY_BEFORE_COLLECTION));
+            fillInPhases(collection);
+            collection.setEvacuationWorkersUsed(evacuationWorkersUsed);
+            collection.setEvacuationWorkersAvailable(evacuationWorkersAvailable);
+            fillInReferenceSummary(collection);
+            if (survivorRecord != null)
+                collection.add(survivorRecord);
+            collection.addCPUSummary(cpuSummary);
+        }
+
+        private void fillInFullDetails(G1FullGC collection) {
+            fillInMemoryPoolStats(collection);
+            collection.addInternalPhases(fullGCInternalPhases);
+            fillInRegionSummary(collection);
+            fillInReferenceSummary(collection);
+            collection.addCPUSummary(cpuSummary);
+        }
+
+        void fillInMemoryPoolStats(G1GCPauseEvent collection) {
+            //Eden, survivor, and heap
+            MemoryPoolSummary heap = getMemoryPoolSummary(HEAP_OCCUPANCY_BEFORE_COLLECTION);
+            MemoryPoolSummary eden = getMemoryPoolSummary(EDEN_OCCUPANCY_BEFORE_COLLECTION);
+            SurvivorMemoryPoolSummary survivor = getSurvivorMemoryPoolSummary();
+            collection.addHeapRegionSize(heapRegionSize);
+            if (heap != null && eden != null && survivor != null) {
+                collection.addMemorySummary(eden, survivor, heap);
+            } else if (eden == null && survivor == null && heap != null) {
+                collection.addMemorySummary(heap);
+            } //else
+            //need to consider other possible combinations.
+        }
+
+        void fillInReferenceSummary(G1GCPauseEvent collection) {
+            if (referenceCounts[0] == -1)
+                return;
+            ReferenceGCSummary summary = new ReferenceGCSummary();
+            summary.addSoftReferences(startTime, referenceCounts[SOFT_REFERENCE], referenceProcessingDuarations[SOFT_REFERENCE]);
+            summary.addWeakReferences(startTime, referenceCounts[WEAK_REFERENCE], referenceProcessingDuarations[WEAK_REFERENCE]);
+            summary.addPhantomReferences(startTime, referenceCounts[PHANTOM_REFERENCE], referenceProcessingDuarations[PHANTOM_REFERENCE]);
+            summary.addFinalReferences(startTime, referenceCounts[FINAL_REFERENCE], referenceProcessingDuarations[FINAL_REFERENCE]);
+            summary.addJNIWeakReferences(startTime, referenceCounts[JNI_WEAK_REFERENCE], referenceProcessingDuarations[JNI_WEAK_REFERENCE]);
+            collection.add(summary);
+        }
+
+        private void fillInRegionSummary(G1GCPauseEvent collection) {
+            collection.addRegionSummary(
+                    regionSummaries[REGIONS.EDEN.ordinal()],
+                    regionSummaries[REGIONS.SURVIVOR.ordinal()],
+                    regionSummaries[REGIONS.OLD.ordinal()],
+                    regionSummaries[REGIONS.HUMONGOUS.ordinal()],
+                    regionSummaries[REGIONS.ARCHIVE.ordinal()]
+            );
+        }
+
+        private void fillInPhases(G1Young collection) {
+            collection.addPhaseDuration("Pre Evacuate Collection", youngCollectionPhases[PRE_EVACUATE_COLLECTION_SET]);
+            collection.addPhaseDuration("Evacuate Collection", youngCollectionPhases[EVACUATE_COLLECTION_SET]);
+            collection.addPhaseDuration("Post Evacuate Collection Set", youngCollectionPhases[POST_EVACUATE_COLLECTION_SET]);
+            collection.addPhaseDuration("Other", youngCollectionPhases[OTHER]);
+
+            // The forward reference is retired once the event is built so the tables are handed over rather than copied.
+            collection.addPreEvacuationCollectionPhases(preEvacuateCSetPhaseDurations);
+            collection.addEvacuationCollectionPhases(evacuateCSetPhaseDurations);
+            collection.addPostEvacuationCollectionPhases(postEvacuateCSetPhaseDurations);
+        }
+
+        private SurvivorMemoryPoolSummary getSurvivorMemoryPoolSummary() {
+            if (memoryPoolMeasurment[SURVIVOR_OCCUPANCY_BEFORE_COLLECTION] == -1L)
+                return null;
+            return new SurvivorMemoryPoolSummary(memoryPoolMeasurment[SURVIVOR_OCCUPANCY_BEFORE_COLLECTION], memoryPoolMeasurment[SURVIVOR_OCCUPANCY_AFTER_COLLECTION], memoryPoolMeasurment[SURVIVOR_SIZE_AFTER_COLLECTION]);
+        }
+
+        private MemoryPoolSummary getMemoryPoolSummary(int offset) {
+            if (memoryPoolMeasurment[offset + OCCUPANCY_BEFORE_OFFSET] == -1L) //do we have recorded values
+                return null;
+            //do we know the size of the memory pool prior to the collection
+            long sizeBeforeCollection = (memoryPoolMeasurment[offset + SIZE_BEFORE_OFFSET] > -1L) ? memoryPoolMeasurment[offset + SIZE_BEFORE_OFFSET] : memoryPoolMeasurment[offset + SIZE_AFTER_OFFSET];
+            return new MemoryPoolSummary(memoryPoolMeasurment[offset + OCCUPANCY_BEFORE_OFFSET], sizeBeforeCollection, memoryPoolMeasurment[offset + OCCUPANCY_AFTER_OFFSET], memoryPoolMeasurment[offset + SIZE_AFTER_OFFSET]);
+        }
+    }
 }
@@ -2,19 +2,29 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.parser;
 
+import com.microsoft.gctoolkit.aggregator.EventDetail;
 import com.microsoft.gctoolkit.event.CPUSummary;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 import com.microsoft.gctoolkit.event.ReferenceGCSummary;
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.MetaspaceRecord;
 import com.microsoft.gctoolkit.event.jvm.PermGenSummary;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.jfr.ParserBatchEvent;
+import com.microsoft.gctoolkit.jfr.SlowLineEvent;
 import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.UnmatchedLineCollector;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceParser;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.metrics.Counter;
+import com.microsoft.gctoolkit.metrics.Histogram;
+import com.microsoft.gctoolkit.metrics.MetricsRegistry;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,6 +49,20 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
     protected Diary diary;
     private DateTimeStamp clock = new DateTimeStamp(DateTimeStamp.EPOC, 0.0d);
     private double lastDuration = 0.0d;
+    private final Set<EventDetail> detailsConsumed = EnumSet.allOf(EventDetail.class);
+    private boolean metered = false;
+    private boolean missed = false;
+    private GCParseRule matchedRule = null;
+    private UnmatchedLineCollector unmatchedLines = null;
+    private UnknownGCCauseCollector unknownGCCauses = null;
+    private ParserBatchEvent batch = null;
+    private long batchLines = 0L;
+    private long batchEvents = 0L;
+    private Counter linesReceived = Counter.NO_OP;
+    private Counter linesMatched = Counter.NO_OP;
+    private Counter linesUnmatched = Counter.NO_OP;
+    private Counter eventsPublished = Counter.NO_OP;
+    private Histogram receiveTime = Histogram.NO_OP;
 
     /**
      * Default constructor.
@@ -55,6 +79,86 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
         this.clock = diary.getTimeOfFirstEvent();
     }
 
+    /**
+     * Records the event detail sections read by the Aggregators in this analysis. Only the parsers
+     * that check {@link #consumes(EventDetail)} skip any work, which at present is only
+     * {@link UnifiedG1GCParser}.
+     * @param details the detail sections consumed by at least one Aggregator
+     */
+    @Override
+    public void detailsConsumed(Set<EventDetail> details) {
+        detailsConsumed.clear();
+        detailsConsumed.addAll(details);
+    }
+
+    /**
+     * Records the lines this parser receives, whether it recognized them, the time it spent on them and
+     * the events it published, under {@code parser.<simple class name>}. The end of the data is not a line,
+     * so it is neither counted nor timed.
+     * @param registry where the metrics are recorded
+     */
+    @Override
+    public void metrics(MetricsRegistry registry) {
+        String prefix = "parser." + getClass().getSimpleName();
+        metered = registry != MetricsRegistry.NO_OP;
+        linesReceived = registry.counter(prefix + ".lines");
+        linesMatched = registry.counter(prefix + ".lines.matched");
+        linesUnmatched = registry.counter(prefix + ".lines.unmatched");
+        eventsPublished = registry.counter(prefix + ".events");
+        receiveTime = registry.histogram(prefix + ".receive");
+    }
+
+    /**
+     * Collects the lines that none of this parser's rules recognize.
+     * @param collector collects the unrecognized lines for this analysis
+     */
+    @Override
+    public void collectUnmatchedLines(UnmatchedLineCollector collector) {
+        this.unmatchedLines = collector;
+    }
+
+    /**
+     * Collects the GC causes that none of the known causes match.
+     * @param collector collects the unknown causes for this analysis
+     */
+    @Override
+    public void collectUnknownGCCauses(UnknownGCCauseCollector collector) {
+        this.unknownGCCauses = collector;
+    }
+
+    /**
+     * Counts and collects a line that none of this parser's rules recognized. Parsers call this
+     * for the lines they have missed, rather than logging each of them.
+     * @param line the line that was not recognized
+     */
+    void unmatched(String line) {
+        missed = true;
+        if (unmatchedLines != null)
+            unmatchedLines.collect(line);
+    }
+
+    /**
+     * Notes the rule that recognized the line being processed, so that a line that is slow to parse
+     * can be reported with the rule that matched it, and so that GC causes read from the line are
+     * collected for this analysis if they are not known.
+     * @param rule the rule that matched
+     * @param trace the match of the rule on the line
+     */
+    void matched(GCParseRule rule, GCLogTrace trace) {
+        matchedRule = rule;
+        trace.collectUnknownGCCauses(unknownGCCauses);
+    }
+
+    /**
+     * Checks if an event detail section is read by any Aggregator. Until told otherwise,
+     * every detail section is assumed to be consumed.
+     * @param detail the event detail section
+     * @return true if the parser should fill in the detail section.
+     */
+    boolean consumes(EventDetail detail) {
+        return detailsConsumed.contains(detail);
+    }
+
     /**
      * Gets the current clock time.
      * @return the current DateTimeStamp.
@@ -109,14 +213,72 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
      */
     public void publish(ChannelName channel, JVMEvent event) {
         lastDuration = event.getDuration();
+        eventsPublished.increment();
+        batchEvents++;
         consumer.publish(channel, event);
     }
 
     /**
-     * Receives a trace line and processes it.
+     * Receives a trace line and processes it. The lines are reported to a Java Flight Recording in batches
+     * of {@link ParserBatchEvent#LINES}, and a line that is slow to parse is reported on its own, when
+     * those events are enabled.
      * @param trace the trace line to process.
      */
     public void receive(String trace) {
+        if (batchLines++ == 0) {
+            batch = new ParserBatchEvent();
+            batch.begin();
+        }
+        if (metered || SlowLineEvent.enabled())
+            receiveAndMeasure(trace);
+        else
+            advanceClockAndProcess(trace);
+        if (trace.equals(END_OF_DATA_SENTINEL))
+            endBatch(batchLines - 1);
+        else if (batchLines == ParserBatchEvent.LINES)
+            endBatch(batchLines);
+    }
+
+    private void receiveAndMeasure(String trace) {
+        SlowLineEvent slowLine = new SlowLineEvent();
+        slowLine.begin();
+        long start = System.nanoTime();
+        missed = false;
+        matchedRule = null;
+        advanceClockAndProcess(trace);
+        long elapsed = System.nanoTime() - start;
+        slowLine.end();
+        if (slowLine.shouldCommit()) {
+            slowLine.parser = getName();
+            slowLine.rule = (matchedRule == null) ? null : matchedRule.getName();
+            slowLine.line = trace;
+            slowLine.commit();
+        }
+        // The end of data publishes the JVMTermination, after which the analysis may already have returned
+        if (trace.equals(END_OF_DATA_SENTINEL))
+            return;
+        receiveTime.record(elapsed);
+        linesReceived.increment();
+        if (missed)
+            linesUnmatched.increment();
+        else
+            linesMatched.increment();
+    }
+
+    private void endBatch(long lines) {
+        batch.end();
+        if (batch.shouldCommit()) {
+            batch.parser = getName();
+            batch.lines = lines;
+            batch.events = batchEvents;
+            batch.commit();
+        }
+        batch = null;
+        batchLines = 0L;
+        batchEvents = 0L;
+    }
+
+    private void advanceClockAndProcess(String trace) {
         if (!trace.equals(END_OF_DATA_SENTINEL))
             advanceClock(trace);
         else
@@ -5,6 +5,7 @@ package com.microsoft.gctoolkit.parser;
 import com.microsoft.gctoolkit.GCToolKit;
 import com.microsoft.gctoolkit.event.GCCause;
 import com.microsoft.gctoolkit.event.GCCauses;
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 import com.microsoft.gctoolkit.event.RegionSummary;
 import com.microsoft.gctoolkit.event.UnifiedCountSummary;
@@ -27,10 +28,23 @@ public class GCLogTrace extends AbstractLogTrace {
 
     private final boolean gcCauseDebugging = Boolean.getBoolean("microsoft.debug.gccause");
 
+    private UnknownGCCauseCollector unknownGCCauses = null;
+
     public GCLogTrace(Matcher matcher) {
         super(matcher);
     }
 
+    public GCLogTrace(Matcher matcher, CharSequence input) {
+        super(matcher, input);
+    }
+
+    /**
+     * @param collector collects the causes read from this trace that are not known, or null
+     */
+    void collectUnknownGCCauses(UnknownGCCauseCollector collector) {
+        this.unknownGCCauses = collector;
+    }
+
     public int groupCount() {
         return trace.groupCount();
     }
@@ -54,7 +68,13 @@ public class GCLogTrace extends AbstractLogTrace {
                 notYetImplemented();
             }
         }
-        return GCCauses.get(getGroup(base + offset));
+        int group = base + offset;
+        if (input == null)
+            return GCCauses.get(getGroup(group), unknownGCCauses);
+        int start = trace.start(group);
+        if (start < 0)
+            return GCCause.GCCAUSE_NOT_SET;
+        return GCCauses.get(input, start, trace.end(group), unknownGCCauses);
     }
 
     public GCCause gcCause(int offset) {
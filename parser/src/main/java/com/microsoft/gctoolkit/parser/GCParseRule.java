@@ -30,7 +30,7 @@ public class GCParseRule {
     public GCLogTrace parse(String trace) {
         Matcher matcher = pattern.matcher(trace);
         if (matcher.find()) {
-            return new GCLogTrace(matcher);
+            return new GCLogTrace(matcher, trace);
         } else {
             return null;
         }
@@ -188,7 +188,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         parseRules.put(iCMS_CMF_DUIRNG_PARNEW_DEFNEW_DETAILS, this::iCMSConcurrentModeFailureDuringParNewDefNewDetails);
         parseRules.put(FULL_GC_INTERRUPTS_CONCURRENT_PHASE, this::fullGCInterruptsConcurrentPhase);
         parseRules.put(FULL_PARNEW_START, this::fullParNewStart);
-        parseRules.put(CMS_FULL_80, this::psFullReferenceJDK8);
+        parseRules.put(CMS_FULL_80, this::cmsFullPermOrMeta);
         parseRules.put(FULL_GC_REFERENCE_CMF, this::fullGCReferenceConcurrentModeFailure);
 
         parseRules.put(iCMS_PARNEW, this::iCMSParNew);
@@ -307,6 +307,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
                     .findFirst();
             if ( optional.isPresent()) {
                 AbstractMap.SimpleEntry<GCParseRule, GCLogTrace> ruleAndTrace = optional.get();
+                matched(ruleAndTrace.getKey(), ruleAndTrace.getValue());
                 parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
                 return;
             }
@@ -394,8 +395,8 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
     //3.299: [Full GC (Metadata GC Threshold) 3.299: [Tenured: 21006K->20933K(21888K), 0.0230475 secs] 29003K->20933K(31680K), [Metapace: 12111K->12111K(12672K)], 0.0231557 secs]
     public void serialFull(GCLogTrace trace, String line) {
         FullGC collection = new FullGC(getClock(), trace.gcCause(), trace.getDuration());
-        MemoryPoolSummary tenured = trace.getOccupancyBeforeAfterWithMemoryPoolSizeSummary(5);
-        MemoryPoolSummary heap = this.getTotalOccupancyBeforeAfterWithTotalHeapPoolSizeSummary(trace, 12);
+        MemoryPoolSummary tenured = trace.getOccupancyBeforeAfterWithMemoryPoolSizeSummary(TIME_DATE_OFFSET + 2);
+        MemoryPoolSummary heap = this.getTotalOccupancyBeforeAfterWithTotalHeapPoolSizeSummary(trace, TIME_DATE_OFFSET + 9);
         collection.add(heap.minus(tenured), tenured, heap);
         collection.addPermOrMetaSpaceRecord(extractPermOrMetaspaceRecord(line));
         collection.add(extractCPUSummary(line));
@@ -2028,7 +2029,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
 //
 //        GCToolKit.LOG_DEBUG_MESSAGE(() -> "GenerationalHeapParser missed: " + line);
         if (line.contains("CMSCMS: Large block")) return;
-        LOGGER.log(Level.WARNING, "Missed: {0}", line);
+        unmatched(line);
 
     }
 
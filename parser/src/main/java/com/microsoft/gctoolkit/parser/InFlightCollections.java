@@ -0,0 +1,129 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded set of the collections that have been started, but not yet completed, in a GC log.
+ * Forward references are normally released when a collection completes. Truncated, interleaved or
+ * corrupted logs leave collections that never complete. Those are evicted once they are too far
+ * behind the current GC id or too old relative to the parser clock, so the set stays small.
+ * <p>
+ * References are kept in the order they were started. That is GC id order for a well formed log, which
+ * means eviction only has to look at the oldest entries. This class is not thread safe; it is owned by
+ * a single parser.
+ *
+ * @param <R> the type of forward reference being tracked
+ */
+class InFlightCollections<R extends ForwardReference> {
+
+    static final int DEFAULT_MAX_GCID_DISTANCE = 1024;
+    static final double DEFAULT_MAX_AGE_IN_SECONDS = 3600.0d;
+
+    private final Map<Integer, R> inFlight = new LinkedHashMap<>();
+    private final int maxGcIdDistance;
+    private final double maxAgeInSeconds;
+
+    private long evictedByGcIdDistance = 0L;
+    private long evictedByAge = 0L;
+
+    InFlightCollections() {
+        this(DEFAULT_MAX_GCID_DISTANCE, DEFAULT_MAX_AGE_IN_SECONDS);
+    }
+
+    /**
+     * @param maxGcIdDistance collections more than this many GC ids behind the newest are evicted.
+     * @param maxAgeInSeconds collections that started more than this many seconds before the clock are evicted.
+     */
+    InFlightCollections(int maxGcIdDistance, double maxAgeInSeconds) {
+        if (maxGcIdDistance < 1)
+            throw new IllegalArgumentException("maxGcIdDistance must be positive: " + maxGcIdDistance);
+        this.maxGcIdDistance = maxGcIdDistance;
+        this.maxAgeInSeconds = maxAgeInSeconds;
+    }
+
+    /**
+     * Get the forward reference for a GC id, creating it if this is the first time the id has been seen.
+     * @param gcid the GC id
+     * @param factory creates the forward reference
+     * @return the forward reference for the GC id
+     */
+    R computeIfAbsent(int gcid, IntFunction<R> factory) {
+        R reference = inFlight.get(gcid);
+        if (reference == null) {
+            reference = factory.apply(gcid);
+            inFlight.put(gcid, reference);
+        }
+        return reference;
+    }
+
+    void remove(int gcid) {
+        inFlight.remove(gcid);
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * Remove the collections that are too far behind the newest GC id, or that started too long before now.
+     * The newest collection is never evicted.
+     * @param newestGcId the GC id most recently seen
+     * @param now the parser clock
+     * @return the evicted forward references, oldest first
+     */
+    List<R> evict(int newestGcId, DateTimeStamp now) {
+        if (inFlight.isEmpty())
+            return Collections.emptyList();
+        List<R> evicted = null;
+        Iterator<Map.Entry<Integer, R>> iterator = inFlight.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, R> entry = iterator.next();
+            if (entry.getKey() == newestGcId)
+                continue;
+            boolean tooDistant = Math.abs(newestGcId - entry.getKey()) > maxGcIdDistance;
+            boolean tooOld = !tooDistant && isTooOld(entry.getValue(), now);
+            if (!tooDistant && !tooOld)
+                break;
+            if (tooDistant)
+                evictedByGcIdDistance++;
+            else
+                evictedByAge++;
+            if (evicted == null)
+                evicted = new ArrayList<>();
+            evicted.add(entry.getValue());
+            iterator.remove();
+        }
+        return (evicted == null) ? Collections.emptyList() : evicted;
+    }
+
+    private boolean isTooOld(R reference, DateTimeStamp now) {
+        DateTimeStamp startTime = reference.getStartTime();
+        if (now == null || startTime == null)
+            return false;
+        double age = now.minus(startTime);
+        // NaN when the time stamps can't be compared, which is never too old.
+        return age > maxAgeInSeconds;
+    }
+
+    long getEvictedByGcIdDistance() {
+        return evictedByGcIdDistance;
+    }
+
+    long getEvictedByAge() {
+        return evictedByAge;
+    }
+
+    long getEvictions() {
+        return evictedByGcIdDistance + evictedByAge;
+    }
+}
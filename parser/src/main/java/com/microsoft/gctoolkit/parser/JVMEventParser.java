@@ -94,6 +94,7 @@ public class JVMEventParser extends PreUnifiedGCLogParser implements JVMPatterns
             }
 
         } catch (Throwable t) {
+            unmatched(line);
             LOGGER.log(Level.FINE, "Missed: {0}", line);
         }
     }
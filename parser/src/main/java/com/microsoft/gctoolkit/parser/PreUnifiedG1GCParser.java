@@ -262,7 +262,10 @@ public class PreUnifiedG1GCParser extends PreUnifiedGCLogParser implements G1GCP
                     .filter(tuple -> tuple.getValue() != null)
                     .findFirst()
                     .ifPresentOrElse(
-                            rulesAndTrace -> parseRules.get(rulesAndTrace.getKey()).accept(rulesAndTrace.getValue(), line),
+                            rulesAndTrace -> {
+                                matched(rulesAndTrace.getKey(), rulesAndTrace.getValue());
+                                parseRules.get(rulesAndTrace.getKey()).accept(rulesAndTrace.getValue(), line);
+                            },
                             () -> log(line));
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "deriveConfiguration", t);
@@ -1214,7 +1217,7 @@ public class PreUnifiedG1GCParser extends PreUnifiedGCLogParser implements G1GCP
         if (line.startsWith("CommandLine flags: ")) return;
 
         GCToolKit.LOG_DEBUG_MESSAGE(() -> "Missed: " + line);
-        LOGGER.log(Level.FINE, "Missed: {0}", line);
+        unmatched(line);
     }
 
     @Override
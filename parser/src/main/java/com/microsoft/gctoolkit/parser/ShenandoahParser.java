@@ -16,7 +16,6 @@ import java.util.AbstractMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -67,6 +66,7 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
                     .findFirst();
             if ( optional.isPresent()) {
                 AbstractMap.SimpleEntry<GCParseRule, GCLogTrace> ruleAndTrace = optional.get();
+                matched(ruleAndTrace.getKey(), ruleAndTrace.getValue());
                 parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
                 return;
             }
@@ -92,8 +92,7 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
 
     private void log(String line) {
         GCToolKit.LOG_DEBUG_MESSAGE(() -> "ZGCHeapParser missed: " + line);
-        LOGGER.log(Level.WARNING, "Missed: {0}", line);
-
+        unmatched(line);
     }
 
     public void publish() {
@@ -3,6 +3,7 @@
 package com.microsoft.gctoolkit.parser;
 
 import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.aggregator.EventDetail;
 import com.microsoft.gctoolkit.aggregator.EventSource;
 import com.microsoft.gctoolkit.event.CPUSummary;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
@@ -29,9 +30,7 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -51,8 +50,13 @@ import static com.microsoft.gctoolkit.event.GarbageCollectionTypes.fromLabel;
 public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GCPatterns, TenuredPatterns {
 
     private static final Logger LOGGER = Logger.getLogger(UnifiedG1GCParser.class.getName());
+    private static final String DEFER_EVENT_DETAILS_PROPERTY = "com.microsoft.gctoolkit.g1.deferEventDetails";
 
-    private final Map<Integer, G1GCForwardReference> collectionsUnderway = new ConcurrentHashMap<>();
+    private final InFlightCollections<G1GCForwardReference> collectionsUnderway = new InFlightCollections<>();
+    private DateTimeStamp latestPublished = null;
+    private long latePausesPublished = 0L;
+    private long concurrentCyclesDropped = 0L;
+    private long incompletePausesDropped = 0L;
 
     // state variables
     private boolean before = false; //todo what happens if this gets out of sync. #IHateState
@@ -62,6 +66,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
 
     private G1GCForwardReference forwardReference;
     private boolean concurrentPhaseActive = false;
+    private boolean deferEventDetails = Boolean.getBoolean(DEFER_EVENT_DETAILS_PROPERTY);
 
     private final RuleSet<GCParseRule, BiConsumer<GCLogTrace, String>> parseRules;
 
@@ -71,24 +76,24 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         parseRules.put(CPU_BREAKOUT, this::cpuBreakout);
         parseRules.put(HEAP_BEFORE_AFTER_GC_INVOCATION_COUNT, this::heapBeforeAfterGCInvocationCount);
         parseRules.put(HEAP_SUMMARY, this::heapSummary);
-        parseRules.put(REGION_DISBURSEMENT, this::youngRegionAllotment);
-        parseRules.put(META_CLASS_SPACE, this::metaClassSpace);
-        parseRules.put(WORKER_SUMMARY, this::workSummary);
-        parseRules.put(REFERENCES, this::references);
-        parseRules.put(REFERENCE_COUNTS, this::referenceCounts);
-        parseRules.put(PRE_EVACUATE_COLLECTION_SET, this::evacuateCollectionSetTime);
-        parseRules.put(PRE_EVACUATION_SUBPHASE, this::preEvacuateCSetPhaseDuration);
-        parseRules.put(EVACUATION_PHASE, this::evacuateCSetPhase);
-
-        parseRules.put(PARALLEL_COUNT, this::parallelCount);
-        parseRules.put(POST_EVACUATE_PHASE, this::postEvacuatePhaseDuration);
-        parseRules.put(REFERENCE_PROCESSING, this::postEvacuatePhaseDuration);
+        parseRules.put(REGION_DISBURSEMENT, when(EventDetail.REGIONS, this::youngRegionAllotment));
+        parseRules.put(META_CLASS_SPACE, when(EventDetail.METASPACE, this::metaClassSpace));
+        parseRules.put(WORKER_SUMMARY, when(EventDetail.PHASES, this::workSummary));
+        parseRules.put(REFERENCES, when(EventDetail.REFERENCES, this::references));
+        parseRules.put(REFERENCE_COUNTS, when(EventDetail.REFERENCES, this::referenceCounts));
+        parseRules.put(PRE_EVACUATE_COLLECTION_SET, when(EventDetail.PHASES, this::evacuateCollectionSetTime));
+        parseRules.put(PRE_EVACUATION_SUBPHASE, when(EventDetail.PHASES, this::preEvacuateCSetPhaseDuration));
+        parseRules.put(EVACUATION_PHASE, when(EventDetail.PHASES, this::evacuateCSetPhase));
+
+        parseRules.put(PARALLEL_COUNT, when(EventDetail.PHASES, this::parallelCount));
+        parseRules.put(POST_EVACUATE_PHASE, when(EventDetail.PHASES, this::postEvacuatePhaseDuration));
+        parseRules.put(REFERENCE_PROCESSING, when(EventDetail.PHASES, this::postEvacuatePhaseDuration));
         parseRules.put(TO_SPACE_EXHAUSTED, this::toSpaceExhausted);
-        parseRules.put(OTHER, this::other);
-        parseRules.put(REGION_SUMMARY, this::regionSummary);
-        parseRules.put(UNIFIED_META_DATA, this::unifiedMetaData);
+        parseRules.put(OTHER, when(EventDetail.PHASES, this::other));
+        parseRules.put(REGION_SUMMARY, when(EventDetail.REGIONS, this::regionSummary));
+        parseRules.put(UNIFIED_META_DATA, when(EventDetail.METASPACE, this::unifiedMetaData));
         parseRules.put(YOUNG_DETAILS, this::youngDetails);
-        parseRules.put(META_SPACE_BREAKOUT, this::metaNonClassClassSpace);
+        parseRules.put(META_SPACE_BREAKOUT, when(EventDetail.METASPACE, this::metaNonClassClassSpace));
         parseRules.put(HEAP_REGION_SIZE, this::heapRegionSize);
         parseRules.put(HEAP_SIZE, this::heapSize);
         parseRules.put(G1_TAG, this::ignore);
@@ -114,7 +119,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         parseRules.put(CLEANUP_START, this::cleanupStart);
         parseRules.put(CLEANUP__FINALIZE_CONC_MARK,this::noop);
         parseRules.put(CLEANUP_END, this::pausePhaseDuringConcurrentCycleDurationEnd);
-        parseRules.put(FULL_PHASE, this::fullPhase);
+        parseRules.put(FULL_PHASE, when(EventDetail.PHASES, this::fullPhase));
         parseRules.put(FULL_CLASS_UNLOADING, this::fullClassUnloading);
         parseRules.put(FULL_STRING_SYMBOL_TABLE, this::fullStringSymbolTable);
         parseRules.put(JVM_EXIT, this::jvmExit);
@@ -155,13 +160,24 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         parseRules.put(REBUILD_FREELIST, this::noop);
         parseRules.put(NEW_CSET, this::noop);
         parseRules.put(RESIZE_TLAB, this::noop);
-        parseRules.put(TENURING_SUMMARY, this::tenuringSummary);
-        parseRules.put(TENURING_AGE_BREAKDOWN, this::tenuringAgeBreakout);
+        parseRules.put(TENURING_SUMMARY, when(EventDetail.TENURING, this::tenuringSummary));
+        parseRules.put(TENURING_AGE_BREAKDOWN, when(EventDetail.TENURING, this::tenuringAgeBreakout));
     }
 
     public UnifiedG1GCParser() {
     }
 
+    /**
+     * Wrap a rule that only fills in an optional detail section of an event. The line is still
+     * recognized, but the extraction is skipped when no Aggregator consumes the detail section.
+     */
+    private BiConsumer<GCLogTrace, String> when(EventDetail detail, BiConsumer<GCLogTrace, String> rule) {
+        return (trace, line) -> {
+            if (consumes(detail))
+                rule.accept(trace, line);
+        };
+    }
+
     @Override
     public Set<EventSource> eventsProduced() {
         return Set.of(EventSource.G1GC);
@@ -171,6 +187,16 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         return "UnifiedG1GCParser";
     }
 
+    /**
+     * Young and full collection events are normally published with all of their detail sections decoded.
+     * When deferred, memory pool, region, reference, CPU and phase summaries are only decoded when first read.
+     * Defaults to the value of the {@value #DEFER_EVENT_DETAILS_PROPERTY} system property.
+     * @param deferEventDetails true to defer the decoding of event detail sections
+     */
+    public void deferEventDetails(boolean deferEventDetails) {
+        this.deferEventDetails = deferEventDetails;
+    }
+
     @Override
     protected void process(String line) {
         if (! ignoreFrequentlySeenButUnwantedLines(line))
@@ -211,6 +237,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
 
 
     private void applyRule(GCParseRule ruleToApply, GCLogTrace trace, String line) {
+        matched(ruleToApply, trace);
         try {
             parseRules.select(ruleToApply).accept(trace, line);
         } catch (Throwable t) {
@@ -220,8 +247,11 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
 
     private void setForwardReference(int gcid, String line) {
         if (gcid != -1) {
+            if (forwardReference == null || forwardReference.getGcID() != gcid)
+                evictStaleCollections(gcid);
             forwardReference = collectionsUnderway.computeIfAbsent(gcid, k -> new G1GCForwardReference(new Decorators(line), gcid));
             forwardReference.setHeapRegionSize(regionSize);
+            forwardReference.deferDetails(deferEventDetails);
             forwardReference.setMaxHeapSize(maxHeapSize);
             forwardReference.setMinHeapSize(minHeapSize);
             forwardReference.setInitialHeapSize(initialHeapSize);
@@ -232,6 +262,77 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         collectionsUnderway.remove(forwardReference.getGcID());
     }
 
+    /**
+     * Collections that never complete, as found in truncated or corrupted logs, are evicted so that they
+     * don't accumulate. A pause that has a type and a duration is published as is, even though details
+     * such as the CPU summary may be missing. If a later event has already been published, the pause is
+     * marked as late since it is out of time order. Concurrent cycles and pauses without a type or a
+     * duration are dropped and counted.
+     * @param gcid the GC id about to be processed
+     */
+    private void evictStaleCollections(int gcid) {
+        for (G1GCForwardReference evicted : collectionsUnderway.evict(gcid, getClock())) {
+            if (evicted.isConcurrentCycle()) {
+                concurrentCyclesDropped++;
+                LOGGER.warning("Incomplete G1GC concurrent cycle evicted: GC(" + evicted.getGcID() + ") " + evicted);
+                continue;
+            }
+            try {
+                if (evicted.getGcType() == null || evicted.getDuration() < 0.0d)
+                    throw new MalformedEvent("Incomplete G1GC collection evicted: GC(" + evicted.getGcID() + ") " + evicted);
+                G1GCPauseEvent event = evicted.buildEvent();
+                if (event != null) {
+                    if (latestPublished != null && event.getDateTimeStamp().before(latestPublished)) {
+                        event.late();
+                        latePausesPublished++;
+                    }
+                    if (concurrentPhaseActive)
+                        eventQueue.add(event);
+                    else
+                        publish(event);
+                }
+            } catch (MalformedEvent malformedEvent) {
+                incompletePausesDropped++;
+                LOGGER.warning(malformedEvent.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the number of incomplete collections evicted because they were too many GC ids behind the current one.
+     */
+    public long getCollectionsEvictedByGcIdDistance() {
+        return collectionsUnderway.getEvictedByGcIdDistance();
+    }
+
+    /**
+     * @return the number of incomplete collections evicted because they started too long before the current time.
+     */
+    public long getCollectionsEvictedByAge() {
+        return collectionsUnderway.getEvictedByAge();
+    }
+
+    /**
+     * @return the number of evicted pauses that were published, marked as late, after later events.
+     */
+    public long getLatePausesPublished() {
+        return latePausesPublished;
+    }
+
+    /**
+     * @return the number of evicted concurrent cycles that were dropped.
+     */
+    public long getConcurrentCyclesDropped() {
+        return concurrentCyclesDropped;
+    }
+
+    /**
+     * @return the number of evicted pauses that were dropped because their type or duration was never logged.
+     */
+    public long getIncompletePausesDropped() {
+        return incompletePausesDropped;
+    }
+
     private void noop(GCLogTrace trace, String line) {}
 
     /*************
@@ -240,8 +341,9 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
      */
 
     private void cpuBreakout(GCLogTrace trace, String line) {
-        CPUSummary cpuSummary = new CPUSummary(trace.getDoubleGroup(1), trace.getDoubleGroup(2), trace.getDoubleGroup(3));
-        forwardReference.setCPUSummary(cpuSummary);
+        // The CPU record closes out the pause so it is always processed, even if the summary isn't wanted.
+        if (consumes(EventDetail.CPU))
+            forwardReference.setCPUSummary(new CPUSummary(trace.getDoubleGroup(1), trace.getDoubleGroup(2), trace.getDoubleGroup(3)));
         try {
             publishPauseEvent(forwardReference.buildEvent());
         } catch (MalformedEvent malformedEvent) {
@@ -670,7 +772,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
 
     private void fullPhase(GCLogTrace trace, String line) {
         if (trace.getGroup(3) != null)
-            forwardReference.fullPhase(trace.getIntegerGroup(1), trace.getGroup(2), trace.getDurationInSeconds());
+            forwardReference.fullPhase(trace.getGroup(2), trace.getDurationInSeconds());
     }
 
     /**
@@ -791,7 +893,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         if ( ! ignoreFrequentlySeenButUnwantedLines(line)) {
 
             GCToolKit.LOG_DEBUG_MESSAGE(() -> "Missed: " + line);
-            LOGGER.log(Level.FINE, "Missed: {0}", line);
+            unmatched(line);
         }
     }
 
@@ -806,6 +908,8 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
     }
 
     private void publish(JVMEvent event) {
+        if (event.getDateTimeStamp() != null && (latestPublished == null || event.getDateTimeStamp().after(latestPublished)))
+            latestPublished = event.getDateTimeStamp();
         super.publish(ChannelName.G1GC_PARSER_OUTBOX,event);
     }
 }
@@ -38,7 +38,6 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static com.microsoft.gctoolkit.event.GarbageCollectionTypes.Abortable_Preclean;
@@ -140,12 +139,13 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
                         tuple -> {
                             applyRule(tuple.getKey(), tuple.getValue(), line);
                         },
-                        () -> LOGGER.log(Level.FINE, "Missed: {0}", line)
+                        () -> unmatched(line)
                 );
     }
 
 
     private void applyRule(GCParseRule ruleToApply, GCLogTrace trace, String line) {
+        matched(ruleToApply, trace);
         try {
             parseRules.select(ruleToApply).accept(trace, line);
         } catch (Throwable t) {
@@ -310,7 +310,9 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
 
     //Rescan \\(parallel\\)|Reference Processing|Weak Processing|ClassLoaderData|ProtectionDomainCacheTable|ResolvedMethodTable|Class Unloading|Scrub Symbol Table|Scrub String Table
     private void remarkPhase(GCLogTrace trace, String line) {
-        concurrentCyclePauseEvent.addCMSRemarkPhase(trace.getGroup(1), trace.getDuration() / 1000.0d);
+        // Parallel and Serial log phases with the same names outside of a remark, which are ignored for now
+        if (concurrentCyclePauseEvent != null)
+            concurrentCyclePauseEvent.addCMSRemarkPhase(trace.getGroup(1), trace.getDuration() / 1000.0d);
     }
 
     private void oldSummary(GCLogTrace trace, String line) {
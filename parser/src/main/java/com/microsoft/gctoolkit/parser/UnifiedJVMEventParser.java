@@ -68,6 +68,7 @@ public class UnifiedJVMEventParser extends UnifiedGCLogParser implements JVMPatt
             }
 
         } catch (Throwable t) {
+            unmatched(line);
             LOGGER.log(Level.FINE, "Missed: {0}", line);
         }
     }
@@ -141,6 +141,7 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
                     .findFirst();
             if (optional.isPresent()) {
                 AbstractMap.SimpleEntry<GCParseRule, GCLogTrace> ruleAndTrace = optional.get();
+                matched(ruleAndTrace.getKey(), ruleAndTrace.getValue());
                 parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
                 return;
             }
@@ -620,7 +621,7 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
     private void log(String line) {
         GCToolKit.LOG_DEBUG_MESSAGE(() -> "ZGCHeapParser missed: " + line);
 
-        LOGGER.log(Level.WARNING, "Missed: {0}", line);
+        unmatched(line);
     }
 
     public void logMissedFirstRecordForEvent(String line) {
@@ -0,0 +1,466 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.jfr;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GCCauses;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.SurvivorMemoryPoolSummary;
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
+import com.microsoft.gctoolkit.event.g1gc.G1Cleanup;
+import com.microsoft.gctoolkit.event.g1gc.G1FullGCNES;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
+import com.microsoft.gctoolkit.event.g1gc.G1Mixed;
+import com.microsoft.gctoolkit.event.g1gc.G1Remark;
+import com.microsoft.gctoolkit.event.g1gc.G1SystemGC;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.g1gc.G1YoungInitialMark;
+import com.microsoft.gctoolkit.event.generational.DefNew;
+import com.microsoft.gctoolkit.event.generational.FullGC;
+import com.microsoft.gctoolkit.event.generational.GenerationalGCPauseEvent;
+import com.microsoft.gctoolkit.event.generational.PSFullGC;
+import com.microsoft.gctoolkit.event.generational.PSYoungGen;
+import com.microsoft.gctoolkit.event.generational.ParNew;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.event.jvm.Safepoint;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.RecordedEventParser;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import jdk.jfr.consumer.RecordedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Translates the garbage collection and safepoint events of a flight recording into the JVMEvents the
+ * unified logging parsers publish for the same collections.
+ * <p>
+ * A recording is not in time order; it holds the events of each thread in the order they were recorded, one
+ * buffer after another. The events of each collection are gathered by GC id, and the collection is published
+ * once it has ended and its heap summaries, and for a young G1 collection its {@code jdk.G1GarbageCollection},
+ * have arrived. A collection still missing its G1 type when it is given up on, or at the end of the recording,
+ * is published as a normal young collection; one missing a heap summary is left out, as the Aggregations
+ * expect every pause to have one. Collections of the concurrent collectors, ZGC and Shenandoah, and the
+ * concurrent phases of G1 and CMS have no counterpart in the recording that matches their JVMEvents, and are
+ * not published; the safepoints of these recordings are.
+ */
+public class JFREventParser implements RecordedEventParser {
+
+    private static final Logger LOGGER = Logger.getLogger(JFREventParser.class.getName());
+
+    /**
+     * The most collections, and safepoints, waiting on the rest of their events. Older ones are given up on.
+     */
+    static final int MAX_IN_FLIGHT = 1024;
+
+    private static final String BEFORE_GC = "Before GC";
+
+    private JVMEventChannel consumer;
+    private Diary diary;
+    private UnknownGCCauseCollector unknownGCCauses = null;
+    private Instant origin;
+    private double originUptime;
+    private DateTimeStamp clock = new DateTimeStamp(DateTimeStamp.EPOC, 0.0d);
+    private final TreeMap<Long, Collection> inFlight = new TreeMap<>();
+    private final Map<Long, SafepointRecord> safepoints = new LinkedHashMap<>();
+
+    public JFREventParser() {}
+
+    @Override
+    public void publishTo(JVMEventChannel channel) {
+        this.consumer = channel;
+    }
+
+    @Override
+    public void diary(Diary diary) {
+        this.diary = diary;
+        DateTimeStamp timeOfFirstEvent = diary.getTimeOfFirstEvent();
+        this.clock = timeOfFirstEvent;
+        this.origin = timeOfFirstEvent.hasDateStamp() ? timeOfFirstEvent.getDateTime().toInstant() : null;
+        this.originUptime = timeOfFirstEvent.hasTimeStamp() ? timeOfFirstEvent.getTimeStamp() : 0.0d;
+    }
+
+    @Override
+    public void collectUnknownGCCauses(UnknownGCCauseCollector collector) {
+        this.unknownGCCauses = collector;
+    }
+
+    @Override
+    public boolean accepts(Diary diary) {
+        return diary.isUnifiedLogging();
+    }
+
+    @Override
+    public Set<EventSource> eventsProduced() {
+        Set<EventSource> events = EnumSet.of(EventSource.SAFEPOINT);
+        if (diary == null)
+            return events;
+        if (diary.isG1GC())
+            events.add(EventSource.G1GC);
+        else if (diary.isGenerational())
+            events.add(EventSource.GENERATIONAL);
+        return events;
+    }
+
+    @Override
+    public void receive(RecordedEvent event) {
+        try {
+            switch (event.getEventType().getName()) {
+                case "jdk.GCHeapSummary":
+                    collection(event).heap.record(isBefore(event), event.getLong("heapUsed"), event.getLong("heapSpace.committedSize"));
+                    publishCompleted();
+                    break;
+                case "jdk.G1HeapSummary":
+                    Collection g1 = collection(event);
+                    g1.young.record(isBefore(event), event.getLong("edenUsedSize"), event.getLong("edenTotalSize"));
+                    g1.survivor.record(isBefore(event), event.getLong("survivorUsedSize"), -1L);
+                    break;
+                case "jdk.PSHeapSummary":
+                    Collection parallel = collection(event);
+                    parallel.young.record(isBefore(event),
+                            event.getLong("edenSpace.used") + event.getLong("fromSpace.used"), event.getLong("youngSpace.committedSize"));
+                    parallel.tenured.record(isBefore(event), event.getLong("oldObjectSpace.used"), event.getLong("oldObjectSpace.size"));
+                    break;
+                case "jdk.MetaspaceSummary":
+                    collection(event).metaspace.record(isBefore(event), event.getLong("metaspace.used"), event.getLong("metaspace.committed"));
+                    break;
+                case "jdk.G1GarbageCollection":
+                    collection(event).g1Type = event.getString("type");
+                    publishCompleted();
+                    break;
+                case "jdk.GCPhasePause":
+                    pausePhase(event);
+                    break;
+                case "jdk.GarbageCollection":
+                    garbageCollection(event);
+                    break;
+                case "jdk.SafepointBegin":
+                    safepoint(event).begin(event);
+                    publishSafepoint(event);
+                    break;
+                case "jdk.ExecuteVMOperation":
+                    if (event.getBoolean("safepoint"))
+                        safepoint(event).operation(event);
+                    break;
+                case "jdk.SafepointEnd":
+                    safepoint(event).end = event.getEndTime();
+                    publishSafepoint(event);
+                    break;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            // a field this version of the JDK does not record
+            LOGGER.log(Level.FINE, "Unable to translate " + event.getEventType().getName(), e);
+        }
+    }
+
+    @Override
+    public void endOfData() {
+        inFlight.values().stream()
+                .filter(Collection::hasEnded)
+                .forEach(this::publish);
+        inFlight.clear();
+        safepoints.clear();
+        // every channel an Aggregator may have been registered on waits for its termination
+        Set<ChannelName> channels = EnumSet.noneOf(ChannelName.class);
+        eventsProduced().forEach(eventSource -> channels.add(eventSource.toChannel()));
+        diary.generatesEvents().forEach(eventSource -> channels.add(eventSource.toChannel()));
+        channels.forEach(channel -> publish(channel, new JVMTermination(clock, diary.getTimeOfFirstEvent())));
+    }
+
+    private static boolean isBefore(RecordedEvent event) {
+        return BEFORE_GC.equals(event.getString("when"));
+    }
+
+    private Collection collection(RecordedEvent event) {
+        long gcId = event.getLong("gcId");
+        Collection collection = inFlight.get(gcId);
+        if (collection == null) {
+            collection = new Collection();
+            inFlight.put(gcId, collection);
+            if (inFlight.size() > MAX_IN_FLIGHT) {
+                Collection oldest = inFlight.pollFirstEntry().getValue();
+                if (oldest.hasEnded())
+                    publish(oldest);
+            }
+        }
+        return collection;
+    }
+
+    private void garbageCollection(RecordedEvent event) {
+        Collection collection = collection(event);
+        collection.name = event.getString("name");
+        collection.cause = GCCauses.get("(" + event.getString("cause") + ")", unknownGCCauses);
+        collection.startTime = event.getStartTime();
+        collection.pauses = seconds(event.getDuration("sumOfPauses"));
+        tick(event.getEndTime());
+        publishCompleted();
+    }
+
+    /**
+     * Publish the collections that have every event they are going to get.
+     */
+    private void publishCompleted() {
+        Iterator<Collection> collections = inFlight.values().iterator();
+        while (collections.hasNext()) {
+            Collection collection = collections.next();
+            if (collection.isComplete()) {
+                collections.remove();
+                publish(collection);
+            }
+        }
+    }
+
+    /**
+     * The remark and cleanup pauses of a G1 concurrent cycle are only recorded as pause phases.
+     */
+    private void pausePhase(RecordedEvent event) {
+        if (!diary.isG1GC())
+            return;
+        String name = event.getString("name");
+        if (name == null)
+            return;
+        DateTimeStamp timeStamp = timeOf(event.getStartTime());
+        double duration = seconds(event.getDuration());
+        if (name.contains("Remark"))
+            publish(ChannelName.G1GC_PARSER_OUTBOX, new G1Remark(timeStamp, 0.0d, duration));
+        else if (name.contains("Cleanup"))
+            publish(ChannelName.G1GC_PARSER_OUTBOX, new G1Cleanup(timeStamp, duration));
+        tick(event.getEndTime());
+    }
+
+    private void publish(Collection collection) {
+        DateTimeStamp timeStamp = timeOf(collection.startTime);
+        switch (collection.name) {
+            case "G1New":
+                publish(ChannelName.G1GC_PARSER_OUTBOX, g1(g1Young(collection, timeStamp), collection));
+                break;
+            case "G1Full":
+                publish(ChannelName.G1GC_PARSER_OUTBOX, g1(g1Full(collection, timeStamp), collection));
+                break;
+            case "DefNew":
+                publish(ChannelName.GENERATIONAL_HEAP_PARSER_OUTBOX, generational(new DefNew(timeStamp, collection.cause, collection.pauses), collection));
+                break;
+            case "ParNew":
+                publish(ChannelName.GENERATIONAL_HEAP_PARSER_OUTBOX, generational(new ParNew(timeStamp, collection.cause, collection.pauses), collection));
+                break;
+            case "ParallelScavenge":
+                publish(ChannelName.GENERATIONAL_HEAP_PARSER_OUTBOX, generational(new PSYoungGen(timeStamp, collection.cause, collection.pauses), collection));
+                break;
+            case "ParallelOld":
+            case "PSMarkSweep":
+                publish(ChannelName.GENERATIONAL_HEAP_PARSER_OUTBOX, generational(new PSFullGC(timeStamp, collection.cause, collection.pauses), collection));
+                break;
+            case "SerialOld":
+                if (diary.isG1GC())
+                    publish(ChannelName.G1GC_PARSER_OUTBOX, g1(g1Full(collection, timeStamp), collection));
+                else
+                    publish(ChannelName.GENERATIONAL_HEAP_PARSER_OUTBOX, generational(new FullGC(timeStamp, collection.cause, collection.pauses), collection));
+                break;
+            default:
+                // G1Old, ConcurrentMarkSweep, Z and Shenandoah are concurrent cycles
+                break;
+        }
+    }
+
+    private static G1Young g1Young(Collection collection, DateTimeStamp timeStamp) {
+        String type = (collection.g1Type == null) ? "Normal" : collection.g1Type;
+        switch (type) {
+            case "Concurrent Start":
+            case "Initial Mark":
+                return new G1YoungInitialMark(timeStamp, collection.cause, collection.pauses);
+            case "Mixed":
+                return new G1Mixed(timeStamp, collection.cause, collection.pauses);
+            default:
+                return new G1Young(timeStamp, collection.cause, collection.pauses);
+        }
+    }
+
+    private static G1GCPauseEvent g1Full(Collection collection, DateTimeStamp timeStamp) {
+        if (collection.cause == GCCause.JAVA_LANG_SYSTEM)
+            return new G1SystemGC(timeStamp, collection.pauses);
+        return new G1FullGCNES(timeStamp, collection.cause, collection.pauses);
+    }
+
+    private static G1GCPauseEvent g1(G1GCPauseEvent event, Collection collection) {
+        if (collection.heap.isComplete()) {
+            if (collection.young.isComplete() && collection.survivor.isComplete())
+                event.addMemorySummary(collection.young.toSummary(),
+                        new SurvivorMemoryPoolSummary(kBytes(collection.survivor.usedBefore), kBytes(collection.survivor.usedAfter)),
+                        collection.heap.toSummary());
+            else
+                event.addMemorySummary(collection.heap.toSummary());
+        }
+        if (collection.metaspace.isComplete())
+            event.addPermOrMetaSpaceRecord(collection.metaspace.toSummary());
+        return event;
+    }
+
+    private static GenerationalGCPauseEvent generational(GenerationalGCPauseEvent event, Collection collection) {
+        if (collection.heap.isComplete()) {
+            if (collection.young.isComplete() && collection.tenured.isComplete())
+                event.add(collection.young.toSummary(), collection.tenured.toSummary(), collection.heap.toSummary());
+            else
+                event.add(collection.heap.toSummary());
+        }
+        if (collection.metaspace.isComplete())
+            event.addPermOrMetaSpaceRecord(collection.metaspace.toSummary());
+        return event;
+    }
+
+    private SafepointRecord safepoint(RecordedEvent event) {
+        long safepointId = event.getLong("safepointId");
+        SafepointRecord safepoint = safepoints.get(safepointId);
+        if (safepoint == null) {
+            safepoint = new SafepointRecord();
+            safepoints.put(safepointId, safepoint);
+            if (safepoints.size() > MAX_IN_FLIGHT) {
+                Iterator<SafepointRecord> oldest = safepoints.values().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+        }
+        return safepoint;
+    }
+
+    /**
+     * The end of a safepoint may be read before its beginning, so it is published once both have been.
+     */
+    private void publishSafepoint(RecordedEvent event) {
+        long safepointId = event.getLong("safepointId");
+        SafepointRecord safepoint = safepoints.get(safepointId);
+        if (safepoint.start != null && safepoint.end != null) {
+            safepoints.remove(safepointId);
+            publish(ChannelName.JVM_EVENT_PARSER_OUTBOX, safepoint.toSafepoint());
+        }
+    }
+
+    private void publish(ChannelName channel, JVMEvent event) {
+        consumer.publish(channel, event);
+    }
+
+    private void tick(Instant instant) {
+        DateTimeStamp time = timeOf(instant);
+        if (time.after(clock))
+            clock = time;
+    }
+
+    /**
+     * The uptime of an instant is worked out from the time of the first event in the diary, which is both a date and an uptime.
+     */
+    private DateTimeStamp timeOf(Instant instant) {
+        if (origin == null)
+            origin = instant;
+        double uptime = originUptime + seconds(Duration.between(origin, instant));
+        return new DateTimeStamp(ZonedDateTime.ofInstant(instant, ZoneOffset.UTC), uptime);
+    }
+
+    private static double seconds(Duration duration) {
+        return (duration == null) ? 0.0d : duration.toNanos() / 1_000_000_000.0d;
+    }
+
+    private static long kBytes(long bytes) {
+        return (bytes < 0L) ? bytes : bytes / 1024L;
+    }
+
+    /**
+     * The occupancy and size of a memory pool before and after a collection, in bytes.
+     */
+    private static class Pool {
+        private long usedBefore = -1L;
+        private long sizeBefore = -1L;
+        private long usedAfter = -1L;
+        private long sizeAfter = -1L;
+
+        void record(boolean before, long used, long size) {
+            if (before) {
+                usedBefore = used;
+                sizeBefore = size;
+            } else {
+                usedAfter = used;
+                sizeAfter = size;
+            }
+        }
+
+        boolean isComplete() {
+            return usedBefore >= 0L && usedAfter >= 0L;
+        }
+
+        MemoryPoolSummary toSummary() {
+            return new MemoryPoolSummary(kBytes(usedBefore), kBytes(sizeBefore), kBytes(usedAfter), kBytes(sizeAfter));
+        }
+    }
+
+    /**
+     * The events recorded for one collection.
+     */
+    private static class Collection {
+        private final Pool heap = new Pool();
+        private final Pool young = new Pool();
+        private final Pool survivor = new Pool();
+        private final Pool tenured = new Pool();
+        private final Pool metaspace = new Pool();
+        private String name;
+        private GCCause cause;
+        private Instant startTime;
+        private double pauses;
+        private String g1Type;
+
+        /**
+         * @return true if the collection can be published, if need be without its G1 type
+         */
+        boolean hasEnded() {
+            return name != null && heap.isComplete();
+        }
+
+        boolean isComplete() {
+            return hasEnded() && (g1Type != null || !"G1New".equals(name));
+        }
+    }
+
+    /**
+     * The events recorded for one safepoint.
+     */
+    private class SafepointRecord {
+        private Instant start;
+        private Instant end;
+        private int totalThreads;
+        private int syncDuration;
+        private String operation = "Unknown";
+        private int operationDuration;
+
+        void begin(RecordedEvent event) {
+            start = event.getStartTime();
+            totalThreads = event.getInt("totalThreadCount");
+            syncDuration = (int) event.getDuration().toMillis();
+        }
+
+        void operation(RecordedEvent event) {
+            operation = event.getString("operation");
+            operationDuration = (int) event.getDuration().toMillis();
+        }
+
+        Safepoint toSafepoint() {
+            tick(end);
+            Safepoint safepoint = new Safepoint(operation, timeOf(start), seconds(Duration.between(start, end)));
+            safepoint.recordThreadCounts(totalThreads, 0, 0);
+            safepoint.recordDurations(0, 0, syncDuration, 0, operationDuration);
+            return safepoint;
+        }
+    }
+}
@@ -7,6 +7,7 @@
 module com.microsoft.gctoolkit.parser {
     requires com.microsoft.gctoolkit.api;
     requires java.logging;
+    requires jdk.jfr;
 
     exports com.microsoft.gctoolkit.parser to
             com.microsoft.gctoolkit.api;
@@ -14,6 +15,9 @@ module com.microsoft.gctoolkit.parser {
     exports com.microsoft.gctoolkit.parser.io to
             com.microsoft.gctoolkit.api;
 
+    exports com.microsoft.gctoolkit.parser.jfr to
+            com.microsoft.gctoolkit.api;
+
     exports com.microsoft.gctoolkit.parser.jvm to
             com.microsoft.gctoolkit.api;
 
@@ -40,4 +44,7 @@ module com.microsoft.gctoolkit.parser {
             com.microsoft.gctoolkit.parser.UnifiedG1GCParser,
             com.microsoft.gctoolkit.parser.ShenandoahParser,
             com.microsoft.gctoolkit.parser.ZGCParser;
+
+    provides com.microsoft.gctoolkit.message.RecordedEventParser with
+            com.microsoft.gctoolkit.parser.jfr.JFREventParser;
 }
\ No newline at end of file
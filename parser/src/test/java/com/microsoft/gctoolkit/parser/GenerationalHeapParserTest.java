@@ -408,6 +408,40 @@ public class GenerationalHeapParserTest extends ParserTest {
 		assertCPUSummaryValues(evt5.getCpuSummary(), 0.68, 0.06, 0.79);				
 	}
 
+
+    @Test
+    public void testCMSFullCollectionWithMetaspace() {
+        String[] lines = {
+                "2.000: [Full GC (Allocation Failure) 2.000: [CMS: 40000K->20000K(60000K), 0.0500000 secs] 50000K->20000K(80000K), [Metaspace: 3000K->3000K(1056768K)], 0.0510000 secs] [Times: user=0.05 sys=0.00, real=0.05 secs]"
+        };
+
+        List<JVMEvent> jvmEvents = feedParser(lines);
+
+        assertEquals(1, jvmEvents.size());
+        assertTrue(jvmEvents.get(0) instanceof FullGC);
+        FullGC collection = (FullGC) jvmEvents.get(0);
+        assertEquals(GCCause.ALLOCATION_FAILURE, collection.getGCCause());
+        assertMemoryPoolValues(collection.getHeap(), 50000, 80000, 20000, 80000);
+        assertMemoryPoolValues(collection.getTenured(), 40000, 60000, 20000, 60000);
+        assertMemoryPoolValues(collection.getPermOrMetaspace(), 3000, 1056768, 3000, 1056768);
+        assertDoubleEquals(collection.getDuration(), 0.051);
+    }
+
+    @Test
+    public void testSerialFullCollectionWithDateStamps() {
+        String[] lines = {
+                "2021-12-17T13:36:02.583+0000: 3.299: [Full GC (Allocation Failure) 3.299: [Tenured: 21006K->20933K(21888K), 0.0230475 secs] 29003K->20933K(31680K), [Perm : 12111K->12111K(21248K)], 0.0231557 secs] [Times: user=0.02 sys=0.00, real=0.02 secs]"
+        };
+
+        List<JVMEvent> jvmEvents = feedParser(lines);
+
+        assertEquals(1, jvmEvents.size());
+        assertTrue(jvmEvents.get(0) instanceof FullGC);
+        FullGC collection = (FullGC) jvmEvents.get(0);
+        assertMemoryPoolValues(collection.getHeap(), 29003, 31680, 20933, 31680);
+        assertMemoryPoolValues(collection.getTenured(), 21006, 21888, 20933, 21888);
+        assertDoubleEquals(collection.getDuration(), 0.0231557);
+    }
 	
     @Override
     protected Diarizer diarizer() {
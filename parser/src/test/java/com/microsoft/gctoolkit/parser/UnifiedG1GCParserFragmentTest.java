@@ -2,9 +2,11 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.parser;
 
+import com.microsoft.gctoolkit.aggregator.EventDetail;
 import com.microsoft.gctoolkit.event.CPUSummary;
 import com.microsoft.gctoolkit.event.GCCause;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.UnknownGCCauseCollector;
 import com.microsoft.gctoolkit.event.g1gc.G1Young;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
@@ -16,6 +18,8 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 
@@ -182,4 +186,182 @@ public class UnifiedG1GCParserFragmentTest extends ParserTest {
             fail(t);
         }
     }
+
+    private static final String[] YOUNG_COLLECTION = {
+            "[0.016s][info][gc,heap] Heap region size: 1M",
+            "[0.018s][info][gc     ] Using G1",
+            "[10.749s][info][gc,start     ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[10.749s][info][gc,task      ] GC(0) Using 8 workers of 8 for evacuation",
+            "[10.754s][info ][gc,phases    ] GC(0)   Pre Evacuate Collection Set: 0.0ms",
+            "[10.754s][info ][gc,phases    ] GC(0)   Evacuate Collection Set: 4.1ms",
+            "[10.754s][info ][gc,phases    ] GC(0)   Post Evacuate Collection Set: 0.3ms",
+            "[10.754s][info ][gc,phases    ] GC(0)   Other: 0.7ms",
+            "[10.754s][info ][gc,heap      ] GC(0) Eden regions: 24->0(32)",
+            "[10.754s][info ][gc,heap      ] GC(0) Survivor regions: 0->3(3)",
+            "[10.754s][info ][gc,heap      ] GC(0) Old regions: 0->3",
+            "[10.754s][info ][gc,heap      ] GC(0) Humongous regions: 0->0",
+            "[10.754s][info ][gc,metaspace ] GC(0) Metaspace: 15753K->15753K(1062912K)",
+            "[10.754s][info ][gc           ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.662ms",
+            "[10.754s][info ][gc,cpu       ] GC(0) User=0.03s Sys=0.01s Real=0.00s"
+    };
+
+    @Test
+    public void testDeferredEventDetails() {
+        ((UnifiedG1GCParser) getParser()).deferEventDetails(true);
+        List<JVMEvent> jvmEvents = feedParser(YOUNG_COLLECTION);
+
+        Assertions.assertEquals(1, jvmEvents.size());
+        G1Young cycle = (G1Young) jvmEvents.get(0);
+        Assertions.assertTrue(cycle.hasDeferredDetails());
+        Assertions.assertEquals(0.005662, cycle.getDuration(), 0.0000001);
+        Assertions.assertEquals(GCCause.G1_EVACUATION_PAUSE, cycle.getGCCause());
+        Assertions.assertTrue(cycle.hasDeferredDetails());
+
+        MemoryPoolSummary heap = cycle.getHeap();
+        Assertions.assertFalse(cycle.hasDeferredDetails());
+        Assertions.assertEquals(23 * 1024, heap.getOccupancyBeforeCollection());
+        Assertions.assertEquals(5 * 1024, heap.getOccupancyAfterCollection());
+        Assertions.assertEquals(64 * 1024, heap.getSizeAfterCollection());
+        Assertions.assertEquals(24, cycle.getEdenRegionSummary().getBefore());
+        Assertions.assertEquals(3, cycle.getOldRegionSummary().getAfter());
+        Assertions.assertEquals(0.0041, cycle.phaseDurationFor("Evacuate Collection"), 0.0001);
+        Assertions.assertEquals(8, cycle.getEvacuationWorkersUsed());
+        Assertions.assertEquals(0.03, cycle.getCpuSummary().getUser());
+    }
+
+    @Test
+    public void testSettersDecodeDeferredDetailsFirst() {
+        ((UnifiedG1GCParser) getParser()).deferEventDetails(true);
+        List<JVMEvent> jvmEvents = feedParser(YOUNG_COLLECTION);
+
+        G1Young cycle = (G1Young) jvmEvents.get(0);
+        Assertions.assertTrue(cycle.hasDeferredDetails());
+        cycle.addCPUSummary(new CPUSummary(0.5, 0.25, 0.125));
+        Assertions.assertFalse(cycle.hasDeferredDetails());
+        Assertions.assertEquals(0.5, cycle.getCpuSummary().getUser());
+        Assertions.assertEquals(23 * 1024, cycle.getHeap().getOccupancyBeforeCollection());
+    }
+
+    @Test
+    public void testUnknownGCCausesAreCollected() {
+        UnknownGCCauseCollector collector = new UnknownGCCauseCollector();
+        getParser().collectUnknownGCCauses(collector);
+        String[] lines = Arrays.stream(YOUNG_COLLECTION)
+                .map(line -> line.replace("(G1 Evacuation Pause)", "(Some Future Cause)"))
+                .toArray(String[]::new);
+        List<JVMEvent> jvmEvents = feedParser(lines);
+
+        Assertions.assertEquals(1, jvmEvents.size());
+        Assertions.assertEquals(GCCause.GCCAUSE_NOT_SET, ((G1Young) jvmEvents.get(0)).getGCCause());
+        Assertions.assertTrue(collector.getUnknownCauses().containsKey("Some Future Cause"), collector.getUnknownCauses().toString());
+        Assertions.assertFalse(collector.getUnknownCauses().containsKey("G1 Evacuation Pause"));
+    }
+
+    @Test
+    public void testUnconsumedDetailsAreSkipped() {
+        String[] lines = {
+                "[0.016s][info][gc,heap] Heap region size: 1M",
+                "[0.018s][info][gc     ] Using G1",
+                "[10.749s][info][gc,start     ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[10.749s][info][gc,task      ] GC(0) Using 8 workers of 8 for evacuation",
+                "[10.749s][debug][gc,age       ] GC(0) Desired survivor size 1572864 bytes, new threshold 15 (max threshold 15)",
+                "[10.754s][info ][gc,phases    ] GC(0)   Pre Evacuate Collection Set: 0.0ms",
+                "[10.754s][info ][gc,phases    ] GC(0)   Evacuate Collection Set: 4.1ms",
+                "[10.754s][info ][gc,phases    ] GC(0)   Post Evacuate Collection Set: 0.3ms",
+                "[10.754s][info ][gc,phases    ] GC(0)   Other: 0.7ms",
+                "[10.754s][info ][gc,heap      ] GC(0) Eden regions: 24->0(32)",
+                "[10.754s][info ][gc,heap      ] GC(0) Survivor regions: 0->3(3)",
+                "[10.754s][info ][gc,heap      ] GC(0) Old regions: 0->3",
+                "[10.754s][info ][gc,heap      ] GC(0) Humongous regions: 0->0",
+                "[10.754s][info ][gc,metaspace ] GC(0) Metaspace: 15753K->15753K(1062912K)",
+                "[10.754s][info ][gc           ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.662ms",
+                "[10.754s][info ][gc,cpu       ] GC(0) User=0.03s Sys=0.01s Real=0.00s"
+        };
+        getParser().detailsConsumed(EnumSet.of(EventDetail.CPU));
+        List<JVMEvent> jvmEvents = feedParser(lines);
+
+        Assertions.assertEquals(1, jvmEvents.size());
+        G1Young cycle = (G1Young) jvmEvents.get(0);
+        Assertions.assertEquals(0.005662, cycle.getDuration(), 0.0000001);
+        Assertions.assertEquals(GCCause.G1_EVACUATION_PAUSE, cycle.getGCCause());
+        Assertions.assertEquals(5 * 1024, cycle.getHeap().getOccupancyAfterCollection());
+        Assertions.assertEquals(0.03, cycle.getCpuSummary().getUser());
+        Assertions.assertNull(cycle.getSurvivorRecord());
+        Assertions.assertNull(cycle.getPermOrMetaspace());
+        Assertions.assertEquals(-1, cycle.getEdenRegionSummary().getBefore());
+        Assertions.assertEquals(-1.0, cycle.phaseDurationFor("Evacuate Collection"));
+        Assertions.assertEquals(0, cycle.getEvacuationWorkersUsed());
+    }
+
+    @Test
+    public void testIncompleteCollectionsAreEvicted() {
+        String[] lines = {
+                "[0.016s][info][gc,heap] Heap region size: 1M",
+                "[0.018s][info][gc     ] Using G1",
+                "[1.000s][info][gc,start     ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[1.005s][info ][gc           ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.000ms",
+                "[2.000s][info][gc,start     ] GC(1) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[10.749s][info][gc,start     ] GC(2000) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[10.754s][info ][gc           ] GC(2000) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.662ms",
+                "[10.754s][info ][gc,cpu       ] GC(2000) User=0.03s Sys=0.01s Real=0.00s"
+        };
+        List<JVMEvent> jvmEvents = feedParser(lines);
+
+        // GC(0) is published without its CPU summary, GC(1) never recorded a duration so it is dropped.
+        Assertions.assertEquals(2, jvmEvents.size());
+        G1Young partial = (G1Young) jvmEvents.get(0);
+        Assertions.assertEquals(0.005, partial.getDuration(), 0.0000001);
+        Assertions.assertNull(partial.getCpuSummary());
+        Assertions.assertEquals(0.005662, jvmEvents.get(1).getDuration(), 0.0000001);
+        Assertions.assertFalse(partial.isLate());
+        Assertions.assertEquals(2, ((UnifiedG1GCParser) getParser()).getCollectionsEvictedByGcIdDistance());
+        Assertions.assertEquals(0, ((UnifiedG1GCParser) getParser()).getCollectionsEvictedByAge());
+        Assertions.assertEquals(1, ((UnifiedG1GCParser) getParser()).getIncompletePausesDropped());
+        Assertions.assertEquals(0, ((UnifiedG1GCParser) getParser()).getLatePausesPublished());
+    }
+
+    @Test
+    public void testEvictedPausesPublishedAfterLaterEventsAreLate() {
+        String[] lines = {
+                "[0.016s][info][gc,heap] Heap region size: 1M",
+                "[0.018s][info][gc     ] Using G1",
+                "[1.000s][info][gc,start     ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[1.005s][info ][gc           ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.000ms",
+                "[2.000s][info][gc,start     ] GC(1) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[2.005s][info ][gc           ] GC(1) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.000ms",
+                "[2.005s][info ][gc,cpu       ] GC(1) User=0.03s Sys=0.01s Real=0.00s",
+                "[10.749s][info][gc,start     ] GC(2000) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[10.754s][info ][gc           ] GC(2000) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.662ms",
+                "[10.754s][info ][gc,cpu       ] GC(2000) User=0.03s Sys=0.01s Real=0.00s"
+        };
+        List<JVMEvent> jvmEvents = feedParser(lines);
+
+        Assertions.assertEquals(3, jvmEvents.size());
+        Assertions.assertEquals(2.0, jvmEvents.get(0).getDateTimeStamp().getTimeStamp(), 0.0000001);
+        Assertions.assertFalse(((G1Young) jvmEvents.get(0)).isLate());
+        G1Young evicted = (G1Young) jvmEvents.get(1);
+        Assertions.assertEquals(1.0, evicted.getDateTimeStamp().getTimeStamp(), 0.0000001);
+        Assertions.assertTrue(evicted.isLate());
+        Assertions.assertFalse(((G1Young) jvmEvents.get(2)).isLate());
+        Assertions.assertEquals(1, ((UnifiedG1GCParser) getParser()).getLatePausesPublished());
+    }
+
+    @Test
+    public void testEvictedConcurrentCyclesAreCounted() {
+        String[] lines = {
+                "[0.016s][info][gc,heap] Heap region size: 1M",
+                "[0.018s][info][gc     ] Using G1",
+                "[1.000s][info ][gc           ] GC(1) Concurrent Cycle",
+                "[1.000s][info ][gc,marking   ] GC(1) Concurrent Clear Claimed Marks",
+                "[1.001s][info ][gc,marking   ] GC(1) Concurrent Clear Claimed Marks 0.018ms",
+                "[10.749s][info][gc,start     ] GC(2000) Pause Young (Normal) (G1 Evacuation Pause)",
+                "[10.754s][info ][gc           ] GC(2000) Pause Young (Normal) (G1 Evacuation Pause) 23M->5M(64M) 5.662ms",
+                "[10.754s][info ][gc,cpu       ] GC(2000) User=0.03s Sys=0.01s Real=0.00s"
+        };
+        feedParser(lines);
+
+        Assertions.assertEquals(1, ((UnifiedG1GCParser) getParser()).getCollectionsEvictedByGcIdDistance());
+        Assertions.assertEquals(1, ((UnifiedG1GCParser) getParser()).getConcurrentCyclesDropped());
+        Assertions.assertEquals(0, ((UnifiedG1GCParser) getParser()).getIncompletePausesDropped());
+    }
 }
@@ -22,7 +22,12 @@ import com.microsoft.gctoolkit.jvm.Diarizer;
 import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -448,4 +453,51 @@ public class UnifiedGenerationalEventsTest extends ParserTest {
         }
         assertThrows(IndexOutOfBoundsException.class, () -> record.getBytesAtAge(7));
     }
+
+    @Test
+    public void serialPhasesOutsideOfARemarkAreIgnored() {
+        String[] lines = {
+                "[12.188s][info ][gc,start     ] GC(113) Pause Full (Allocation Failure)",
+                "[12.188s][info ][gc,phases,start] GC(113) Phase 1: Mark live objects",
+                "[12.191s][debug][gc,phases      ] GC(113) Reference Processing 0.073ms",
+                "[12.191s][debug][gc,phases      ] GC(113) Weak Processing 0.018ms",
+                "[12.192s][debug][gc,phases      ] GC(113) Class Unloading 0.874ms",
+                "[12.193s][info ][gc,phases      ] GC(113) Phase 1: Mark live objects 5.234ms",
+                "[12.199s][info ][gc,heap        ] GC(113) DefNew: 19131K->0K(19648K)",
+                "[12.199s][info ][gc,heap        ] GC(113) Tenured: 43531K->6759K(43712K)",
+                "[12.199s][info ][gc,metaspace   ] GC(113) Metaspace: 16397K->16397K(1064960K)",
+                "[12.199s][info ][gc             ] GC(113) Pause Full (Allocation Failure) 61M->6M(61M) 10.749ms",
+                "[12.199s][info ][gc,cpu         ] GC(113) User=0.02s Sys=0.00s Real=0.01s"
+        };
+        List<Throwable> thrown = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getThrown() != null)
+                    thrown.add(record.getThrown());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        handler.setLevel(Level.ALL);
+        Logger logger = Logger.getLogger(UnifiedGenerationalParser.class.getName());
+        Level level = logger.getLevel();
+        logger.setLevel(Level.ALL);
+        logger.addHandler(handler);
+        try {
+            List<JVMEvent> jvmEvents = feedParser(lines);
+            assertEquals(1, jvmEvents.size());
+            assertTrue(jvmEvents.get(0) instanceof FullGC);
+        } finally {
+            logger.removeHandler(handler);
+            logger.setLevel(level);
+        }
+        assertTrue(thrown.isEmpty(), () -> "Phase lines raised " + thrown);
+    }
 }
@@ -1,12 +1,15 @@
 package com.microsoft.gctoolkit.sample;
 
 import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.aggregator.GCEventTable;
 import com.microsoft.gctoolkit.io.GCLogFile;
 import com.microsoft.gctoolkit.io.ProgressListener;
 import com.microsoft.gctoolkit.io.ProgressUpdate;
 import com.microsoft.gctoolkit.io.SingleGCLogFile;
 import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
 import com.microsoft.gctoolkit.sample.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.sample.aggregation.GCEventTableSummary;
+import com.microsoft.gctoolkit.sample.aggregation.GCWindowSummary;
 import com.microsoft.gctoolkit.sample.aggregation.HeapOccupancyAfterCollectionSummary;
 import com.microsoft.gctoolkit.sample.aggregation.PauseTimeSummary;
 
@@ -91,6 +94,19 @@ public class Main {
             System.out.printf("Percent pause time: %.2f\n", pauseTimeSummary.getPercentPaused());
         });
 
+        // Retrieves the Aggregation for GCWindowSummary, which looks at the log in five minute windows.
+        machine.getAggregation(GCWindowSummary.class).flatMap(GCWindowSummary::getWorstWindow).ifPresent(window -> {
+            System.out.printf("Worst window      : %s\n", window.getStart());
+            System.out.printf("  Percent paused  : %.2f\n", window.getPercentPaused());
+            System.out.printf("  Max pause time  : %.4f\n", window.getMaxPauseTime());
+        });
+
+        // Retrieves the Aggregation for GCEventTableSummary, which holds every collection in a table that can be queried.
+        machine.getAggregation(GCEventTableSummary.class).ifPresent(table ->
+                table.query().groupByType(GCEventTable.Column.DURATION).forEach((type, pauses) ->
+                        System.out.printf("%-30s: count %d, mean %.4f, p99 %.4f\n",
+                                type.getLabel(), pauses.getCount(), pauses.getMean(), pauses.getPercentile(99.0d))));
+
     }
 
     private int initialMarkCount = 0;
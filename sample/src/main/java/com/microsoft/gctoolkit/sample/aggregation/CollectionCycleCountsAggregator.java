@@ -2,6 +2,7 @@ package com.microsoft.gctoolkit.sample.aggregation;
 
 import com.microsoft.gctoolkit.aggregator.Aggregates;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Consumes;
 import com.microsoft.gctoolkit.aggregator.EventSource;
 import com.microsoft.gctoolkit.event.g1gc.G1GCConcurrentEvent;
 import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
@@ -12,6 +13,7 @@ import com.microsoft.gctoolkit.event.zgc.ZGCOldCollection;
 import com.microsoft.gctoolkit.event.zgc.ZGCYoungCollection;
 
 @Aggregates({EventSource.G1GC,EventSource.GENERATIONAL,EventSource.ZGC,EventSource.SHENANDOAH})
+@Consumes({})
 public class CollectionCycleCountsAggregator extends Aggregator<CollectionCycleCountsAggregation> {
 
     public CollectionCycleCountsAggregator(CollectionCycleCountsAggregation results) {
@@ -1,12 +1,13 @@
 package com.microsoft.gctoolkit.sample.aggregation;
 
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 
 import java.io.PrintStream;
 import java.util.EnumMap;
 import java.util.concurrent.atomic.LongAdder;
 
-public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregation {
+public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregation implements MergeableAggregation<CollectionCycleCountsSummary> {
 
     private final EnumMap<GarbageCollectionTypes, LongAdder> collectionCycleCounts = new EnumMap<>(GarbageCollectionTypes.class);
 
@@ -15,6 +16,18 @@ public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregati
         collectionCycleCounts.computeIfAbsent(gcType, key -> new LongAdder()).increment();
     }
 
+    @Override
+    public CollectionCycleCountsSummary identity() {
+        return new CollectionCycleCountsSummary();
+    }
+
+    @Override
+    public void merge(CollectionCycleCountsSummary later) {
+        mergeTimes(later);
+        later.collectionCycleCounts.forEach((gcType, count) ->
+                collectionCycleCounts.computeIfAbsent(gcType, key -> new LongAdder()).add(count.sum()));
+    }
+
     private static final String FORMAT = "%s : %s%n";
 
     public void printOn(PrintStream printStream) {
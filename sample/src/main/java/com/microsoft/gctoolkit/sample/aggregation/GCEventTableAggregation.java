@@ -0,0 +1,25 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.event.GCEvent;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+
+/**
+ * API for an Aggregation that keeps every collection in the log as a row of a table.
+ * A GCEventTableAggregation gets its data from a GCEventTableAggregator.
+ */
+@Collates(GCEventTableAggregator.class)
+public abstract class GCEventTableAggregation extends Aggregation {
+
+    /**
+     * Record a collection. This method is called from GCEventTableAggregator.
+     * @param event the collection
+     * @param heap the heap before and after the collection, or {@code null} if not known
+     * @param eden eden regions around a G1 collection, or {@code null}
+     * @param old old regions around a G1 collection, or {@code null}
+     * @param humongous humongous regions around a G1 collection, or {@code null}
+     */
+    public abstract void recordEvent(GCEvent event, MemoryPoolSummary heap, RegionSummary eden, RegionSummary old, RegionSummary humongous);
+}
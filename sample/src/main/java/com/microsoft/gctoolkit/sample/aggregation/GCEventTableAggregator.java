@@ -0,0 +1,50 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.Aggregates;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Consumes;
+import com.microsoft.gctoolkit.aggregator.EventDetail;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.GCEvent;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
+import com.microsoft.gctoolkit.event.generational.GenerationalGCPauseEvent;
+import com.microsoft.gctoolkit.event.zgc.ZGCCollection;
+import com.microsoft.gctoolkit.event.zgc.ZGCMemorySummary;
+
+/**
+ * An Aggregator that passes every GCEvent on to a GCEventTableAggregation, along with the heap and,
+ * for G1, the region counts where the event has them.
+ */
+@Aggregates({EventSource.G1GC, EventSource.GENERATIONAL, EventSource.ZGC, EventSource.SHENANDOAH})
+@Consumes({EventDetail.REGIONS})
+public class GCEventTableAggregator extends Aggregator<GCEventTableAggregation> {
+
+    public GCEventTableAggregator(GCEventTableAggregation aggregation) {
+        super(aggregation);
+        register(G1GCPauseEvent.class, this::process);
+        register(GenerationalGCPauseEvent.class, this::process);
+        register(ZGCCollection.class, this::process);
+        register(GCEvent.class, this::process);
+    }
+
+    private void process(G1GCPauseEvent event) {
+        aggregation().recordEvent(event, event.getHeap(), event.getEdenRegionSummary(),
+                event.getOldRegionSummary(), event.getHumongousRegionSummary());
+    }
+
+    private void process(GenerationalGCPauseEvent event) {
+        aggregation().recordEvent(event, event.getHeap(), null, null, null);
+    }
+
+    private void process(ZGCCollection event) {
+        ZGCMemorySummary summary = event.getMemorySummary();
+        MemoryPoolSummary heap = (summary == null) ? null
+                : new MemoryPoolSummary(summary.getOccupancyBefore(), summary.getOccupancyAfter(), -1L);
+        aggregation().recordEvent(event, heap, null, null, null);
+    }
+
+    private void process(GCEvent event) {
+        aggregation().recordEvent(event, null, null, null, null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.GCEventQuery;
+import com.microsoft.gctoolkit.aggregator.GCEventTable;
+import com.microsoft.gctoolkit.event.GCEvent;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+
+/**
+ * An implementation of GCEventTableAggregation which appends each collection to a GCEventTable.
+ * Once the log has been analyzed, the table can be filtered, grouped and aggregated with {@link #query()}.
+ */
+public class GCEventTableSummary extends GCEventTableAggregation {
+
+    private final GCEventTable table = new GCEventTable();
+
+    @Override
+    public void recordEvent(GCEvent event, MemoryPoolSummary heap, RegionSummary eden, RegionSummary old, RegionSummary humongous) {
+        table.append(event, heap, eden, old, humongous);
+    }
+
+    @Override
+    public boolean hasWarning() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.size() == 0;
+    }
+
+    public GCEventTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return a query over every collection in the log
+     */
+    public GCEventQuery query() {
+        return table.query();
+    }
+}
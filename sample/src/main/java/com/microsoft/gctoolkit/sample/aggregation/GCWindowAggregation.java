@@ -0,0 +1,28 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+/**
+ * API for an Aggregation that looks at collections in windows of time. A
+ * GCWindowAggregation gets its data from a GCWindowAggregator.
+ */
+@Collates(GCWindowAggregator.class)
+public abstract class GCWindowAggregation extends Aggregation {
+
+    /**
+     * Record a collection. This method is called from GCWindowAggregator.
+     * @param timeStamp when the collection started
+     * @param pauseTime the duration (in decimal seconds) of the pause
+     * @param occupancyBeforeCollection heap occupancy in KBytes before the collection, negative if not known
+     * @param occupancyAfterCollection heap occupancy in KBytes after the collection, negative if not known
+     */
+    public abstract void recordCollection(DateTimeStamp timeStamp, double pauseTime, long occupancyBeforeCollection, long occupancyAfterCollection);
+
+    /**
+     * Called from GCWindowAggregator when the end of the log has been reached.
+     * @param endOfLog the time of the end of the log
+     */
+    public abstract void complete(DateTimeStamp endOfLog);
+}
@@ -0,0 +1,45 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.Aggregates;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Consumes;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
+import com.microsoft.gctoolkit.event.generational.GenerationalGCPauseEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+/**
+ * An Aggregator that extracts the pause time and heap occupancy of each collection.
+ */
+@Aggregates({EventSource.G1GC, EventSource.GENERATIONAL})
+@Consumes({})
+public class GCWindowAggregator extends Aggregator<GCWindowAggregation> {
+
+    public GCWindowAggregator(GCWindowAggregation aggregation) {
+        super(aggregation);
+        register(G1GCPauseEvent.class, this::process);
+        register(GenerationalGCPauseEvent.class, this::process);
+        register(JVMTermination.class, this::process);
+    }
+
+    private void process(G1GCPauseEvent event) {
+        record(event.getDateTimeStamp(), event.getDuration(), event.getHeap());
+    }
+
+    private void process(GenerationalGCPauseEvent event) {
+        record(event.getDateTimeStamp(), event.getDuration(), event.getHeap());
+    }
+
+    private void process(JVMTermination event) {
+        aggregation().complete(event.getTimeOfTerminationEvent());
+    }
+
+    private void record(DateTimeStamp timeStamp, double duration, MemoryPoolSummary heap) {
+        if (heap == null)
+            aggregation().recordCollection(timeStamp, duration, -1L, -1L);
+        else
+            aggregation().recordCollection(timeStamp, duration, heap.getOccupancyBeforeCollection(), heap.getOccupancyAfterCollection());
+    }
+}
@@ -0,0 +1,71 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.GCWindow;
+import com.microsoft.gctoolkit.aggregator.TimeWindows;
+import com.microsoft.gctoolkit.aggregator.WindowedGCStatistics;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An implementation of GCWindowAggregation that keeps the pause percentage, maximum pause, GC frequency
+ * and allocation rate of every window, and remembers the window in which the application was paused the most.
+ * By default, the windows are five minutes long and a new one starts every minute.
+ */
+public class GCWindowSummary extends GCWindowAggregation {
+
+    private final List<GCWindow> windows = new ArrayList<>();
+    private final WindowedGCStatistics statistics;
+    private GCWindow worstWindow;
+
+    public GCWindowSummary() {
+        this(TimeWindows.sliding(300.0d, 60.0d));
+    }
+
+    public GCWindowSummary(TimeWindows timeWindows) {
+        this.statistics = new WindowedGCStatistics(timeWindows, this::windowCompleted);
+    }
+
+    private void windowCompleted(GCWindow window) {
+        windows.add(window);
+        if (worstWindow == null || window.getPercentPaused() > worstWindow.getPercentPaused())
+            worstWindow = window;
+    }
+
+    @Override
+    public void recordCollection(DateTimeStamp timeStamp, double pauseTime, long occupancyBeforeCollection, long occupancyAfterCollection) {
+        statistics.recordCollection(timeStamp, pauseTime, occupancyBeforeCollection, occupancyAfterCollection);
+    }
+
+    @Override
+    public void complete(DateTimeStamp endOfLog) {
+        statistics.complete(endOfLog);
+    }
+
+    @Override
+    public boolean hasWarning() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return windows.isEmpty();
+    }
+
+    /**
+     * @return the windows in which at least one collection was recorded, in time order
+     */
+    public List<GCWindow> getWindows() {
+        return Collections.unmodifiableList(windows);
+    }
+
+    /**
+     * @return the window with the highest percentage of time paused
+     */
+    public Optional<GCWindow> getWorstWindow() {
+        return Optional.ofNullable(worstWindow);
+    }
+}
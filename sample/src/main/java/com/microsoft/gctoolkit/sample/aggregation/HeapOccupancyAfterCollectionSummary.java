@@ -1,5 +1,6 @@
 package com.microsoft.gctoolkit.sample.aggregation;
 
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.sample.collections.XYDataSet;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
@@ -7,7 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 import java.util.EnumMap;
 import java.util.Map;
 
-public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterCollectionAggregation {
+public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterCollectionAggregation implements MergeableAggregation<HeapOccupancyAfterCollectionSummary> {
 
     private final EnumMap<GarbageCollectionTypes, XYDataSet> aggregations = new EnumMap<>(GarbageCollectionTypes.class);
 
@@ -17,6 +18,22 @@ public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterColle
         aggregations.computeIfAbsent(gcType, key -> new XYDataSet()).add(timeStamp.getTimeStamp(), heapOccupancy);
     }
 
+    @Override
+    public HeapOccupancyAfterCollectionSummary identity() {
+        return new HeapOccupancyAfterCollectionSummary();
+    }
+
+    /**
+     * Append the series of a later segment to the series of this one, keeping each series in time order.
+     * @param later the summary of the segment that follows this one
+     */
+    @Override
+    public void merge(HeapOccupancyAfterCollectionSummary later) {
+        mergeTimes(later);
+        later.aggregations.forEach((gcType, series) ->
+                series.stream().forEach(aggregations.computeIfAbsent(gcType, key -> new XYDataSet())::add));
+    }
+
     public Map<GarbageCollectionTypes, XYDataSet> get() {
         return Map.copyOf(aggregations);
     }
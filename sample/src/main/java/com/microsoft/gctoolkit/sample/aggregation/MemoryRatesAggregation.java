@@ -0,0 +1,29 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+/**
+ * API for an Aggregation that records how the heap and the old generation change from one collection
+ * to the next. A MemoryRatesAggregation gets its data from a MemoryRatesAggregator.
+ */
+@Collates(MemoryRatesAggregator.class)
+public abstract class MemoryRatesAggregation extends Aggregation {
+
+    /**
+     * Record the occupancy of the heap around a collection. This method is called from MemoryRatesAggregator.
+     * @param timeStamp when the collection started
+     * @param pauseTime the duration (in decimal seconds) of the pause
+     * @param heap the heap before and after the collection
+     * @param tenured the old generation before and after the collection, null if the collector is not generational
+     */
+    public abstract void recordCollection(DateTimeStamp timeStamp, double pauseTime, MemoryPoolSummary heap, MemoryPoolSummary tenured);
+
+    /**
+     * Called from MemoryRatesAggregator when the end of the log has been reached.
+     * @param endOfLog the time of the end of the log
+     */
+    public abstract void complete(DateTimeStamp endOfLog);
+}
@@ -0,0 +1,69 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.Aggregates;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Consumes;
+import com.microsoft.gctoolkit.aggregator.EventDetail;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
+import com.microsoft.gctoolkit.event.generational.GenerationalGCPauseEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.event.zgc.ZGCCollection;
+import com.microsoft.gctoolkit.event.zgc.ZGCMemorySummary;
+
+/**
+ * An Aggregator that extracts the occupancy of the heap, and of the old generation where there is one,
+ * around each collection.
+ */
+@Aggregates({EventSource.G1GC, EventSource.GENERATIONAL, EventSource.ZGC})
+@Consumes({EventDetail.REGIONS})
+public class MemoryRatesAggregator extends Aggregator<MemoryRatesAggregation> {
+
+    public MemoryRatesAggregator(MemoryRatesAggregation aggregation) {
+        super(aggregation);
+        register(G1GCPauseEvent.class, this::process);
+        register(GenerationalGCPauseEvent.class, this::process);
+        register(ZGCCollection.class, this::process);
+        register(JVMTermination.class, this::process);
+    }
+
+    private void process(G1GCPauseEvent event) {
+        aggregation().recordCollection(event.getDateTimeStamp(), event.getDuration(), event.getHeap(), tenured(event));
+    }
+
+    /**
+     * Unified G1 logs give region counts, in which case the old generation is taken to be the old and
+     * humongous regions. Otherwise, the old generation is what is left of the heap once eden and survivor
+     * are taken out. An event without region counts reports them as negative.
+     */
+    private MemoryPoolSummary tenured(G1GCPauseEvent event) {
+        RegionSummary old = event.getOldRegionSummary();
+        if (old.getBefore() < 0 || old.getAfter() < 0 || event.getHeapRegionSize() <= 0) {
+            MemoryPoolSummary tenured = event.getTenured();
+            return (tenured != null && tenured.getOccupancyAfterCollection() >= 0L) ? tenured : null;
+        }
+        RegionSummary humongous = event.getHumongousRegionSummary();
+        long kBytesPerRegion = event.getHeapRegionSize() * 1024L;
+        long before = old.getBefore() + Math.max(0, humongous.getBefore());
+        long after = old.getAfter() + Math.max(0, humongous.getAfter());
+        return new MemoryPoolSummary(before * kBytesPerRegion, after * kBytesPerRegion, -1L);
+    }
+
+    private void process(GenerationalGCPauseEvent event) {
+        aggregation().recordCollection(event.getDateTimeStamp(), event.getDuration(), event.getHeap(), event.getTenured());
+    }
+
+    private void process(ZGCCollection event) {
+        ZGCMemorySummary summary = event.getMemorySummary();
+        if (summary != null) {
+            MemoryPoolSummary heap = new MemoryPoolSummary(summary.getOccupancyBefore(), summary.getOccupancyAfter(), -1L);
+            aggregation().recordCollection(event.getDateTimeStamp(), 0.0d, heap, null);
+        }
+    }
+
+    private void process(JVMTermination event) {
+        aggregation().complete(event.getTimeOfTerminationEvent());
+    }
+}
@@ -0,0 +1,130 @@
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.aggregator.GCWindow;
+import com.microsoft.gctoolkit.aggregator.TimeWindows;
+import com.microsoft.gctoolkit.aggregator.WindowedGCStatistics;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An implementation of MemoryRatesAggregation which computes allocation rate, promotion rate and old
+ * generation growth as collections arrive, for the whole log and for each minute of it. Only the
+ * previous collection is needed to compute the totals. Rates are in KBytes per second and are taken
+ * over the time from the first collection to the last.
+ */
+public class MemoryRatesSummary extends MemoryRatesAggregation {
+
+    private final List<GCWindow> series = new ArrayList<>();
+    private final WindowedGCStatistics windowedStatistics;
+
+    private DateTimeStamp firstCollection;
+    private DateTimeStamp lastCollection;
+    private long heapAfterPreviousCollection = -1L;
+    private long firstTenuredAfterCollection = -1L;
+    private long lastTenuredAfterCollection = -1L;
+    private long allocatedKBytes;
+    private long promotedKBytes;
+
+    public MemoryRatesSummary() {
+        this(TimeWindows.tumbling(60.0d));
+    }
+
+    public MemoryRatesSummary(TimeWindows timeWindows) {
+        this.windowedStatistics = new WindowedGCStatistics(timeWindows, series::add);
+    }
+
+    @Override
+    public void recordCollection(DateTimeStamp timeStamp, double pauseTime, MemoryPoolSummary heap, MemoryPoolSummary tenured) {
+        if (timeStamp == null)
+            return;
+        if (firstCollection == null)
+            firstCollection = timeStamp;
+        lastCollection = timeStamp;
+        windowedStatistics.recordCollection(timeStamp, pauseTime, heap, tenured);
+
+        if (heap != null && heap.getOccupancyBeforeCollection() >= 0L) {
+            if (heapAfterPreviousCollection >= 0L)
+                allocatedKBytes += Math.max(0L, heap.getOccupancyBeforeCollection() - heapAfterPreviousCollection);
+            heapAfterPreviousCollection = heap.getOccupancyAfterCollection();
+        }
+
+        if (tenured != null && tenured.getOccupancyAfterCollection() >= 0L) {
+            if (tenured.getOccupancyBeforeCollection() >= 0L)
+                promotedKBytes += Math.max(0L, tenured.getOccupancyAfterCollection() - tenured.getOccupancyBeforeCollection());
+            if (firstTenuredAfterCollection < 0L)
+                firstTenuredAfterCollection = tenured.getOccupancyAfterCollection();
+            lastTenuredAfterCollection = tenured.getOccupancyAfterCollection();
+        }
+    }
+
+    @Override
+    public void complete(DateTimeStamp endOfLog) {
+        windowedStatistics.complete(endOfLog);
+    }
+
+    @Override
+    public boolean hasWarning() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return firstCollection == null;
+    }
+
+    private double elapsedTime() {
+        if (firstCollection == null)
+            return 0.0d;
+        double elapsed = lastCollection.minus(firstCollection);
+        return Double.isNaN(elapsed) ? 0.0d : elapsed;
+    }
+
+    private double rate(long kBytes) {
+        double elapsed = elapsedTime();
+        return (elapsed > 0.0d) ? kBytes / elapsed : 0.0d;
+    }
+
+    /**
+     * @return KBytes allocated between the first collection and the last
+     */
+    public long getAllocatedKBytes() {
+        return allocatedKBytes;
+    }
+
+    public double getAllocationRate() {
+        return rate(allocatedKBytes);
+    }
+
+    /**
+     * @return KBytes promoted to the old generation, zero if the collector is not generational
+     */
+    public long getPromotedKBytes() {
+        return promotedKBytes;
+    }
+
+    public double getPromotionRate() {
+        return rate(promotedKBytes);
+    }
+
+    /**
+     * @return the change in old generation occupancy after collection from the first collection to the last
+     */
+    public long getOldGenerationGrowthKBytes() {
+        return (firstTenuredAfterCollection < 0L) ? 0L : lastTenuredAfterCollection - firstTenuredAfterCollection;
+    }
+
+    public double getOldGenerationGrowthRate() {
+        return rate(getOldGenerationGrowthKBytes());
+    }
+
+    /**
+     * @return the rates for each window in which there was a collection, in time order
+     */
+    public List<GCWindow> getSeries() {
+        return Collections.unmodifiableList(series);
+    }
+}
@@ -2,6 +2,7 @@ package com.microsoft.gctoolkit.sample.aggregation;
 
 import com.microsoft.gctoolkit.aggregator.Aggregates;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Consumes;
 import com.microsoft.gctoolkit.aggregator.EventSource;
 import com.microsoft.gctoolkit.event.g1gc.G1GCConcurrentEvent;
 import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
@@ -10,6 +11,7 @@ import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
  * An Aggregator that extracts pause time.
  */
 @Aggregates({EventSource.G1GC})
+@Consumes({})
 public class PauseTimeAggregator extends Aggregator<PauseTimeAggregation> {
 
     public PauseTimeAggregator(PauseTimeAggregation aggregation) {
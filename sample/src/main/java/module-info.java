@@ -16,5 +16,8 @@ module com.microsoft.gctoolkit.sample {
     provides com.microsoft.gctoolkit.aggregator.Aggregation with
              com.microsoft.gctoolkit.sample.aggregation.HeapOccupancyAfterCollectionSummary,
              com.microsoft.gctoolkit.sample.aggregation.PauseTimeSummary,
-             com.microsoft.gctoolkit.sample.aggregation.CollectionCycleCountsSummary;
+             com.microsoft.gctoolkit.sample.aggregation.CollectionCycleCountsSummary,
+             com.microsoft.gctoolkit.sample.aggregation.GCWindowSummary,
+             com.microsoft.gctoolkit.sample.aggregation.MemoryRatesSummary,
+             com.microsoft.gctoolkit.sample.aggregation.GCEventTableSummary;
 }
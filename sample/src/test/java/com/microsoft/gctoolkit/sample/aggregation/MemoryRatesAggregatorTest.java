@@ -0,0 +1,72 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.sample.aggregation;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MemoryRatesAggregatorTest {
+
+    private final MemoryRatesSummary summary = new MemoryRatesSummary();
+    private final MemoryRatesAggregator aggregator = new MemoryRatesAggregator(summary);
+
+    private static G1Young young(double timeStamp, MemoryPoolSummary heap) {
+        G1Young young = new G1Young(new DateTimeStamp(timeStamp), GCCause.G1_EVACUATION_PAUSE, 0.01d);
+        young.addMemorySummary(heap);
+        young.addHeapRegionSize(1);
+        return young;
+    }
+
+    private static G1Young young(double timeStamp, MemoryPoolSummary heap, int oldBefore, int oldAfter) {
+        G1Young young = young(timeStamp, heap);
+        young.addRegionSummary(new RegionSummary(100, 0, 120), new RegionSummary(10, 10, 16),
+                new RegionSummary(oldBefore, oldAfter, oldAfter), new RegionSummary(2, 2, 2), null);
+        return young;
+    }
+
+    @Test
+    void ratesAreTakenFromTheFirstCollectionToTheLast() {
+        summary.recordCollection(new DateTimeStamp(0.0d), 0.01d, new MemoryPoolSummary(1000L, 400L, 2048L), new MemoryPoolSummary(300L, 350L, 1024L));
+        summary.recordCollection(new DateTimeStamp(10.0d), 0.01d, new MemoryPoolSummary(1400L, 500L, 2048L), new MemoryPoolSummary(350L, 420L, 1024L));
+
+        assertEquals(1000L, summary.getAllocatedKBytes());
+        assertEquals(100.0d, summary.getAllocationRate(), 0.001d);
+        assertEquals(120L, summary.getPromotedKBytes());
+        assertEquals(12.0d, summary.getPromotionRate(), 0.001d);
+        assertEquals(70L, summary.getOldGenerationGrowthKBytes());
+    }
+
+    @Test
+    void oldRegionsAndHumongousRegionsAreTheOldGeneration() {
+        aggregator.receive(young(0.0d, new MemoryPoolSummary(112640L, 14336L, 262144L), 10, 12));
+        aggregator.receive(young(10.0d, new MemoryPoolSummary(116736L, 16384L, 262144L), 12, 15));
+        aggregator.receive(new JVMTermination(new DateTimeStamp(11.0d), new DateTimeStamp(0.0d)));
+
+        assertEquals(116736L - 14336L, summary.getAllocatedKBytes());
+        assertEquals((2L + 3L) * 1024L, summary.getPromotedKBytes());
+        assertEquals(512.0d, summary.getPromotionRate(), 0.001d);
+        assertEquals((17L - 14L) * 1024L, summary.getOldGenerationGrowthKBytes());
+    }
+
+    @Test
+    void theTenuredPoolIsUsedWhenThereAreNoRegionCounts() {
+        G1Young first = young(0.0d, new MemoryPoolSummary(1000L, 400L, 2048L));
+        first.addMemorySummary(new MemoryPoolSummary(700L, 0L, 1024L), null, first.getHeap());
+        G1Young second = young(10.0d, new MemoryPoolSummary(1300L, 500L, 2048L));
+        second.addMemorySummary(new MemoryPoolSummary(900L, 0L, 1024L), null, second.getHeap());
+        aggregator.receive(first);
+        aggregator.receive(second);
+
+        assertEquals(900L, summary.getAllocatedKBytes());
+        assertEquals(200L, summary.getPromotedKBytes());
+        assertEquals(20.0d, summary.getPromotionRate(), 0.001d);
+        assertEquals(100L, summary.getOldGenerationGrowthKBytes());
+    }
+}
@@ -7,6 +7,8 @@ import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannelListener;
 import com.microsoft.gctoolkit.vertx.io.JVMEventCodec;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
 import io.vertx.core.eventbus.DeliveryOptions;
 
 import java.util.concurrent.CountDownLatch;
@@ -28,14 +30,18 @@ public class VertxJVMEventChannel extends VertxChannel implements JVMEventChanne
     public VertxJVMEventChannel() {}
 
     /**
-     * Registers a listener for the JVM event channel.
+     * Registers a listener for the JVM event channel. A listener that may block is deployed as a worker
+     * verticle, so that it does not hold up the event loop. Vert.x still delivers its events one at a time,
+     * in order.
      * @param listener the JVMEventChannelListener to register.
      */
     @Override
     public void registerListener(JVMEventChannelListener listener) {
         final JVMEventVerticle processor = new JVMEventVerticle(vertx(), listener.channel().getName(), listener);
+        DeploymentOptions deployment = new DeploymentOptions()
+                .setThreadingModel(listener.mayBlock() ? ThreadingModel.WORKER : ThreadingModel.EVENT_LOOP);
         CountDownLatch latch = new CountDownLatch(1);
-        vertx().deployVerticle(processor, state -> {
+        vertx().deployVerticle(processor, deployment, state -> {
             processor.setID((state.succeeded()) ? state.result() : "");
             latch.countDown();
         });
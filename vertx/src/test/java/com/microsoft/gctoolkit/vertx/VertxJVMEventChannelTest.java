@@ -0,0 +1,61 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import io.vertx.core.Context;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VertxJVMEventChannelTest {
+
+    private static class Listener implements JVMEventChannelListener {
+        private final boolean mayBlock;
+        private final CompletableFuture<Boolean> onEventLoop = new CompletableFuture<>();
+
+        Listener(boolean mayBlock) {
+            this.mayBlock = mayBlock;
+        }
+
+        @Override
+        public ChannelName channel() {
+            return ChannelName.G1GC_PARSER_OUTBOX;
+        }
+
+        @Override
+        public boolean mayBlock() {
+            return mayBlock;
+        }
+
+        @Override
+        public void receive(JVMEvent payload) {
+            onEventLoop.complete(Context.isOnEventLoopThread());
+        }
+    }
+
+    @Test
+    public void listenersThatMayBlockAreNotCalledOnTheEventLoop() throws Exception {
+        VertxJVMEventChannel channel = new VertxJVMEventChannel();
+        try {
+            Listener blocking = new Listener(true);
+            Listener nonBlocking = new Listener(false);
+            channel.registerListener(blocking);
+            channel.registerListener(nonBlocking);
+            channel.publish(ChannelName.G1GC_PARSER_OUTBOX, new JVMTermination(new DateTimeStamp(1.0d), new DateTimeStamp(0.0d)));
+
+            assertFalse(blocking.onEventLoop.get(10, TimeUnit.SECONDS));
+            assertTrue(nonBlocking.onEventLoop.get(10, TimeUnit.SECONDS));
+        } finally {
+            channel.close();
+        }
+    }
+}